@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import java.util.Map;
+
+/**
+ * Represents an attribute node of an {@link EntityGraph} or a {@link Subgraph}.
+ *
+ * @param <T> The type of the attribute
+ */
+public interface AttributeNode<T> {
+
+    /**
+     * Gets the name of the attribute corresponding to this node.
+     *
+     * @return Attribute name
+     */
+    String getAttributeName();
+
+    /**
+     * Gets subgraphs associated with this attribute node, keyed by the type of the referenced entity.
+     *
+     * @return Unmodifiable map of subgraphs, empty if the node has no subgraph
+     */
+    Map<Class, Subgraph> getSubgraphs();
+}
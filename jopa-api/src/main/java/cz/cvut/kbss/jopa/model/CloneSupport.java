@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+/**
+ * An entity class that implements this interface provides a specialized routine for copying its instances.
+ * <p>
+ * The routine is meant to be generated at build time, e.g., by OWL2Java (and the jopa-maven-plugin) when generation of
+ * clone support is enabled. The persistence provider uses it when cloning entities into a persistence context, instead
+ * of instantiating the entity class and copying values of its fields one by one via reflection.
+ */
+public interface CloneSupport {
+
+    /**
+     * Creates a new instance of this object's class and copies values of all persistent fields of this object into it.
+     * <p>
+     * The copy is shallow, i.e., field values are shared by this object and the copy. The persistence provider clones
+     * values which must not be shared (collections, references to other entities etc.) itself.
+     * <p>
+     * The returned object must be of the same class as this object.
+     *
+     * @return New instance with the same field values
+     */
+    Object shallowCopy();
+}
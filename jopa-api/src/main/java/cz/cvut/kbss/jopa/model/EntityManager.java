@@ -25,7 +25,10 @@ import cz.cvut.kbss.jopa.model.query.TypedQuery;
 import cz.cvut.kbss.jopa.transactions.EntityTransaction;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface EntityManager {
 
@@ -64,6 +67,42 @@ public interface EntityManager {
      */
     void persist(final Object entity, final Descriptor descriptor);
 
+    /**
+     * Make instances managed and persistent.
+     * <p>
+     * The entities are persisted into the default context.
+     *
+     * @param entities entity instances
+     * @throws OWLEntityExistsException     if any of the entities already exists
+     * @throws IllegalArgumentException     if any of the instances is not an entity
+     * @throws NullPointerException         If {@code entities} or any of the instances is {@code null}
+     * @throws TransactionRequiredException if invoked on a container-managed entity manager of type
+     *                                      PersistenceContextType.TRANSACTION and there is no transaction.
+     * @see #persistAll(Collection, Descriptor)
+     */
+    @NonJPA
+    void persistAll(final Collection<?> entities);
+
+    /**
+     * Make instances managed and persistent.
+     * <p>
+     * This is equivalent to calling {@link #persist(Object, Descriptor)} for each of the instances, but existence of
+     * the entities in the repository is verified in bulk and the entities are inserted into the repository as a
+     * single batch. The {@code descriptor} represents repository and context into which the entities and their fields
+     * should be persisted.
+     *
+     * @param entities   entity instances
+     * @param descriptor Entity descriptor, used for all the entities
+     * @throws OWLEntityExistsException     if any of the entities already exists
+     * @throws IllegalArgumentException     if any of the instances is not an entity
+     * @throws NullPointerException         If {@code entities}, any of the instances or {@code descriptor} is {@code
+     *                                      null}
+     * @throws TransactionRequiredException if invoked on a container-managed entity manager of type
+     *                                      PersistenceContextType.TRANSACTION and there is no transaction.
+     */
+    @NonJPA
+    void persistAll(final Collection<?> entities, final Descriptor descriptor);
+
     /**
      * Merge the state of the given entity into the current persistence context.
      * <p>
@@ -90,6 +129,39 @@ public interface EntityManager {
      */
     <T> T merge(final T entity, Descriptor descriptor);
 
+    /**
+     * Merge the state of the given entities into the current persistence context.
+     * <p>
+     * The entities are merged into the default repository context.
+     *
+     * @param entities The entities to merge
+     * @return the instances that the state was merged to, in the order of the specified entities
+     * @throws IllegalArgumentException     if any of the instances is not an entity or is a removed entity
+     * @throws TransactionRequiredException if invoked on a container-managed entity manager of type
+     *                                      PersistenceContextType.TRANSACTION and there is no transaction.
+     * @see #mergeAll(Collection, Descriptor)
+     */
+    @NonJPA
+    <T> List<T> mergeAll(final Collection<T> entities);
+
+    /**
+     * Merge the state of the given entities into the current persistence context and into the repository specified
+     * by {@code descriptor}.
+     * <p>
+     * This is equivalent to calling {@link #merge(Object, Descriptor)} for each of the instances, but existence of the
+     * entities in the repository is verified in bulk and entities which do not exist yet are inserted into the
+     * repository as a single batch.
+     *
+     * @param entities   The entities to merge
+     * @param descriptor Entity descriptor, used for all the entities
+     * @return the instances that the state was merged to, in the order of the specified entities
+     * @throws IllegalArgumentException     if any of the instances is not an entity or is a removed entity
+     * @throws TransactionRequiredException if invoked on a container-managed entity manager of type
+     *                                      PersistenceContextType.TRANSACTION and there is no transaction.
+     */
+    @NonJPA
+    <T> List<T> mergeAll(final Collection<T> entities, Descriptor descriptor);
+
     /**
      * Remove the entity instance.
      *
@@ -100,6 +172,20 @@ public interface EntityManager {
      */
     void remove(final Object entity);
 
+    /**
+     * Remove the entity instances.
+     * <p>
+     * This is equivalent to calling {@link #remove(Object)} for each of the instances, but the entities are removed
+     * from the repository as a single batch.
+     *
+     * @param entities The instances to remove
+     * @throws IllegalArgumentException     if any of the instances is not an entity or is a detached entity
+     * @throws TransactionRequiredException if invoked on a container-managed entity manager of type
+     *                                      PersistenceContextType.TRANSACTION and there is no transaction.
+     */
+    @NonJPA
+    void removeAll(final Collection<?> entities);
+
     /**
      * Find by identifier.
      * <p>
@@ -136,7 +222,94 @@ public interface EntityManager {
     <T> T find(final Class<T> entityClass, final Object identifier,
                final Descriptor descriptor);
 
-    // TODO JPA 2.0 find with properties
+    /**
+     * Find by identifier asynchronously.
+     * <p>
+     * The lookup is executed on a separate thread in a dedicated persistence context, so it does not see changes
+     * made in this entity manager which have not been committed yet. The resulting entity is not managed by this
+     * entity manager, it can be attached to it using {@link #merge(Object)}.
+     * <p>
+     * The returned entity is detached. Its lazily loaded attributes are loaded before it is returned, entities it
+     * references are returned as they were loaded (i.e., without their lazily loaded attributes).
+     *
+     * @param entityClass Entity class
+     * @param identifier  Entity identifier
+     * @return future completed with the found entity instance or with {@code null} if the entity does not exist
+     * @throws IllegalArgumentException if the first argument does not denote an entity type
+     * @throws NullPointerException     If {@code entityClass}, {@code identifier} is {@code null}
+     * @throws java.util.concurrent.RejectedExecutionException If too many asynchronous operations are pending
+     * @see #find(Class, Object)
+     */
+    @NonJPA
+    <T> CompletableFuture<T> findAsync(final Class<T> entityClass, final Object identifier);
+
+    /**
+     * Find by identifier asynchronously.
+     * <p>
+     * The lookup is executed on a separate thread in a dedicated persistence context, so it does not see changes
+     * made in this entity manager which have not been committed yet. The resulting entity is not managed by this
+     * entity manager, it can be attached to it using {@link #merge(Object, Descriptor)}.
+     * <p>
+     * The returned entity is detached. Its lazily loaded attributes are loaded before it is returned, entities it
+     * references are returned as they were loaded (i.e., without their lazily loaded attributes).
+     *
+     * @param entityClass Entity class
+     * @param identifier  Entity identifier
+     * @param descriptor  Entity descriptor
+     * @return future completed with the found entity instance or with {@code null} if the entity does not exist
+     * @throws IllegalArgumentException if the first argument does not denote an entity type
+     * @throws NullPointerException     If {@code entityClass}, {@code identifier} or {@code descriptor} is {@code
+     *                                  null}
+     * @throws java.util.concurrent.RejectedExecutionException If too many asynchronous operations are pending
+     * @see #find(Class, Object, Descriptor)
+     */
+    @NonJPA
+    <T> CompletableFuture<T> findAsync(final Class<T> entityClass, final Object identifier,
+                                       final Descriptor descriptor);
+
+    /**
+     * Find by identifier, using the specified properties.
+     * <p>
+     * Search for an entity of the specified class and identifier. If the entity instance is contained in the
+     * persistence context, it is returned from there.
+     * <p>
+     * Properties may contain vendor-specific hints, e.g., a fetch graph specifying related entities to load together
+     * with the found entity. Properties which are not recognized are ignored.
+     *
+     * @param entityClass Entity class
+     * @param identifier  Entity identifier
+     * @param properties  Standard and vendor-specific properties and hints
+     * @return the found entity instance or {@code null} if the entity does not exist in the given ontology context
+     * @throws IllegalArgumentException if the first argument does not denote an entity type or the second argument is
+     *                                  not a valid type for that entity’s identifier
+     * @throws NullPointerException     If {@code entityClass}, {@code identifier} or {@code properties} is {@code
+     *                                  null}
+     */
+    <T> T find(final Class<T> entityClass, final Object identifier, final Map<String, Object> properties);
+
+    /**
+     * Find by identifier, using the specified properties.
+     * <p>
+     * Search for an entity of the specified class and identifier. If the entity instance is contained in the
+     * persistence context, it is returned from there.
+     * <p>
+     * The {@code descriptor} parameter represents repository and context in which the entity should be looked for.
+     * Properties may contain vendor-specific hints, e.g., a fetch graph specifying related entities to load together
+     * with the found entity. Properties which are not recognized are ignored.
+     *
+     * @param entityClass Entity class
+     * @param identifier  Entity identifier
+     * @param descriptor  Entity descriptor
+     * @param properties  Standard and vendor-specific properties and hints
+     * @return the found entity instance or {@code null} if the entity does not exist in the given ontology context
+     * @throws IllegalArgumentException if the first argument does not denote an entity type or the second argument is
+     *                                  not a valid type for that entity’s identifier
+     * @throws NullPointerException     If {@code entityClass}, {@code identifier}, {@code descriptor} or {@code
+     *                                  properties} is {@code null}
+     */
+    @NonJPA
+    <T> T find(final Class<T> entityClass, final Object identifier, final Descriptor descriptor,
+               final Map<String, Object> properties);
 
     // TODO JPA 2.0 find with lock mode
 
@@ -425,6 +598,36 @@ public interface EntityManager {
 
     // TODO JPA 2.0 public CriteriaBuilder getCriteriaBuilder();
 
+    /**
+     * Creates a new mutable entity graph, which can be used to dynamically create a fetch plan for the specified
+     * entity.
+     *
+     * @param rootType Class of the root entity of the graph
+     * @return New entity graph
+     * @throws IllegalArgumentException If the specified class is not an entity
+     */
+    <T> EntityGraph<T> createEntityGraph(Class<T> rootType);
+
+    /**
+     * Creates a mutable copy of the named entity graph.
+     *
+     * @param graphName Name of the entity graph
+     * @return Copy of the entity graph
+     * @throws IllegalArgumentException If there is no entity graph with the specified name
+     */
+    EntityGraph<?> createEntityGraph(String graphName);
+
+    /**
+     * Gets the named entity graph.
+     * <p>
+     * The returned graph is immutable.
+     *
+     * @param graphName Name of the entity graph
+     * @return Named entity graph
+     * @throws IllegalArgumentException If there is no entity graph with the specified name
+     */
+    EntityGraph<?> getEntityGraph(String graphName);
+
     /**
      * Return an instance of Metamodel interface for access to the metamodel of the persistence unit.
      *
@@ -18,6 +18,7 @@ import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
 import cz.cvut.kbss.jopa.model.query.Query;
 import cz.cvut.kbss.jopa.sessions.Cache;
+import cz.cvut.kbss.jopa.sessions.CommitListener;
 
 import java.util.Map;
 
@@ -119,6 +120,26 @@ public interface EntityManagerFactory {
      */
     void addNamedQuery(String name, Query query);
 
+    /**
+     * Registers a listener notified about transactions successfully committed by entity managers of this factory.
+     * <p>
+     * Listeners are notified asynchronously. If they cannot keep up with the commits, the oldest pending notifications
+     * are kept and the new ones are dropped once the queue of pending notifications is full.
+     *
+     * @param listener The listener to register
+     * @throws IllegalStateException if the entity manager factory has been closed
+     */
+    void addCommitListener(CommitListener listener);
+
+    /**
+     * Unregisters the specified commit listener.
+     *
+     * @param listener The listener to unregister
+     * @throws IllegalStateException if the entity manager factory has been closed
+     * @see #addCommitListener(CommitListener)
+     */
+    void removeCommitListener(CommitListener listener);
+
     /**
      * Return an object of the specified type to allow access to the provider-specific API. If the provider's
      * EntityManagerFactory implementation does not support the specified class, the {@link OWLPersistenceException} is
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import java.util.List;
+
+/**
+ * Represents a subgraph of an {@link EntityGraph}, i.e., attributes of an entity referenced by an attribute of its
+ * parent graph.
+ *
+ * @param <T> The type of the entity represented by this subgraph
+ */
+public interface Subgraph<T> {
+
+    /**
+     * Gets the type of the entity represented by this subgraph.
+     *
+     * @return Entity class
+     */
+    Class<T> getClassType();
+
+    /**
+     * Adds one or more attribute nodes to this subgraph.
+     *
+     * @param attributeNames Names of the attributes
+     * @throws IllegalArgumentException If an attribute is not an attribute of the entity represented by this subgraph
+     * @throws IllegalStateException    If the graph is immutable
+     */
+    void addAttributeNodes(String... attributeNames);
+
+    /**
+     * Adds a node to this subgraph corresponding to an attribute referencing another entity, together with a subgraph
+     * specifying attributes of the referenced entity to load.
+     *
+     * @param attributeName Name of the attribute
+     * @param <X>           Type of the referenced entity
+     * @return Subgraph for the attribute
+     * @throws IllegalArgumentException If the attribute is not an attribute of the entity represented by this subgraph
+     *                                  or it does not reference an entity
+     * @throws IllegalStateException    If the graph is immutable
+     */
+    <X> Subgraph<X> addSubgraph(String attributeName);
+
+    /**
+     * Gets the attribute nodes of this subgraph.
+     *
+     * @return Unmodifiable list of attribute nodes
+     */
+    List<AttributeNode<?>> getAttributeNodes();
+}
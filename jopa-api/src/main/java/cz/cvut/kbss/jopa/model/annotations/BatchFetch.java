@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Specifies that a lazily loaded attribute should be loaded in batches.
+ * <p>
+ * When value of the attribute is loaded for one managed instance, it is loaded also for other managed instances of the
+ * same entity class whose value of the attribute has not been loaded yet, up to the specified batch size. All the
+ * values are requested from the storage together. The RDF4J (Sesame) driver retrieves them using a single query, other
+ * drivers may load them one instance at a time.
+ * <p>
+ * This annotation overrides the global batch size configured for the persistence unit.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface BatchFetch {
+
+    /**
+     * Maximum number of instances whose attribute value is loaded together.
+     * <p>
+     * Values less than or equal to {@code 1} disable batch loading of the attribute.
+     *
+     * @return Batch size
+     */
+    int size();
+}
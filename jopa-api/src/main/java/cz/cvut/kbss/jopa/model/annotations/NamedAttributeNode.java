@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A member element of a {@link NamedEntityGraph} or a {@link NamedSubgraph}, representing an attribute to load.
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NamedAttributeNode {
+
+    /**
+     * (Required) The name of the attribute.
+     *
+     * @return Attribute name
+     */
+    String value();
+
+    /**
+     * (Optional) Name of a {@link NamedSubgraph} specifying attributes of the entity referenced by the attribute.
+     *
+     * @return Subgraph name
+     */
+    String subgraph() default "";
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies a named entity graph, i.e., a fetch plan for the annotated entity.
+ * <p>
+ * Entity graph names are scoped to the persistence unit. A named entity graph can be retrieved using {@link
+ * cz.cvut.kbss.jopa.model.EntityManager#getEntityGraph(String)}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NamedEntityGraph {
+
+    /**
+     * (Optional) The name of the graph.
+     * <p>
+     * Defaults to the simple name of the annotated entity class.
+     *
+     * @return Name of the graph
+     */
+    String name() default "";
+
+    /**
+     * (Optional) Attributes of the entity which are included in the graph.
+     *
+     * @return Attribute nodes
+     */
+    NamedAttributeNode[] attributeNodes() default {};
+
+    /**
+     * (Optional) Subgraphs referenced from attribute nodes of this graph or of its subgraphs.
+     *
+     * @return Subgraphs
+     */
+    NamedSubgraph[] subgraphs() default {};
+}
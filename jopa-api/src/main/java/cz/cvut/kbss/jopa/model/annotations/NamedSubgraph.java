@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.annotations;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A member element of a {@link NamedEntityGraph}, specifying attributes to load for an entity referenced by an
+ * attribute node.
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NamedSubgraph {
+
+    /**
+     * (Required) The name of the subgraph, as referenced from {@link NamedAttributeNode#subgraph()}.
+     *
+     * @return Subgraph name
+     */
+    String name();
+
+    /**
+     * (Optional) Attributes of the referenced entity which are included in the subgraph.
+     *
+     * @return Attribute nodes
+     */
+    NamedAttributeNode[] attributeNodes() default {};
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.query;
+
+/**
+ * Interfaces for demand-driven publishing of query results.
+ * <p>
+ * They mirror {@code java.util.concurrent.Flow} (and the Reactive Streams API), which is not available on Java 8. The
+ * method signatures are identical, so adapting a {@link Publisher} to either of these APIs is trivial.
+ */
+public final class Flow {
+
+    private Flow() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Producer of items received by {@link Subscriber}s.
+     *
+     * @param <T> Published item type
+     */
+    @FunctionalInterface
+    public interface Publisher<T> {
+
+        /**
+         * Adds the specified subscriber.
+         * <p>
+         * The subscriber receives {@link Subscriber#onSubscribe(Subscription)} and then items as they are requested
+         * via the subscription.
+         *
+         * @param subscriber The subscriber
+         * @throws NullPointerException If {@code subscriber} is {@code null}
+         */
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    /**
+     * Receiver of items published by a {@link Publisher}.
+     *
+     * @param <T> Received item type
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Invoked before any other method of this subscriber for the given subscription.
+         *
+         * @param subscription Subscription used to request items and to cancel
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Invoked with the next item.
+         *
+         * @param item The item
+         */
+        void onNext(T item);
+
+        /**
+         * Invoked when the publisher encounters an unrecoverable error. No other method is invoked afterwards.
+         *
+         * @param throwable The error
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Invoked when all items have been published. No other method is invoked afterwards.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Link between a {@link Publisher} and a {@link Subscriber}.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds the specified number of items to the unfulfilled demand of this subscription.
+         *
+         * @param n Number of items to request, must be positive
+         */
+        void request(long n);
+
+        /**
+         * Causes the subscriber to (eventually) stop receiving items and releases resources held by the
+         * subscription.
+         */
+        void cancel();
+    }
+}
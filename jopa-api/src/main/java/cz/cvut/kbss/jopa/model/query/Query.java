@@ -20,6 +20,7 @@ import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.exceptions.TransactionRequiredException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
@@ -109,6 +110,26 @@ public interface Query {
      */
     int getFirstResult();
 
+    /**
+     * Set a query property or hint.
+     * <p>
+     * The hints elements may be used to specify query properties and hints. Vendor-specific hints that are not
+     * recognized by a provider are silently ignored.
+     *
+     * @param hintName name of property or hint
+     * @param value    value for the property or hint
+     * @return the same query instance
+     * @throws IllegalArgumentException if the second argument is not valid for the implementation
+     */
+    Query setHint(String hintName, Object value);
+
+    /**
+     * Get the properties and hints and associated values that are in effect for the query instance.
+     *
+     * @return query properties and hints
+     */
+    Map<String, Object> getHints();
+
     /**
      * Gets the parameter object corresponding to the declared positional parameter with the given position. This method
      * is not required to be supported for native queries.
@@ -17,6 +17,7 @@ package cz.cvut.kbss.jopa.model.query;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -40,6 +41,38 @@ public interface TypedQuery<X> extends Query {
         return getResultList().stream();
     }
 
+    /**
+     * Returns a publisher of the query results.
+     * <p>
+     * The query is executed once a subscriber subscribes and results are read from the storage only as they are
+     * requested by the subscriber. Resources of the underlying storage are released as soon as all results are
+     * published, an error occurs or the subscription is cancelled.
+     * <p>
+     * Unlike {@link #getResultListAsync()}, the publisher uses the current persistence context, so it must be
+     * driven by the thread owning it.
+     *
+     * @return Publisher of query results
+     * @throws IllegalStateException if called for a Java Persistence query language UPDATE or DELETE statement
+     */
+    Flow.Publisher<X> getResultPublisher();
+
+    /**
+     * Executes the query asynchronously and returns a future completed with the query results.
+     * <p>
+     * The query is assembled (including parameter values) on the calling thread, so later changes to the query do
+     * not affect the pending execution. It is then evaluated on a separate thread in a dedicated persistence context,
+     * so it does not see uncommitted changes of the current persistence context and entities in the result are not
+     * managed by it.
+     * <p>
+     * Entities in the result are detached. Their lazily loaded attributes are loaded before they are returned,
+     * entities they reference are returned as they were loaded (i.e., without their lazily loaded attributes).
+     *
+     * @return future completed with a list of results
+     * @throws IllegalStateException if called for a Java Persistence query language UPDATE or DELETE statement
+     * @throws java.util.concurrent.RejectedExecutionException If too many asynchronous operations are pending
+     */
+    CompletableFuture<List<X>> getResultListAsync();
+
     /**
      * {@inheritDoc}
      */
@@ -58,6 +91,12 @@ public interface TypedQuery<X> extends Query {
     @Override
     TypedQuery<X> setFirstResult(int startPosition);
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    TypedQuery<X> setHint(String hintName, Object value);
+
     /**
      * {@inheritDoc}
      */
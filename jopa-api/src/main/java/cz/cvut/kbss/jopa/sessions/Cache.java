@@ -67,4 +67,16 @@ public interface Cache {
      * Clears the cache.
      */
     void evictAll();
+
+    /**
+     * Returns an object of the specified type to allow access to the provider-specific API.
+     * <p>
+     * For instance, {@link CacheStatistics} can be obtained this way.
+     *
+     * @param cls The class of the object to be returned
+     * @return An instance of the specified class
+     * @throws cz.cvut.kbss.jopa.exceptions.OWLPersistenceException If the provider does not support the specified
+     *                                                              class
+     */
+    <T> T unwrap(Class<T> cls);
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+/**
+ * Counters of second level cache operations.
+ *
+ * @see CacheStatistics
+ */
+public interface CacheCounters {
+
+    /**
+     * Gets the number of instance loads which found the requested instance in the cache.
+     * <p>
+     * Only lookups deciding whether an instance is loaded from the storage are counted, other checks of the cache
+     * content are not.
+     *
+     * @return Number of hits
+     */
+    long getHitCount();
+
+    /**
+     * Gets the number of instance loads which did not find the requested instance in the cache.
+     *
+     * @return Number of misses
+     */
+    long getMissCount();
+
+    /**
+     * Gets the ratio of hits to all cache lookups.
+     *
+     * @return Hit ratio between {@code 0} and {@code 1}, {@code 0} if there were no lookups
+     */
+    double getHitRatio();
+
+    /**
+     * Gets the number of instances put into the cache.
+     *
+     * @return Number of puts
+     */
+    long getPutCount();
+
+    /**
+     * Gets the number of instances removed from the cache by its eviction policy.
+     * <p>
+     * I.e., instances removed due to cache capacity or expiration. Explicit evictions (e.g., via {@link
+     * Cache#evict(Class)}) are not counted.
+     *
+     * @return Number of evictions
+     */
+    long getEvictionCount();
+
+    /**
+     * Gets the number of instances loaded from the storage.
+     *
+     * @return Number of loads
+     */
+    long getLoadCount();
+
+    /**
+     * Gets the total time spent loading instances from the storage.
+     *
+     * @return Total load time in nanoseconds
+     */
+    long getTotalLoadTime();
+}
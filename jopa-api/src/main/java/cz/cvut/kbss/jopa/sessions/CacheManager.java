@@ -16,7 +16,9 @@ package cz.cvut.kbss.jopa.sessions;
 
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 
+import java.net.URI;
 import java.util.Set;
+import java.util.function.BiPredicate;
 
 /**
  * This interface defines basic methods for accessing the shared live object cache.
@@ -48,6 +50,20 @@ public interface CacheManager extends Cache {
      */
     <T> T get(Class<T> cls, Object identifier, Descriptor descriptor);
 
+    /**
+     * Notifies the cache that state of the specified cached object has been changed in place.
+     * <p>
+     * This happens, for instance, when value of a lazily loaded attribute is loaded into the cached object. Caches
+     * limited by size of their entries should re-estimate size of the object.
+     * <p>
+     * If the specified object is not in the cache, nothing happens.
+     *
+     * @param identifier Identifier of the specified object
+     * @param entity     The changed object
+     * @param descriptor Instance descriptor, contains info about repository context(s) and language tags
+     */
+    void update(Object identifier, Object entity, Descriptor descriptor);
+
     /**
      * Removes objects with (possibly) inferred attributes from the cache.
      *
@@ -55,6 +71,47 @@ public interface CacheManager extends Cache {
      */
     void evictInferredObjects();
 
+    /**
+     * Removes objects with (possibly) inferred attributes which may be affected by a change from the cache.
+     * <p>
+     * Unlike {@link #evictInferredObjects()}, only instances for which the specified predicate holds are evicted.
+     *
+     * @param affected Predicate deciding whether an instance of the specified class and with the specified identifier
+     *                 may be affected by the change
+     */
+    void evictInferredObjects(BiPredicate<Class<?>, Object> affected);
+
+    /**
+     * Removes all objects with the specified identifier from the cache, regardless of their class and repository
+     * context.
+     *
+     * @param identifier Identifier of the objects to evict
+     */
+    void evictIndividual(Object identifier);
+
+    /**
+     * Records that an instance which was not found in the cache has been loaded from the storage.
+     * <p>
+     * This is used to gather cache statistics.
+     *
+     * @param cls      Class of the loaded instance
+     * @param context  Context from which the instance was loaded, {@code null} represents the default context
+     * @param loadTime Duration of the load, in nanoseconds
+     */
+    void recordLoad(Class<?> cls, URI context, long loadTime);
+
+    /**
+     * Records result of a cache lookup made when loading an instance.
+     * <p>
+     * This is used to gather cache statistics. Only lookups deciding whether an instance is loaded from the storage
+     * should be recorded, so that hits and misses are not skewed by other checks of the cache content.
+     *
+     * @param cls     Class of the looked up instance
+     * @param context Context of the looked up instance, {@code null} represents the default context
+     * @param hit     Whether the instance was found in the cache
+     */
+    void recordLookup(Class<?> cls, URI context, boolean hit);
+
     /**
      * Set the inferred classes for this cache manager.
      * <p>
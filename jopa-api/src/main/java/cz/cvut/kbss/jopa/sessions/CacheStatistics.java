@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Statistics of the second level cache.
+ * <p>
+ * The statistics can be obtained by unwrapping the cache, i.e., {@code cache.unwrap(CacheStatistics.class)}. Besides
+ * the totals, the counters are broken down by entity class and by repository context.
+ */
+public interface CacheStatistics extends CacheCounters {
+
+    /**
+     * Gets the current number of instances in the cache.
+     *
+     * @return Cache size
+     */
+    long getSize();
+
+    /**
+     * Gets entity classes for which the statistics have been recorded.
+     *
+     * @return Set of entity classes
+     */
+    Set<Class<?>> getEntityClasses();
+
+    /**
+     * Gets repository contexts for which the statistics have been recorded.
+     * <p>
+     * The default context is represented by {@code null}.
+     *
+     * @return Set of context identifiers
+     */
+    Set<URI> getContexts();
+
+    /**
+     * Gets counters of operations with instances of the specified entity class.
+     *
+     * @param cls Entity class
+     * @return Counters of the specified class, all zero if there were no operations with its instances
+     */
+    CacheCounters forEntityClass(Class<?> cls);
+
+    /**
+     * Gets counters of operations with instances in the specified repository context.
+     *
+     * @param context Context identifier, {@code null} represents the default context
+     * @return Counters of the specified context, all zero if there were no operations with instances in it
+     */
+    CacheCounters forContext(URI context);
+
+    /**
+     * Resets all the counters.
+     */
+    void reset();
+}
@@ -40,4 +40,19 @@ public interface ChangeManager {
      */
     boolean calculateChanges(ObjectChangeSet changeSet);
 
+    /**
+     * Calculates the changes that happened to the clone object, using knowledge of which of its attributes have been
+     * modified, if available.
+     * <p>
+     * Unlike {@link #calculateChanges(ObjectChangeSet)}, attributes which are known not to have been modified since the
+     * clone was last registered in a persistence context need not be compared. This is suitable for merging detached
+     * instances, but not for cases where the original may have changed independently of the clone.
+     *
+     * @param changeSet Contains references to the original and clone objects. Into this change set the changes should
+     *                  be propagated
+     * @return {@code true} if there were any changes, {@code false} otherwise
+     * @throws NullPointerException If {@code changeSet} is {@code null}
+     */
+    boolean calculateModifiedChanges(ObjectChangeSet changeSet);
+
 }
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable description of changes made by a committed transaction.
+ *
+ * @see CommitListener
+ */
+public final class CommitEvent {
+
+    private final List<EntityChange> entityChanges;
+    private final boolean unknownChanges;
+    private final long commitTime;
+
+    /**
+     * @param entityChanges  Changes of entities made by the transaction
+     * @param unknownChanges Whether the transaction made changes not described by the entity changes
+     * @param commitTime     Time of the commit, in milliseconds since the epoch
+     */
+    public CommitEvent(List<EntityChange> entityChanges, boolean unknownChanges, long commitTime) {
+        this.entityChanges = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(entityChanges)));
+        this.unknownChanges = unknownChanges;
+        this.commitTime = commitTime;
+    }
+
+    /**
+     * Gets changes of entities persisted, updated or removed by the transaction.
+     *
+     * @return Unmodifiable list of entity changes
+     */
+    public List<EntityChange> getEntityChanges() {
+        return entityChanges;
+    }
+
+    /**
+     * Whether the transaction made changes which are not described by {@link #getEntityChanges()}.
+     * <p>
+     * This is the case when SPARQL Update statements were executed, since their effect on entities is not known.
+     * Consumers requiring complete information should reload the relevant data in this case.
+     *
+     * @return {@code true} if there were changes not described by the entity changes
+     */
+    public boolean containsUnknownChanges() {
+        return unknownChanges;
+    }
+
+    /**
+     * Gets the time of the commit.
+     *
+     * @return Commit time, in milliseconds since the epoch
+     */
+    public long getCommitTime() {
+        return commitTime;
+    }
+
+    @Override
+    public String toString() {
+        return "CommitEvent{" + "entityChanges=" + entityChanges + ", unknownChanges=" + unknownChanges +
+                ", commitTime=" + commitTime + '}';
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+/**
+ * Listener notified about successfully committed transactions.
+ * <p>
+ * Listeners are registered via {@link cz.cvut.kbss.jopa.model.EntityManagerFactory#addCommitListener(CommitListener)}.
+ * They are notified asynchronously, in a dedicated thread, in the order in which the transactions were committed.
+ * Slow listeners therefore delay notification of the other listeners, but they do not delay the commits.
+ */
+@FunctionalInterface
+public interface CommitListener {
+
+    /**
+     * Called after a transaction has been successfully committed.
+     *
+     * @param event Changes made by the transaction
+     */
+    void onCommit(CommitEvent event);
+}
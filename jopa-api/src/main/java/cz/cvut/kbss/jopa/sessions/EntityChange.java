@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable description of a change of a single entity made by a committed transaction.
+ *
+ * @see CommitEvent
+ */
+public final class EntityChange {
+
+    /**
+     * Type of the change.
+     */
+    public enum Type {
+        PERSISTED, UPDATED, REMOVED
+    }
+
+    private final Type type;
+    private final Class<?> entityClass;
+    private final URI identifier;
+    private final URI context;
+    private final Set<String> changedAttributes;
+
+    /**
+     * @param type              Type of the change
+     * @param entityClass       Entity class
+     * @param identifier        Entity identifier
+     * @param context           Context of the entity, {@code null} represents the default context
+     * @param changedAttributes Names of the changed attributes
+     */
+    public EntityChange(Type type, Class<?> entityClass, URI identifier, URI context, Set<String> changedAttributes) {
+        this.type = Objects.requireNonNull(type);
+        this.entityClass = Objects.requireNonNull(entityClass);
+        this.identifier = Objects.requireNonNull(identifier);
+        this.context = context;
+        this.changedAttributes = Collections.unmodifiableSet(new HashSet<>(Objects.requireNonNull(changedAttributes)));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public URI getIdentifier() {
+        return identifier;
+    }
+
+    /**
+     * Gets the context in which the entity is stored.
+     *
+     * @return Entity context, {@code null} represents the default context
+     */
+    public URI getContext() {
+        return context;
+    }
+
+    /**
+     * Gets names of attributes changed by the transaction.
+     * <p>
+     * Applies only to {@link Type#UPDATED} changes, the set is empty for persisted and removed entities.
+     *
+     * @return Unmodifiable set of attribute names
+     */
+    public Set<String> getChangedAttributes() {
+        return changedAttributes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EntityChange that = (EntityChange) o;
+        return type == that.type && entityClass.equals(that.entityClass) && identifier.equals(that.identifier) &&
+                Objects.equals(context, that.context) && changedAttributes.equals(that.changedAttributes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, entityClass, identifier, context, changedAttributes);
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChange{" + type + " " + entityClass.getSimpleName() + " <" + identifier + ">" +
+                (context != null ? " in <" + context + ">" : "") +
+                (changedAttributes.isEmpty() ? "" : ", changedAttributes=" + changedAttributes) + '}';
+    }
+}
@@ -15,11 +15,13 @@
 package cz.cvut.kbss.jopa.sessions;
 
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.EntityGraph;
 import cz.cvut.kbss.jopa.model.LoadState;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -104,6 +106,16 @@ public interface UnitOfWork extends Session {
      */
     <T> void loadEntityField(T entity, Field field);
 
+    /**
+     * Loads attributes specified by the entity graph for the specified entities.
+     *
+     * @param entities   Entities whose attributes should be loaded
+     * @param descriptor Descriptor of entities not managed by this persistence context
+     * @param graph      Entity graph specifying attributes to load
+     * @throws NullPointerException If any of the arguments is {@code null}
+     */
+    void loadEntityGraph(Collection<?> entities, Descriptor descriptor, EntityGraph<?> graph);
+
     /**
      * Merges the state of the given entity into the current persistence context.
      * <p>
@@ -133,6 +145,21 @@ public interface UnitOfWork extends Session {
      */
     <T> T readObject(Class<T> cls, Object identifier, Descriptor descriptor);
 
+    /**
+     * Retrieves object with the specified identifier without registering it in this persistence context.
+     * <p>
+     * If the object is already managed, the managed instance is returned. Otherwise, the instance provided by the
+     * storage (possibly shared through the second level cache) is returned directly, without being cloned and without
+     * having its changes tracked. Such instance must not be modified.
+     *
+     * @param cls        The type of the returned object
+     * @param identifier Instance identifier
+     * @param descriptor Entity descriptor
+     * @return The retrieved object or {@code null} if there is no object with the specified identifier
+     * @throws NullPointerException If {@code cls}, {@code identifier} or {@code descriptor} is {@code null}
+     */
+    <T> T readObjectWithoutRegistration(Class<T> cls, Object identifier, Descriptor descriptor);
+
     /**
      * Retrieves a reference to an object with the specified identifier.
      * <p>
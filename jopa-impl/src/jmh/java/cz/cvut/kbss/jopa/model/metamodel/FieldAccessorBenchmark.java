@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares field access via {@link FieldAccessor} with plain reflective {@link Field#get(Object)} and {@link
+ * Field#set(Object, Object)}.
+ * <p>
+ * Run using {@code mvn -Pjmh test-compile exec:exec} in the {@code jopa-impl} module.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessorBenchmark {
+
+    private Field field;
+    private FieldAccessor accessor;
+    private Entity instance;
+    private String value;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.field = Entity.class.getDeclaredField("name");
+        field.setAccessible(true);
+        this.accessor = new FieldAccessor(field);
+        this.instance = new Entity();
+        instance.name = "Entity name";
+        this.value = "Updated name";
+    }
+
+    @Benchmark
+    public Object reflectionGet() throws IllegalAccessException {
+        return field.get(instance);
+    }
+
+    @Benchmark
+    public Object accessorGet() {
+        return accessor.getValue(instance);
+    }
+
+    @Benchmark
+    public Object reflectionSet() throws IllegalAccessException {
+        field.set(instance, value);
+        return instance;
+    }
+
+    @Benchmark
+    public Object accessorSet() {
+        accessor.setValue(instance, value);
+        return instance;
+    }
+
+    public static class Entity {
+        private String name;
+    }
+}
@@ -1,7 +1,9 @@
 grammar Soql;
 
 
-querySentence : selectStatement whereClauseWrapper? groupByClause? orderByClause? ;
+querySentence : selectStatement whereClauseWrapper? groupByClause? orderByClause?
+              | updateStatement whereClauseWrapper?
+              | deleteStatement whereClauseWrapper? ;
 
 
 
@@ -35,6 +37,20 @@ joinedParams: object DOT attribute (DOT attribute)+ ;
 
 
 
+updateStatement: UPDATE tables setClause ;
+
+setClause: SET setAssignmentComma* setAssignment ;
+
+setAssignmentComma: setAssignment COMMA ;
+
+setAssignment: setParam QUERYOPERATOR whereClauseValue ;
+
+setParam: object DOT attribute ;
+
+deleteStatement: DELETE FROM tables ;
+
+
+
 tables: tableWithName ;
 
 table: TEXT ;
@@ -109,6 +125,12 @@ DISTINCT: 'DISTINCT' ;
 
 COUNT: 'COUNT' ;
 
+UPDATE: 'UPDATE' ;
+
+SET: 'SET' ;
+
+DELETE: 'DELETE' ;
+
 QUERYOPERATOR: '>' | '<' | '>=' | '<=' | '=' | 'LIKE';
 
 DOT: '.' ;
@@ -62,4 +62,16 @@ public abstract class IndirectCollection<T> {
      * @return The collection wrapped in this indirect collection
      */
     public abstract T getReferencedCollection();
+
+    /**
+     * Gets the wrapped collection so that it can be used outside of the persistence context.
+     * <p>
+     * Unlike {@link #getReferencedCollection()}, the returned collection is never shared with another instance (e.g.,
+     * the original of a copy-on-write clone).
+     *
+     * @return The collection wrapped in this indirect collection
+     */
+    public T unwrap() {
+        return getReferencedCollection();
+    }
 }
@@ -21,7 +21,10 @@ import java.util.*;
 
 public class IndirectList<E> extends IndirectCollection<List<E>> implements List<E> {
 
-    private final List<E> internalList;
+    private List<E> internalList;
+
+    // Whether internalList is shared with the original and has to be copied before the first modification
+    private boolean shared;
 
     /**
      * No-arg constructor to allow clone building.
@@ -44,8 +47,36 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
         this.internalList = Objects.requireNonNull(referencedList);
     }
 
+    /**
+     * Creates a new copy-on-write indirect list, which shares the specified list until it is first modified.
+     * <p>
+     * The shared list must not be modified by anyone else. Only lists of immutable elements should be shared, because
+     * their elements are not cloned either.
+     *
+     * @param owner      Owner of the list
+     * @param f          The field holding this list
+     * @param uow        Persistence context the owner belongs to
+     * @param sharedList The list to share, an {@link ArrayList} or a {@link LinkedList}
+     * @param <E>        Element type
+     * @return New indirect list
+     */
+    public static <E> IndirectList<E> copyOnWrite(Object owner, Field f, UnitOfWorkImpl uow, List<E> sharedList) {
+        final IndirectList<E> result = new IndirectList<>(owner, f, uow, sharedList);
+        result.shared = true;
+        return result;
+    }
+
+    private void ensureNotShared() {
+        if (shared) {
+            this.internalList = internalList instanceof LinkedList ? new LinkedList<>(internalList) :
+                                new ArrayList<>(internalList);
+            this.shared = false;
+        }
+    }
+
     @Override
     public boolean add(E arg0) {
+        ensureNotShared();
         final boolean res = internalList.add(arg0);
         persistChange();    // There is always a change
         return res;
@@ -53,12 +84,14 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public void add(int arg0, E arg1) {
+        ensureNotShared();
         internalList.add(arg0, arg1);
         persistChange();
     }
 
     @Override
     public boolean addAll(Collection<? extends E> c) {
+        ensureNotShared();
         boolean res = internalList.addAll(c);
         if (res) {
             persistChange();
@@ -68,6 +101,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public boolean addAll(int index, Collection<? extends E> c) {
+        ensureNotShared();
         boolean res = internalList.addAll(index, c);
         if (res) {
             persistChange();
@@ -77,6 +111,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public void clear() {
+        ensureNotShared();
         internalList.clear();
         persistChange();
     }
@@ -108,7 +143,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public Iterator<E> iterator() {
-        return new IndirectIterator(internalList.iterator());
+        return new IndirectIterator(internalList.iterator(), shared);
     }
 
     @Override
@@ -118,16 +153,19 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public ListIterator<E> listIterator() {
+        ensureNotShared();
         return new IndirectListIterator(internalList.listIterator());
     }
 
     @Override
     public ListIterator<E> listIterator(int arg0) {
+        ensureNotShared();
         return new IndirectListIterator(internalList.listIterator(arg0));
     }
 
     @Override
     public boolean remove(Object arg0) {
+        ensureNotShared();
         boolean res = internalList.remove(arg0);
         if (res) {
             persistChange();
@@ -137,6 +175,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public E remove(int arg0) {
+        ensureNotShared();
         E elem = internalList.remove(arg0);
         persistChange();
         return elem;
@@ -144,6 +183,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public boolean removeAll(Collection<?> arg0) {
+        ensureNotShared();
         boolean res = internalList.removeAll(arg0);
         if (res) {
             persistChange();
@@ -153,6 +193,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public boolean retainAll(Collection<?> arg0) {
+        ensureNotShared();
         boolean res = internalList.retainAll(arg0);
         if (res) {
             persistChange();
@@ -162,6 +203,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public E set(int arg0, E arg1) {
+        ensureNotShared();
         E elem = internalList.set(arg0, arg1);
         persistChange();
         return elem;
@@ -174,6 +216,7 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
+        ensureNotShared();
         return new IndirectList<>(owner, field, persistenceContext, internalList.subList(fromIndex, toIndex));
     }
 
@@ -192,6 +235,12 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
         return internalList;
     }
 
+    @Override
+    public List<E> unwrap() {
+        ensureNotShared();
+        return internalList;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof List) {
@@ -216,9 +265,15 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
     private class IndirectIterator implements Iterator<E> {
 
         private final Iterator<E> it;
+        // Iterating over a shared list, removals are applied to the private copy instead
+        private final boolean overShared;
+        private int lastIndex = -1;
+        private int removed;
+        private boolean canRemove;
 
-        private IndirectIterator(Iterator<E> it) {
+        private IndirectIterator(Iterator<E> it, boolean overShared) {
             this.it = it;
+            this.overShared = overShared;
         }
 
         @Override
@@ -228,12 +283,25 @@ public class IndirectList<E> extends IndirectCollection<List<E>> implements List
 
         @Override
         public E next() {
-            return it.next();
+            final E next = it.next();
+            lastIndex++;
+            this.canRemove = true;
+            return next;
         }
 
         @Override
         public void remove() {
-            it.remove();
+            if (overShared) {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                ensureNotShared();
+                internalList.remove(lastIndex - removed);
+                removed++;
+                this.canRemove = false;
+            } else {
+                it.remove();
+            }
             IndirectList.this.persistChange();
         }
     }
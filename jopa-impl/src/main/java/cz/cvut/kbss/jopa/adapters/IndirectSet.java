@@ -23,6 +23,9 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     private Set<E> internalSet;
 
+    // Whether internalSet is shared with the original and has to be copied before the first modification
+    private boolean shared;
+
     /**
      * No-arg constructor to allow clone building.
      */
@@ -35,6 +38,33 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
         this.internalSet = Objects.requireNonNull(referencedSet);
     }
 
+    /**
+     * Creates a new copy-on-write indirect set, which shares the specified set until it is first modified.
+     * <p>
+     * The shared set must not be modified by anyone else. Only sets of immutable elements should be shared, because
+     * their elements are not cloned either.
+     *
+     * @param owner     Owner of the set
+     * @param f         The field holding this set
+     * @param uow       Persistence context the owner belongs to
+     * @param sharedSet The set to share, a {@link HashSet} or a {@link LinkedHashSet}
+     * @param <E>       Element type
+     * @return New indirect set
+     */
+    public static <E> IndirectSet<E> copyOnWrite(Object owner, Field f, UnitOfWorkImpl uow, Set<E> sharedSet) {
+        final IndirectSet<E> result = new IndirectSet<>(owner, f, uow, sharedSet);
+        result.shared = true;
+        return result;
+    }
+
+    private void ensureNotShared() {
+        if (shared) {
+            this.internalSet = internalSet instanceof LinkedHashSet ? new LinkedHashSet<>(internalSet) :
+                               new HashSet<>(internalSet);
+            this.shared = false;
+        }
+    }
+
     @Override
     public int size() {
         return internalSet.size();
@@ -52,7 +82,7 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     @Override
     public Iterator<E> iterator() {
-        return new IndirectSetIterator<>(internalSet.iterator());
+        return new IndirectSetIterator(internalSet.iterator(), shared);
     }
 
     @Override
@@ -67,6 +97,7 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     @Override
     public boolean add(E e) {
+        ensureNotShared();
         boolean res = internalSet.add(e);
         if (res) {
             persistChange();
@@ -76,6 +107,7 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     @Override
     public boolean remove(Object o) {
+        ensureNotShared();
         boolean res = internalSet.remove(o);
         if (res) {
             persistChange();
@@ -91,6 +123,7 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
     @Override
 
     public boolean addAll(Collection<? extends E> c) {
+        ensureNotShared();
         boolean res = internalSet.addAll(c);
         if (res) {
             persistChange();
@@ -100,6 +133,7 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     @Override
     public boolean retainAll(Collection<?> c) {
+        ensureNotShared();
         boolean res = internalSet.retainAll(c);
         if (res) {
             persistChange();
@@ -109,6 +143,7 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     @Override
     public boolean removeAll(Collection<?> c) {
+        ensureNotShared();
         boolean res = internalSet.removeAll(c);
         if (res) {
             persistChange();
@@ -118,16 +153,22 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
 
     @Override
     public void clear() {
+        ensureNotShared();
         internalSet.clear();
         persistChange();
     }
 
-    private class IndirectSetIterator<T> implements Iterator<T> {
+    private class IndirectSetIterator implements Iterator<E> {
 
-        private Iterator<T> iterator;
+        private final Iterator<E> iterator;
+        // Iterating over a shared set, removals are applied to the private copy instead
+        private final boolean overShared;
+        private E lastReturned;
+        private boolean canRemove;
 
-        private IndirectSetIterator(Iterator<T> iterator) {
+        private IndirectSetIterator(Iterator<E> iterator, boolean overShared) {
             this.iterator = iterator;
+            this.overShared = overShared;
         }
 
         @Override
@@ -136,13 +177,24 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
         }
 
         @Override
-        public T next() {
-            return iterator.next();
+        public E next() {
+            this.lastReturned = iterator.next();
+            this.canRemove = true;
+            return lastReturned;
         }
 
         @Override
         public void remove() {
-            iterator.remove();
+            if (overShared) {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                ensureNotShared();
+                internalSet.remove(lastReturned);
+                this.canRemove = false;
+            } else {
+                iterator.remove();
+            }
             IndirectSet.this.persistChange();
         }
     }
@@ -152,6 +204,12 @@ public class IndirectSet<E> extends IndirectCollection<Set<E>> implements Set<E>
         return internalSet;
     }
 
+    @Override
+    public Set<E> unwrap() {
+        ensureNotShared();
+        return internalSet;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof Set) {
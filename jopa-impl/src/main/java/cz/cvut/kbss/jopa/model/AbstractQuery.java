@@ -20,6 +20,8 @@ import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.query.Parameter;
 import cz.cvut.kbss.jopa.model.query.Query;
 import cz.cvut.kbss.jopa.query.QueryHolder;
+import cz.cvut.kbss.jopa.query.UpdateScope;
+import cz.cvut.kbss.jopa.query.sparql.SparqlUpdateAnalyzer;
 import cz.cvut.kbss.jopa.sessions.ConnectionWrapper;
 import cz.cvut.kbss.jopa.utils.ErrorUtils;
 import cz.cvut.kbss.jopa.utils.Procedure;
@@ -31,9 +33,13 @@ import cz.cvut.kbss.ontodriver.iteration.ResultRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -53,6 +59,9 @@ abstract class AbstractQuery implements Query {
 
     private Procedure rollbackOnlyMarker;
     private Procedure ensureOpenProcedure;
+    private Consumer<UpdateScope> updateExecutedHandler;
+
+    private final Map<String, Object> hints = new HashMap<>();
 
     AbstractQuery(QueryHolder query, ConnectionWrapper connection) {
         this.query = Objects.requireNonNull(query, ErrorUtils.getNPXMessageSupplier("query"));
@@ -69,6 +78,18 @@ abstract class AbstractQuery implements Query {
         this.useBackupOntology = useBackupOntology;
     }
 
+    /**
+     * Whether this query is read-only, i.e., whether the {@link JOPAPersistenceProperties#READ_ONLY} hint is set.
+     * <p>
+     * Read-only queries do not register loaded entities in the persistence context and cannot execute updates.
+     *
+     * @return Read-only status
+     */
+    public boolean isReadOnly() {
+        final Object value = hints.get(JOPAPersistenceProperties.READ_ONLY);
+        return value instanceof Boolean ? (Boolean) value : Boolean.parseBoolean(Objects.toString(value));
+    }
+
     private void logQuery() {
         if (LOG.isTraceEnabled()) {
             LOG.trace("Executing query: {}", query.assembleQuery());
@@ -119,6 +140,19 @@ abstract class AbstractQuery implements Query {
         this.ensureOpenProcedure = ensureOpenProcedure;
     }
 
+    /**
+     * Registers a handler which is notified after an update query has been successfully executed.
+     * <p>
+     * The handler receives scope of data which may have been modified by the update, so that it can be evicted from
+     * the second level cache. If the affected entity classes are not known from the query itself, the scope is
+     * determined by analyzing the SPARQL Update request.
+     *
+     * @param updateExecutedHandler The handler to call after update execution
+     */
+    void setUpdateExecutedHandler(Consumer<UpdateScope> updateExecutedHandler) {
+        this.updateExecutedHandler = updateExecutedHandler;
+    }
+
     private static IllegalStateException unboundParam(Object param) {
         return new IllegalStateException("Parameter " + param + " is not bound.");
     }
@@ -126,11 +160,19 @@ abstract class AbstractQuery implements Query {
     @Override
     public void executeUpdate() {
         ensureOpen();
+        if (isReadOnly()) {
+            markTransactionForRollback();
+            throw new IllegalStateException("Cannot execute update in a read-only query.");
+        }
         final Statement stmt = connection.createStatement();
         try {
             setTargetOntology(stmt);
             logQuery();
-            stmt.executeUpdate(query.assembleQuery());
+            final String update = query.assembleQuery();
+            stmt.executeUpdate(update);
+            if (updateExecutedHandler != null) {
+                updateExecutedHandler.accept(resolveUpdateScope(update));
+            }
         } catch (OntoDriverException e) {
             markTransactionForRollback();
             throw queryEvaluationException(e);
@@ -146,6 +188,12 @@ abstract class AbstractQuery implements Query {
         }
     }
 
+    private UpdateScope resolveUpdateScope(String update) {
+        final Set<Class<?>> affectedClasses = query.getAffectedEntityClasses();
+        return affectedClasses.isEmpty() ? SparqlUpdateAnalyzer.analyze(update) :
+               UpdateScope.ofClasses(affectedClasses);
+    }
+
     @Override
     public Parameter<?> getParameter(int position) {
         return query.getParameter(position);
@@ -268,6 +316,19 @@ abstract class AbstractQuery implements Query {
         return query.getFirstResult();
     }
 
+    @Override
+    public Query setHint(String hintName, Object value) {
+        ensureOpen();
+        Objects.requireNonNull(hintName, ErrorUtils.getNPXMessageSupplier("hintName"));
+        hints.put(hintName, value);
+        return this;
+    }
+
+    @Override
+    public Map<String, Object> getHints() {
+        return Collections.unmodifiableMap(hints);
+    }
+
     void checkNumericParameter(int param, String name) {
         if (param < 0) {
             markTransactionForRollback();
@@ -307,6 +368,16 @@ abstract class AbstractQuery implements Query {
         }), false);
     }
 
+    <R> QueryResultPublisher<R> executeQueryForPublisher(Function<ResultRow, Optional<R>> function) {
+        final String assembledQuery = query.assembleQuery();
+        return new QueryResultPublisher<>(() -> {
+            final Statement stmt = connection.createStatement();
+            setTargetOntology(stmt);
+            LOG.trace("Executing query: {}", assembledQuery);
+            return stmt;
+        }, assembledQuery, function, this::markTransactionForRollback);
+    }
+
     boolean exceptionCausesRollback(RuntimeException e) {
         return !(e instanceof NoUniqueResultException) && !(e instanceof NoResultException);
     }
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Attribute node of an entity graph.
+ * <p>
+ * The node may have at most one subgraph, representing the declared target entity type of the attribute.
+ *
+ * @param <T> The type of the attribute
+ */
+class AttributeNodeImpl<T> implements AttributeNode<T> {
+
+    private final String attributeName;
+
+    private EntityGraphImpl<?> subgraph;
+
+    AttributeNodeImpl(String attributeName) {
+        this.attributeName = attributeName;
+    }
+
+    @Override
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    EntityGraphImpl<?> getSubgraph() {
+        return subgraph;
+    }
+
+    void setSubgraph(EntityGraphImpl<?> subgraph) {
+        this.subgraph = subgraph;
+    }
+
+    @Override
+    public Map<Class, Subgraph> getSubgraphs() {
+        return subgraph != null ? Collections.singletonMap(subgraph.getClassType(), subgraph) :
+               Collections.emptyMap();
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeNode{" + attributeName + (subgraph != null ? ", " + subgraph.getAttributeNodes() : "") + "}";
+    }
+}
@@ -17,29 +17,70 @@ package cz.cvut.kbss.jopa.model;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.jopa.sessions.validator.AttributeModificationValidator;
 import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
+import cz.cvut.kbss.jopa.utils.FieldIndex;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.FieldSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 public class BeanListenerAspect {
 
     private static final Logger LOG = LoggerFactory.getLogger(BeanListenerAspect.class);
 
+    // Fields accessed at the individual join points, resolved on the first access
+    private static final Map<JoinPoint.StaticPart, AccessedField> ACCESSED_FIELDS = new ConcurrentHashMap<>();
+
     public interface Manageable {
         void setPersistenceContext(UnitOfWorkImpl uow);
 
         UnitOfWorkImpl getPersistenceContext();
+
+        /**
+         * Sets the bit set into which indexes (see {@link FieldIndex}) of fields modified via their setters are
+         * recorded.
+         *
+         * @param dirtyFields Bit set of modified fields, {@code null} disables tracking
+         */
+        void setDirtyFields(BitSet dirtyFields);
+
+        /**
+         * Gets the bit set of fields modified via their setters since the instance was last registered in a
+         * persistence context.
+         *
+         * @return Bit set of modified fields, {@code null} if modifications of this instance are not tracked
+         */
+        BitSet getDirtyFields();
+
+        /**
+         * Sets the bit set into which indexes (see {@link FieldIndex}) of fields known to be loaded are recorded.
+         *
+         * @param loadedFields Bit set of loaded fields, {@code null} if the instance is not managed
+         */
+        void setLoadedFields(BitSet loadedFields);
+
+        /**
+         * Gets the bit set of fields known to be loaded, i.e., fields which need not be checked for lazy loading.
+         *
+         * @return Bit set of loaded fields, {@code null} if the instance is not managed
+         */
+        BitSet getLoadedFields();
     }
 
     public static class ManageableImpl implements Manageable {
         private transient UnitOfWorkImpl persistenceContext;
+        private transient BitSet dirtyFields;
+        private transient BitSet loadedFields;
 
         @Override
         public void setPersistenceContext(UnitOfWorkImpl uow) {
@@ -50,6 +91,68 @@ public class BeanListenerAspect {
         public UnitOfWorkImpl getPersistenceContext() {
             return persistenceContext;
         }
+
+        @Override
+        public void setDirtyFields(BitSet dirtyFields) {
+            this.dirtyFields = dirtyFields;
+        }
+
+        @Override
+        public BitSet getDirtyFields() {
+            return dirtyFields;
+        }
+
+        @Override
+        public void setLoadedFields(BitSet loadedFields) {
+            this.loadedFields = loadedFields;
+        }
+
+        @Override
+        public BitSet getLoadedFields() {
+            return loadedFields;
+        }
+    }
+
+    /**
+     * Field accessed at a join point.
+     * <p>
+     * Caches the field index and the field specification resolved for the most recently used entity class and
+     * metamodel, so that they do not have to be looked up on every access.
+     */
+    private static final class AccessedField {
+        private final Field field;
+        private final int index;
+        private volatile ResolvedFieldSpecification resolved;
+
+        private AccessedField(Field field) {
+            this.field = field;
+            this.index = FieldIndex.indexOf(field);
+        }
+
+        private FieldSpecification<?, ?> getFieldSpecification(Class<?> entityClass, Metamodel metamodel) {
+            final ResolvedFieldSpecification current = resolved;
+            if (current != null && current.entityClass == entityClass && current.metamodel == metamodel) {
+                return current.fieldSpec;
+            }
+            final EntityType<?> et = metamodel.entity(entityClass);
+            assert et != null;
+            final FieldSpecification<?, ?> fieldSpec = et.getFieldSpecification(field.getName());
+            this.resolved = new ResolvedFieldSpecification(entityClass, metamodel, fieldSpec);
+            return fieldSpec;
+        }
+    }
+
+    private static final class ResolvedFieldSpecification {
+        private final Class<?> entityClass;
+        private final Metamodel metamodel;
+        private final FieldSpecification<?, ?> fieldSpec;
+
+        private ResolvedFieldSpecification(Class<?> entityClass, Metamodel metamodel,
+                                           FieldSpecification<?, ?> fieldSpec) {
+            this.entityClass = entityClass;
+            this.metamodel = metamodel;
+            this.fieldSpec = fieldSpec;
+        }
     }
 
     @DeclareMixin(value = "!is(InterfaceType) && (@cz.cvut.kbss.jopa.model.annotations.OWLClass *)")
@@ -76,22 +179,32 @@ public class BeanListenerAspect {
 
     /**
      * Ties the specified instance to its persistence context, so that the advices can identify it easily.
+     * <p>
+     * This also starts tracking of modified and loaded fields of the instance from a clean state. The tracking of
+     * modified fields continues after the instance is detached, so that merge can inspect only the modified fields.
      *
      * @param instance           The managed instance
      * @param persistenceContext Persistence context which is managing it
      */
     public void register(Object instance, UnitOfWorkImpl persistenceContext) {
-        ((Manageable) instance).setPersistenceContext(persistenceContext);
+        final Manageable manageable = (Manageable) instance;
+        manageable.setPersistenceContext(persistenceContext);
+        manageable.setDirtyFields(new BitSet());
+        manageable.setLoadedFields(new BitSet());
     }
 
     /**
      * Disconnects the specified instance from its persistence context.
+     * <p>
+     * Modified fields of the instance are still tracked.
      *
      * @param instance The instance to remove
      * @see #register(Object, UnitOfWorkImpl)
      */
     public void deregister(Object instance) {
-        ((Manageable) instance).setPersistenceContext(null);
+        final Manageable manageable = (Manageable) instance;
+        manageable.setPersistenceContext(null);
+        manageable.setLoadedFields(null);
     }
 
     @AfterReturning("setter()")
@@ -101,14 +214,19 @@ public class BeanListenerAspect {
         if (!(entity instanceof Manageable)) {
             return;
         }
+        final AccessedField accessedField = getAccessedField(thisJoinPoint.getStaticPart());
+        final BitSet dirtyFields = ((Manageable) entity).getDirtyFields();
+        if (dirtyFields != null) {
+            dirtyFields.set(accessedField.index);
+        }
         final UnitOfWorkImpl persistenceContext = ((Manageable) entity).getPersistenceContext();
         if (persistenceContext == null || !persistenceContext.isInTransaction()) {
             return;
         }
 
         try {
-            final FieldSpecification<?, ?> fieldSpec = getFieldSpecification(entity,
-                    thisJoinPoint.getSignature().getName(), persistenceContext);
+            final FieldSpecification<?, ?> fieldSpec =
+                    accessedField.getFieldSpecification(entity.getClass(), persistenceContext.getMetamodel());
             AttributeModificationValidator.verifyCanModify(fieldSpec);
             persistenceContext.attributeChanged(entity, fieldSpec.getJavaField());
         } catch (SecurityException e) {
@@ -117,30 +235,40 @@ public class BeanListenerAspect {
         }
     }
 
-    private FieldSpecification<?, ?> getFieldSpecification(Object entity, String fieldName,
-                                                           UnitOfWorkImpl persistenceContext) {
-        final EntityType<?> et = persistenceContext.getMetamodel().entity(entity.getClass());
-        assert et != null;
-        return et.getFieldSpecification(fieldName);
+    private static AccessedField getAccessedField(JoinPoint.StaticPart joinPoint) {
+        final AccessedField accessedField = ACCESSED_FIELDS.get(joinPoint);
+        if (accessedField != null) {
+            return accessedField;
+        }
+        return ACCESSED_FIELDS.computeIfAbsent(joinPoint,
+                jp -> new AccessedField(((FieldSignature) jp.getSignature()).getField()));
     }
 
-    @Before("getter()")
-    public void beforeGetter(JoinPoint thisJoinPoint) {
+    @Before("getter() && target(entity)")
+    public void beforeGetter(JoinPoint.StaticPart thisJoinPointStaticPart, Object entity) {
         // Load lazy loaded entity field
-        final Object entity = thisJoinPoint.getTarget();
         if (!(entity instanceof Manageable)) {
             return;
         }
+        final BitSet loadedFields = ((Manageable) entity).getLoadedFields();
+        if (loadedFields == null) {
+            return;
+        }
+        final AccessedField accessedField = getAccessedField(thisJoinPointStaticPart);
+        if (loadedFields.get(accessedField.index)) {
+            return;
+        }
         final UnitOfWorkImpl persistenceContext = ((Manageable) entity).getPersistenceContext();
         if (persistenceContext == null || !persistenceContext.contains(entity)) {
             return;
         }
-        final FieldSpecification<?, ?> fieldSpec = getFieldSpecification(entity, thisJoinPoint.getSignature().getName(),
-                persistenceContext);
+        final FieldSpecification<?, ?> fieldSpec =
+                accessedField.getFieldSpecification(entity.getClass(), persistenceContext.getMetamodel());
         final Field field = fieldSpec.getJavaField();
-        if (EntityPropertiesUtils.isFieldTransient(field)) {
-            return;
+        if (!EntityPropertiesUtils.isFieldTransient(field)) {
+            persistenceContext.loadEntityField(entity, field);
         }
-        persistenceContext.loadEntityField(entity, field);
+        // Loaded fields stay loaded until the instance is registered again
+        loadedFields.set(accessedField.index);
     }
 }
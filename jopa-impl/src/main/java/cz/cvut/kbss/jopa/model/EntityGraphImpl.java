@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import cz.cvut.kbss.jopa.model.metamodel.Bindable;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Entity graph implementation.
+ * <p>
+ * The same class represents both root graphs and subgraphs, since they differ only in the name, which is not used for
+ * subgraphs.
+ *
+ * @param <T> The type of the entity represented by this graph
+ */
+public class EntityGraphImpl<T> implements EntityGraph<T>, Subgraph<T> {
+
+    private final String name;
+    private final EntityType<T> entityType;
+    private final MetamodelImpl metamodel;
+
+    private final Map<String, AttributeNodeImpl<?>> attributeNodes = new LinkedHashMap<>();
+
+    private boolean mutable = true;
+
+    public EntityGraphImpl(String name, EntityType<T> entityType, MetamodelImpl metamodel) {
+        this.name = name;
+        this.entityType = Objects.requireNonNull(entityType);
+        this.metamodel = Objects.requireNonNull(metamodel);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Class<T> getClassType() {
+        return entityType.getJavaType();
+    }
+
+    public EntityType<T> getEntityType() {
+        return entityType;
+    }
+
+    @Override
+    public void addAttributeNodes(String... attributeNames) {
+        Objects.requireNonNull(attributeNames);
+        ensureMutable();
+        for (String attName : attributeNames) {
+            entityType.getFieldSpecification(attName);
+            attributeNodes.computeIfAbsent(attName, AttributeNodeImpl::new);
+        }
+    }
+
+    private void ensureMutable() {
+        if (!mutable) {
+            throw new IllegalStateException("Entity graph " + this + " is immutable.");
+        }
+    }
+
+    @Override
+    public <X> Subgraph<X> addSubgraph(String attributeName) {
+        Objects.requireNonNull(attributeName);
+        ensureMutable();
+        final Class<X> targetType = (Class<X>) resolveReferencedEntityType(attributeName);
+        final AttributeNodeImpl<?> node = attributeNodes.computeIfAbsent(attributeName, AttributeNodeImpl::new);
+        if (node.getSubgraph() == null) {
+            node.setSubgraph(new EntityGraphImpl<>(null, metamodel.entity(targetType), metamodel));
+        }
+        return (Subgraph<X>) node.getSubgraph();
+    }
+
+    private Class<?> resolveReferencedEntityType(String attributeName) {
+        final FieldSpecification<? super T, ?> fs = entityType.getFieldSpecification(attributeName);
+        if (fs instanceof Bindable) {
+            final Class<?> target = ((Bindable<?>) fs).getBindableJavaType();
+            if (metamodel.isEntityType(target)) {
+                return target;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Attribute " + attributeName + " of " + entityType + " does not reference an entity.");
+    }
+
+    @Override
+    public List<AttributeNode<?>> getAttributeNodes() {
+        return Collections.unmodifiableList(new ArrayList<>(attributeNodes.values()));
+    }
+
+    /**
+     * Makes this graph and all its subgraphs immutable.
+     */
+    public void makeImmutable() {
+        this.mutable = false;
+        attributeNodes.values().stream().filter(n -> n.getSubgraph() != null)
+                      .forEach(n -> n.getSubgraph().makeImmutable());
+    }
+
+    /**
+     * Creates a mutable deep copy of this graph.
+     *
+     * @return New entity graph
+     */
+    public EntityGraphImpl<T> copy() {
+        final EntityGraphImpl<T> copy = new EntityGraphImpl<>(name, entityType, metamodel);
+        attributeNodes.forEach((attName, node) -> {
+            final AttributeNodeImpl<?> nodeCopy = new AttributeNodeImpl<>(attName);
+            if (node.getSubgraph() != null) {
+                nodeCopy.setSubgraph(node.getSubgraph().copy());
+            }
+            copy.attributeNodes.put(attName, nodeCopy);
+        });
+        return copy;
+    }
+
+    /**
+     * Resolves entity graph specified as value of the {@link JOPAPersistenceProperties#FETCH_GRAPH} hint.
+     *
+     * @param hintValue Hint value, either an entity graph or name of a named entity graph
+     * @param metamodel Metamodel containing named entity graphs
+     * @return Entity graph, {@code null} if the hint value is {@code null}
+     * @throws IllegalArgumentException If the value is neither an entity graph nor name of a named entity graph
+     */
+    public static EntityGraph<?> fromHint(Object hintValue, MetamodelImpl metamodel) {
+        if (hintValue == null || hintValue instanceof EntityGraph) {
+            return (EntityGraph<?>) hintValue;
+        }
+        if (hintValue instanceof String) {
+            return metamodel.getNamedEntityGraph((String) hintValue);
+        }
+        throw new IllegalArgumentException("Unsupported fetch graph hint value " + hintValue + ".");
+    }
+
+    @Override
+    public String toString() {
+        return "EntityGraph{" + (name != null ? name + ", " : "") + entityType.getJavaType().getSimpleName() + "}";
+    }
+}
@@ -19,17 +19,23 @@ import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
 import cz.cvut.kbss.jopa.model.query.Query;
 import cz.cvut.kbss.jopa.sessions.Cache;
+import cz.cvut.kbss.jopa.sessions.CommitListener;
 import cz.cvut.kbss.jopa.sessions.ServerSession;
+import cz.cvut.kbss.jopa.sessions.cache.CacheWarmer;
 import cz.cvut.kbss.jopa.utils.Configuration;
 import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
 import cz.cvut.kbss.ontodriver.OntologyStorageProperties;
 import cz.cvut.kbss.ontodriver.config.OntoDriverProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class EntityManagerFactoryImpl implements EntityManagerFactory, PersistenceUnitUtil {
 
+    private static final Logger LOG = LoggerFactory.getLogger(EntityManagerFactoryImpl.class);
+
     private volatile boolean open = true;
 
     private final Set<AbstractEntityManager> em;
@@ -40,11 +46,16 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Persisten
 
     private volatile MetamodelImpl metamodel;
 
+    private volatile CacheWarmer cacheWarmer;
+
     public EntityManagerFactoryImpl(final Map<String, String> properties) {
         this.em = Collections.newSetFromMap(new ConcurrentHashMap<>());
         this.configuration = new Configuration(properties != null ? properties : Collections.emptyMap());
         this.storageProperties = initStorageProperties();
         initMetamodel();
+        if (configuration.contains(JOPAPersistenceProperties.CACHE_PRELOAD)) {
+            startCacheWarmer();
+        }
     }
 
     private OntologyStorageProperties initStorageProperties() {
@@ -62,6 +73,19 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Persisten
         metamodel.build(new PersistenceUnitClassFinder());
     }
 
+    private void startCacheWarmer() {
+        final String cacheEnabled = configuration.get(JOPAPersistenceProperties.CACHE_ENABLED);
+        if (cacheEnabled != null && !Boolean.parseBoolean(cacheEnabled)) {
+            LOG.warn("Second level cache is disabled, ignoring cache preload configuration.");
+            return;
+        }
+        // Preloading needs the shared cache, so the server session is initialized eagerly instead of with the first
+        // entity manager
+        initServerSession();
+        this.cacheWarmer = new CacheWarmer(this, metamodel, configuration);
+        cacheWarmer.start();
+    }
+
     @Override
     public void close() {
         ensureOpen();
@@ -70,6 +94,10 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Persisten
                 return;
             }
 
+            if (cacheWarmer != null) {
+                cacheWarmer.close();
+                this.cacheWarmer = null;
+            }
             em.stream().filter(EntityManager::isOpen).forEach(EntityManager::close);
             em.clear();
             if (serverSession != null) {
@@ -156,12 +184,30 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Persisten
         throw new UnsupportedOperationException("Not supported, yet.");
     }
 
+    @Override
+    public void addCommitListener(CommitListener listener) {
+        ensureOpen();
+        initServerSession();
+        serverSession.addCommitListener(listener);
+    }
+
+    @Override
+    public void removeCommitListener(CommitListener listener) {
+        ensureOpen();
+        if (serverSession != null) {
+            serverSession.removeCommitListener(listener);
+        }
+    }
+
     @Override
     public <T> T unwrap(Class<T> cls) {
         ensureOpen();
         if (cls.isAssignableFrom(this.getClass())) {
             return cls.cast(this);
         }
+        if (cacheWarmer != null && cls.isAssignableFrom(CacheWarmer.class)) {
+            return cls.cast(cacheWarmer);
+        }
         return serverSession.unwrap(cls);
     }
 
@@ -169,7 +215,7 @@ public class EntityManagerFactoryImpl implements EntityManagerFactory, Persisten
     public Object getIdentifier(Object entity) {
         Objects.requireNonNull(entity);
         final EntityType<?> et = getMetamodel().entity(entity.getClass());
-        return EntityPropertiesUtils.getFieldValue(et.getIdentifier().getJavaField(), entity);
+        return EntityPropertiesUtils.getAttributeValue(et.getIdentifier(), entity);
     }
 
     @Override
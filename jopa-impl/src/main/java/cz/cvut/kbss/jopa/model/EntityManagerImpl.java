@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
 
@@ -47,6 +48,7 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
     private UnitOfWorkImpl persistenceContext;
     private ServerSession serverSession;
     private final Configuration configuration;
+    private final boolean readOnly;
 
     private Map<Object, Object> cascadingRegistry = new IdentityHashMap<>();
 
@@ -54,6 +56,7 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         this.emf = emf;
         this.serverSession = serverSession;
         this.configuration = configuration;
+        this.readOnly = configuration.is(JOPAPersistenceProperties.READ_ONLY);
 
         setTransactionWrapper();
 
@@ -77,6 +80,7 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
             Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
             Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
             ensureOpen();
+            ensureWritable();
             checkClassIsValidEntity(entity.getClass());
 
             switch (getState(entity, descriptor)) {
@@ -98,6 +102,47 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         }
     }
 
+    @Override
+    public void persistAll(final Collection<?> entities) {
+        persistAll(entities, new EntityDescriptor());
+    }
+
+    @Override
+    public void persistAll(final Collection<?> entities, final Descriptor descriptor) {
+        try {
+            Objects.requireNonNull(entities, ErrorUtils.getNPXMessageSupplier("entities"));
+            Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+            LOG.trace("Persisting {} instances.", entities.size());
+            ensureOpen();
+            ensureWritable();
+
+            final List<Object> toRegister = new ArrayList<>(entities.size());
+            final List<Object> toCascade = new ArrayList<>(entities.size());
+            for (Object entity : entities) {
+                Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+                checkClassIsValidEntity(entity.getClass());
+                switch (getState(entity, descriptor)) {
+                    case NOT_MANAGED:
+                        toRegister.add(entity);
+                        // Intentional fall-through
+                    case MANAGED:
+                        toCascade.add(entity);
+                        break;
+                    case REMOVED:
+                        getCurrentPersistenceContext().restoreRemovedObject(entity);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            getCurrentPersistenceContext().registerNewObjects(toRegister, descriptor);
+            toCascade.forEach(entity -> cascadePersist(entity, descriptor));
+        } catch (RuntimeException e) {
+            markTransactionForRollback();
+            throw e;
+        }
+    }
+
     private void checkClassIsValidEntity(Class<?> cls) {
         getMetamodel().entity(cls);
     }
@@ -160,6 +205,7 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
             Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
             Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
             ensureOpen();
+            ensureWritable();
             checkClassIsValidEntity(entity.getClass());
 
             return mergeInternal(entity, descriptor);
@@ -171,6 +217,58 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         }
     }
 
+    @Override
+    public <T> List<T> mergeAll(final Collection<T> entities) {
+        return mergeAll(entities, new EntityDescriptor());
+    }
+
+    @Override
+    public <T> List<T> mergeAll(final Collection<T> entities, final Descriptor descriptor) {
+        try {
+            Objects.requireNonNull(entities, ErrorUtils.getNPXMessageSupplier("entities"));
+            Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+            ensureOpen();
+            ensureWritable();
+
+            final Map<T, T> detachedToMerged = new IdentityHashMap<>(entities.size());
+            final List<T> detached = new ArrayList<>(entities.size());
+            for (T entity : entities) {
+                Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+                checkClassIsValidEntity(entity.getClass());
+                final State state = getState(entity, descriptor);
+                if (state == State.REMOVED) {
+                    throw new IllegalArgumentException("Cannot merge instance which is not an entity or is removed.");
+                }
+                if (state == State.NOT_MANAGED && !detachedToMerged.containsKey(entity)) {
+                    detachedToMerged.put(entity, null);
+                    detached.add(entity);
+                }
+            }
+            final Iterator<T> merged = getCurrentPersistenceContext().mergeDetachedAll(detached, descriptor).iterator();
+            detached.forEach(entity -> detachedToMerged.put(entity, merged.next()));
+
+            final List<T> result = new ArrayList<>(entities.size());
+            for (T entity : entities) {
+                if (detachedToMerged.containsKey(entity)) {
+                    final T mergedEntity = detachedToMerged.get(entity);
+                    if (!isCascadingCycle(entity)) {
+                        registerProcessedInstance(entity);
+                        cascadeMerge(mergedEntity, entity, descriptor);
+                    }
+                    result.add(mergedEntity);
+                } else {
+                    result.add(mergeInternal(entity, descriptor));
+                }
+            }
+            return result;
+        } catch (RuntimeException e) {
+            markTransactionForRollback();
+            throw e;
+        } finally {
+            resetCascadingRegistry();
+        }
+    }
+
     /**
      * Merges state of the specified entity into the current persistence context. </p>
      *
@@ -229,13 +327,14 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         } else {
             attVal = mergeInternal(attVal, descriptor);
         }
-        EntityPropertiesUtils.setFieldValue(at.getJavaField(), merged, attVal);
+        EntityPropertiesUtils.setAttributeValue(at, merged, attVal);
     }
 
     @Override
     public void remove(Object object) {
         try {
             ensureOpen();
+            ensureWritable();
             Objects.requireNonNull(object);
             checkClassIsValidEntity(object.getClass());
             if (isCascadingCycle(object)) {
@@ -250,12 +349,7 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
                     registerProcessedInstance(object);
                     // Intentional fall-through
                 case REMOVED:
-                    new SimpleOneLevelCascadeExplorer() {
-                        @Override
-                        protected void runCascadedForEach(Object ox2) {
-                            remove(ox2);
-                        }
-                    }.start(this, object, CascadeType.REMOVE);
+                    cascadeRemove(object);
                     break;
                 default:
                     throw new IllegalArgumentException("Entity " + object + " is not managed and cannot be removed.");
@@ -268,6 +362,49 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         }
     }
 
+    private void cascadeRemove(Object object) {
+        new SimpleOneLevelCascadeExplorer() {
+            @Override
+            protected void runCascadedForEach(Object ox2) {
+                remove(ox2);
+            }
+        }.start(this, object, CascadeType.REMOVE);
+    }
+
+    @Override
+    public void removeAll(Collection<?> entities) {
+        try {
+            ensureOpen();
+            ensureWritable();
+            Objects.requireNonNull(entities, ErrorUtils.getNPXMessageSupplier("entities"));
+
+            final List<Object> toRemove = new ArrayList<>(entities.size());
+            for (Object entity : entities) {
+                Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+                checkClassIsValidEntity(entity.getClass());
+                switch (getState(entity)) {
+                    case MANAGED_NEW:
+                    case MANAGED:
+                        toRemove.add(entity);
+                        break;
+                    case REMOVED:
+                        break;
+                    default:
+                        throw new IllegalArgumentException(
+                                "Entity " + entity + " is not managed and cannot be removed.");
+                }
+            }
+            getCurrentPersistenceContext().removeObjects(toRemove);
+            toRemove.forEach(this::registerProcessedInstance);
+            entities.forEach(this::cascadeRemove);
+        } catch (RuntimeException e) {
+            markTransactionForRollback();
+            throw e;
+        } finally {
+            resetCascadingRegistry();
+        }
+    }
+
     @Override
     public <T> T find(Class<T> cls, Object identifier) {
         final EntityDescriptor d = new EntityDescriptor();
@@ -286,6 +423,9 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
             LOG.trace("Finding instance of {} with identifier {} in context {}.", cls, identifier, descriptor);
             final URI uri = (identifier instanceof URI) ? (URI) identifier : URI.create(identifier.toString());
 
+            if (readOnly) {
+                return getCurrentPersistenceContext().readObjectWithoutRegistration(cls, uri, descriptor);
+            }
             return getCurrentPersistenceContext().readObject(cls, uri, descriptor);
         } catch (RuntimeException e) {
             markTransactionForRollback();
@@ -293,6 +433,61 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         }
     }
 
+    @Override
+    public <T> T find(Class<T> cls, Object identifier, Map<String, Object> properties) {
+        return find(cls, identifier, new EntityDescriptor(), properties);
+    }
+
+    @Override
+    public <T> T find(Class<T> cls, Object identifier, Descriptor descriptor, Map<String, Object> properties) {
+        Objects.requireNonNull(properties, ErrorUtils.getNPXMessageSupplier("properties"));
+        final T result = find(cls, identifier, descriptor);
+        if (result == null) {
+            return null;
+        }
+        try {
+            final EntityGraph<?> graph = EntityGraphImpl
+                    .fromHint(properties.get(JOPAPersistenceProperties.FETCH_GRAPH), serverSession.getMetamodel());
+            if (graph != null) {
+                getCurrentPersistenceContext().loadEntityGraph(Collections.singletonList(result), descriptor, graph);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            markTransactionForRollback();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> findAsync(Class<T> cls, Object identifier) {
+        return findAsync(cls, identifier, new EntityDescriptor());
+    }
+
+    @Override
+    public <T> CompletableFuture<T> findAsync(Class<T> cls, Object identifier, Descriptor descriptor) {
+        Objects.requireNonNull(cls, ErrorUtils.getNPXMessageSupplier("cls"));
+        Objects.requireNonNull(identifier, ErrorUtils.getNPXMessageSupplier("primaryKey"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+        ensureOpen();
+        checkClassIsValidEntity(cls);
+
+        LOG.trace("Asynchronously finding instance of {} with identifier {} in context {}.", cls, identifier,
+                descriptor);
+        final URI uri = (identifier instanceof URI) ? (URI) identifier : URI.create(identifier.toString());
+        // The worker uses its own persistence context, the current one is never accessed from another thread
+        if (readOnly) {
+            return serverSession.executeAsync(uow -> uow.readObjectWithoutRegistration(cls, uri, descriptor));
+        }
+        return serverSession.executeAsync(uow -> {
+            final T result = uow.readObject(cls, uri, descriptor);
+            // The worker persistence context is released afterwards, make sure the detached result is complete
+            if (result != null) {
+                uow.loadAllFields(result);
+            }
+            return result;
+        });
+    }
+
     @Override
     public <T> T getReference(Class<T> entityClass, Object identifier) {
         try {
@@ -432,6 +627,28 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         return emf;
     }
 
+    @Override
+    public <T> EntityGraph<T> createEntityGraph(Class<T> rootType) {
+        Objects.requireNonNull(rootType, ErrorUtils.getNPXMessageSupplier("rootType"));
+        ensureOpen();
+        final MetamodelImpl metamodel = serverSession.getMetamodel();
+        return new EntityGraphImpl<>(null, metamodel.entity(rootType), metamodel);
+    }
+
+    @Override
+    public EntityGraph<?> createEntityGraph(String graphName) {
+        Objects.requireNonNull(graphName, ErrorUtils.getNPXMessageSupplier("graphName"));
+        ensureOpen();
+        return serverSession.getMetamodel().getNamedEntityGraph(graphName).copy();
+    }
+
+    @Override
+    public EntityGraph<?> getEntityGraph(String graphName) {
+        Objects.requireNonNull(graphName, ErrorUtils.getNPXMessageSupplier("graphName"));
+        ensureOpen();
+        return serverSession.getMetamodel().getNamedEntityGraph(graphName);
+    }
+
     @Override
     public Metamodel getMetamodel() {
         return emf.getMetamodel();
@@ -455,6 +672,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         final QueryImpl q = getCurrentPersistenceContext().sparqlQueryFactory().createQuery(qlString);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -464,6 +683,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         final TypedQueryImpl<T> q = getCurrentPersistenceContext().sparqlQueryFactory().createQuery(query, resultClass);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -473,6 +694,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         final QueryImpl q = getCurrentPersistenceContext().sparqlQueryFactory().createNativeQuery(sparqlString);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -483,6 +706,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
                                                                   .createNativeQuery(sparqlString, resultClass);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -493,6 +718,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
                                                           .createNativeQuery(sparqlString, resultSetMapping);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -502,6 +729,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         final QueryImpl q = getCurrentPersistenceContext().sparqlQueryFactory().createNamedQuery(name);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -512,6 +741,8 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
                                                                   .createNamedQuery(name, resultClass);
         q.setRollbackOnlyMarker(this::markTransactionForRollback);
         q.setEnsureOpenProcedure(this::ensureOpen);
+        q.setUpdateExecutedHandler(getCurrentPersistenceContext()::updateQueryExecuted);
+        applyReadOnlyHint(q);
         return q;
     }
 
@@ -565,6 +796,28 @@ public class EntityManagerImpl implements AbstractEntityManager, Wrapper {
         return unwrap(EntityManagerImpl.class);
     }
 
+    private void ensureWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("The entity manager is read-only !");
+        }
+    }
+
+    private void applyReadOnlyHint(AbstractQuery query) {
+        if (readOnly) {
+            query.setHint(JOPAPersistenceProperties.READ_ONLY, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether this entity manager is read-only.
+     *
+     * @return Read-only status
+     * @see JOPAPersistenceProperties#READ_ONLY
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
     private void ensureOpen() {
         if (!isOpen()) {
             throw new IllegalStateException("The entity manager is closed !");
@@ -57,7 +57,11 @@ public final class JOPAPersistenceProperties extends PersistenceProperties {
     public static final String CACHE_SWEEP_RATE = "cz.cvut.jopa.cache.sweepRate";
 
     /**
-     * Type of the second level cache. Currently supported are {@literal ttl} and {@literal lru}.
+     * Type of the second level cache. Currently supported are {@literal ttl}, {@literal lru} and {@literal
+     * partitioned}.
+     * <p>
+     * The {@literal partitioned} cache is an LRU cache with a separate partition (with its own lock and capacity) for
+     * each repository context.
      */
     public static final String CACHE_TYPE = "cz.cvut.jopa.cache.type";
 
@@ -66,11 +70,209 @@ public final class JOPAPersistenceProperties extends PersistenceProperties {
      */
     public static final String LRU_CACHE_CAPACITY = "cz.cvut.jopa.cache.lru.capacity";
 
+    /**
+     * Memory budget of the LRU second level cache. In bytes.
+     * <p>
+     * When set, size of each cached entity is estimated based on the metamodel and the least recently used entries are
+     * evicted when the total estimated size exceeds the budget. Number of entries is then not limited unless {@link
+     * #LRU_CACHE_CAPACITY} is set explicitly.
+     */
+    public static final String LRU_CACHE_MEMORY_LIMIT = "cz.cvut.jopa.cache.lru.memoryLimit";
+
+    /**
+     * Maximum estimated size of an entity stored in the LRU second level cache. In bytes.
+     * <p>
+     * Larger entities are not cached. Applies only when {@link #LRU_CACHE_MEMORY_LIMIT} is set, defaults to the memory
+     * limit.
+     */
+    public static final String LRU_CACHE_MAX_ENTRY_SIZE = "cz.cvut.jopa.cache.lru.maxEntrySize";
+
+    /**
+     * Capacity of each context partition of the partitioned second level cache.
+     * <p>
+     * Defaults to the default LRU cache capacity.
+     */
+    public static final String PARTITIONED_CACHE_CAPACITY = "cz.cvut.jopa.cache.partitioned.capacity";
+
+    /**
+     * Whether statistics of the second level cache should be exposed via JMX.
+     * <p>
+     * If enabled, an MXBean providing the statistics is registered in the platform MBean server for each entity manager
+     * factory. Regardless of this setting, the statistics are available via {@code Cache.unwrap(CacheStatistics.class)}.
+     * <p>
+     * Defaults to {@code false}.
+     */
+    public static final String CACHE_STATISTICS_MBEAN = "cz.cvut.jopa.cache.statistics.mbean";
+
+    /**
+     * Transport used to coordinate second level caches of multiple nodes (applications) sharing the same storage.
+     * <p>
+     * When set, cache entries invalidated by a commit are published to the other nodes, which evict them from their
+     * caches. Supported values are:
+     * <ul>
+     * <li>{@literal loopback} - in-JVM transport, nodes are connected by the {@link #CACHE_COORDINATION_CHANNEL} name.
+     * Intended mainly for testing,</li>
+     * <li>{@literal file} - invalidations are exchanged through files in a shared directory specified by {@link
+     * #CACHE_COORDINATION_CHANNEL},</li>
+     * <li>fully qualified name of a {@link cz.cvut.kbss.jopa.sessions.cache.coordination.CacheCoordinationTransport}
+     * implementation.</li>
+     * </ul>
+     * <p>
+     * Cache coordination is disabled by default.
+     */
+    public static final String CACHE_COORDINATION_TRANSPORT = "cz.cvut.jopa.cache.coordination.transport";
+
+    /**
+     * Channel of the cache coordination transport.
+     * <p>
+     * Name of the channel for the {@literal loopback} transport, path to the shared directory for the {@literal file}
+     * transport.
+     */
+    public static final String CACHE_COORDINATION_CHANNEL = "cz.cvut.jopa.cache.coordination.channel";
+
+    /**
+     * How often the {@literal file} cache coordination transport checks for invalidations published by other nodes.
+     * In milliseconds.
+     * <p>
+     * Defaults to {@code 1000}.
+     */
+    public static final String CACHE_COORDINATION_POLL_INTERVAL = "cz.cvut.jopa.cache.coordination.pollInterval";
+
+    /**
+     * Data to preload into the second level cache when the entity manager factory is created.
+     * <p>
+     * Semicolon-separated list of entries, each entry being either:
+     * <ul>
+     * <li>fully qualified name of an entity class - all instances of the class are loaded,</li>
+     * <li>{@code EntityClass=query} - instances of the entity class returned by the query are loaded. The query is
+     * either the name of a named query or a SOQL query.</li>
+     * </ul>
+     * <p>
+     * Preloading runs in the background and does not block creation of entity managers. Its progress is available via
+     * {@code EntityManagerFactory.unwrap(CacheWarmer.class)}.
+     * <p>
+     * Note that when this setting is present (and the second level cache is not disabled), the entity manager factory
+     * connects to the storage already when it is created instead of on creation of the first entity manager, so that
+     * preloading can start right away. Storage connection errors thus surface when the factory is created.
+     */
+    public static final String CACHE_PRELOAD = "cz.cvut.jopa.cache.preload";
+
+    /**
+     * Number of instances after which cache preloading updates its progress and checks whether it has been stopped.
+     * <p>
+     * Each preload entry is evaluated by a single query whose results are streamed, this setting does not split it into
+     * multiple queries.
+     * <p>
+     * Defaults to {@code 100}.
+     *
+     * @see #CACHE_PRELOAD
+     */
+    public static final String CACHE_PRELOAD_BATCH_SIZE = "cz.cvut.jopa.cache.preload.batchSize";
+
+    /**
+     * Maximum number of threads used to preload the second level cache, i.e., how many entries can be loaded in
+     * parallel.
+     * <p>
+     * Defaults to {@code 1}.
+     *
+     * @see #CACHE_PRELOAD
+     */
+    public static final String CACHE_PRELOAD_POOL_SIZE = "cz.cvut.jopa.cache.preload.poolSize";
+
+    /**
+     * How instances with inferred attributes are evicted from the second level cache after a commit.
+     * <p>
+     * Supported values are:
+     * <ul>
+     * <li>{@literal all} - all instances of classes with inferred attributes are evicted,</li>
+     * <li>{@literal dependencies} - only instances whose inferred attributes depend on the committed changes are
+     * evicted. The dependencies are derived from the metamodel, i.e., from properties the inferred attributes are
+     * mapped to.</li>
+     * </ul>
+     * <p>
+     * Note that {@literal dependencies} is only an approximation of what the reasoner may infer. It does not take into
+     * account subproperties, property chains, transitive, symmetric, inverse or equivalent properties, nor inferences
+     * about individuals other than the changed ones. Use it only if the ontology does not contain such axioms for the
+     * mapped properties.
+     * <p>
+     * Defaults to {@literal all}.
+     */
+    public static final String CACHE_INFERRED_EVICTION = "cz.cvut.jopa.cache.inferredEviction";
+
+    /**
+     * Capacity of the queue of commit notifications waiting to be delivered to commit listeners.
+     * <p>
+     * When the queue is full, new notifications are dropped (and an error is logged). Defaults to {@code 1024}.
+     *
+     * @see cz.cvut.kbss.jopa.model.EntityManagerFactory#addCommitListener(cz.cvut.kbss.jopa.sessions.CommitListener)
+     */
+    public static final String COMMIT_LISTENER_QUEUE_CAPACITY = "cz.cvut.jopa.commitListener.queueCapacity";
+
     /**
      * Disable integrity constraints validation on entity/field load.
      */
     public static final String DISABLE_IC_VALIDATION_ON_LOAD = "cz.cvut.jopa.ic.validation.disableOnLoad";
 
+    /**
+     * Number of threads used to execute asynchronous operations (e.g. {@link cz.cvut.kbss.jopa.model.EntityManager#findAsync(Class,
+     * Object)}).
+     * <p>
+     * Defaults to the number of available processors.
+     */
+    public static final String ASYNC_POOL_SIZE = "cz.cvut.jopa.async.poolSize";
+
+    /**
+     * Maximum number of asynchronous operations waiting for execution.
+     * <p>
+     * Operations submitted when the limit is reached are rejected with a {@link
+     * java.util.concurrent.RejectedExecutionException}. Defaults to {@code 1024}.
+     *
+     * @see #ASYNC_POOL_SIZE
+     */
+    public static final String ASYNC_QUEUE_CAPACITY = "cz.cvut.jopa.async.queueCapacity";
+
+    /**
+     * Whether clones of entities should share collections of immutable values (e.g., types, data property values) with
+     * the originals until the collections are modified.
+     * <p>
+     * This saves memory and time for units of work which mostly read data. Defaults to {@code false}.
+     */
+    public static final String COPY_ON_WRITE_CLONES = "cz.cvut.jopa.clone.copyOnWrite";
+
+    /**
+     * Whether an entity manager (when used as entity manager property) or a query (when used as query hint) should work
+     * in read-only mode.
+     * <p>
+     * In read-only mode, loaded entities are neither cloned nor registered in the persistence context, so their changes
+     * are not tracked. Instead, the shared instances (possibly coming from the second level cache) are returned
+     * directly. These instances must not be modified and their lazily loaded attributes are not loaded. Operations
+     * modifying the data (persist, merge, remove, update queries) are rejected with an {@link IllegalStateException}.
+     * <p>
+     * Defaults to {@code false}.
+     */
+    public static final String READ_ONLY = "cz.cvut.jopa.readOnly";
+
+    /**
+     * Default number of managed instances whose lazily loaded attribute value is loaded together.
+     * <p>
+     * When a lazily loaded attribute is accessed, its value is loaded also for other managed instances of the same
+     * entity class, up to this number. The values are requested from the storage together. The RDF4J (Sesame) driver
+     * retrieves them using a single query, other drivers may load them one instance at a time. Can be overridden for
+     * individual attributes using {@link cz.cvut.kbss.jopa.model.annotations.BatchFetch}.
+     * <p>
+     * Defaults to {@code 1}, i.e., no batch loading.
+     */
+    public static final String LAZY_LOADING_BATCH_SIZE = "cz.cvut.jopa.lazyLoading.batchSize";
+
+    /**
+     * Entity graph specifying attributes to load together with entities found by {@code EntityManager.find} (when
+     * used as find property) or loaded as results of a typed query (when used as query hint).
+     * <p>
+     * The value may be either a {@link cz.cvut.kbss.jopa.model.EntityGraph} instance or the name of a named entity
+     * graph. Attributes not contained in the graph are loaded according to their fetch type.
+     */
+    public static final String FETCH_GRAPH = "cz.cvut.jopa.fetchGraph";
+
     private JOPAPersistenceProperties() {
         throw new AssertionError();
     }
@@ -41,6 +41,8 @@ public class MetamodelImpl implements Metamodel, MetamodelProvider {
 
     private NamedQueryManager namedQueryManager;
     private ResultSetMappingManager resultSetMappingManager;
+    private ConstructorCache constructorCache;
+    private Map<String, EntityGraphImpl<?>> namedEntityGraphs = Collections.emptyMap();
 
     private final Configuration configuration;
 
@@ -74,6 +76,14 @@ public class MetamodelImpl implements Metamodel, MetamodelProvider {
         this.inferredClasses = metamodelBuilder.getInferredClasses();
         this.namedQueryManager = metamodelBuilder.getNamedQueryManager();
         this.resultSetMappingManager = metamodelBuilder.getResultSetMappingManager();
+        this.constructorCache = metamodelBuilder.getConstructorCache();
+        buildNamedEntityGraphs();
+    }
+
+    private void buildNamedEntityGraphs() {
+        final NamedEntityGraphProcessor graphProcessor = new NamedEntityGraphProcessor(this);
+        entities.keySet().forEach(graphProcessor::processClass);
+        this.namedEntityGraphs = graphProcessor.getGraphs();
     }
 
     /**
@@ -121,6 +131,26 @@ public class MetamodelImpl implements Metamodel, MetamodelProvider {
         return resultSetMappingManager;
     }
 
+    public ConstructorCache getConstructorCache() {
+        return constructorCache;
+    }
+
+    /**
+     * Gets an entity graph declared via {@link cz.cvut.kbss.jopa.model.annotations.NamedEntityGraph}.
+     *
+     * @param name Name of the graph
+     * @return Immutable entity graph
+     * @throws IllegalArgumentException If there is no entity graph with the specified name
+     */
+    public EntityGraphImpl<?> getNamedEntityGraph(String name) {
+        final EntityGraphImpl<?> graph = namedEntityGraphs.get(name);
+        if (graph == null) {
+            throw new IllegalArgumentException(
+                    "Entity graph with name " + name + " was not found in this persistence unit.");
+        }
+        return graph;
+    }
+
     @Override
     public Set<URI> getModuleExtractionExtraSignature() {
         return Collections.unmodifiableSet(getSignatureInternal());
@@ -112,6 +112,12 @@ public class QueryImpl extends AbstractQuery implements Query {
         return this;
     }
 
+    @Override
+    public Query setHint(String hintName, Object value) {
+        super.setHint(hintName, value);
+        return this;
+    }
+
     Optional<Object> extractRowAsOptional(ResultRow row) {
         return Optional.of(extractRow(row));
     }
@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.query.Flow;
+import cz.cvut.kbss.jopa.utils.Procedure;
+import cz.cvut.kbss.ontodriver.ResultSet;
+import cz.cvut.kbss.ontodriver.Statement;
+import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
+import cz.cvut.kbss.ontodriver.iteration.ResultRow;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Publishes results of a query to {@link Flow.Subscriber}s according to their demand.
+ * <p>
+ * The query is executed separately for each subscriber, when it first requests results. Result rows are then read
+ * from the underlying result set in chunks bounded by the current demand and mapped to result items before being
+ * passed to the subscriber. The statement (and thus the result set) is closed as soon as the results are exhausted, an
+ * error occurs or the subscription is cancelled.
+ * <p>
+ * Results are published synchronously, on the thread invoking {@link Flow.Subscription#request(long)}.
+ *
+ * @param <X> The type of the published items
+ */
+class QueryResultPublisher<X> implements Flow.Publisher<X> {
+
+    /**
+     * Maximum number of rows read from the result set before the mapped items are passed to the subscriber.
+     */
+    static final int MAX_CHUNK_SIZE = 128;
+
+    private final StatementProvider statementProvider;
+    private final String query;
+    private final Function<ResultRow, Optional<X>> mapper;
+    private final Procedure onError;
+
+    /**
+     * @param statementProvider Provides statements for query execution
+     * @param query             Assembled query to execute
+     * @param mapper            Maps result rows to published items
+     * @param onError           Invoked when an error occurs during query evaluation or result mapping
+     */
+    QueryResultPublisher(StatementProvider statementProvider, String query, Function<ResultRow, Optional<X>> mapper,
+                         Procedure onError) {
+        this.statementProvider = statementProvider;
+        this.query = query;
+        this.mapper = mapper;
+        this.onError = onError;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super X> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new QueryResultSubscription(subscriber));
+    }
+
+    /**
+     * Creates statements used to execute the published query.
+     */
+    @FunctionalInterface
+    interface StatementProvider {
+        Statement createStatement() throws OntoDriverException;
+    }
+
+    private class QueryResultSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super X> subscriber;
+
+        private final AtomicLong demand = new AtomicLong();
+        // Guards emission so that it is not reentered from onNext and not run concurrently
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private boolean done;
+
+        private Statement statement;
+        private Iterator<ResultRow> rows;
+
+        private QueryResultSubscription(Flow.Subscriber<? super X> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancelled = true;
+                drain();
+                subscriber.onError(new IllegalArgumentException("Number of requested items must be positive."));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> {
+                final long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            drain();
+        }
+
+        private void drain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                emit();
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            if (done) {
+                return;
+            }
+            try {
+                if (cancelled) {
+                    finish();
+                    return;
+                }
+                if (rows == null) {
+                    open();
+                }
+                long requested = demand.get();
+                while (requested > 0 && !cancelled) {
+                    final List<X> chunk = readChunk((int) Math.min(requested, MAX_CHUNK_SIZE));
+                    for (X item : chunk) {
+                        subscriber.onNext(item);
+                    }
+                    requested = demand.addAndGet(-chunk.size());
+                    if (!rows.hasNext()) {
+                        finish();
+                        if (!cancelled) {
+                            subscriber.onComplete();
+                        }
+                        return;
+                    }
+                }
+                if (cancelled) {
+                    finish();
+                }
+            } catch (OntoDriverException e) {
+                fail(new OWLPersistenceException("Exception caught when evaluating query " + query, e));
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void open() throws OntoDriverException {
+            this.statement = statementProvider.createStatement();
+            final ResultSet resultSet = statement.executeQuery(query);
+            this.rows = resultSet.iterator();
+        }
+
+        private List<X> readChunk(int size) {
+            final List<X> chunk = new ArrayList<>(size);
+            while (chunk.size() < size && rows.hasNext()) {
+                mapper.apply(rows.next()).ifPresent(chunk::add);
+            }
+            return chunk;
+        }
+
+        private void fail(RuntimeException e) {
+            onError.execute();
+            try {
+                finish();
+            } catch (RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            if (!cancelled) {
+                subscriber.onError(e);
+            }
+        }
+
+        private void finish() {
+            this.done = true;
+            if (statement != null) {
+                final Statement toClose = statement;
+                this.statement = null;
+                try {
+                    toClose.close();
+                } catch (OntoDriverException e) {
+                    onError.execute();
+                    throw new OWLPersistenceException(e);
+                }
+            }
+        }
+    }
+}
@@ -19,21 +19,28 @@ import cz.cvut.kbss.jopa.exceptions.NoUniqueResultException;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
+import cz.cvut.kbss.jopa.model.query.Flow;
 import cz.cvut.kbss.jopa.model.query.Parameter;
 import cz.cvut.kbss.jopa.model.query.TypedQuery;
 import cz.cvut.kbss.jopa.query.QueryHolder;
 import cz.cvut.kbss.jopa.sessions.ConnectionWrapper;
 import cz.cvut.kbss.jopa.sessions.MetamodelProvider;
 import cz.cvut.kbss.jopa.sessions.UnitOfWork;
+import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.jopa.utils.ErrorUtils;
 import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
 import cz.cvut.kbss.ontodriver.iteration.ResultRow;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
@@ -42,6 +49,7 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
     private final MetamodelProvider metamodelProvider;
 
     private UnitOfWork uow;
+    private Function<Function<UnitOfWorkImpl, List<X>>, CompletableFuture<List<X>>> asyncExecutor;
 
     private Descriptor descriptor;
 
@@ -57,6 +65,19 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
         this.uow = uow;
     }
 
+    /**
+     * Registers executor of asynchronous operations, which is used to evaluate this query asynchronously.
+     * <p>
+     * The executor runs the specified operation in a new persistence context.
+     *
+     * @param asyncExecutor Executor of asynchronous operations
+     * @see #getResultListAsync()
+     */
+    public void setAsyncExecutor(
+            Function<Function<UnitOfWorkImpl, List<X>>, CompletableFuture<List<X>>> asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
     @Override
     public List<X> getResultList() {
         ensureOpen();
@@ -71,6 +92,34 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
         }
     }
 
+    @Override
+    public CompletableFuture<List<X>> getResultListAsync() {
+        ensureOpen();
+        if (asyncExecutor == null) {
+            throw new IllegalStateException("Cannot execute query asynchronously without asynchronous executor.");
+        }
+        // Assemble the query on the calling thread, the worker re-creates it in its own persistence context
+        final String assembledQuery = query.assembleQuery();
+        final Descriptor queryDescriptor = descriptor;
+        final Map<String, Object> queryHints = new HashMap<>(getHints());
+        return asyncExecutor.apply(worker -> {
+            final TypedQueryImpl<X> workerQuery = worker.sparqlQueryFactory()
+                                                        .createNativeQuery(assembledQuery, resultType);
+            workerQuery.setEnsureOpenProcedure(() -> {
+            });
+            if (queryDescriptor != null) {
+                workerQuery.setDescriptor(queryDescriptor);
+            }
+            queryHints.forEach(workerQuery::setHint);
+            final List<X> result = workerQuery.getResultList();
+            // The worker persistence context is released afterwards, make sure the detached results are complete
+            if (metamodelProvider.isEntityType(resultType)) {
+                result.forEach(worker::loadAllFields);
+            }
+            return result;
+        });
+    }
+
     private List<X> getResultListImpl() throws OntoDriverException {
         final boolean isEntityType = metamodelProvider.isEntityType(resultType);
         final Descriptor instDescriptor = descriptor != null ? descriptor : new EntityDescriptor();
@@ -82,9 +131,32 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
                 loadResultValue(rs).ifPresent(res::add);
             }
         });
+        if (isEntityType) {
+            applyFetchGraph(res, instDescriptor);
+        }
         return res;
     }
 
+    /**
+     * Loads attributes specified by the fetch graph hint (if set) for the specified query results.
+     */
+    private void applyFetchGraph(List<X> entities, Descriptor instanceDescriptor) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        final EntityGraph<?> graph = EntityGraphImpl.fromHint(getHints().get(JOPAPersistenceProperties.FETCH_GRAPH),
+                (MetamodelImpl) metamodelProvider.getMetamodel());
+        if (graph != null) {
+            uow.loadEntityGraph(entities, instanceDescriptor, graph);
+        }
+    }
+
+    private Optional<X> loadEntityInstanceWithFetchGraph(ResultRow resultRow, Descriptor instanceDescriptor) {
+        final Optional<X> result = loadEntityInstance(resultRow, instanceDescriptor);
+        result.ifPresent(e -> applyFetchGraph(Collections.singletonList(e), instanceDescriptor));
+        return result;
+    }
+
     private Optional<X> loadEntityInstance(ResultRow resultRow, Descriptor instanceDescriptor) {
         if (uow == null) {
             throw new IllegalStateException("Cannot load entity instance without Unit of Work.");
@@ -92,6 +164,9 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
         try {
             assert resultRow.isBound(0);
             final URI uri = URI.create(resultRow.getString(0));
+            if (isReadOnly()) {
+                return Optional.ofNullable(uow.readObjectWithoutRegistration(resultType, uri, instanceDescriptor));
+            }
             return Optional.ofNullable(uow.readObject(resultType, uri, instanceDescriptor));
         } catch (OntoDriverException e) {
             throw new OWLPersistenceException("Unable to load query result as entity of type " + resultType, e);
@@ -136,7 +211,7 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
         try {
             return executeQueryForStream(row -> {
                 if (isEntityType) {
-                    return loadEntityInstance(row, instDescriptor);
+                    return loadEntityInstanceWithFetchGraph(row, instDescriptor);
                 } else {
                     return loadResultValue(row);
                 }
@@ -152,6 +227,20 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
         }
     }
 
+    @Override
+    public Flow.Publisher<X> getResultPublisher() {
+        ensureOpen();
+        final boolean isEntityType = metamodelProvider.isEntityType(resultType);
+        final Descriptor instDescriptor = descriptor != null ? descriptor : new EntityDescriptor();
+        return executeQueryForPublisher(row -> {
+            if (isEntityType) {
+                return loadEntityInstanceWithFetchGraph(row, instDescriptor);
+            } else {
+                return loadResultValue(row);
+            }
+        });
+    }
+
     @Override
     public TypedQuery<X> setMaxResults(int maxResults) {
         ensureOpen();
@@ -168,6 +257,12 @@ public class TypedQueryImpl<X> extends AbstractQuery implements TypedQuery<X> {
         return this;
     }
 
+    @Override
+    public TypedQuery<X> setHint(String hintName, Object value) {
+        super.setHint(hintName, value);
+        return this;
+    }
+
     @Override
     public TypedQuery<X> setParameter(int position, Object value) {
         super.setParameter(position, value);
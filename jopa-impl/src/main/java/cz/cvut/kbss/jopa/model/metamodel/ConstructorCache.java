@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves constructors of classes used by the persistence unit as method handles.
+ * <p>
+ * One cache is created by the metamodel builder and shared by all the components of the persistence unit which need to
+ * instantiate classes (e.g., SPARQL result set mappers), so that each constructor is looked up reflectively only once.
+ * <p>
+ * The returned handles are of type {@code (Object[])Object}, i.e., they take constructor arguments as an array.
+ */
+public class ConstructorCache {
+
+    private static final MethodType HANDLE_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Map<Key, MethodHandle> constructors = new ConcurrentHashMap<>();
+
+    /**
+     * Gets handle of the constructor of the specified class with the specified parameter types.
+     * <p>
+     * The constructor need not be public.
+     *
+     * @param cls            Class to instantiate
+     * @param parameterTypes Exact constructor parameter types
+     * @return Constructor handle of type {@code (Object[])Object}
+     * @throws NoSuchMethodException  If no matching constructor exists
+     * @throws IllegalAccessException If the constructor cannot be accessed
+     */
+    public MethodHandle getConstructor(Class<?> cls, Class<?>... parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException {
+        final Key key = new Key(cls, parameterTypes);
+        final MethodHandle cached = constructors.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final MethodHandle handle = resolve(cls, parameterTypes);
+        final MethodHandle existing = constructors.putIfAbsent(key, handle);
+        return existing != null ? existing : handle;
+    }
+
+    private static MethodHandle resolve(Class<?> cls, Class<?>[] parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException {
+        final Constructor<?> ctor = cls.getDeclaredConstructor(parameterTypes);
+        if (!ctor.isAccessible()) {
+            ctor.setAccessible(true);
+        }
+        return MethodHandles.lookup().unreflectConstructor(ctor).asSpreader(Object[].class, parameterTypes.length)
+                            .asType(HANDLE_TYPE);
+    }
+
+    private static final class Key {
+        private final Class<?> cls;
+        private final Class<?>[] parameterTypes;
+
+        private Key(Class<?> cls, Class<?>[] parameterTypes) {
+            this.cls = Objects.requireNonNull(cls);
+            this.parameterTypes = parameterTypes.clone();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return cls.equals(key.cls) && Arrays.equals(parameterTypes, key.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * cls.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+    }
+}
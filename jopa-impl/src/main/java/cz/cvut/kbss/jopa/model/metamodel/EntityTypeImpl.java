@@ -16,6 +16,8 @@ package cz.cvut.kbss.jopa.model.metamodel;
 
 import cz.cvut.kbss.jopa.model.IRI;
 import cz.cvut.kbss.jopa.model.annotations.InheritanceType;
+import cz.cvut.kbss.jopa.oom.EntityLoadPlan;
+import cz.cvut.kbss.jopa.sessions.EntityCloner;
 
 public class EntityTypeImpl<X> extends AbstractIdentifiableType<X> implements EntityType<X> {
 
@@ -25,6 +27,10 @@ public class EntityTypeImpl<X> extends AbstractIdentifiableType<X> implements En
 
     private InheritanceType inheritanceType;
 
+    private EntityLoadPlan<X> loadPlan;
+
+    private EntityCloner<X> cloner;
+
     public EntityTypeImpl(String name, Class<X> javaType, final IRI iri) {
         super(javaType);
         this.name = name;
@@ -81,6 +87,32 @@ public class EntityTypeImpl<X> extends AbstractIdentifiableType<X> implements En
         this.inheritanceType = inheritanceType;
     }
 
+    /**
+     * Gets plan for loading instances of this entity type.
+     *
+     * @return Load plan, {@code null} if it has not been computed
+     */
+    public EntityLoadPlan<X> getLoadPlan() {
+        return loadPlan;
+    }
+
+    void setLoadPlan(EntityLoadPlan<X> loadPlan) {
+        this.loadPlan = loadPlan;
+    }
+
+    /**
+     * Gets cloner of instances of this entity type.
+     *
+     * @return Entity cloner, {@code null} if it has not been created
+     */
+    public EntityCloner<X> getCloner() {
+        return cloner;
+    }
+
+    void setCloner(EntityCloner<X> cloner) {
+        this.cloner = cloner;
+    }
+
     @Override
     public String toString() {
         return "EntityType{" + name + "<" + iri + ">}";
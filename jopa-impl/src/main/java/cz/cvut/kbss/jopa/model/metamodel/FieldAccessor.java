@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+
+/**
+ * Reads and writes value of a single persistent field.
+ * <p>
+ * Accessors are created by the metamodel builder together with the field specifications they belong to (see {@link
+ * AccessibleFieldSpecification}), so their lifecycle is bound to the metamodel.
+ * <p>
+ * Non-final instance fields of reference types are accessed via method handles resolved upfront. Other fields
+ * (primitive, static and final) are accessed reflectively, so that {@link Field#set(Object, Object)} semantics like
+ * widening conversions or {@link IllegalArgumentException} for {@code null} set into a primitive field are kept.
+ */
+public final class FieldAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Field field;
+    // Null for fields accessed reflectively
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+
+    public FieldAccessor(Field field) {
+        this.field = Objects.requireNonNull(field);
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        if (usesReflection(field)) {
+            this.getter = null;
+            this.setter = null;
+        } else {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                this.getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                this.setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new OWLPersistenceException("Unable to access field " + field + ".", e);
+            }
+        }
+    }
+
+    private static boolean usesReflection(Field field) {
+        final int modifiers = field.getModifiers();
+        return field.getType().isPrimitive() || Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers);
+    }
+
+    /**
+     * Gets the field accessed by this accessor.
+     *
+     * @return Java field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Gets value of the field from the specified instance.
+     *
+     * @param instance Instance to read from (may be {@code null} for static fields)
+     * @return Field value
+     * @throws IllegalArgumentException If the instance is not an instance of the field's declaring class
+     */
+    public Object getValue(Object instance) {
+        if (getter == null) {
+            return getReflectively(instance);
+        }
+        checkInstance(instance);
+        try {
+            return getter.invokeExact(instance);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Cannot get value of field " + field + " from " + instance, e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new OWLPersistenceException("Unable to extract field value.", e);
+        }
+    }
+
+    /**
+     * Sets value of the field on the specified instance.
+     *
+     * @param instance Instance to write to (may be {@code null} for static fields)
+     * @param value    The value to set (may be {@code null})
+     * @throws IllegalArgumentException If the instance or value are not of the expected type
+     */
+    public void setValue(Object instance, Object value) {
+        if (setter == null) {
+            setReflectively(instance, value);
+            return;
+        }
+        checkInstance(instance);
+        try {
+            setter.invokeExact(instance, value);
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentException("Cannot set value " + value + " of field " + field + " on " + instance,
+                    e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new OWLPersistenceException("Unable to set field value.", e);
+        }
+    }
+
+    private void checkInstance(Object instance) {
+        if (instance == null) {
+            throw new NullPointerException("Cannot access instance field " + field + " on null.");
+        }
+    }
+
+    private Object getReflectively(Object instance) {
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new OWLPersistenceException("Unable to extract field value.", e);
+        }
+    }
+
+    private void setReflectively(Object instance, Object value) {
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new OWLPersistenceException("Unable to set field value.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FieldAccessor{" + field + '}';
+    }
+}
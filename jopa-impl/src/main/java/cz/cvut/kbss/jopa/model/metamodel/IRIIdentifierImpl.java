@@ -18,16 +18,18 @@ import cz.cvut.kbss.jopa.model.annotations.FetchType;
 
 import java.lang.reflect.Field;
 
-public class IRIIdentifierImpl<T> implements IRIIdentifier {
+public class IRIIdentifierImpl<T> implements IRIIdentifier, AccessibleFieldSpecification {
 
     private final ManagedType<T> declaringType;
     private final Field javaField;
+    private final FieldAccessor accessor;
 
     private final boolean generated;
 
     public IRIIdentifierImpl(ManagedType<T> declaringType, final Field javaField, final boolean generated) {
         this.declaringType = declaringType;
         this.javaField = javaField;
+        this.accessor = javaField != null ? new FieldAccessor(javaField) : null;
         this.generated = generated;
     }
 
@@ -46,6 +48,11 @@ public class IRIIdentifierImpl<T> implements IRIIdentifier {
         return javaField;
     }
 
+    @Override
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
     @Override
     public FetchType getFetchType() {
         return FetchType.EAGER;
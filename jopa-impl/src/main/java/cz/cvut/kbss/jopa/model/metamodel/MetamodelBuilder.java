@@ -17,9 +17,11 @@ package cz.cvut.kbss.jopa.model.metamodel;
 import cz.cvut.kbss.jopa.exception.MetamodelInitializationException;
 import cz.cvut.kbss.jopa.loaders.PersistenceUnitClassFinder;
 import cz.cvut.kbss.jopa.model.annotations.Inheritance;
+import cz.cvut.kbss.jopa.oom.EntityLoadPlan;
 import cz.cvut.kbss.jopa.query.NamedQueryManager;
 import cz.cvut.kbss.jopa.query.ResultSetMappingManager;
 import cz.cvut.kbss.jopa.query.mapper.ResultSetMappingProcessor;
+import cz.cvut.kbss.jopa.sessions.EntityCloner;
 import cz.cvut.kbss.jopa.utils.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +41,8 @@ public class MetamodelBuilder {
 
     private final ConverterResolver converterResolver = new ConverterResolver(new Converters());
 
+    private final ConstructorCache constructorCache = new ConstructorCache();
+
     public MetamodelBuilder() {
         this.mappingProcessor = new ResultSetMappingProcessor(this);
     }
@@ -50,9 +54,16 @@ public class MetamodelBuilder {
      */
     public void buildMetamodel(PersistenceUnitClassFinder classFinder) {
         classFinder.getEntities().forEach(this::processOWLClass);
+        typeMap.values().stream().filter(EntityTypeImpl.class::isInstance)
+               .forEach(t -> buildInstanceRoutines((EntityTypeImpl<?>) t));
         classFinder.getResultSetMappings().forEach(mappingProcessor::buildMapper);
     }
 
+    private <X> void buildInstanceRoutines(EntityTypeImpl<X> et) {
+        et.setLoadPlan(new EntityLoadPlan<>(et));
+        et.setCloner(new EntityCloner<>(et, constructorCache));
+    }
+
     private <X> void processOWLClass(final Class<X> cls) {
         if (typeMap.containsKey(cls)) {
             return;
@@ -151,6 +162,10 @@ public class MetamodelBuilder {
         return mappingProcessor.getManager();
     }
 
+    public ConstructorCache getConstructorCache() {
+        return constructorCache;
+    }
+
     void addInferredClass(Class<?> cls) {
         inferredClasses.add(cls);
     }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import cz.cvut.kbss.jopa.exception.MetamodelInitializationException;
+import cz.cvut.kbss.jopa.model.EntityGraphImpl;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.annotations.NamedAttributeNode;
+import cz.cvut.kbss.jopa.model.annotations.NamedEntityGraph;
+import cz.cvut.kbss.jopa.model.annotations.NamedEntityGraphs;
+import cz.cvut.kbss.jopa.model.annotations.NamedSubgraph;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds named entity graphs declared on entity classes.
+ * <p>
+ * Graphs are built once the metamodel is complete, because subgraphs require entity types of referenced entities.
+ */
+public class NamedEntityGraphProcessor {
+
+    private final MetamodelImpl metamodel;
+
+    private final Map<String, EntityGraphImpl<?>> graphs = new HashMap<>();
+
+    public NamedEntityGraphProcessor(MetamodelImpl metamodel) {
+        this.metamodel = metamodel;
+    }
+
+    /**
+     * Discovers named entity graphs declared on the specified entity class.
+     *
+     * @param cls The class to process
+     * @throws MetamodelInitializationException If a graph is invalid or its name is already in use
+     */
+    public <T> void processClass(Class<T> cls) {
+        final NamedEntityGraphs entityGraphs = cls.getAnnotation(NamedEntityGraphs.class);
+        if (entityGraphs != null) {
+            for (NamedEntityGraph g : entityGraphs.value()) {
+                processGraph(cls, g);
+            }
+        }
+        final NamedEntityGraph graph = cls.getAnnotation(NamedEntityGraph.class);
+        if (graph != null) {
+            processGraph(cls, graph);
+        }
+    }
+
+    private <T> void processGraph(Class<T> cls, NamedEntityGraph graph) {
+        final String name = graph.name().isEmpty() ? cls.getSimpleName() : graph.name();
+        if (graphs.containsKey(name)) {
+            throw new MetamodelInitializationException(
+                    "Entity graph with name " + name + " already exists in this persistence unit.");
+        }
+        final Map<String, NamedSubgraph> subgraphs = new HashMap<>();
+        for (NamedSubgraph sg : graph.subgraphs()) {
+            subgraphs.put(sg.name(), sg);
+        }
+        final EntityGraphImpl<T> result = new EntityGraphImpl<>(name, metamodel.entity(cls), metamodel);
+        try {
+            addAttributeNodes(result, graph.attributeNodes(), subgraphs, new HashSet<>());
+        } catch (IllegalArgumentException e) {
+            throw new MetamodelInitializationException("Invalid entity graph " + name + " declared on " + cls, e);
+        }
+        result.makeImmutable();
+        graphs.put(name, result);
+    }
+
+    private static void addAttributeNodes(EntityGraphImpl<?> graph, NamedAttributeNode[] nodes,
+                                          Map<String, NamedSubgraph> subgraphs, Set<String> visited) {
+        for (NamedAttributeNode node : nodes) {
+            if (node.subgraph().isEmpty()) {
+                graph.addAttributeNodes(node.value());
+                continue;
+            }
+            final NamedSubgraph sg = subgraphs.get(node.subgraph());
+            if (sg == null) {
+                throw new IllegalArgumentException("Unknown subgraph " + node.subgraph() + ".");
+            }
+            if (!visited.add(sg.name())) {
+                throw new IllegalArgumentException("Subgraph " + sg.name() + " references itself.");
+            }
+            addAttributeNodes((EntityGraphImpl<?>) graph.addSubgraph(node.value()), sg.attributeNodes(), subgraphs,
+                    visited);
+            visited.remove(sg.name());
+        }
+    }
+
+    public Map<String, EntityGraphImpl<?>> getGraphs() {
+        return graphs;
+    }
+}
@@ -18,10 +18,12 @@ import cz.cvut.kbss.jopa.model.annotations.FetchType;
 
 import java.lang.reflect.Field;
 
-public class PropertiesSpecificationImpl<X, Y, K, V> implements PropertiesSpecification<X, Y, K, V> {
+public class PropertiesSpecificationImpl<X, Y, K, V> implements PropertiesSpecification<X, Y, K, V>,
+        AccessibleFieldSpecification<X, Y> {
     private final ManagedType<X> declaringType;
     private final FetchType fetchType;
     private final Field javaField;
+    private final FieldAccessor accessor;
     private final Class<Y> javaType;
     private final boolean inferred;
     private final Class<K> propertyIdType;
@@ -31,6 +33,7 @@ public class PropertiesSpecificationImpl<X, Y, K, V> implements PropertiesSpecif
         this.declaringType = builder.declaringType;
         this.fetchType = builder.fetchType;
         this.javaField = builder.javaField;
+        this.accessor = javaField != null ? new FieldAccessor(javaField) : null;
         this.javaType = builder.javaType;
         this.inferred = builder.inferred;
         this.propertyIdType = builder.propertyIdType;
@@ -52,6 +55,11 @@ public class PropertiesSpecificationImpl<X, Y, K, V> implements PropertiesSpecif
         return javaField;
     }
 
+    @Override
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
     @Override
     public Class<Y> getJavaType() {
         return javaType;
@@ -19,10 +19,11 @@ import cz.cvut.kbss.jopa.model.annotations.FetchType;
 import java.lang.reflect.Field;
 import java.util.Set;
 
-public class TypesSpecificationImpl<X, Y> implements TypesSpecification<X, Y> {
+public class TypesSpecificationImpl<X, Y> implements TypesSpecification<X, Y>, AccessibleFieldSpecification<X, Set> {
     private final ManagedType<X> declaringType;
     private final FetchType fetchType;
     private final Field javaField;
+    private final FieldAccessor accessor;
     private Class<Y> elementType;
     private boolean inferred;
 
@@ -32,6 +33,7 @@ public class TypesSpecificationImpl<X, Y> implements TypesSpecification<X, Y> {
         this.declaringType = declaringType;
         this.fetchType = fetchType;
         this.javaField = javaField;
+        this.accessor = javaField != null ? new FieldAccessor(javaField) : null;
         this.elementType = elementType;
         this.inferred = inferred;
     }
@@ -51,6 +53,11 @@ public class TypesSpecificationImpl<X, Y> implements TypesSpecification<X, Y> {
         return javaField;
     }
 
+    @Override
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
     @Override
     public Class<Set> getJavaType() {
         return Set.class;
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.oom;
+
+import cz.cvut.kbss.ontodriver.Connection;
+import cz.cvut.kbss.ontodriver.descriptor.AxiomDescriptor;
+import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
+import cz.cvut.kbss.ontodriver.model.Axiom;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads axioms of multiple subjects using {@link Connection#findAll(java.util.Collection)}.
+ * <p>
+ * Axioms returned by the storage do not carry the context they were loaded from, so axioms of the same individual loaded
+ * from different contexts could not be told apart. Descriptors with the same subject are therefore passed to the
+ * storage in separate calls.
+ *
+ * @param <K> Type of keys to which the loaded axioms are assigned
+ */
+class AxiomBatch<K> {
+
+    private final List<Map<URI, Entry<K>>> requests = new ArrayList<>(1);
+    private int size;
+
+    /**
+     * Adds the specified descriptor to this batch.
+     *
+     * @param key        Key to which axioms loaded using the descriptor are assigned. Keys are compared by identity
+     * @param descriptor Axiom descriptor
+     */
+    void add(K key, AxiomDescriptor descriptor) {
+        final URI subject = descriptor.getSubject().getIdentifier();
+        for (Map<URI, Entry<K>> request : requests) {
+            if (!request.containsKey(subject)) {
+                request.put(subject, new Entry<>(key, descriptor));
+                size++;
+                return;
+            }
+        }
+        final Map<URI, Entry<K>> request = new HashMap<>();
+        request.put(subject, new Entry<>(key, descriptor));
+        requests.add(request);
+        size++;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Loads axioms specified by descriptors in this batch.
+     *
+     * @param connection Storage connection
+     * @return Loaded axioms assigned to keys of the corresponding descriptors. Keys whose descriptors yielded no axioms
+     * are mapped to an empty list
+     * @throws OntoDriverException If storage access fails
+     */
+    Map<K, List<Axiom<?>>> findAll(Connection connection) throws OntoDriverException {
+        final Map<K, List<Axiom<?>>> result = new IdentityHashMap<>(size);
+        for (Map<URI, Entry<K>> request : requests) {
+            final List<AxiomDescriptor> descriptors = new ArrayList<>(request.size());
+            request.values().forEach(e -> descriptors.add(e.descriptor));
+            final Map<URI, List<Axiom<?>>> axiomsBySubject = new HashMap<>(request.size());
+            for (Axiom<?> ax : connection.findAll(descriptors)) {
+                axiomsBySubject.computeIfAbsent(ax.getSubject().getIdentifier(), k -> new ArrayList<>()).add(ax);
+            }
+            request.forEach((subject, e) -> result
+                    .put(e.key, axiomsBySubject.getOrDefault(subject, Collections.emptyList())));
+        }
+        return result;
+    }
+
+    private static final class Entry<K> {
+        private final K key;
+        private final AxiomDescriptor descriptor;
+
+        private Entry(K key, AxiomDescriptor descriptor) {
+            this.key = key;
+            this.descriptor = descriptor;
+        }
+    }
+}
@@ -129,7 +129,20 @@ class AxiomDescriptorFactory {
     AxiomDescriptor createForFieldLoading(URI identifier, Field field, Descriptor entityDescriptor, EntityType<?> et) {
         final AxiomDescriptor descriptor = new AxiomDescriptor(NamedResource.create(identifier));
         descriptor.setSubjectContext(entityDescriptor.getContext());
-        FieldSpecification<?, ?> fieldSpec = MappingUtils.getFieldSpecification(field, et);
+        addForFieldLoading(descriptor, MappingUtils.getFieldSpecification(field, et), entityDescriptor, et);
+        return descriptor;
+    }
+
+    /**
+     * Adds assertion for loading value of the specified attribute to an existing axiom descriptor.
+     *
+     * @param descriptor       Axiom descriptor to extend
+     * @param fieldSpec        Attribute to load
+     * @param entityDescriptor Entity descriptor possibly specifying attribute context
+     * @param et               Entity type
+     */
+    void addForFieldLoading(AxiomDescriptor descriptor, FieldSpecification<?, ?> fieldSpec,
+                            Descriptor entityDescriptor, EntityType<?> et) {
         final Assertion assertion;
         if (et.getTypes() != null && fieldSpec.equals(et.getTypes())) {
             assertion = Assertion.createClassAssertion(et.getTypes().isInferred());
@@ -140,6 +153,5 @@ class AxiomDescriptorFactory {
                     entityDescriptor.getAttributeDescriptor(fieldSpec));
         }
         addAssertionToDescriptor(entityDescriptor, fieldSpec, descriptor, assertion);
-        return descriptor;
     }
 }
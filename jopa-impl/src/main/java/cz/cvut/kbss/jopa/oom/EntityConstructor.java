@@ -21,7 +21,6 @@ import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.sessions.validator.IntegrityConstraintsValidator;
 import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
-import cz.cvut.kbss.jopa.vocabulary.RDF;
 import cz.cvut.kbss.ontodriver.model.Axiom;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,6 +30,7 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 class EntityConstructor {
 
@@ -98,16 +98,15 @@ class EntityConstructor {
     private <T> void populateAttributes(final T instance, EntityType<T> et,
                                         Descriptor entityDescriptor, Collection<Axiom<?>> axioms)
             throws IllegalAccessException {
-        final Map<URI, FieldSpecification<? super T, ?>> attributes = indexEntityAttributes(et);
+        final EntityLoadPlan<T> plan = EntityLoadPlan.of(et);
         final Map<FieldSpecification<? super T, ?>, FieldStrategy<? extends FieldSpecification<? super T, ?>, T>>
-                fieldLoaders = new HashMap<>(
-                et.getAttributes().size());
+                fieldLoaders = new HashMap<>(plan.getAttributeCount());
         for (Axiom<?> ax : axioms) {
             if (MappingUtils.isEntityClassAssertion(ax, et)) {
                 continue;
             }
             final FieldStrategy<? extends FieldSpecification<? super T, ?>, T> fs = getFieldLoader(
-                    ax, attributes, fieldLoaders, et, entityDescriptor);
+                    ax, plan, fieldLoaders, entityDescriptor);
             if (fs == null) {
                 if (!MappingUtils.isClassAssertion(ax)) {
                     LOG.warn("No attribute found for property {}. Axiom {} will be skipped.", ax.getAssertion(), ax);
@@ -123,42 +122,31 @@ class EntityConstructor {
         }
     }
 
-    private static <T> Map<URI, FieldSpecification<? super T, ?>> indexEntityAttributes(EntityType<T> et) {
-        final Map<URI, FieldSpecification<? super T, ?>> atts = new HashMap<>(et.getAttributes().size());
-        for (Attribute<? super T, ?> at : et.getAttributes()) {
-            atts.put(at.getIRI().toURI(), at);
-        }
-        if (et.getTypes() != null) {
-            atts.put(URI.create(RDF.TYPE), et.getTypes());
-        }
-        return atts;
-    }
-
     private <T> FieldStrategy<? extends FieldSpecification<? super T, ?>, T> getFieldLoader(
-            Axiom<?> ax,
-            Map<URI, FieldSpecification<? super T, ?>> attributes,
+            Axiom<?> ax, EntityLoadPlan<T> plan,
             Map<FieldSpecification<? super T, ?>, FieldStrategy<? extends FieldSpecification<? super T, ?>, T>> loaders,
-            EntityType<T> et, Descriptor desc) {
-        final URI attId = ax.getAssertion().getIdentifier();
-        FieldSpecification<? super T, ?> att = attributes.get(attId);
+            Descriptor desc) {
+        final FieldSpecification<? super T, ?> att = plan.resolveAttribute(ax.getAssertion().getIdentifier());
         if (att == null) {
-            if (et.getProperties() != null) {
-                att = et.getProperties();
-            } else {
-                return null;
-            }
+            return null;
         }
-        if (!loaders.containsKey(att)) {
-            loaders.put(att, FieldStrategy.createFieldStrategy(et, att, desc, mapper));
+        FieldStrategy<? extends FieldSpecification<? super T, ?>, T> loader = loaders.get(att);
+        if (loader == null) {
+            loader = plan.createFieldStrategy(att, desc, mapper);
+            loaders.put(att, loader);
         }
-        return loaders.get(att);
+        return loader;
     }
 
     private <T> void validateIntegrityConstraints(T entity, EntityType<T> et) {
         if (shouldSkipICValidationOnLoad()) {
             return;
         }
-        IntegrityConstraintsValidator.getValidator().validate(entity, et, true);
+        final IntegrityConstraintsValidator validator = IntegrityConstraintsValidator.getValidator();
+        final Object id = EntityPropertiesUtils.getIdentifier(entity, et);
+        for (Attribute<? super T, ?> att : EntityLoadPlan.of(et).getEagerAttributes()) {
+            validator.validate(id, att, EntityPropertiesUtils.getAttributeValue(att, entity));
+        }
     }
 
     private boolean shouldSkipICValidationOnLoad() {
@@ -177,14 +165,32 @@ class EntityConstructor {
 
     <T> void setFieldValue(T entity, Field field, Collection<Axiom<?>> axioms, EntityType<T> et,
                            Descriptor entityDescriptor) throws IllegalAccessException {
+        setFieldValue(entity, field, axioms, et, entityDescriptor, FieldStrategy::addValueFromAxiom);
+    }
+
+    /**
+     * Sets value of the specified list attribute from axioms representing the list elements.
+     * <p>
+     * Unlike {@link #setFieldValue(Object, Field, Collection, EntityType, Descriptor)}, the list itself is not loaded
+     * from the storage, the elements have already been read from it.
+     */
+    <T> void setListFieldValue(T entity, Field field, Collection<Axiom<?>> elementAxioms, EntityType<T> et,
+                               Descriptor entityDescriptor) throws IllegalAccessException {
+        setFieldValue(entity, field, elementAxioms, et, entityDescriptor,
+                (fs, ax) -> ((ListPropertyStrategy<?, ?, ?>) fs).addElementFromAxiom(ax));
+    }
+
+    private <T> void setFieldValue(T entity, Field field, Collection<Axiom<?>> axioms, EntityType<T> et,
+                                   Descriptor entityDescriptor, BiConsumer<FieldStrategy<?, T>, Axiom<?>> valueAdder)
+            throws IllegalAccessException {
         final FieldSpecification<? super T, ?> fieldSpec = MappingUtils.getFieldSpecification(field, et);
         if (axioms.isEmpty()) {
             validateIntegrityConstraints(entity, fieldSpec, et);
             return;
         }
-        final FieldStrategy<? extends FieldSpecification<? super T, ?>, T> fs = FieldStrategy
-                .createFieldStrategy(et, fieldSpec, entityDescriptor, mapper);
-        axioms.forEach(fs::addValueFromAxiom);
+        final FieldStrategy<? extends FieldSpecification<? super T, ?>, T> fs =
+                EntityLoadPlan.of(et).createFieldStrategy(fieldSpec, entityDescriptor, mapper);
+        axioms.forEach(ax -> valueAdder.accept(fs, ax));
         fs.buildInstanceFieldValue(entity);
         validateIntegrityConstraints(entity, fieldSpec, et);
     }
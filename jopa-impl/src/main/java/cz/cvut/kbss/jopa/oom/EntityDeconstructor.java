@@ -32,6 +32,10 @@ class EntityDeconstructor {
         this.mapper = mapper;
     }
 
+    ReferenceSavingResolver getReferenceSavingResolver() {
+        return referenceSavingResolver;
+    }
+
     void setReferenceSavingResolver(ReferenceSavingResolver referenceSavingResolver) {
         this.referenceSavingResolver = referenceSavingResolver;
     }
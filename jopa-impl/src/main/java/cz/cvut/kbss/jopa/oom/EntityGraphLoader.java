@@ -0,0 +1,429 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.oom;
+
+import cz.cvut.kbss.jopa.model.AttributeNode;
+import cz.cvut.kbss.jopa.model.LoadState;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.Subgraph;
+import cz.cvut.kbss.jopa.model.annotations.FetchType;
+import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import cz.cvut.kbss.jopa.model.metamodel.Bindable;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.ListAttribute;
+import cz.cvut.kbss.jopa.oom.metamodel.PolymorphicEntityTypeResolver;
+import cz.cvut.kbss.jopa.sessions.CacheManager;
+import cz.cvut.kbss.jopa.sessions.LoadingParameters;
+import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
+import cz.cvut.kbss.ontodriver.Connection;
+import cz.cvut.kbss.ontodriver.descriptor.AxiomDescriptor;
+import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
+import cz.cvut.kbss.ontodriver.model.Assertion;
+import cz.cvut.kbss.ontodriver.model.Axiom;
+import cz.cvut.kbss.ontodriver.model.NamedResource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Loads attributes specified by an entity graph breadth-first.
+ * <p>
+ * Descriptors for each level of the graph are passed to the storage in one request (see {@link
+ * Connection#findAll(Collection)}). They retrieve both values of the graph attributes of entities at the current level
+ * and the state of newly referenced entities. If the level contains newly referenced polymorphic entities, their types
+ * are resolved beforehand using one additional request. Contents of graph attributes which are lists of entities are
+ * read using the list API of the storage, one request per list, and the list elements are then loaded at the next
+ * level together with the other referenced entities. Values of attributes referencing other entities are set only
+ * after the whole graph is loaded, so that the referenced entities are already available and do not have to be loaded
+ * one by one.
+ */
+class EntityGraphLoader {
+
+    private final ObjectOntologyMapperImpl mapper;
+    private final Connection storageConnection;
+    private final AxiomDescriptorFactory descriptorFactory;
+    private final EntityConstructor entityBuilder;
+    private final CacheManager cache;
+    private final MetamodelImpl metamodel;
+
+    EntityGraphLoader(ObjectOntologyMapperImpl mapper, Connection storageConnection,
+                      AxiomDescriptorFactory descriptorFactory, EntityConstructor entityBuilder, CacheManager cache,
+                      MetamodelImpl metamodel) {
+        this.mapper = mapper;
+        this.storageConnection = storageConnection;
+        this.descriptorFactory = descriptorFactory;
+        this.entityBuilder = entityBuilder;
+        this.cache = cache;
+        this.metamodel = metamodel;
+    }
+
+    /**
+     * Loads the specified graph attributes for the specified entities and, transitively, subgraph attributes for the
+     * entities they reference.
+     *
+     * @param entities       Root entities mapped to their descriptors
+     * @param attributeNodes Attribute nodes of the root graph
+     */
+    <T> void load(Map<T, Descriptor> entities, List<AttributeNode<?>> attributeNodes)
+            throws OntoDriverException, InstantiationException, IllegalAccessException {
+        Map<NodeKey, GraphNode> level = new LinkedHashMap<>(entities.size());
+        for (Map.Entry<T, Descriptor> e : entities.entrySet()) {
+            final EntityType<?> et = mapper.getEntityType(e.getKey().getClass());
+            final URI identifier = EntityPropertiesUtils.getIdentifier(e.getKey(), et);
+            addNode(level, new GraphNode(identifier, et.getJavaType(), e.getKey(), e.getValue(), attributeNodes));
+        }
+        final List<PendingFieldValue> pending = new ArrayList<>();
+        while (!level.isEmpty()) {
+            level = loadLevel(level.values(), pending);
+        }
+        final Map<Object, PendingFieldValue> updated = new IdentityHashMap<>();
+        for (PendingFieldValue p : pending) {
+            p.apply(entityBuilder);
+            updated.putIfAbsent(p.instance, p);
+        }
+        // Values were set after the instances had been put into the cache
+        updated.values().forEach(p -> cache.update(p.identifier, p.instance, p.descriptor));
+    }
+
+    private static void addNode(Map<NodeKey, GraphNode> level, GraphNode node) {
+        final GraphNode existing =
+                level.putIfAbsent(new NodeKey(node.identifier, node.descriptor.getContext()), node);
+        if (existing != null) {
+            existing.attributeNodes.addAll(node.attributeNodes);
+        }
+    }
+
+    private Map<NodeKey, GraphNode> loadLevel(Collection<GraphNode> nodes, List<PendingFieldValue> pending)
+            throws OntoDriverException, InstantiationException, IllegalAccessException {
+        final List<GraphNode> polymorphic = new ArrayList<>();
+        for (GraphNode node : nodes) {
+            node.instance = node.instance != null ? node.instance :
+                            mapper.getExistingInstance(node.type, node.identifier, node.descriptor);
+            if (node.instance != null) {
+                node.entityType = mapper.getEntityType(node.instance.getClass());
+            } else if (mapper.getEntityType(node.type).hasSubtypes()) {
+                polymorphic.add(node);
+            }
+        }
+        resolveEntityTypes(polymorphic);
+        final AxiomBatch<GraphNode> batch = new AxiomBatch<>();
+        for (GraphNode node : nodes) {
+            final AxiomDescriptor descriptor = createAxiomDescriptor(node);
+            if (descriptor != null) {
+                batch.add(node, descriptor);
+            }
+        }
+        final Map<GraphNode, List<Axiom<?>>> axioms =
+                batch.isEmpty() ? Collections.emptyMap() : batch.findAll(storageConnection);
+        final Map<NodeKey, GraphNode> nextLevel = new LinkedHashMap<>();
+        for (GraphNode node : nodes) {
+            if (node.entityType != null) {
+                processNode(node, axioms.getOrDefault(node, Collections.emptyList()), pending, nextLevel);
+            }
+        }
+        return nextLevel;
+    }
+
+    /**
+     * Resolves actual entity types of the specified nodes based on their types in the storage.
+     * <p>
+     * Nodes whose type cannot be resolved are left without entity type and are not loaded.
+     */
+    private void resolveEntityTypes(List<GraphNode> nodes) throws OntoDriverException {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        final AxiomBatch<GraphNode> batch = new AxiomBatch<>();
+        for (GraphNode node : nodes) {
+            final AxiomDescriptor descriptor = new AxiomDescriptor(NamedResource.create(node.identifier));
+            descriptor.setSubjectContext(node.descriptor.getContext());
+            descriptor.addAssertion(Assertion.createClassAssertion(false));
+            batch.add(node, descriptor);
+        }
+        final Map<GraphNode, List<Axiom<?>>> types = batch.findAll(storageConnection);
+        for (GraphNode node : nodes) {
+            node.entityType = resolveEntityType(node, types.getOrDefault(node, Collections.emptyList()));
+        }
+    }
+
+    private static <T> EntityType<? extends T> resolveEntityType(GraphNode node, List<Axiom<?>> typeAxioms) {
+        final List<Axiom<URI>> types = new ArrayList<>(typeAxioms.size());
+        typeAxioms.forEach(ax -> types.add((Axiom<URI>) ax));
+        return new PolymorphicEntityTypeResolver<>(NamedResource.create(node.identifier),
+                (EntityTypeImpl<T>) node.entityType, types).determineActualEntityType();
+    }
+
+    /**
+     * Creates descriptor for loading the node instance (if it is not loaded yet) and values of its graph attributes
+     * which are not loaded yet.
+     * <p>
+     * Graph attributes whose values are not loaded together with the instance are recorded as fetched, their values
+     * are set after the whole graph is loaded.
+     */
+    private AxiomDescriptor createAxiomDescriptor(GraphNode node) {
+        final EntityType<?> et = node.entityType;
+        if (et == null) {
+            return null;
+        }
+        AxiomDescriptor descriptor = node.instance == null ? descriptorFactory.createForEntityLoading(
+                new LoadingParameters<>(et.getJavaType(), node.identifier, node.descriptor), et) : null;
+        for (AttributeNode<?> attNode : node.attributeNodes) {
+            final FieldSpecification<?, ?> fs = et.getFieldSpecification(attNode.getAttributeName());
+            if (node.instance != null ? isLoaded(node, fs) : fs.getFetchType() != FetchType.LAZY) {
+                continue;
+            }
+            if (descriptor == null) {
+                descriptor = new AxiomDescriptor(NamedResource.create(node.identifier));
+                descriptor.setSubjectContext(node.descriptor.getContext());
+            }
+            descriptorFactory.addForFieldLoading(descriptor, fs, node.descriptor, et);
+            if (node.instance != null || getReferencedEntityType(fs) != null) {
+                node.fetched.add(fs);
+            }
+        }
+        return descriptor;
+    }
+
+    /**
+     * Checks whether value of the specified attribute of the node instance is loaded.
+     * <p>
+     * Load state recorded by the persistence context is used. If the instance is not managed by it, the attribute is
+     * considered loaded when it has a value.
+     */
+    private boolean isLoaded(GraphNode node, FieldSpecification<?, ?> fs) {
+        final LoadState state = mapper.getLoadState(node.instance, node.identifier, node.descriptor, fs);
+        if (state == LoadState.LOADED) {
+            return true;
+        } else if (state == LoadState.NOT_LOADED) {
+            return false;
+        }
+        return EntityPropertiesUtils.getAttributeValue(fs, node.instance) != null;
+    }
+
+    /**
+     * Gets entity type referenced by the specified attribute.
+     *
+     * @return Referenced entity class (element class for lists) or {@code null} if the attribute does not reference
+     * entities
+     */
+    private Class<?> getReferencedEntityType(FieldSpecification<?, ?> fs) {
+        if (!(fs instanceof Bindable)) {
+            return null;
+        }
+        final Class<?> target = ((Bindable<?>) fs).getBindableJavaType();
+        return metamodel.isEntityType(target) ? target : null;
+    }
+
+    private void processNode(GraphNode node, List<Axiom<?>> axioms, List<PendingFieldValue> pending,
+                             Map<NodeKey, GraphNode> nextLevel) throws InstantiationException, IllegalAccessException {
+        final EntityLoadPlan<?> plan = EntityLoadPlan.of(node.entityType);
+        final Map<FieldSpecification<?, ?>, List<Axiom<?>>> fetchedValues = new HashMap<>(node.fetched.size());
+        final List<Axiom<?>> entityAxioms = new ArrayList<>(axioms.size());
+        for (Axiom<?> ax : axioms) {
+            final FieldSpecification<?, ?> fs = plan.resolveAttribute(ax.getAssertion().getIdentifier());
+            if (node.fetched.contains(fs)) {
+                fetchedValues.computeIfAbsent(fs, k -> new ArrayList<>()).add(ax);
+            } else {
+                entityAxioms.add(ax);
+            }
+        }
+        if (node.instance == null) {
+            if (entityAxioms.isEmpty()) {
+                return;
+            }
+            node.instance = reconstructEntity(node, entityAxioms);
+            if (node.instance == null) {
+                return;
+            }
+        }
+        for (FieldSpecification<?, ?> fs : node.fetched) {
+            final boolean entityList = isListOfEntities(fs);
+            if (entityList && fetchedValues.containsKey(fs)) {
+                fetchedValues.put(fs, loadListElements(node, fs, fetchedValues.get(fs)));
+            }
+            pending.add(new PendingFieldValue(node, fs, fetchedValues.getOrDefault(fs, Collections.emptyList()),
+                    entityList));
+        }
+        for (AttributeNode<?> attNode : node.attributeNodes) {
+            addReferencedNodes(node, attNode, fetchedValues, nextLevel);
+        }
+    }
+
+    private boolean isListOfEntities(FieldSpecification<?, ?> fs) {
+        return fs instanceof ListAttribute && getReferencedEntityType(fs) != null;
+    }
+
+    /**
+     * Reads elements of the list referenced by the specified axioms, so that they can be loaded at the next level.
+     */
+    private List<Axiom<?>> loadListElements(GraphNode node, FieldSpecification<?, ?> fs, List<Axiom<?>> listAxioms) {
+        final ListPropertyStrategy<?, ?, ?> strategy = (ListPropertyStrategy<?, ?, ?>) EntityLoadPlan
+                .of((EntityType<Object>) node.entityType)
+                .createFieldStrategy((FieldSpecification<Object, ?>) fs, node.descriptor, mapper);
+        final List<Axiom<?>> elements = new ArrayList<>();
+        listAxioms.forEach(ax -> elements.addAll(strategy.loadListElements(ax)));
+        return elements;
+    }
+
+    private Object reconstructEntity(GraphNode node, List<Axiom<?>> axioms)
+            throws InstantiationException, IllegalAccessException {
+        final Object instance = entityBuilder.reconstructEntity(node.identifier, node.entityType, node.descriptor,
+                axioms);
+        if (instance != null) {
+            cache.add(node.identifier, instance, node.descriptor);
+        }
+        return instance;
+    }
+
+    private void addReferencedNodes(GraphNode node, AttributeNode<?> attNode,
+                                    Map<FieldSpecification<?, ?>, List<Axiom<?>>> fetchedValues,
+                                    Map<NodeKey, GraphNode> nextLevel) {
+        final FieldSpecification<?, ?> fs = node.entityType.getFieldSpecification(attNode.getAttributeName());
+        final Class<?> targetType = getReferencedEntityType(fs);
+        if (targetType == null) {
+            return;
+        }
+        final List<AttributeNode<?>> subgraphNodes = getSubgraphAttributeNodes(attNode);
+        final Descriptor targetDescriptor = node.descriptor.getAttributeDescriptor(fs);
+        if (node.fetched.contains(fs)) {
+            for (Axiom<?> ax : fetchedValues.getOrDefault(fs, Collections.emptyList())) {
+                final Object value = ax.getValue().getValue();
+                if (value instanceof NamedResource) {
+                    addNode(nextLevel, new GraphNode(((NamedResource) value).getIdentifier(), targetType, null,
+                            targetDescriptor, subgraphNodes));
+                }
+            }
+        } else if (!subgraphNodes.isEmpty()) {
+            final Object value = EntityPropertiesUtils.getAttributeValue(fs, node.instance);
+            final Collection<?> values = value instanceof Collection ? (Collection<?>) value :
+                                         value != null ? Collections.singleton(value) : Collections.emptySet();
+            for (Object v : values) {
+                final EntityType<?> et = mapper.getEntityType(v.getClass());
+                addNode(nextLevel, new GraphNode(EntityPropertiesUtils.getIdentifier(v, et), v.getClass(), v,
+                        targetDescriptor, subgraphNodes));
+            }
+        }
+    }
+
+    private static List<AttributeNode<?>> getSubgraphAttributeNodes(AttributeNode<?> attNode) {
+        final Collection<Subgraph> subgraphs = attNode.getSubgraphs().values();
+        if (subgraphs.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<AttributeNode<?>> result = new ArrayList<>();
+        for (Subgraph<?> sg : subgraphs) {
+            result.addAll(sg.getAttributeNodes());
+        }
+        return result;
+    }
+
+    /**
+     * Identifies an instance by its identifier and context.
+     */
+    private static final class NodeKey {
+        private final URI identifier;
+        private final URI context;
+
+        private NodeKey(URI identifier, URI context) {
+            this.identifier = identifier;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof NodeKey)) {
+                return false;
+            }
+            final NodeKey other = (NodeKey) o;
+            return identifier.equals(other.identifier) && Objects.equals(context, other.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(identifier, context);
+        }
+    }
+
+    /**
+     * Instance at one level of the loaded graph.
+     */
+    private final class GraphNode {
+        private final URI identifier;
+        private final Class<?> type;
+        private final Descriptor descriptor;
+        private final List<AttributeNode<?>> attributeNodes;
+        private final List<FieldSpecification<?, ?>> fetched = new ArrayList<>();
+
+        private Object instance;
+        private EntityType<?> entityType;
+
+        private GraphNode(URI identifier, Class<?> type, Object instance, Descriptor descriptor,
+                          List<AttributeNode<?>> attributeNodes) {
+            this.identifier = identifier;
+            this.type = type;
+            this.instance = instance;
+            this.descriptor = descriptor;
+            this.attributeNodes = new ArrayList<>(attributeNodes);
+            final Class<?> cls = instance != null ? instance.getClass() : type;
+            this.entityType = mapper.getEntityType(cls);
+        }
+    }
+
+    /**
+     * Value of a graph attribute which is set once the whole graph is loaded.
+     */
+    private static final class PendingFieldValue {
+        private final URI identifier;
+        private final Object instance;
+        private final EntityType<Object> entityType;
+        private final FieldSpecification<?, ?> fieldSpec;
+        private final Descriptor descriptor;
+        private final List<Axiom<?>> axioms;
+        // Whether the axioms represent already read list elements
+        private final boolean listElements;
+
+        private PendingFieldValue(GraphNode node, FieldSpecification<?, ?> fieldSpec, List<Axiom<?>> axioms,
+                                  boolean listElements) {
+            this.identifier = node.identifier;
+            this.instance = node.instance;
+            this.entityType = (EntityType<Object>) node.entityType;
+            this.fieldSpec = fieldSpec;
+            this.descriptor = node.descriptor;
+            this.axioms = axioms;
+            this.listElements = listElements;
+        }
+
+        private void apply(EntityConstructor entityBuilder) throws IllegalAccessException {
+            if (listElements) {
+                entityBuilder.setListFieldValue(instance, fieldSpec.getJavaField(), axioms, entityType, descriptor);
+            } else {
+                entityBuilder.setFieldValue(instance, fieldSpec.getJavaField(), axioms, entityType, descriptor);
+            }
+        }
+    }
+}
@@ -81,13 +81,23 @@ abstract class EntityInstanceLoader {
     <T> T loadInstance(LoadingParameters<T> loadingParameters, EntityType<? extends T> et) {
         final URI identifier = loadingParameters.getIdentifier();
         final Descriptor descriptor = loadingParameters.getDescriptor();
-        if (isCached(loadingParameters, et)) {
-            return cache.get(et.getJavaType(), identifier, descriptor);
+        if (!loadingParameters.shouldBypassCache()) {
+            final T cached = cache.get(et.getJavaType(), identifier, descriptor);
+            cache.recordLookup(et.getJavaType(), descriptor.getContext(), cached != null);
+            if (cached != null) {
+                return cached;
+            }
         }
+        final long start = System.nanoTime();
         final AxiomDescriptor axiomDescriptor = descriptorFactory.createForEntityLoading(loadingParameters, et);
         try {
             final Collection<Axiom<?>> axioms = storageConnection.find(axiomDescriptor);
-            return axioms.isEmpty() ? null : entityBuilder.reconstructEntity(identifier, et, descriptor, axioms);
+            if (axioms.isEmpty()) {
+                return null;
+            }
+            final T result = entityBuilder.reconstructEntity(identifier, et, descriptor, axioms);
+            cache.recordLoad(et.getJavaType(), descriptor.getContext(), System.nanoTime() - start);
+            return result;
         } catch (OntoDriverException e) {
             throw new StorageAccessException(e);
         } catch (InstantiationException | IllegalAccessException e) {
@@ -95,11 +105,6 @@ abstract class EntityInstanceLoader {
         }
     }
 
-    <T> boolean isCached(LoadingParameters<T> loadingParameters, EntityType<? extends T> et) {
-        return !loadingParameters.shouldBypassCache() &&
-                cache.contains(et.getJavaType(), loadingParameters.getIdentifier(), loadingParameters.getDescriptor());
-    }
-
     <T> T loadReferenceInstance(LoadingParameters<T> loadingParameters, EntityType<? extends T> et) {
         final URI identifier = loadingParameters.getIdentifier();
         final Axiom<NamedResource> typeAxiom = descriptorFactory.createForReferenceLoading(identifier, et);
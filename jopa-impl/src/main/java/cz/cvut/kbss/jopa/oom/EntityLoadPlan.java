@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.oom;
+
+import cz.cvut.kbss.jopa.model.annotations.FetchType;
+import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import cz.cvut.kbss.jopa.model.metamodel.Attribute;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+import cz.cvut.kbss.jopa.vocabulary.RDF;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instance-independent information needed to reconstruct entities of one entity type.
+ * <p>
+ * The plan indexes attributes by their assertion identifiers, memoizes resolved field strategy factories and holds
+ * the attributes whose integrity constraints are validated on load. The metamodel builder computes the plan once per
+ * entity type and stores it in the {@link EntityTypeImpl}, so that reconstructing an entity does not need to rebuild any
+ * of this information.
+ *
+ * @param <T> Entity class
+ */
+public final class EntityLoadPlan<T> {
+
+    private static final URI RDF_TYPE = URI.create(RDF.TYPE);
+
+    private final EntityType<T> entityType;
+    private final Map<URI, FieldSpecification<? super T, ?>> assertionIndex;
+    private final FieldSpecification<? super T, ?> propertiesSpec;
+    private final List<Attribute<? super T, ?>> eagerAttributes;
+    private final Map<FieldSpecification<? super T, ?>, FieldStrategy.FieldStrategyFactory<T>> strategyFactories;
+
+    /**
+     * Computes load plan of the specified entity type.
+     * <p>
+     * The entity type must be complete, i.e., all its attributes must be already processed.
+     *
+     * @param entityType Entity type
+     */
+    public EntityLoadPlan(EntityType<T> entityType) {
+        this.entityType = entityType;
+        final Map<URI, FieldSpecification<? super T, ?>> index = new HashMap<>(entityType.getAttributes().size() + 1);
+        final List<Attribute<? super T, ?>> eager = new ArrayList<>(entityType.getAttributes().size());
+        for (Attribute<? super T, ?> att : entityType.getAttributes()) {
+            index.put(att.getIRI().toURI(), att);
+            if (att.getFetchType() != FetchType.LAZY) {
+                eager.add(att);
+            }
+        }
+        if (entityType.getTypes() != null) {
+            index.put(RDF_TYPE, entityType.getTypes());
+        }
+        this.assertionIndex = Collections.unmodifiableMap(index);
+        this.eagerAttributes = Collections.unmodifiableList(eager);
+        this.propertiesSpec = entityType.getProperties();
+        this.strategyFactories = new ConcurrentHashMap<>(index.size() + 1);
+    }
+
+    /**
+     * Gets load plan for the specified entity type.
+     * <p>
+     * The plan stored in the entity type is returned. If there is none, a new plan is computed.
+     *
+     * @param et  Entity type
+     * @param <T> Entity class
+     * @return Load plan
+     */
+    static <T> EntityLoadPlan<T> of(EntityType<T> et) {
+        if (et instanceof EntityTypeImpl) {
+            final EntityLoadPlan<T> plan = ((EntityTypeImpl<T>) et).getLoadPlan();
+            if (plan != null) {
+                return plan;
+            }
+        }
+        return new EntityLoadPlan<>(et);
+    }
+
+    EntityType<T> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Resolves attribute into which value of an assertion with the specified identifier is loaded.
+     *
+     * @param assertionIdentifier Assertion identifier
+     * @return Matching attribute, the properties field if no attribute matches, or {@code null} if the entity type
+     * has no properties field
+     */
+    FieldSpecification<? super T, ?> resolveAttribute(URI assertionIdentifier) {
+        final FieldSpecification<? super T, ?> att = assertionIndex.get(assertionIdentifier);
+        return att != null ? att : propertiesSpec;
+    }
+
+    /**
+     * Creates a new field strategy for loading value of the specified attribute.
+     *
+     * @param att        Attribute to load
+     * @param descriptor Entity descriptor
+     * @param mapper     Entity mapping helper
+     * @return New field strategy
+     */
+    FieldStrategy<? extends FieldSpecification<? super T, ?>, T> createFieldStrategy(
+            FieldSpecification<? super T, ?> att, Descriptor descriptor, EntityMappingHelper mapper) {
+        return strategyFactories.computeIfAbsent(att, a -> FieldStrategy.strategyFactory(entityType, a))
+                                .create(descriptor, mapper);
+    }
+
+    /**
+     * Gets attributes whose value is loaded together with the entity (i.e., not lazily loaded).
+     *
+     * @return Unmodifiable list of attributes
+     */
+    List<Attribute<? super T, ?>> getEagerAttributes() {
+        return eagerAttributes;
+    }
+
+    int getAttributeCount() {
+        return assertionIndex.size();
+    }
+}
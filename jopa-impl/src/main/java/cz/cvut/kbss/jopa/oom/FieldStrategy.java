@@ -45,38 +45,58 @@ abstract class FieldStrategy<T extends FieldSpecification<? super X, ?>, X> {
     static <X> FieldStrategy<? extends FieldSpecification<? super X, ?>, X> createFieldStrategy(
             EntityType<X> et, FieldSpecification<? super X, ?> att,
             Descriptor fieldDescriptor, EntityMappingHelper mapper) {
+        return strategyFactory(et, att).create(fieldDescriptor, mapper);
+    }
+
+    /**
+     * Resolves factory of field strategies for the specified attribute.
+     * <p>
+     * The resolution is independent of the loaded instance, so the factory can be reused for all instances of the
+     * specified entity type.
+     *
+     * @param et  Entity type
+     * @param att Attribute to create strategies for
+     * @param <X> Entity class
+     * @return Field strategy factory
+     */
+    static <X> FieldStrategyFactory<X> strategyFactory(EntityType<X> et, FieldSpecification<? super X, ?> att) {
         if (att.equals(et.getIdentifier())) {
-            return new IdentifierFieldStrategy<>(et, (Identifier<? super X, ?>) att, fieldDescriptor, mapper);
+            final Identifier<? super X, ?> identifier = (Identifier<? super X, ?>) att;
+            return (descriptor, mapper) -> new IdentifierFieldStrategy<>(et, identifier, descriptor, mapper);
         }
         if (att instanceof TypesSpecification) {
-            return new TypesFieldStrategy<>(et, (TypesSpecification<? super X, ?>) att, fieldDescriptor, mapper);
+            final TypesSpecification<? super X, ?> types = (TypesSpecification<? super X, ?>) att;
+            return (descriptor, mapper) -> new TypesFieldStrategy<>(et, types, descriptor, mapper);
         } else if (att instanceof PropertiesSpecification) {
-            return new PropertiesFieldStrategy<>(et, (PropertiesSpecification<? super X, ?, ?, ?>) att, fieldDescriptor,
-                    mapper);
+            final PropertiesSpecification<? super X, ?, ?, ?> properties =
+                    (PropertiesSpecification<? super X, ?, ?, ?>) att;
+            return (descriptor, mapper) -> new PropertiesFieldStrategy<>(et, properties, descriptor, mapper);
         }
         final AbstractAttribute<? super X, ?> attribute = (AbstractAttribute<? super X, ?>) att;
         if (attribute.isCollection()) {
+            final AbstractPluralAttribute<? super X, ?, ?> pluralAtt = (AbstractPluralAttribute<? super X, ?, ?>) att;
             switch (attribute.getPersistentAttributeType()) {
                 case ANNOTATION:
-                    return new PluralAnnotationPropertyStrategy<>(et,
-                            (AbstractPluralAttribute<? super X, ?, ?>) attribute, fieldDescriptor, mapper);
+                    return (descriptor, mapper) -> new PluralAnnotationPropertyStrategy<>(et, pluralAtt, descriptor,
+                            mapper);
                 case DATA:
-                    return new PluralDataPropertyStrategy<>(et, (AbstractPluralAttribute<? super X, ?, ?>) attribute,
-                            fieldDescriptor, mapper);
+                    return (descriptor, mapper) -> new PluralDataPropertyStrategy<>(et, pluralAtt, descriptor, mapper);
                 case OBJECT:
-                    return createPluralObjectPropertyStrategy(et, (AbstractPluralAttribute<? super X, ?, ?>) attribute,
-                            fieldDescriptor, mapper);
+                    return pluralObjectPropertyStrategyFactory(et, pluralAtt);
                 default:
                     break;
             }
         } else {
             switch (attribute.getPersistentAttributeType()) {
                 case ANNOTATION:
-                    return new SingularAnnotationPropertyStrategy<>(et, attribute, fieldDescriptor, mapper);
+                    return (descriptor, mapper) -> new SingularAnnotationPropertyStrategy<>(et, attribute, descriptor,
+                            mapper);
                 case DATA:
-                    return new SingularDataPropertyStrategy<>(et, attribute, fieldDescriptor, mapper);
+                    return (descriptor, mapper) -> new SingularDataPropertyStrategy<>(et, attribute, descriptor,
+                            mapper);
                 case OBJECT:
-                    return new SingularObjectPropertyStrategy<>(et, attribute, fieldDescriptor, mapper);
+                    return (descriptor, mapper) -> new SingularObjectPropertyStrategy<>(et, attribute, descriptor,
+                            mapper);
                 default:
                     break;
             }
@@ -85,36 +105,45 @@ abstract class FieldStrategy<T extends FieldSpecification<? super X, ?>, X> {
         throw new IllegalArgumentException();
     }
 
-    private static <Y> FieldStrategy<? extends FieldSpecification<? super Y, ?>, Y> createPluralObjectPropertyStrategy(
-            EntityType<Y> et, AbstractPluralAttribute<? super Y, ?, ?> attribute,
-            Descriptor descriptor, EntityMappingHelper mapper) {
+    private static <Y> FieldStrategyFactory<Y> pluralObjectPropertyStrategyFactory(
+            EntityType<Y> et, AbstractPluralAttribute<? super Y, ?, ?> attribute) {
         switch (attribute.getCollectionType()) {
             case LIST:
-                return createOwlListPropertyStrategy(et, (ListAttributeImpl<? super Y, ?>) attribute, descriptor,
-                        mapper);
+                return owlListPropertyStrategyFactory(et, (ListAttributeImpl<? super Y, ?>) attribute);
             case COLLECTION:
             case SET:
-                return new SimpleSetPropertyStrategy<>(et, attribute, descriptor, mapper);
+                return (descriptor, mapper) -> new SimpleSetPropertyStrategy<>(et, attribute, descriptor, mapper);
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported plural attribute collection type " + attribute.getCollectionType());
         }
     }
 
-    private static <Y> FieldStrategy<? extends FieldSpecification<? super Y, ?>, Y> createOwlListPropertyStrategy(
-            EntityType<Y> et, ListAttributeImpl<? super Y, ?> attribute, Descriptor descriptor,
-            EntityMappingHelper mapper) {
+    private static <Y> FieldStrategyFactory<Y> owlListPropertyStrategyFactory(EntityType<Y> et,
+                                                                              ListAttributeImpl<? super Y, ?> attribute) {
         switch (attribute.getSequenceType()) {
             case referenced:
-                return new ReferencedListPropertyStrategy<>(et, attribute, descriptor, mapper);
+                return (descriptor, mapper) -> new ReferencedListPropertyStrategy<>(et, attribute, descriptor, mapper);
             case simple:
-                return new SimpleListPropertyStrategy<>(et, attribute, descriptor, mapper);
+                return (descriptor, mapper) -> new SimpleListPropertyStrategy<>(et, attribute, descriptor, mapper);
             default:
                 throw new UnsupportedOperationException(
                         "Unsupported list attribute sequence type " + attribute.getSequenceType());
         }
     }
 
+    /**
+     * Creates field strategies for a single attribute.
+     *
+     * @param <X> Entity class
+     */
+    @FunctionalInterface
+    interface FieldStrategyFactory<X> {
+
+        FieldStrategy<? extends FieldSpecification<? super X, ?>, X> create(Descriptor descriptor,
+                                                                             EntityMappingHelper mapper);
+    }
+
     void setReferenceSavingResolver(ReferenceSavingResolver referenceSavingResolver) {
         this.referenceSavingResolver = referenceSavingResolver;
     }
@@ -126,7 +155,7 @@ abstract class FieldStrategy<T extends FieldSpecification<? super X, ?>, X> {
      * Note that this method assumes the value and the field are of compatible types, no check is done here.
      */
     void setValueOnInstance(Object instance, Object value) {
-        EntityPropertiesUtils.setFieldValue(attribute.getJavaField(), instance, value);
+        EntityPropertiesUtils.setAttributeValue(attribute, instance, value);
     }
 
     /**
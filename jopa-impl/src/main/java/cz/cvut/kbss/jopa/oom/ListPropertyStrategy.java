@@ -24,6 +24,7 @@ import cz.cvut.kbss.ontodriver.descriptor.ListValueDescriptor;
 import cz.cvut.kbss.ontodriver.model.Axiom;
 import cz.cvut.kbss.ontodriver.model.NamedResource;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -37,6 +38,28 @@ abstract class ListPropertyStrategy<L extends ListDescriptor, V extends ListValu
         super(et, att, descriptor, mapper);
     }
 
+    @Override
+    void addValueFromAxiom(Axiom<?> ax) {
+        loadListElements(ax).forEach(this::addElementFromAxiom);
+    }
+
+    /**
+     * Loads axioms representing elements of the list whose owner and head are specified by the axiom.
+     *
+     * @param ax Axiom referencing the list
+     * @return Axioms whose values are the list elements, in the order of the list
+     */
+    abstract Collection<Axiom<NamedResource>> loadListElements(Axiom<?> ax);
+
+    /**
+     * Adds an already loaded list element to the attribute value.
+     *
+     * @param elementAxiom Axiom whose value is the list element
+     */
+    void addElementFromAxiom(Axiom<?> elementAxiom) {
+        super.addValueFromAxiom(elementAxiom);
+    }
+
     @Override
     protected void buildAxiomValuesFromInstance(X instance, AxiomValueGatherer valueBuilder) {
         final Object value = extractFieldValueFromInstance(instance);
@@ -14,12 +14,15 @@
  */
 package cz.cvut.kbss.jopa.oom;
 
+import cz.cvut.kbss.jopa.model.EntityGraph;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.oom.exceptions.UnpersistedChangeException;
 import cz.cvut.kbss.jopa.sessions.LoadingParameters;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
 
 public interface ObjectOntologyMapper {
 
@@ -33,6 +36,20 @@ public interface ObjectOntologyMapper {
      */
     <T> boolean containsEntity(Class<T> cls, URI primaryKey, Descriptor descriptor);
 
+    /**
+     * Finds which of the specified entities already exist in the storage.
+     * <p>
+     * An entity exists if the storage contains an individual with the entity's identifier and of the entity's type.
+     * The existence is verified using one {@link cz.cvut.kbss.ontodriver.Connection#findContained} call per context,
+     * which drivers like the RDF4J (Sesame) one evaluate in a single request. All the entities have to have
+     * identifiers.
+     *
+     * @param entities Entities to check, mapped to descriptors possibly specifying their context. Identity-based map
+     *                 is expected
+     * @return Those of the specified entities which exist in the storage
+     */
+    <T> List<T> findExistingEntities(Map<T, Descriptor> entities);
+
     /**
      * Loads and reconstructs an entity from the ontology.
      *
@@ -62,6 +79,31 @@ public interface ObjectOntologyMapper {
      */
     <T> void loadFieldValue(T entity, Field field, Descriptor descriptor);
 
+    /**
+     * Loads value of the specified field for several entities at once and sets it on them.
+     * <p>
+     * The values are requested from the storage together using {@link cz.cvut.kbss.ontodriver.Connection#findAll}.
+     * Whether they are retrieved in a single request depends on the driver. All the entities have to be instances of
+     * the same entity class.
+     *
+     * @param entities Entities on which the field value will be set, mapped to descriptors possibly specifying the
+     *                 field context. Identity-based map is expected
+     * @param field    The field to load
+     */
+    <T> void loadFieldValues(Map<T, Descriptor> entities, Field field);
+
+    /**
+     * Loads attributes specified by the entity graph for the specified entities.
+     * <p>
+     * The graph is loaded breadth-first, values of attributes at one level of the graph and entities referenced by
+     * them are requested from the storage for all the entities together.
+     *
+     * @param entities Entities whose attributes should be loaded, mapped to their descriptors. Identity-based map is
+     *                 expected
+     * @param graph    Entity graph specifying attributes to load
+     */
+    <T> void loadEntityGraph(Map<T, Descriptor> entities, EntityGraph<?> graph);
+
     /**
      * Persists the specified entity into the underlying ontology.
      *
@@ -71,6 +113,18 @@ public interface ObjectOntologyMapper {
      */
     <T> void persistEntity(URI primaryKey, T entity, Descriptor descriptor);
 
+    /**
+     * Persists the specified entities into the underlying ontology.
+     * <p>
+     * Identifiers are generated for entities which do not have them. Axioms of all the entities are then handed to
+     * the storage as a single batch. References between the entities are saved directly, without being registered as
+     * pending.
+     *
+     * @param entities The entities to persist, mapped to descriptors possibly specifying entity and attribute contexts.
+     *                 Identity-based map is expected
+     */
+    <T> void persistEntities(Map<T, Descriptor> entities);
+
     /**
      * Removes entity with specified identifier from the ontology.
      *
@@ -80,6 +134,16 @@ public interface ObjectOntologyMapper {
      */
     <T> void removeEntity(URI primaryKey, Class<T> cls, Descriptor descriptor);
 
+    /**
+     * Removes the specified entities from the ontology.
+     * <p>
+     * The entities are removed using a single {@link cz.cvut.kbss.ontodriver.Connection#removeAll} call.
+     *
+     * @param entities The entities to remove, mapped to descriptors specifying entity attribute contexts.
+     *                 Identity-based map is expected
+     */
+    <T> void removeEntities(Map<T, Descriptor> entities);
+
     /**
      * Checks that there are no pending changes in the mapper.
      *
@@ -15,6 +15,8 @@
 package cz.cvut.kbss.jopa.oom;
 
 import cz.cvut.kbss.jopa.exceptions.StorageAccessException;
+import cz.cvut.kbss.jopa.model.EntityGraph;
+import cz.cvut.kbss.jopa.model.LoadState;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.metamodel.Attribute;
@@ -38,8 +40,14 @@ import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -99,6 +107,35 @@ public class ObjectOntologyMapperImpl implements ObjectOntologyMapper, EntityMap
         }
     }
 
+    @Override
+    public <T> List<T> findExistingEntities(Map<T, Descriptor> entities) {
+        assert entities != null;
+
+        // Entities are grouped by context and by the class assertion verifying their existence
+        final Map<URI, Map<Axiom<?>, List<T>>> entitiesByContext = new HashMap<>();
+        for (Map.Entry<T, Descriptor> e : entities.entrySet()) {
+            final EntityType<?> et = getEntityType(e.getKey().getClass());
+            final URI identifier = EntityPropertiesUtils.getIdentifier(e.getKey(), et);
+            assert identifier != null;
+            final Axiom<?> classAssertion = new AxiomImpl<>(NamedResource.create(identifier),
+                    Assertion.createClassAssertion(false), new Value<>(NamedResource.create(et.getIRI().toURI())));
+            entitiesByContext.computeIfAbsent(e.getValue().getContext(), k -> new HashMap<>())
+                             .computeIfAbsent(classAssertion, k -> new ArrayList<>(1)).add(e.getKey());
+        }
+        final List<T> result = new ArrayList<>();
+        try {
+            for (Map.Entry<URI, Map<Axiom<?>, List<T>>> e : entitiesByContext.entrySet()) {
+                final Map<Axiom<?>, List<T>> byAxiom = e.getValue();
+                for (Axiom<?> ax : storageConnection.findContained(new ArrayList<>(byAxiom.keySet()), e.getKey())) {
+                    result.addAll(byAxiom.getOrDefault(ax, Collections.emptyList()));
+                }
+            }
+        } catch (OntoDriverException e) {
+            throw new StorageAccessException(e);
+        }
+        return result;
+    }
+
     @Override
     public <T> T loadEntity(LoadingParameters<T> loadingParameters) {
         assert loadingParameters != null;
@@ -161,6 +198,54 @@ public class ObjectOntologyMapperImpl implements ObjectOntologyMapper, EntityMap
         }
     }
 
+    @Override
+    public <T> void loadFieldValues(Map<T, Descriptor> entities, Field field) {
+        assert entities != null;
+        assert field != null;
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        LOG.trace("Lazily loading value of field {} of {} entities.", field, entities.size());
+
+        final EntityType<T> et = (EntityType<T>) getEntityType(entities.keySet().iterator().next().getClass());
+        final AxiomBatch<T> batch = new AxiomBatch<>();
+        for (Map.Entry<T, Descriptor> e : entities.entrySet()) {
+            final URI primaryKey = EntityPropertiesUtils.getIdentifier(e.getKey(), et);
+            batch.add(e.getKey(), descriptorFactory.createForFieldLoading(primaryKey, field, e.getValue(), et));
+        }
+        try {
+            for (Map.Entry<T, List<Axiom<?>>> e : batch.findAll(storageConnection).entrySet()) {
+                final T entity = e.getKey();
+                entityBuilder.setFieldValue(entity, field, e.getValue(), et, entities.get(entity));
+            }
+        } catch (OntoDriverException e) {
+            throw new StorageAccessException(e);
+        } catch (IllegalArgumentException | IllegalAccessException e) {
+            throw new EntityReconstructionException(e);
+        }
+    }
+
+    @Override
+    public <T> void loadEntityGraph(Map<T, Descriptor> entities, EntityGraph<?> graph) {
+        assert entities != null;
+        assert graph != null;
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        LOG.trace("Loading entity graph {} for {} entities.", graph, entities.size());
+        instanceRegistry.reset();
+        try {
+            new EntityGraphLoader(this, storageConnection, descriptorFactory, entityBuilder, cache, metamodel)
+                    .load(entities, graph.getAttributeNodes());
+        } catch (OntoDriverException e) {
+            throw new StorageAccessException(e);
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new EntityReconstructionException(e);
+        }
+    }
+
     @Override
     public <T> void persistEntity(URI identifier, T entity, Descriptor descriptor) {
         assert entity != null;
@@ -182,6 +267,45 @@ public class ObjectOntologyMapperImpl implements ObjectOntologyMapper, EntityMap
         }
     }
 
+    @Override
+    public <T> void persistEntities(Map<T, Descriptor> entities) {
+        assert entities != null;
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        LOG.trace("Persisting {} entities in batch.", entities.size());
+        for (T entity : entities.keySet()) {
+            @SuppressWarnings("unchecked") final EntityType<T> et = (EntityType<T>) getEntityType(entity.getClass());
+            if (EntityPropertiesUtils.getIdentifier(entity, et) == null) {
+                EntityPropertiesUtils.setIdentifier(generateIdentifier(et), entity, et);
+            }
+        }
+        final Set<Object> batch = Collections.newSetFromMap(new IdentityHashMap<>(entities.size()));
+        batch.addAll(entities.keySet());
+        final ReferenceSavingResolver previousResolver = entityBreaker.getReferenceSavingResolver();
+        entityBreaker.setReferenceSavingResolver(new ReferenceSavingResolver(this, batch));
+        final List<AxiomValueGatherer> gatherers = new ArrayList<>(entities.size());
+        try {
+            for (Map.Entry<T, Descriptor> e : entities.entrySet()) {
+                final T entity = e.getKey();
+                @SuppressWarnings("unchecked") final EntityType<T> et =
+                        (EntityType<T>) getEntityType(entity.getClass());
+                gatherers.add(entityBreaker.mapEntityToAxioms(EntityPropertiesUtils.getIdentifier(entity, et), entity,
+                        et, e.getValue()));
+            }
+        } catch (IllegalArgumentException ex) {
+            throw new EntityDeconstructionException("Unable to deconstruct entities " + entities.keySet(), ex);
+        } finally {
+            entityBreaker.setReferenceSavingResolver(previousResolver);
+        }
+        AxiomValueGatherer.persistAll(gatherers, storageConnection);
+        final Iterator<AxiomValueGatherer> it = gatherers.iterator();
+        for (T entity : entities.keySet()) {
+            persistPendingReferences(entity, it.next().getSubjectIdentifier());
+        }
+    }
+
     @Override
     public URI generateIdentifier(EntityType<?> et) {
         try {
@@ -220,6 +344,28 @@ public class ObjectOntologyMapperImpl implements ObjectOntologyMapper, EntityMap
 
     @Override
     public <T> T getEntityFromCacheOrOntology(Class<T> cls, URI identifier, Descriptor descriptor) {
+        final T existing = getExistingInstance(cls, identifier, descriptor);
+        return existing != null ? existing : loadEntityInternal(new LoadingParameters<>(cls, identifier, descriptor));
+    }
+
+    /**
+     * Gets load state of the specified attribute of the specified instance, as recorded by the current persistence
+     * context.
+     *
+     * @return Load state, {@link LoadState#UNKNOWN} if the instance is not managed by the current persistence context
+     */
+    LoadState getLoadState(Object instance, URI identifier, Descriptor descriptor,
+                           FieldSpecification<?, ?> attribute) {
+        return uow.getManagedAttributeLoadState(instance.getClass(), identifier, descriptor, attribute);
+    }
+
+    /**
+     * Gets an already loaded instance with the specified identifier, i.e., one managed by the current persistence
+     * context, cached or already loaded during the current operation.
+     *
+     * @return Existing instance or {@code null} if there is none
+     */
+    <T> T getExistingInstance(Class<T> cls, URI identifier, Descriptor descriptor) {
         final T orig = uow.getManagedOriginal(cls, identifier, descriptor);
         if (orig != null) {
             return orig;
@@ -233,9 +379,8 @@ public class ObjectOntologyMapperImpl implements ObjectOntologyMapper, EntityMap
             }
             // This prevents endless cycles in bidirectional relationships
             return cls.cast(existing);
-        } else {
-            return loadEntityInternal(new LoadingParameters<>(cls, identifier, descriptor));
         }
+        return null;
     }
 
     @Override
@@ -282,6 +427,28 @@ public class ObjectOntologyMapperImpl implements ObjectOntologyMapper, EntityMap
         }
     }
 
+    @Override
+    public <T> void removeEntities(Map<T, Descriptor> entities) {
+        assert entities != null;
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        final List<AxiomDescriptor> axiomDescriptors = new ArrayList<>(entities.size());
+        for (Map.Entry<T, Descriptor> e : entities.entrySet()) {
+            @SuppressWarnings("unchecked") final EntityType<T> et = (EntityType<T>) getEntityType(e.getKey().getClass());
+            final URI identifier = EntityPropertiesUtils.getIdentifier(e.getKey(), et);
+            axiomDescriptors.add(descriptorFactory.createForEntityLoading(
+                    new LoadingParameters<>(et.getJavaType(), identifier, e.getValue(), true), et));
+        }
+        try {
+            storageConnection.removeAll(axiomDescriptors);
+            axiomDescriptors.forEach(d -> pendingReferences.removePendingReferences(d.getSubject()));
+        } catch (OntoDriverException e) {
+            throw new StorageAccessException("Exception caught when removing entities.", e);
+        }
+    }
+
     @Override
     public <T> void updateFieldValue(T entity, Field field, Descriptor entityDescriptor) {
         @SuppressWarnings("unchecked") final EntityType<T> et = (EntityType<T>) getEntityType(entity.getClass());
@@ -23,14 +23,26 @@ import cz.cvut.kbss.ontodriver.model.Assertion;
 import cz.cvut.kbss.ontodriver.model.NamedResource;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 class ReferenceSavingResolver {
 
     private final ObjectOntologyMapperImpl mapper;
 
+    /**
+     * Instances persisted together in one batch. References to them can be saved directly
+     */
+    private final Set<Object> batch;
+
     ReferenceSavingResolver(ObjectOntologyMapperImpl mapper) {
+        this(mapper, Collections.emptySet());
+    }
+
+    ReferenceSavingResolver(ObjectOntologyMapperImpl mapper, Set<Object> batch) {
         this.mapper = mapper;
+        this.batch = batch;
     }
 
     /**
@@ -41,6 +53,7 @@ class ReferenceSavingResolver {
      * <li>The value is {@code null},</li>
      * <li>The value is a plain identifier,</li>
      * <li>The value is already managed,</li>
+     * <li>The value is persisted in the same batch,</li>
      * <li>The value is not managed, but exists in the storage.</li>
      * </ul>
      * <p>
@@ -60,7 +73,7 @@ class ReferenceSavingResolver {
      * Used for collections.
      */
     boolean shouldSaveReferenceToItem(Object value, URI context) {
-        if (mapper.isManaged(value)) {
+        if (mapper.isManaged(value) || batch.contains(value)) {
             return true;
         }
         final EntityType<?> et = mapper.getEntityType(value.getClass());
@@ -28,6 +28,7 @@ import cz.cvut.kbss.ontodriver.model.NamedResource;
 import java.net.URI;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 class ReferencedListPropertyStrategy<X> extends
         ListPropertyStrategy<ReferencedListDescriptor, ReferencedListValueDescriptor, X> {
@@ -38,12 +39,12 @@ class ReferencedListPropertyStrategy<X> extends
     }
 
     @Override
-    void addValueFromAxiom(Axiom<?> ax) {
-        final ReferencedListDescriptor listDescriptor = createListDescriptor(ax);
-        final Collection<Axiom<NamedResource>> sequence = mapper.loadReferencedList(listDescriptor);
-        sequence.stream()
-                .filter(a -> a.getAssertion().getIdentifier().equals(attribute.getOWLPropertyHasContentsIRI().toURI()))
-                .forEach(super::addValueFromAxiom);
+    Collection<Axiom<NamedResource>> loadListElements(Axiom<?> ax) {
+        final Collection<Axiom<NamedResource>> sequence = mapper.loadReferencedList(createListDescriptor(ax));
+        return sequence.stream()
+                       .filter(a -> a.getAssertion().getIdentifier()
+                                     .equals(attribute.getOWLPropertyHasContentsIRI().toURI()))
+                       .collect(Collectors.toList());
     }
 
     @Override
@@ -36,10 +36,8 @@ class SimpleListPropertyStrategy<X> extends
     }
 
     @Override
-    void addValueFromAxiom(Axiom<?> ax) {
-        final SimpleListDescriptor listDescriptor = createListDescriptor(ax);
-        final Collection<Axiom<NamedResource>> sequence = mapper.loadSimpleList(listDescriptor);
-        sequence.forEach(super::addValueFromAxiom);
+    Collection<Axiom<NamedResource>> loadListElements(Axiom<?> ax) {
+        return mapper.loadSimpleList(createListDescriptor(ax));
     }
 
     @Override
@@ -41,6 +41,16 @@ public class NamedQueryManager {
         queryMap.put(name, query);
     }
 
+    /**
+     * Checks whether a query with the specified name exists.
+     *
+     * @param name Query name
+     * @return {@code true} if a query is mapped by the specified name, {@code false} otherwise
+     */
+    public boolean hasQuery(String name) {
+        return queryMap.containsKey(name);
+    }
+
     /**
      * Gets a query mapped by the specified name.
      *
@@ -143,6 +143,23 @@ public interface QueryHolder {
      */
     void clearParameters();
 
+    /**
+     * Sets entity classes whose instances are modified when this query is executed as an update.
+     *
+     * @param affectedClasses Affected entity classes
+     * @see #getAffectedEntityClasses()
+     */
+    void setAffectedEntityClasses(Set<Class<?>> affectedClasses);
+
+    /**
+     * Gets entity classes whose instances are modified when this query is executed as an update.
+     * <p>
+     * An empty set means that the affected classes are not known, so instances of any class may be modified.
+     *
+     * @return Set of affected entity classes, possibly empty
+     */
+    Set<Class<?>> getAffectedEntityClasses();
+
     /**
      * Assembles the query, using any parameter values specified, and returns it as a string.
      *
@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.query;
+
+import cz.cvut.kbss.jopa.model.metamodel.Attribute;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.IdentifiableType;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Describes data possibly modified by an update query.
+ * <p>
+ * The scope is used to evict the modified data from the second level cache. It consists of entity classes whose
+ * instances may have been modified, class assertions and properties of the modified axioms (which can be resolved to
+ * entity classes using the metamodel), subjects of the modified axioms and contexts which were modified as a whole.
+ * <p>
+ * An unbounded scope means that any data may have been modified.
+ */
+public final class UpdateScope {
+
+    private static final UpdateScope UNBOUNDED = new UpdateScope();
+
+    private final boolean unbounded;
+    private final Set<Class<?>> entityClasses;
+    private final Set<URI> types;
+    private final Set<URI> properties;
+    private final Set<URI> subjects;
+    private final Set<URI> contexts;
+
+    private UpdateScope() {
+        this.unbounded = true;
+        this.entityClasses = Collections.emptySet();
+        this.types = Collections.emptySet();
+        this.properties = Collections.emptySet();
+        this.subjects = Collections.emptySet();
+        this.contexts = Collections.emptySet();
+    }
+
+    /**
+     * Creates a bounded update scope.
+     *
+     * @param entityClasses Entity classes whose instances may have been modified
+     * @param types         Classes whose assertions may have been modified
+     * @param properties    Properties of axioms which may have been modified
+     * @param subjects      Subjects of axioms which may have been modified
+     * @param contexts      Contexts which may have been modified as a whole
+     */
+    public UpdateScope(Set<Class<?>> entityClasses, Set<URI> types, Set<URI> properties, Set<URI> subjects,
+                       Set<URI> contexts) {
+        this.unbounded = false;
+        this.entityClasses = new HashSet<>(Objects.requireNonNull(entityClasses));
+        this.types = new HashSet<>(Objects.requireNonNull(types));
+        this.properties = new HashSet<>(Objects.requireNonNull(properties));
+        this.subjects = new HashSet<>(Objects.requireNonNull(subjects));
+        this.contexts = new HashSet<>(Objects.requireNonNull(contexts));
+    }
+
+    /**
+     * Gets an update scope representing modification of any data.
+     *
+     * @return Unbounded update scope
+     */
+    public static UpdateScope unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Creates an update scope representing modification of instances of the specified entity classes.
+     * <p>
+     * An empty set means that the affected classes are not known, so an unbounded scope is returned.
+     *
+     * @param entityClasses Entity classes whose instances may have been modified
+     * @return Update scope
+     */
+    public static UpdateScope ofClasses(Set<Class<?>> entityClasses) {
+        if (entityClasses.isEmpty()) {
+            return UNBOUNDED;
+        }
+        return new UpdateScope(entityClasses, Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                Collections.emptySet());
+    }
+
+    /**
+     * Whether any data may have been modified.
+     *
+     * @return {@code true} if the scope of the update is not known
+     */
+    public boolean isUnbounded() {
+        return unbounded;
+    }
+
+    /**
+     * Gets identifiers of classes whose assertions may have been modified.
+     *
+     * @return Set of class identifiers
+     */
+    public Set<URI> getTypes() {
+        return Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * Gets identifiers of properties of axioms which may have been modified.
+     *
+     * @return Set of property identifiers
+     */
+    public Set<URI> getProperties() {
+        return Collections.unmodifiableSet(properties);
+    }
+
+    /**
+     * Gets identifiers of subjects of axioms which may have been modified.
+     * <p>
+     * Instances with these identifiers may have been modified regardless of their class.
+     *
+     * @return Set of individual identifiers
+     */
+    public Set<URI> getSubjects() {
+        return Collections.unmodifiableSet(subjects);
+    }
+
+    /**
+     * Gets contexts which may have been modified as a whole.
+     *
+     * @return Set of context identifiers
+     */
+    public Set<URI> getContexts() {
+        return Collections.unmodifiableSet(contexts);
+    }
+
+    /**
+     * Resolves entity classes whose instances may have been modified.
+     * <p>
+     * Besides the explicitly specified classes, these are entity classes mapped to the modified class assertions
+     * (including their subclasses), classes with types specification if class assertions were modified, classes with
+     * attributes mapped to the modified properties and classes with properties specification if any property was
+     * modified.
+     *
+     * @param metamodel Metamodel used to resolve the classes
+     * @return Set of affected entity classes
+     */
+    public Set<Class<?>> resolveEntityClasses(Metamodel metamodel) {
+        if (types.isEmpty() && properties.isEmpty()) {
+            return Collections.unmodifiableSet(entityClasses);
+        }
+        final Set<Class<?>> result = new HashSet<>(entityClasses);
+        for (EntityType<?> et : metamodel.getEntities()) {
+            if (isAffectedByTypes(et) || isAffectedByProperties(et)) {
+                result.add(et.getJavaType());
+            }
+        }
+        return result;
+    }
+
+    private boolean isAffectedByTypes(EntityType<?> et) {
+        if (types.isEmpty()) {
+            return false;
+        }
+        if (et.getTypes() != null) {
+            return true;
+        }
+        IdentifiableType<?> type = et;
+        while (type instanceof EntityType) {
+            if (types.contains(((EntityType<?>) type).getIRI().toURI())) {
+                return true;
+            }
+            type = type.getSupertype();
+        }
+        return false;
+    }
+
+    private boolean isAffectedByProperties(EntityType<?> et) {
+        if (properties.isEmpty()) {
+            return false;
+        }
+        if (et.getProperties() != null) {
+            return true;
+        }
+        for (Attribute<?, ?> att : et.getAttributes()) {
+            if (properties.contains(att.getIRI().toURI())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (unbounded) {
+            return "UpdateScope{unbounded}";
+        }
+        return "UpdateScope{" +
+                "entityClasses=" + entityClasses +
+                ", types=" + types +
+                ", properties=" + properties +
+                ", subjects=" + subjects +
+                ", contexts=" + contexts +
+                '}';
+    }
+}
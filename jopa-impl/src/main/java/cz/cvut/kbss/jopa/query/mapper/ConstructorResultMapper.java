@@ -15,11 +15,11 @@
 package cz.cvut.kbss.jopa.query.mapper;
 
 import cz.cvut.kbss.jopa.exception.SparqlResultMappingException;
+import cz.cvut.kbss.jopa.model.metamodel.ConstructorCache;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.ontodriver.iteration.ResultRow;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -28,6 +28,10 @@ import java.util.List;
 /**
  * Maps SPARQL query result to target value using a constructor configured via a {@link
  * cz.cvut.kbss.jopa.model.annotations.ConstructorResult} configuration.
+ * <p>
+ * The constructor is selected based on types of the mapped values. Resolved constructors are obtained from the
+ * persistence unit's {@link ConstructorCache}, so reflective lookup happens only once for each distinct combination of
+ * value types.
  */
 class ConstructorResultMapper implements SparqlResultMapper {
 
@@ -35,8 +39,11 @@ class ConstructorResultMapper implements SparqlResultMapper {
 
     private final List<VariableResultMapper> paramMappers = new ArrayList<>();
 
-    ConstructorResultMapper(Class<?> targetType) {
+    private final ConstructorCache constructors;
+
+    ConstructorResultMapper(Class<?> targetType, ConstructorCache constructors) {
         this.targetType = targetType;
+        this.constructors = constructors;
     }
 
     Class<?> getTargetType() {
@@ -62,18 +69,48 @@ class ConstructorResultMapper implements SparqlResultMapper {
         return buildInstance(values, types);
     }
 
+    /**
+     * Resolves the constructor matching the declared target types of the parameter mappers, so that it does not have
+     * to be looked up when the first result is mapped.
+     * <p>
+     * Nothing is resolved if the target type of any parameter is not declared or no matching constructor exists. The
+     * constructor is then looked up when results are mapped.
+     */
+    void compile() {
+        final Class<?>[] types = new Class[paramMappers.size()];
+        for (int i = 0; i < paramMappers.size(); i++) {
+            types[i] = paramMappers.get(i).getTargetType();
+            if (void.class.equals(types[i])) {
+                return;
+            }
+        }
+        try {
+            constructors.getConstructor(targetType, types);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // Value types need not match the declared types exactly, resolution is attempted again on mapping
+        }
+    }
+
     private Object buildInstance(Object[] values, Class<?>[] types) {
+        final MethodHandle ctor = getConstructor(values, types);
         try {
-            final Constructor<?> ctor = targetType.getDeclaredConstructor(types);
-            if (!ctor.isAccessible()) {
-                ctor.setAccessible(true);
-            }
-            return ctor.newInstance(values);
+            return (Object) ctor.invokeExact(values);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SparqlResultMappingException(
+                    String.format("Unable to map values %s to type %s.", Arrays.toString(values), targetType), e);
+        }
+    }
+
+    private MethodHandle getConstructor(Object[] values, Class<?>[] types) {
+        try {
+            return constructors.getConstructor(targetType, types);
         } catch (NoSuchMethodException e) {
             throw new SparqlResultMappingException(
                     String.format("No matching constructor for values %s found in type %s.", Arrays.toString(values),
                             targetType), e);
-        } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+        } catch (IllegalAccessException e) {
             throw new SparqlResultMappingException(
                     String.format("Unable to map values %s to type %s.", Arrays.toString(values), targetType), e);
         }
@@ -17,10 +17,12 @@ package cz.cvut.kbss.jopa.query.mapper;
 import cz.cvut.kbss.jopa.exception.SparqlResultMappingException;
 import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
 import cz.cvut.kbss.jopa.model.lifecycle.PostLoadInvoker;
+import cz.cvut.kbss.jopa.model.metamodel.ConstructorCache;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.ontodriver.iteration.ResultRow;
 
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -34,8 +36,13 @@ class EntityResultMapper<T> implements SparqlResultMapper {
 
     private final List<FieldResultMapper> fieldMappers = new ArrayList<>();
 
-    EntityResultMapper(EntityType<T> et) {
+    private final ConstructorCache constructors;
+
+    private volatile MethodHandle constructor;
+
+    EntityResultMapper(EntityType<T> et, ConstructorCache constructors) {
         this.et = et;
+        this.constructors = constructors;
     }
 
     void addFieldMapper(FieldResultMapper mapper) {
@@ -50,16 +57,44 @@ class EntityResultMapper<T> implements SparqlResultMapper {
         return et;
     }
 
+    /**
+     * Resolves the entity constructor, so that it does not have to be looked up when the first result is mapped.
+     * <p>
+     * Field values are set using accessors provided by the metamodel, so there is nothing to resolve for them.
+     */
+    void compile() {
+        getConstructor();
+    }
+
     @Override
     public T map(ResultRow resultRow, UnitOfWorkImpl uow) {
+        final T instance = newInstance();
+        fieldMappers.forEach(m -> m.map(resultRow, instance, uow));
+        return (T) uow.registerExistingObject(instance, new EntityDescriptor(),
+                Collections.singletonList(new PostLoadInvoker(uow.getMetamodel())));
+    }
+
+    private T newInstance() {
         try {
-            final T instance = et.getJavaType().newInstance();
-            fieldMappers.forEach(m -> m.map(resultRow, instance, uow));
-            return (T) uow.registerExistingObject(instance, new EntityDescriptor(),
-                    Collections.singletonList(new PostLoadInvoker(uow.getMetamodel())));
-        } catch (InstantiationException | IllegalAccessException e) {
+            return et.getJavaType().cast(getConstructor().invokeExact(new Object[0]));
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             // This is not expected, since an entity class must have a public no-arg constructor
             throw new SparqlResultMappingException(e);
         }
     }
+
+    private MethodHandle getConstructor() {
+        MethodHandle ctor = constructor;
+        if (ctor == null) {
+            try {
+                ctor = constructors.getConstructor(et.getJavaType());
+                this.constructor = ctor;
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new SparqlResultMappingException(e);
+            }
+        }
+        return ctor;
+    }
 }
@@ -64,10 +64,22 @@ class FieldResultMapper {
         final Optional<Object> value = getVariableValue(resultRow);
         value.ifPresent(val -> {
             verifyValueRange(val);
-            EntityPropertiesUtils.setFieldValue(fieldSpec.getJavaField(), target, val);
+            setValue(target, val);
         });
     }
 
+    /**
+     * Sets the specified value on the mapped field of the specified target object.
+     * <p>
+     * The value is set using the field accessor provided by the metamodel.
+     *
+     * @param target Target object
+     * @param value  Value to set
+     */
+    void setValue(Object target, Object value) {
+        EntityPropertiesUtils.setAttributeValue(fieldSpec, target, value);
+    }
+
     Optional<Object> getVariableValue(ResultRow resultRow) {
         try {
             if (!resultRow.isBound(variableName)) {
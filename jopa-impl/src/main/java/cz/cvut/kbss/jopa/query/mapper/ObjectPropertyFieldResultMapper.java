@@ -18,7 +18,6 @@ import cz.cvut.kbss.jopa.model.annotations.FieldResult;
 import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.sessions.UnitOfWork;
-import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
 import cz.cvut.kbss.jopa.utils.IdentifierTransformer;
 import cz.cvut.kbss.ontodriver.iteration.ResultRow;
 
@@ -44,7 +43,7 @@ class ObjectPropertyFieldResultMapper extends FieldResultMapper {
         final Optional<Object> id = getVariableValue(resultRow);
         id.ifPresent(idValue -> {
             final Object value = resolveValue(uow, idValue);
-            EntityPropertiesUtils.setFieldValue(getFieldSpecification().getJavaField(), target, value);
+            setValue(target, value);
         });
     }
 
@@ -26,6 +26,9 @@ import java.util.stream.Collectors;
 
 /**
  * Builds mappers for {@link SparqlResultSetMapping} instances discovered on classpath.
+ * <p>
+ * The mappers are compiled when built, i.e., constructors they use are resolved upfront. Field values are set using
+ * accessors provided by the metamodel.
  */
 public class ResultSetMappingProcessor {
 
@@ -35,8 +38,11 @@ public class ResultSetMappingProcessor {
 
     private final MetamodelBuilder metamodelBuilder;
 
+    private final ConstructorCache constructors;
+
     public ResultSetMappingProcessor(MetamodelBuilder metamodelBuilder) {
         this.metamodelBuilder = metamodelBuilder;
+        this.constructors = metamodelBuilder.getConstructorCache();
     }
 
     /**
@@ -61,10 +67,11 @@ public class ResultSetMappingProcessor {
 
     private void buildConstructorMappers(SparqlResultSetMapping mapping, ResultRowMapper parent) {
         for (ConstructorResult cr : mapping.classes()) {
-            final ConstructorResultMapper mapper = new ConstructorResultMapper(cr.targetClass());
+            final ConstructorResultMapper mapper = new ConstructorResultMapper(cr.targetClass(), constructors);
             for (VariableResult vr : cr.variables()) {
                 mapper.addParameterMapper(new VariableResultMapper(vr));
             }
+            mapper.compile();
             parent.addMapper(mapper);
         }
     }
@@ -72,9 +79,10 @@ public class ResultSetMappingProcessor {
     private void buildEntityMappers(SparqlResultSetMapping mapping, ResultRowMapper parent) {
         for (EntityResult er : mapping.entities()) {
             final EntityType<?> et = getTargetType(er);
-            final EntityResultMapper<?> etMapper = new EntityResultMapper<>(et);
+            final EntityResultMapper<?> etMapper = new EntityResultMapper<>(et, constructors);
             generateFieldMappersForFieldResults(er, et, etMapper);
             generateFieldMappersForUnconfiguredFields(et, er).forEach(etMapper::addFieldMapper);
+            etMapper.compile();
             parent.addMapper(etMapper);
         }
     }
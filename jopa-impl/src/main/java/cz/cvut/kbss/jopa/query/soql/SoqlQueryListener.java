@@ -1,5 +1,6 @@
 package cz.cvut.kbss.jopa.query.soql;
 
+import cz.cvut.kbss.jopa.exception.QueryParserException;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
@@ -11,10 +12,15 @@ import org.antlr.v4.runtime.tree.ParseTree;
 import org.antlr.v4.runtime.tree.TerminalNode;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Set;
 
 public class SoqlQueryListener implements SoqlListener {
 
+    private static final String UPDATE = "UPDATE";
+    private static final String DELETE = "DELETE";
+
     private final MetamodelImpl metamodel;
 
     private String newQuery = "";
@@ -33,8 +39,13 @@ public class SoqlQueryListener implements SoqlListener {
 
     private final ArrayList<SoqlGroupParameter> groupAttributes;
 
+    private final ArrayList<SoqlSetParameter> setParameters;
+
     private final HashMap<String, String> objectTypes;
 
+    // Entity type whose instances are modified by an UPDATE or DELETE statement
+    private EntityTypeImpl<?> affectedEntityType;
+
     private boolean isSelectedParamDistinct = false;
 
     private boolean isSelectedParamCount = false;
@@ -47,6 +58,7 @@ public class SoqlQueryListener implements SoqlListener {
         this.objectOfNextOr = new ArrayList<>();
         this.orderAttributes = new ArrayList<>();
         this.groupAttributes = new ArrayList<>();
+        this.setParameters = new ArrayList<>();
         this.objectTypes = new HashMap<>();
     }
 
@@ -67,6 +79,66 @@ public class SoqlQueryListener implements SoqlListener {
     public void exitSelectStatement(SoqlParser.SelectStatementContext ctx) {
     }
 
+    @Override
+    public void enterUpdateStatement(SoqlParser.UpdateStatementContext ctx) {
+        typeDef = UPDATE;
+    }
+
+    @Override
+    public void exitUpdateStatement(SoqlParser.UpdateStatementContext ctx) {
+    }
+
+    @Override
+    public void enterSetClause(SoqlParser.SetClauseContext ctx) {
+    }
+
+    @Override
+    public void exitSetClause(SoqlParser.SetClauseContext ctx) {
+    }
+
+    @Override
+    public void enterSetAssignmentComma(SoqlParser.SetAssignmentCommaContext ctx) {
+    }
+
+    @Override
+    public void exitSetAssignmentComma(SoqlParser.SetAssignmentCommaContext ctx) {
+    }
+
+    @Override
+    public void enterSetAssignment(SoqlParser.SetAssignmentContext ctx) {
+        final String operator = ctx.getChild(1).getText();
+        if (!"=".equals(operator)) {
+            throw new QueryParserException("Unsupported operator '" + operator + "' in SET clause, only '=' is allowed.");
+        }
+        final ParseTree param = ctx.getChild(0);
+        final SoqlNode firstNode = new SoqlNode(param.getChild(0).getText());
+        final SoqlNode attributeNode = new SoqlNode(firstNode, param.getChild(2).getText());
+        firstNode.setChild(attributeNode);
+        setIris(firstNode);
+        setParameters.add(new SoqlSetParameter(firstNode, ctx.getChild(2).getText()));
+    }
+
+    @Override
+    public void exitSetAssignment(SoqlParser.SetAssignmentContext ctx) {
+    }
+
+    @Override
+    public void enterSetParam(SoqlParser.SetParamContext ctx) {
+    }
+
+    @Override
+    public void exitSetParam(SoqlParser.SetParamContext ctx) {
+    }
+
+    @Override
+    public void enterDeleteStatement(SoqlParser.DeleteStatementContext ctx) {
+        typeDef = DELETE;
+    }
+
+    @Override
+    public void exitDeleteStatement(SoqlParser.DeleteStatementContext ctx) {
+    }
+
     @Override
     public void enterParams(SoqlParser.ParamsContext ctx) {
     }
@@ -246,6 +318,7 @@ public class SoqlQueryListener implements SoqlListener {
         SoqlAttribute myAttr = new SoqlAttribute();
         SoqlNode node = new SoqlNode(table);
         setObjectIri(node);
+        this.affectedEntityType = getEntityType(table);
         myAttr.setFirstNode(node);
         myAttr.setOperator("");
         myAttr.setValue("");
@@ -544,12 +617,35 @@ public class SoqlQueryListener implements SoqlListener {
         return newQuery;
     }
 
+    /**
+     * Gets entity classes whose instances are modified by the processed statement.
+     * <p>
+     * The result is empty for SELECT queries and for UPDATE/DELETE statements whose target could not be resolved in
+     * the metamodel.
+     *
+     * @return Set of affected entity classes
+     */
+    public Set<Class<?>> getAffectedEntityClasses() {
+        if (!isUpdateStatement() || affectedEntityType == null) {
+            return Collections.emptySet();
+        }
+        return Collections.singleton(affectedEntityType.getJavaType());
+    }
+
+    private boolean isUpdateStatement() {
+        return UPDATE.equals(typeDef) || DELETE.equals(typeDef);
+    }
+
 
     //Methods to build new Query
     private void buildString() {
         if (attributes.isEmpty()) {
             return;
         }
+        if (isUpdateStatement()) {
+            buildUpdateString();
+            return;
+        }
         StringBuilder newQueryBuilder = new StringBuilder(typeDef);
         if (isSelectedParamCount) {
             newQueryBuilder.append(getCountPart());
@@ -578,6 +674,41 @@ public class SoqlQueryListener implements SoqlListener {
         newQuery = newQueryBuilder.toString();
     }
 
+    /**
+     * Builds a SPARQL DELETE/INSERT WHERE update from a SOQL UPDATE or DELETE statement.
+     * <p>
+     * UPDATE replaces all current values of the assigned attributes, DELETE removes all statements with the matching
+     * individuals as subject.
+     */
+    private void buildUpdateString() {
+        final StringBuilder deletePart = new StringBuilder("DELETE { ");
+        final StringBuilder insertPart = new StringBuilder();
+        final StringBuilder wherePart = new StringBuilder("WHERE { ");
+        wherePart.append(processSupremeAttributes());
+        if (!objectOfNextOr.isEmpty()) {
+            wherePart.append("{ ");
+        }
+        wherePart.append(processAttributes());
+        if (!objectOfNextOr.isEmpty()) {
+            wherePart.append("} ");
+        }
+        if (UPDATE.equals(typeDef)) {
+            insertPart.append("INSERT { ");
+            for (SoqlSetParameter setParam : setParameters) {
+                deletePart.append(setParam.getDeletePattern());
+                insertPart.append(setParam.getInsertPattern());
+                wherePart.append(setParam.getCurrentValuePattern());
+            }
+            insertPart.append("} ");
+        } else {
+            deletePart.append("?x ?xProperty ?xValue . ");
+            wherePart.append("?x ?xProperty ?xValue . ");
+        }
+        deletePart.append("} ");
+        wherePart.append("}");
+        newQuery = deletePart.append(insertPart).append(wherePart).toString();
+    }
+
     private StringBuilder getCountPart() {
         StringBuilder countPart = new StringBuilder(" (COUNT(");
         if (isSelectedParamDistinct) {
@@ -33,6 +33,8 @@ public class SoqlQueryParser implements QueryParser {
         final ParseTreeWalker walker = new ParseTreeWalker();
         walker.walk(listener, tree);
 
-        return sparqlParser.parseQuery(listener.getSoqlQuery());
+        final QueryHolder holder = sparqlParser.parseQuery(listener.getSoqlQuery());
+        holder.setAffectedEntityClasses(listener.getAffectedEntityClasses());
+        return holder;
     }
 }
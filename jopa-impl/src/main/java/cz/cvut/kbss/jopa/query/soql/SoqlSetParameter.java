@@ -0,0 +1,69 @@
+package cz.cvut.kbss.jopa.query.soql;
+
+/**
+ * Represents one assignment in the SET clause of a SOQL UPDATE statement.
+ */
+public class SoqlSetParameter extends SoqlParameter {
+
+    private String prefix = "http://www.example.org/";
+
+    private final String value;
+
+    public SoqlSetParameter(SoqlNode firstNode, String value) {
+        super();
+        this.setFirstNode(firstNode);
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Triple pattern matching the current value(s) of the attribute, which are to be replaced.
+     *
+     * @return Triple pattern string
+     */
+    public String getDeletePattern() {
+        return "?x " + toIri(getFirstNode().getChild()) + " " + getCurrentValueParam() + " . ";
+    }
+
+    /**
+     * Triple pattern with the new value of the attribute.
+     *
+     * @return Triple pattern string
+     */
+    public String getInsertPattern() {
+        return "?x " + toIri(getFirstNode().getChild()) + " " + getValueTerm() + " . ";
+    }
+
+    /**
+     * Optional graph pattern binding the current value(s) of the attribute so that they can be deleted.
+     *
+     * @return Graph pattern string
+     */
+    public String getCurrentValuePattern() {
+        return "OPTIONAL { " + getDeletePattern() + "} ";
+    }
+
+    private String getCurrentValueParam() {
+        return getAsParam() + "Current";
+    }
+
+    private String getValueTerm() {
+        return value.charAt(0) == ':' ? "?" + value.substring(1) : value;
+    }
+
+    private String toIri(SoqlNode node) {
+        final String iri = node.getIri().isEmpty() ? getPrefix() + node.getValue() : node.getIri();
+        return "<" + iri + ">";
+    }
+}
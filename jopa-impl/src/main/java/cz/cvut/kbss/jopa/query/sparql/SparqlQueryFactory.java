@@ -59,6 +59,7 @@ public class SparqlQueryFactory implements QueryFactory {
 
         final TypedQueryImpl<T> tq = new TypedQueryImpl<>(queryParser.parseQuery(sparql), resultClass, connection, uow);
         tq.setUnitOfWork(uow);
+        tq.setAsyncExecutor(uow::executeAsync);
         tq.useBackupOntology(uow.useBackupOntologyForQueryProcessing());
         return tq;
     }
@@ -92,6 +93,7 @@ public class SparqlQueryFactory implements QueryFactory {
         final TypedQueryImpl<T> tq = new TypedQueryImpl<>(soqlQueryParser.parseQuery(query), resultClass, connection,
                 uow);
         tq.setUnitOfWork(uow);
+        tq.setAsyncExecutor(uow::executeAsync);
         tq.useBackupOntology(uow.useBackupOntologyForQueryProcessing());
         return tq;
     }
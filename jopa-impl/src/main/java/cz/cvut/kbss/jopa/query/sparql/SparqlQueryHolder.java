@@ -38,6 +38,8 @@ public class SparqlQueryHolder implements QueryHolder {
 
     private int limit = Integer.MAX_VALUE;
 
+    private Set<Class<?>> affectedClasses = Collections.emptySet();
+
     public SparqlQueryHolder(String query, List<String> parts, List<QueryParameter<?>> parameters) {
         this.query = query;
         this.parameters = parameters;
@@ -140,6 +142,16 @@ public class SparqlQueryHolder implements QueryHolder {
         parameterSet.values().forEach(QueryParameter::resetValue);
     }
 
+    @Override
+    public void setAffectedEntityClasses(Set<Class<?>> affectedClasses) {
+        this.affectedClasses = Objects.requireNonNull(affectedClasses);
+    }
+
+    @Override
+    public Set<Class<?>> getAffectedEntityClasses() {
+        return Collections.unmodifiableSet(affectedClasses);
+    }
+
     @Override
     public String assembleQuery() {
         final StringBuilder sb = new StringBuilder();
@@ -0,0 +1,582 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.query.sparql;
+
+import cz.cvut.kbss.jopa.query.UpdateScope;
+import cz.cvut.kbss.jopa.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Statically analyzes SPARQL Update requests to determine which data they may modify.
+ * <p>
+ * Only the templates of the update operations (i.e., quads being inserted or deleted) are analyzed, WHERE clauses are
+ * skipped. The analysis is conservative: if a template contains a pattern which can match arbitrary data (e.g., a
+ * triple with both subject and predicate being variables) or the request cannot be analyzed at all, the resulting
+ * scope is unbounded.
+ */
+public class SparqlUpdateAnalyzer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SparqlUpdateAnalyzer.class);
+
+    private static final URI RDF_TYPE = URI.create(RDF.TYPE);
+
+    private final List<Token> tokens;
+    private int position;
+
+    private final Map<String, String> prefixes = new HashMap<>();
+    private URI base;
+
+    private final Set<URI> types = new HashSet<>();
+    private final Set<URI> properties = new HashSet<>();
+    private final Set<URI> subjects = new HashSet<>();
+    private final Set<URI> contexts = new HashSet<>();
+
+    private SparqlUpdateAnalyzer(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Analyzes the specified SPARQL Update request.
+     *
+     * @param update SPARQL Update request string
+     * @return Scope of data possibly modified by the update
+     */
+    public static UpdateScope analyze(String update) {
+        try {
+            final SparqlUpdateAnalyzer analyzer = new SparqlUpdateAnalyzer(new Tokenizer(update).tokenize());
+            analyzer.analyzeRequest();
+            return new UpdateScope(Collections.emptySet(), analyzer.types, analyzer.properties, analyzer.subjects,
+                    analyzer.contexts);
+        } catch (UnboundedUpdateException e) {
+            LOG.trace("Unable to determine scope of update {}: {}", update, e.getMessage());
+            return UpdateScope.unbounded();
+        }
+    }
+
+    private void analyzeRequest() {
+        while (hasNext()) {
+            parsePrologue();
+            if (!hasNext()) {
+                break;
+            }
+            parseOperation();
+            if (hasNext()) {
+                expect(";");
+            }
+        }
+    }
+
+    private void parsePrologue() {
+        while (hasNext()) {
+            if (nextIsKeyword("PREFIX")) {
+                position++;
+                final Token prefix = next();
+                if (prefix.type != TokenType.PREFIXED_NAME || !prefix.value.endsWith(":")) {
+                    throw new UnboundedUpdateException("Invalid prefix declaration " + prefix.value);
+                }
+                prefixes.put(prefix.value.substring(0, prefix.value.length() - 1), expectIri().toString());
+            } else if (nextIsKeyword("BASE")) {
+                position++;
+                this.base = expectIri();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void parseOperation() {
+        final Token token = next();
+        if (token.type != TokenType.WORD) {
+            throw new UnboundedUpdateException("Unexpected token " + token.value);
+        }
+        switch (token.value.toUpperCase()) {
+            case "INSERT":
+            case "DELETE":
+                if (nextIsKeyword("DATA")) {
+                    position++;
+                    parseQuads();
+                } else if (nextIsKeyword("WHERE")) {
+                    position++;
+                    parseQuads();
+                } else {
+                    parseModify();
+                }
+                break;
+            case "WITH":
+                expectIri();
+                parseOperation();
+                break;
+            case "LOAD":
+                skipKeyword("SILENT");
+                expectIri();
+                if (!nextIsKeyword("INTO")) {
+                    throw new UnboundedUpdateException("LOAD into the default graph");
+                }
+                position++;
+                contexts.add(parseGraphRef());
+                break;
+            case "CLEAR":
+            case "DROP":
+                skipKeyword("SILENT");
+                contexts.add(parseGraphRef());
+                break;
+            case "CREATE":
+                skipKeyword("SILENT");
+                parseGraphRef();
+                break;
+            case "MOVE":
+                skipKeyword("SILENT");
+                contexts.add(parseGraphOrDefault());
+                expectKeyword("TO");
+                contexts.add(parseGraphOrDefault());
+                break;
+            case "ADD":
+            case "COPY":
+                skipKeyword("SILENT");
+                parseGraphOrDefault();
+                expectKeyword("TO");
+                contexts.add(parseGraphOrDefault());
+                break;
+            default:
+                throw new UnboundedUpdateException("Unsupported operation " + token.value);
+        }
+    }
+
+    private void parseModify() {
+        // The DELETE/INSERT keyword has already been consumed, the template follows
+        parseQuads();
+        if (nextIsKeyword("INSERT")) {
+            position++;
+            parseQuads();
+        }
+        while (nextIsKeyword("USING")) {
+            position++;
+            skipKeyword("NAMED");
+            expectIri();
+        }
+        expectKeyword("WHERE");
+        skipGroup();
+    }
+
+    private URI parseGraphRef() {
+        if (nextIsKeyword("DEFAULT") || nextIsKeyword("NAMED") || nextIsKeyword("ALL")) {
+            throw new UnboundedUpdateException("Operation on " + next().value + " graph(s)");
+        }
+        skipKeyword("GRAPH");
+        return expectIri();
+    }
+
+    private URI parseGraphOrDefault() {
+        if (nextIsKeyword("DEFAULT")) {
+            throw new UnboundedUpdateException("Operation on the default graph");
+        }
+        skipKeyword("GRAPH");
+        return expectIri();
+    }
+
+    private void parseQuads() {
+        expect("{");
+        while (!nextIs("}")) {
+            if (nextIsKeyword("GRAPH")) {
+                position++;
+                final Token graph = next();
+                if (graph.type != TokenType.VARIABLE) {
+                    resolve(graph);
+                }
+                expect("{");
+                parseTriples();
+                expect("}");
+            } else {
+                parseTriples();
+            }
+            if (nextIs(".")) {
+                position++;
+            }
+        }
+        expect("}");
+    }
+
+    private void parseTriples() {
+        while (!nextIs("}") && !nextIsKeyword("GRAPH")) {
+            final Term subject;
+            if (nextIs("[")) {
+                position++;
+                subject = Term.BLANK;
+                if (!nextIs("]")) {
+                    parsePropertyList(subject);
+                }
+                expect("]");
+                if (nextIs(".") || nextIs("}")) {
+                    skipTriplesEnd();
+                    continue;
+                }
+            } else {
+                subject = parseTerm();
+            }
+            parsePropertyList(subject);
+            skipTriplesEnd();
+        }
+    }
+
+    private void skipTriplesEnd() {
+        if (nextIs(".")) {
+            position++;
+        }
+    }
+
+    private void parsePropertyList(Term subject) {
+        while (true) {
+            final Term predicate = parseVerb();
+            do {
+                final Term object = parseObject();
+                recordTriple(subject, predicate, object);
+            } while (consume(","));
+            // Repeated semicolons are allowed by the grammar
+            boolean more = false;
+            while (consume(";")) {
+                more = true;
+            }
+            if (!more || nextIs(".") || nextIs("}") || nextIs("]")) {
+                return;
+            }
+        }
+    }
+
+    private Term parseVerb() {
+        if (nextIsKeyword("a")) {
+            position++;
+            return new Term(RDF_TYPE);
+        }
+        return parseTerm();
+    }
+
+    private Term parseObject() {
+        if (nextIs("[")) {
+            position++;
+            if (!nextIs("]")) {
+                parsePropertyList(Term.BLANK);
+            }
+            expect("]");
+            return Term.BLANK;
+        }
+        if (nextIs("(")) {
+            throw new UnboundedUpdateException("RDF collections are not supported");
+        }
+        return parseTerm();
+    }
+
+    private Term parseTerm() {
+        final Token token = next();
+        switch (token.type) {
+            case VARIABLE:
+                return Term.VARIABLE;
+            case BLANK_NODE:
+                return Term.BLANK;
+            case LITERAL:
+                if (nextIs("^^")) {
+                    position++;
+                    resolve(next());
+                }
+                return Term.LITERAL;
+            case WORD:
+                if ("true".equalsIgnoreCase(token.value) || "false".equalsIgnoreCase(token.value)) {
+                    return Term.LITERAL;
+                }
+                // Intentional fall-through
+            default:
+                return new Term(resolve(token));
+        }
+    }
+
+    private void recordTriple(Term subject, Term predicate, Term object) {
+        if (subject == Term.BLANK || subject == Term.LITERAL) {
+            // Blank nodes cannot correspond to managed instances
+            return;
+        }
+        if (subject.iri != null) {
+            subjects.add(subject.iri);
+        } else if (predicate.iri == null) {
+            throw new UnboundedUpdateException("Triple with variable subject and predicate");
+        } else if (RDF_TYPE.equals(predicate.iri)) {
+            if (object.iri == null) {
+                throw new UnboundedUpdateException("Class assertion with variable subject and class");
+            }
+            types.add(object.iri);
+        } else {
+            properties.add(predicate.iri);
+        }
+    }
+
+    private void skipGroup() {
+        expect("{");
+        int depth = 1;
+        while (depth > 0) {
+            final Token token = next();
+            if (token.type == TokenType.PUNCTUATION) {
+                if ("{".equals(token.value)) {
+                    depth++;
+                } else if ("}".equals(token.value)) {
+                    depth--;
+                }
+            }
+        }
+    }
+
+    private URI resolve(Token token) {
+        switch (token.type) {
+            case IRI:
+                final URI iri = URI.create(token.value);
+                return base != null && !iri.isAbsolute() ? base.resolve(iri) : iri;
+            case PREFIXED_NAME:
+                final int colon = token.value.indexOf(':');
+                final String namespace = prefixes.get(token.value.substring(0, colon));
+                if (namespace == null) {
+                    throw new UnboundedUpdateException("Unknown prefix in " + token.value);
+                }
+                return URI.create(namespace + token.value.substring(colon + 1));
+            default:
+                throw new UnboundedUpdateException("Expected IRI, got " + token.value);
+        }
+    }
+
+    private URI expectIri() {
+        return resolve(next());
+    }
+
+    private void expect(String punctuation) {
+        if (!consume(punctuation)) {
+            throw new UnboundedUpdateException("Expected " + punctuation);
+        }
+    }
+
+    private boolean consume(String punctuation) {
+        if (nextIs(punctuation)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!nextIsKeyword(keyword)) {
+            throw new UnboundedUpdateException("Expected " + keyword);
+        }
+        position++;
+    }
+
+    private void skipKeyword(String keyword) {
+        if (nextIsKeyword(keyword)) {
+            position++;
+        }
+    }
+
+    private boolean nextIs(String punctuation) {
+        return hasNext() && tokens.get(position).type == TokenType.PUNCTUATION &&
+                punctuation.equals(tokens.get(position).value);
+    }
+
+    private boolean nextIsKeyword(String keyword) {
+        return hasNext() && tokens.get(position).type == TokenType.WORD &&
+                keyword.equalsIgnoreCase(tokens.get(position).value);
+    }
+
+    private boolean hasNext() {
+        return position < tokens.size();
+    }
+
+    private Token next() {
+        if (!hasNext()) {
+            throw new UnboundedUpdateException("Unexpected end of update");
+        }
+        return tokens.get(position++);
+    }
+
+    /**
+     * Subject, predicate or object of a triple in an update template.
+     */
+    private static final class Term {
+        private static final Term VARIABLE = new Term(null);
+        private static final Term BLANK = new Term(null);
+        private static final Term LITERAL = new Term(null);
+
+        private final URI iri;
+
+        private Term(URI iri) {
+            this.iri = iri;
+        }
+    }
+
+    private enum TokenType {
+        IRI, PREFIXED_NAME, VARIABLE, BLANK_NODE, LITERAL, WORD, PUNCTUATION
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String value;
+
+        private Token(TokenType type, String value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Splits a SPARQL Update request into tokens relevant for the analysis.
+     */
+    private static final class Tokenizer {
+
+        private final String input;
+        private int index;
+        private final List<Token> result = new ArrayList<>();
+
+        private Tokenizer(String input) {
+            this.input = input;
+        }
+
+        private List<Token> tokenize() {
+            while (index < input.length()) {
+                final char c = input.charAt(index);
+                if (Character.isWhitespace(c)) {
+                    index++;
+                } else if (c == '#') {
+                    skipComment();
+                } else if (c == '<') {
+                    readIriOrOperator();
+                } else if (c == '"' || c == '\'') {
+                    readString(c);
+                } else if ((c == '?' || c == '$') && isNameChar(peek(1))) {
+                    index++;
+                    result.add(new Token(TokenType.VARIABLE, readName()));
+                } else if (c == '_' && peek(1) == ':') {
+                    index += 2;
+                    result.add(new Token(TokenType.BLANK_NODE, readName()));
+                } else if (Character.isDigit(c) || ((c == '+' || c == '-') && Character.isDigit(peek(1)))) {
+                    readNumber();
+                } else if (c == '@' && Character.isLetter(peek(1))) {
+                    // Language tag is part of the preceding literal
+                    index++;
+                    readName();
+                } else if (c == '^' && peek(1) == '^') {
+                    index += 2;
+                    result.add(new Token(TokenType.PUNCTUATION, "^^"));
+                } else if (Character.isLetter(c) || c == ':') {
+                    readWordOrPrefixedName();
+                } else {
+                    index++;
+                    result.add(new Token(TokenType.PUNCTUATION, String.valueOf(c)));
+                }
+            }
+            return result;
+        }
+
+        private char peek(int offset) {
+            return index + offset < input.length() ? input.charAt(index + offset) : '\0';
+        }
+
+        private void skipComment() {
+            while (index < input.length() && input.charAt(index) != '\n') {
+                index++;
+            }
+        }
+
+        private void readIriOrOperator() {
+            int end = index + 1;
+            while (end < input.length()) {
+                final char c = input.charAt(end);
+                if (c == '>') {
+                    result.add(new Token(TokenType.IRI, input.substring(index + 1, end)));
+                    this.index = end + 1;
+                    return;
+                }
+                if (Character.isWhitespace(c) || c == '<' || c == '"' || c == '{' || c == '}') {
+                    break;
+                }
+                end++;
+            }
+            // Comparison operator in a FILTER expression
+            index++;
+            result.add(new Token(TokenType.PUNCTUATION, "<"));
+        }
+
+        private void readString(char quote) {
+            final boolean longString = peek(1) == quote && peek(2) == quote;
+            index += longString ? 3 : 1;
+            while (index < input.length()) {
+                final char c = input.charAt(index);
+                if (c == '\\') {
+                    index += 2;
+                    continue;
+                }
+                if (c == quote && (!longString || (peek(1) == quote && peek(2) == quote))) {
+                    index += longString ? 3 : 1;
+                    result.add(new Token(TokenType.LITERAL, ""));
+                    return;
+                }
+                index++;
+            }
+            throw new UnboundedUpdateException("Unterminated string literal");
+        }
+
+        private void readNumber() {
+            index++;
+            while (index < input.length()) {
+                final char c = input.charAt(index);
+                if (Character.isDigit(c) || c == 'e' || c == 'E' ||
+                        (c == '.' && Character.isDigit(peek(1))) ||
+                        ((c == '+' || c == '-') && (input.charAt(index - 1) == 'e' || input.charAt(index - 1) == 'E'))) {
+                    index++;
+                } else {
+                    break;
+                }
+            }
+            result.add(new Token(TokenType.LITERAL, ""));
+        }
+
+        private void readWordOrPrefixedName() {
+            final String name = readName();
+            result.add(new Token(name.indexOf(':') >= 0 ? TokenType.PREFIXED_NAME : TokenType.WORD, name));
+        }
+
+        private String readName() {
+            final int start = index;
+            while (index < input.length() && (isNameChar(input.charAt(index)) || input.charAt(index) == ':' ||
+                    (input.charAt(index) == '.' && isNameChar(peek(1))))) {
+                index++;
+            }
+            return input.substring(start, index);
+        }
+
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '%';
+        }
+    }
+
+    private static class UnboundedUpdateException extends RuntimeException {
+
+        private UnboundedUpdateException(String message) {
+            super(message);
+        }
+    }
+}
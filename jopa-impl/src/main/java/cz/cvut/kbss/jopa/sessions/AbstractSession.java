@@ -17,10 +17,15 @@ package cz.cvut.kbss.jopa.sessions;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
 import cz.cvut.kbss.jopa.query.NamedQueryManager;
 import cz.cvut.kbss.jopa.query.ResultSetMappingManager;
+import cz.cvut.kbss.jopa.sessions.cache.InferenceDependencies;
+import cz.cvut.kbss.jopa.sessions.cache.coordination.CacheInvalidation;
 import cz.cvut.kbss.jopa.utils.Configuration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 /**
  * This is the implementation of the basic Session operations. Other more
  * specific methods are to be implemented in descendants.
@@ -32,6 +37,8 @@ public abstract class AbstractSession implements Session, MetamodelProvider, Con
 
     private final Configuration configuration;
 
+    private volatile InferenceDependencies inferenceDependencies;
+
     protected AbstractSession(Configuration configuration) {
         this.configuration = configuration;
     }
@@ -69,6 +76,82 @@ public abstract class AbstractSession implements Session, MetamodelProvider, Con
      */
     public abstract CacheManager getLiveObjectCache();
 
+    /**
+     * Gets dependencies of inferred attributes of the managed entity classes.
+     * <p>
+     * They are resolved from the metamodel on first access.
+     *
+     * @return Inference dependencies
+     */
+    public InferenceDependencies getInferenceDependencies() {
+        if (inferenceDependencies == null) {
+            synchronized (this) {
+                if (inferenceDependencies == null) {
+                    this.inferenceDependencies = new InferenceDependencies(getMetamodel());
+                }
+            }
+        }
+        return inferenceDependencies;
+    }
+
+    /**
+     * Whether the second level cache is coordinated with caches of other nodes sharing the same storage.
+     *
+     * @return {@code true} if cache invalidations should be published to other nodes
+     */
+    public boolean isCacheCoordinated() {
+        return false;
+    }
+
+    /**
+     * Publishes invalidation of second level cache entries caused by a commit to other nodes sharing the same storage.
+     * <p>
+     * Does nothing if the cache is not coordinated.
+     *
+     * @param invalidation Cache invalidation to publish
+     */
+    public void publishCacheInvalidation(CacheInvalidation invalidation) {
+        // Do nothing by default
+    }
+
+    /**
+     * Whether there are any listeners to notify about committed transactions.
+     *
+     * @return {@code true} if commit events should be created and published
+     */
+    public boolean hasCommitListeners() {
+        return false;
+    }
+
+    /**
+     * Notifies registered commit listeners about a committed transaction.
+     * <p>
+     * Does nothing if there are no listeners.
+     *
+     * @param event Changes made by the committed transaction
+     */
+    public void notifyCommitListeners(CommitEvent event) {
+        // Do nothing by default
+    }
+
+    /**
+     * Executes the specified operation asynchronously.
+     * <p>
+     * The operation is executed on a worker thread in a newly acquired unit of work, which is confined to the worker
+     * thread and released once the operation finishes. Therefore, results of the operation are detached, i.e., not
+     * managed by any persistence context, and their attributes which were not loaded by the operation are not loaded
+     * later. The operation should thus load everything its callers need before it returns.
+     * <p>
+     * Number of pending operations is limited, operations exceeding the limit are rejected.
+     *
+     * @param operation Operation to execute
+     * @param <R>       Result type
+     * @return Future completed with the result of the operation
+     * @throws java.util.concurrent.RejectedExecutionException If too many operations are waiting for execution
+     * @throws IllegalStateException                          If the session is already closed
+     */
+    public abstract <R> CompletableFuture<R> executeAsync(Function<UnitOfWorkImpl, R> operation);
+
     /**
      * Acquires connection to the underlying ontology storage.
      *
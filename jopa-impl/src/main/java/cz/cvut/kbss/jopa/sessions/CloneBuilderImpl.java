@@ -18,8 +18,6 @@ import cz.cvut.kbss.jopa.adapters.IndirectCollection;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
-import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
-import cz.cvut.kbss.jopa.model.metamodel.Identifier;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
 import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
 import org.slf4j.Logger;
@@ -45,12 +43,16 @@ public class CloneBuilderImpl implements CloneBuilder {
 
     private final Builders builders;
 
+    // Entity cloners resolved for the cloned classes
+    private final Map<Class<?>, EntityCloner<?>> cloners;
+
     private final UnitOfWorkImpl uow;
 
     public CloneBuilderImpl(UnitOfWorkImpl uow) {
         this.uow = uow;
         this.visitedEntities = new RepositoryMap();
         this.builders = new Builders();
+        this.cloners = new HashMap<>();
     }
 
     @Override
@@ -87,47 +89,61 @@ public class CloneBuilderImpl implements CloneBuilder {
                 return visitedClone;
             }
         }
+        final EntityCloner<?> cloner = managed ? getEntityCloner(cls) : null;
         final AbstractInstanceBuilder builder = getInstanceBuilder(original);
-        Object clone = builder.buildClone(cloneOwner, clonedField, original, cloneConfiguration);
+        Object clone = cloner != null ? cloner.newClone(original) : null;
+        if (clone == null) {
+            clone = builder.buildClone(cloneOwner, clonedField, original, cloneConfiguration);
+        }
         if (managed) {
             // Register visited object before populating attributes to prevent endless cloning cycles
             putVisitedEntity(descriptor, original, clone);
         }
         if (!builder.populatesAttributes() && !isImmutable(cls)) {
-            populateAttributes(original, clone, cloneConfiguration);
+            populateAttributes(original, clone, cloneConfiguration, cloner);
         }
         return clone;
     }
 
+    private EntityCloner<?> getEntityCloner(Class<?> cls) {
+        return cloners.computeIfAbsent(cls, c -> {
+            final EntityType<?> et = getMetamodel().entity(c);
+            return et != null ? EntityCloner.of(et, c) : null;
+        });
+    }
+
     /**
      * Clone all the attributes of the original and set the clone values. This also means cloning any relationships and
      * their targets.
      */
-    private void populateAttributes(Object original, Object clone, CloneConfiguration configuration) {
-        final Class<?> originalClass = original.getClass();
-        final EntityType<?> et = getMetamodel().entity(originalClass);
-        // Ensure the identifier is cloned before any other attributes
-        // This prevents problems where circular references between entities lead to clones being registered with null identifier
-        cloneIdentifier(original, clone, et);
-        for (FieldSpecification<?, ?> fs : et.getFieldSpecifications()) {
-            if (fs == et.getIdentifier()) {
-                continue;   // Already cloned
+    private void populateAttributes(Object original, Object clone, CloneConfiguration configuration,
+                                    EntityCloner<?> cloner) {
+        // A shallow copy already contains the identifier and values of immutable attributes
+        final boolean shallowCopy = cloner != null && cloner.createsShallowCopies();
+        final EntityCloner<?> entityCloner = cloner != null ? cloner : getEntityCloner(original.getClass());
+        if (!shallowCopy) {
+            // Ensure the identifier is cloned before any other attributes
+            // This prevents problems where circular references between entities lead to clones being registered with null identifier
+            entityCloner.copyIdentifier(original, clone);
+        }
+        for (EntityCloner.AttributeCopier att : entityCloner.getAttributes()) {
+            if (shallowCopy && att.isImmutable()) {
+                continue;
             }
-            final Field f = fs.getJavaField();
-            final Object origVal = EntityPropertiesUtils.getFieldValue(f, original);
+            final Object origVal = att.getValue(original);
             if (origVal == null) {
                 continue;
             }
             final Class<?> origValueClass = origVal.getClass();
             Object clonedValue;
-            if (isImmutable(origValueClass)) {
+            if (att.isImmutable() || isImmutable(origValueClass)) {
                 // The field is an immutable type
                 clonedValue = origVal;
             } else if (origVal instanceof Collection || origVal instanceof Map) {
-                final Descriptor fieldDescriptor = getFieldDescriptor(f, originalClass, configuration.getDescriptor());
+                final Descriptor fieldDescriptor = getFieldDescriptor(att, configuration.getDescriptor());
                 // Collection or Map
-                clonedValue = getInstanceBuilder(origVal).buildClone(clone, f, origVal,
-                        new CloneConfiguration(fieldDescriptor, configuration.getPostRegister()));
+                clonedValue = getInstanceBuilder(origVal).buildClone(clone, att.getFieldSpecification().getJavaField(),
+                        origVal, new CloneConfiguration(fieldDescriptor, configuration.getPostRegister()));
             } else {
                 // Otherwise we have a relationship and we need to clone its target as well
                 if (isOriginalInUoW(origVal)) {
@@ -135,8 +151,7 @@ public class CloneBuilderImpl implements CloneBuilder {
                     clonedValue = uow.getCloneForOriginal(origVal);
                 } else {
                     if (isTypeManaged(origValueClass)) {
-                        final Descriptor fieldDescriptor =
-                                getFieldDescriptor(f, originalClass, configuration.getDescriptor());
+                        final Descriptor fieldDescriptor = getFieldDescriptor(att, configuration.getDescriptor());
                         clonedValue = getVisitedEntity(configuration.getDescriptor(), origVal);
                         if (clonedValue == null) {
                             clonedValue = uow.registerExistingObject(origVal, fieldDescriptor,
@@ -147,20 +162,12 @@ public class CloneBuilderImpl implements CloneBuilder {
                     }
                 }
             }
-            EntityPropertiesUtils.setFieldValue(f, clone, clonedValue);
+            att.setValue(clone, clonedValue);
         }
     }
 
-    private static void cloneIdentifier(Object original, Object clone, EntityType<?> et) {
-        final Identifier identifier = et.getIdentifier();
-        final Object idValue = EntityPropertiesUtils.getFieldValue(identifier.getJavaField(), original);
-        EntityPropertiesUtils.setFieldValue(identifier.getJavaField(), clone, idValue);
-    }
-
-    private Descriptor getFieldDescriptor(Field field, Class<?> entityClass, Descriptor entityDescriptor) {
-        final EntityType<?> et = getMetamodel().entity(entityClass);
-        final FieldSpecification<?, ?> fieldSpec = et.getFieldSpecification(field.getName());
-        return entityDescriptor.getAttributeDescriptor(fieldSpec);
+    private static Descriptor getFieldDescriptor(EntityCloner.AttributeCopier att, Descriptor entityDescriptor) {
+        return entityDescriptor.getAttributeDescriptor(att.getFieldSpecification());
     }
 
     /**
@@ -174,7 +181,7 @@ public class CloneBuilderImpl implements CloneBuilder {
      * @param cls the class to check
      * @return Whether the class represents immutable objects
      */
-    static boolean isImmutable(Class<?> cls) {
+    public static boolean isImmutable(Class<?> cls) {
         return cls.isPrimitive() || cls.isEnum() || IMMUTABLE_TYPES.contains(cls);
     }
 
@@ -193,26 +200,48 @@ public class CloneBuilderImpl implements CloneBuilder {
     @Override
     public void mergeChanges(ObjectChangeSet changeSet) {
         final Object original = changeSet.getChangedObject();
+        final EntityCloner<?> cloner = getEntityCloner(original.getClass());
         try {
             for (ChangeRecord change : changeSet.getChanges()) {
-                Field f = change.getAttribute().getJavaField();
-                if (isImmutable(f.getType())) {
-                    EntityPropertiesUtils.setFieldValue(f, original, change.getNewValue());
+                final EntityCloner.AttributeCopier att =
+                        cloner != null ? cloner.getAttribute(change.getAttribute()) : null;
+                if (att == null) {
+                    mergeChange(original, change);
+                    continue;
+                }
+                if (att.isImmutable()) {
+                    att.setValue(original, change.getNewValue());
                     continue;
                 }
-                Object origVal = EntityPropertiesUtils.getFieldValue(f, original);
                 Object newVal = change.getNewValue();
                 if (newVal == null) {
-                    EntityPropertiesUtils.setFieldValue(f, original, null);
+                    att.setValue(original, null);
                     continue;
                 }
-                getInstanceBuilder(newVal).mergeChanges(f, original, origVal, newVal);
+                Object origVal = att.getValue(original);
+                getInstanceBuilder(newVal).mergeChanges(att.getFieldSpecification().getJavaField(), original, origVal,
+                        newVal);
             }
         } catch (SecurityException e) {
             throw new OWLPersistenceException(e);
         }
     }
 
+    private void mergeChange(Object original, ChangeRecord change) {
+        Field f = change.getAttribute().getJavaField();
+        if (isImmutable(f.getType())) {
+            EntityPropertiesUtils.setFieldValue(f, original, change.getNewValue());
+            return;
+        }
+        Object origVal = EntityPropertiesUtils.getFieldValue(f, original);
+        Object newVal = change.getNewValue();
+        if (newVal == null) {
+            EntityPropertiesUtils.setFieldValue(f, original, null);
+            return;
+        }
+        getInstanceBuilder(newVal).mergeChanges(f, original, origVal, newVal);
+    }
+
     private Object getVisitedEntity(Descriptor descriptor, Object original) {
         assert descriptor != null;
         assert original != null;
@@ -258,6 +287,14 @@ public class CloneBuilderImpl implements CloneBuilder {
         return uow.createIndirectCollection(c, owner, f);
     }
 
+    boolean usesCopyOnWriteClones() {
+        return uow.usesCopyOnWriteClones();
+    }
+
+    IndirectCollection<?> createCopyOnWriteCollection(Collection<?> c, Object owner, Field f) {
+        return uow.createCopyOnWriteCollection(c, owner, f);
+    }
+
     /**
      * Gets basic object info for logging.
      * <p>
@@ -47,6 +47,10 @@ class CollectionInstanceBuilder extends AbstractInstanceBuilder {
     private static final Class<? extends List> DEFAULT_LIST_CLASS = ArrayList.class;
     private static final Class<? extends Set> DEFAULT_SET_CLASS = HashSet.class;
 
+    // Collection types which copy-on-write indirect collections are able to copy
+    private static final Set<Class<?>> COPY_ON_WRITE_TYPES =
+            new HashSet<>(Arrays.asList(ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class));
+
     CollectionInstanceBuilder(CloneBuilderImpl builder, UnitOfWork uow) {
         super(builder, uow);
         this.populates = true;
@@ -74,6 +78,9 @@ class CollectionInstanceBuilder extends AbstractInstanceBuilder {
         if (Collections.emptySet() == container) {
             return Collections.emptySet();
         }
+        if (builder.usesCopyOnWriteClones() && isShareable(container)) {
+            return builder.createCopyOnWriteCollection(container, cloneOwner, field);
+        }
         Collection<?> clone = cloneUsingDefaultConstructor(cloneOwner, field, container, configuration);
         if (clone == null) {
             clone = buildInstanceOfSpecialCollection(cloneOwner, field, container, configuration);
@@ -85,6 +92,25 @@ class CollectionInstanceBuilder extends AbstractInstanceBuilder {
         return clone;
     }
 
+    /**
+     * Checks whether the specified collection can be shared by the clone until it is modified.
+     * <p>
+     * This is the case for supported collection types with immutable elements. In accordance with {@link
+     * #cloneCollectionContent(Object, Field, Collection, Collection, CloneConfiguration)}, collection elements are
+     * expected to be of the same type, so only the first non-null element is checked.
+     */
+    private static boolean isShareable(Collection<?> container) {
+        if (!COPY_ON_WRITE_TYPES.contains(container.getClass())) {
+            return false;
+        }
+        for (Object elem : container) {
+            if (elem != null) {
+                return CloneBuilderImpl.isImmutable(elem);
+            }
+        }
+        return true;
+    }
+
     /**
      * Clones the specified collection using its default zero argument constructor. If the specified collection has none
      * (e. g. like SingletonList), this method returns null.
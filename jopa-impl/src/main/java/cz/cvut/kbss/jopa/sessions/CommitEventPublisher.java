@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers commit events to registered {@link CommitListener}s.
+ * <p>
+ * Events are put into a bounded queue and delivered by a dedicated daemon thread, so that committing threads are not
+ * delayed by the listeners. Events which do not fit into the queue are dropped.
+ */
+class CommitEventPublisher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommitEventPublisher.class);
+
+    // How often the delivery thread checks whether the publisher has been closed
+    private static final long POLL_TIMEOUT = 100L;
+
+    private final List<CommitListener> listeners = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<CommitEvent> queue;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread deliveryThread;
+
+    private volatile boolean closed;
+
+    CommitEventPublisher(int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.deliveryThread = new Thread(this::deliverEvents, "jopa-commit-listeners");
+        deliveryThread.setDaemon(true);
+        deliveryThread.start();
+    }
+
+    void addListener(CommitListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    void removeListener(CommitListener listener) {
+        listeners.remove(listener);
+    }
+
+    boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Enqueues the specified event for delivery to the registered listeners.
+     *
+     * @param event The event to publish
+     */
+    void publish(CommitEvent event) {
+        Objects.requireNonNull(event);
+        if (closed) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            final long dropped = droppedCount.incrementAndGet();
+            LOG.error("Commit listener queue is full, dropping commit event {}. Dropped events so far: {}.", event,
+                    dropped);
+        }
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full.
+     *
+     * @return Number of dropped events
+     */
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void deliverEvents() {
+        while (true) {
+            final CommitEvent event;
+            try {
+                event = queue.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (event == null) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            deliver(event);
+        }
+    }
+
+    private void deliver(CommitEvent event) {
+        for (CommitListener listener : listeners) {
+            try {
+                listener.onCommit(event);
+            } catch (RuntimeException e) {
+                LOG.error("Commit listener {} failed to process commit event.", listener, e);
+            }
+        }
+    }
+
+    /**
+     * Closes this publisher.
+     * <p>
+     * Events already in the queue are still delivered, new events are ignored.
+     */
+    void close() {
+        this.closed = true;
+    }
+}
@@ -15,6 +15,7 @@
 package cz.cvut.kbss.jopa.sessions;
 
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.EntityGraph;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.oom.ObjectOntologyMapper;
 import cz.cvut.kbss.jopa.oom.ObjectOntologyMapperImpl;
@@ -27,6 +28,7 @@ import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 public class ConnectionWrapper implements Wrapper {
 
@@ -46,6 +48,10 @@ public class ConnectionWrapper implements Wrapper {
         return idUri != null && mapper.containsEntity(cls, idUri, descriptor);
     }
 
+    public <T> List<T> findExisting(Map<T, Descriptor> entities) {
+        return mapper.findExistingEntities(entities);
+    }
+
     private static URI getIdentifierAsUri(Object identifier) {
         return identifier == null ? null : EntityPropertiesUtils.getValueAsURI(identifier);
     }
@@ -67,15 +73,31 @@ public class ConnectionWrapper implements Wrapper {
         mapper.persistEntity(idUri, entity, descriptor);
     }
 
+    public <T> void persistAll(Map<T, Descriptor> entities) {
+        mapper.persistEntities(entities);
+    }
+
     public <T> void remove(Object identifier, Class<T> cls, Descriptor descriptor) {
         final URI idUri = getIdentifierAsUri(identifier);
         mapper.removeEntity(idUri, cls, descriptor);
     }
 
+    public <T> void removeAll(Map<T, Descriptor> entities) {
+        mapper.removeEntities(entities);
+    }
+
     public <T> void loadFieldValue(T entity, Field field, Descriptor descriptor) {
         mapper.loadFieldValue(entity, field, descriptor);
     }
 
+    public <T> void loadFieldValues(Map<T, Descriptor> entities, Field field) {
+        mapper.loadFieldValues(entities, field);
+    }
+
+    public <T> void loadEntityGraph(Map<T, Descriptor> entities, EntityGraph<?> graph) {
+        mapper.loadEntityGraph(entities, graph);
+    }
+
     public void commit() {
         try {
             mapper.checkForUnpersistedChanges();
@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.CloneSupport;
+import cz.cvut.kbss.jopa.model.metamodel.AccessibleFieldSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.ConstructorCache;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
+import cz.cvut.kbss.jopa.model.metamodel.FieldAccessor;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cloning and copy-back routine specialized for one entity type.
+ * <p>
+ * The cloner holds everything the clone builder would otherwise look up reflectively for every cloned instance: the
+ * no-arg constructor handle, field accessors of the identifier and the other attributes, and information whether
+ * attribute values can be copied without cloning.
+ * <p>
+ * If the entity class implements {@link CloneSupport} and declares the {@link CloneSupport#shallowCopy()} method itself
+ * (e.g., because the routine was generated at build time by OWL2Java), new clones are created as shallow copies of the
+ * original using this routine, so that the identifier and values of immutable attributes need not be copied one by
+ * one. A subclass inheriting the method would get copies of its superclass, so it is cloned field by field.
+ * <p>
+ * Cloners are created by the metamodel builder and stored in the corresponding {@link EntityTypeImpl}.
+ *
+ * @param <T> Entity class
+ */
+public final class EntityCloner<T> {
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final EntityType<T> entityType;
+    private final Class<?> javaType;
+    private final MethodHandle constructor;
+    private final boolean shallowCopySupported;
+    private final FieldAccessor identifier;
+    private final List<AttributeCopier> attributes;
+    private final Map<FieldSpecification<?, ?>, AttributeCopier> attributeIndex;
+
+    /**
+     * Creates cloner for the specified entity type.
+     *
+     * @param entityType   Entity type, must be complete, i.e., all its attributes must be already processed
+     * @param constructors Cache of constructors of the persistence unit
+     */
+    public EntityCloner(EntityType<T> entityType, ConstructorCache constructors) {
+        this(entityType, entityType.getJavaType(), constructors);
+    }
+
+    private EntityCloner(EntityType<T> entityType, Class<?> javaType, ConstructorCache constructors) {
+        this.entityType = entityType;
+        this.javaType = javaType;
+        this.constructor = resolveConstructor(javaType, constructors);
+        this.shallowCopySupported = declaresShallowCopy(javaType);
+        this.identifier = accessorOf(entityType.getIdentifier());
+        final List<AttributeCopier> copiers = new ArrayList<>();
+        final Map<FieldSpecification<?, ?>, AttributeCopier> index = new IdentityHashMap<>();
+        for (FieldSpecification<? super T, ?> fs : entityType.getFieldSpecifications()) {
+            if (fs.equals(entityType.getIdentifier())) {
+                continue;
+            }
+            final AttributeCopier copier = new AttributeCopier(fs);
+            copiers.add(copier);
+            index.put(fs, copier);
+        }
+        this.attributes = Collections.unmodifiableList(copiers);
+        this.attributeIndex = index;
+    }
+
+    private static MethodHandle resolveConstructor(Class<?> cls, ConstructorCache constructors) {
+        try {
+            return constructors.getConstructor(cls);
+        } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+            // Fall back to the default instance builder
+            return null;
+        }
+    }
+
+    private static boolean declaresShallowCopy(Class<?> cls) {
+        if (!CloneSupport.class.isAssignableFrom(cls)) {
+            return false;
+        }
+        try {
+            cls.getDeclaredMethod("shallowCopy");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static FieldAccessor accessorOf(FieldSpecification<?, ?> fs) {
+        final FieldAccessor accessor =
+                fs instanceof AccessibleFieldSpecification ? ((AccessibleFieldSpecification<?, ?>) fs).getAccessor() :
+                null;
+        return accessor != null ? accessor : new FieldAccessor(fs.getJavaField());
+    }
+
+    /**
+     * Gets cloner for instances of the specified class.
+     * <p>
+     * The cloner stored in the entity type is returned if it handles the specified class. Otherwise, a new cloner is
+     * created for the specified class, callers are expected to keep it for subsequent instances of the class.
+     *
+     * @param et  Entity type
+     * @param cls Class of the cloned instance
+     * @param <T> Entity class
+     * @return Entity cloner
+     */
+    static <T> EntityCloner<T> of(EntityType<T> et, Class<?> cls) {
+        if (et instanceof EntityTypeImpl) {
+            final EntityCloner<T> cloner = ((EntityTypeImpl<T>) et).getCloner();
+            if (cloner != null && cloner.javaType == cls) {
+                return cloner;
+            }
+        }
+        return new EntityCloner<>(et, cls, new ConstructorCache());
+    }
+
+    EntityType<T> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Whether clones created by this cloner are shallow copies of the original.
+     * <p>
+     * If so, the identifier and values of immutable attributes are already set on the clone.
+     *
+     * @return {@code true} if the entity class implements {@link CloneSupport} and declares the shallow copy method,
+     * {@code false} otherwise
+     */
+    boolean createsShallowCopies() {
+        return shallowCopySupported;
+    }
+
+    /**
+     * Creates a new instance into which the specified original is cloned.
+     * <p>
+     * If the entity class supports shallow copies (see {@link #createsShallowCopies()}), the instance is a shallow copy
+     * of the original. Otherwise, it is a new empty instance created using the no-arg constructor.
+     *
+     * @param original The instance being cloned
+     * @return New instance, {@code null} if the instance cannot be created by this cloner
+     */
+    Object newClone(Object original) {
+        if (shallowCopySupported) {
+            final Object copy = ((CloneSupport) original).shallowCopy();
+            if (copy == null || copy.getClass() != original.getClass()) {
+                throw new OWLPersistenceException(
+                        "Shallow copy created by " + original.getClass() + " is not an instance of the same class.");
+            }
+            return copy;
+        }
+        return newInstance();
+    }
+
+    /**
+     * Creates a new empty instance of the entity class using its no-arg constructor.
+     *
+     * @return New instance, {@code null} if the entity class has no no-arg constructor
+     */
+    Object newInstance() {
+        if (constructor == null) {
+            return null;
+        }
+        try {
+            return (Object) constructor.invokeExact(NO_ARGS);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new OWLPersistenceException("Unable to instantiate entity class " + javaType, e);
+        }
+    }
+
+    /**
+     * Copies identifier value of the original into the clone.
+     *
+     * @param original Source instance
+     * @param clone    Target instance
+     */
+    void copyIdentifier(Object original, Object clone) {
+        identifier.setValue(clone, identifier.getValue(original));
+    }
+
+    /**
+     * Gets copiers of all the entity's field specifications except the identifier.
+     *
+     * @return Unmodifiable list of attribute copiers
+     */
+    List<AttributeCopier> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Gets copier of the specified field specification.
+     *
+     * @param fs Field specification
+     * @return Matching copier, {@code null} if the field specification does not belong to this cloner's entity type or
+     * it is the identifier
+     */
+    AttributeCopier getAttribute(FieldSpecification<?, ?> fs) {
+        return attributeIndex.get(fs);
+    }
+
+    /**
+     * Reads and writes value of a single attribute.
+     */
+    static final class AttributeCopier {
+
+        private final FieldSpecification<?, ?> fieldSpec;
+        private final FieldAccessor accessor;
+        private final boolean immutable;
+
+        private AttributeCopier(FieldSpecification<?, ?> fieldSpec) {
+            this.fieldSpec = fieldSpec;
+            this.accessor = accessorOf(fieldSpec);
+            this.immutable = CloneBuilderImpl.isImmutable(fieldSpec.getJavaField().getType());
+        }
+
+        FieldSpecification<?, ?> getFieldSpecification() {
+            return fieldSpec;
+        }
+
+        /**
+         * Whether values of this attribute are of an immutable type and thus can be shared by the original and the
+         * clone.
+         *
+         * @return Immutability of values based on the declared type of the attribute
+         */
+        boolean isImmutable() {
+            return immutable;
+        }
+
+        Object getValue(Object instance) {
+            return accessor.getValue(instance);
+        }
+
+        void setValue(Object instance, Object value) {
+            accessor.setValue(instance, value);
+        }
+    }
+}
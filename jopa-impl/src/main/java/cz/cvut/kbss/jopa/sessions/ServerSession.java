@@ -17,22 +17,36 @@ package cz.cvut.kbss.jopa.sessions;
 import cz.cvut.kbss.jopa.accessors.DefaultStorageAccessor;
 import cz.cvut.kbss.jopa.accessors.StorageAccessor;
 import cz.cvut.kbss.jopa.model.AbstractEntityManager;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
 import cz.cvut.kbss.jopa.query.NamedQueryManager;
 import cz.cvut.kbss.jopa.query.ResultSetMappingManager;
 import cz.cvut.kbss.jopa.sessions.cache.CacheFactory;
+import cz.cvut.kbss.jopa.sessions.cache.CacheStatisticsMXBeanImpl;
+import cz.cvut.kbss.jopa.sessions.cache.coordination.CacheCoordinator;
+import cz.cvut.kbss.jopa.sessions.cache.coordination.CacheInvalidation;
 import cz.cvut.kbss.jopa.transactions.EntityTransaction;
 import cz.cvut.kbss.jopa.utils.Configuration;
 import cz.cvut.kbss.jopa.utils.Wrapper;
 import cz.cvut.kbss.ontodriver.OntologyStorageProperties;
 import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.net.URI;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * The ServerSession is the primary interface for accessing the ontology.
@@ -41,6 +55,11 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class ServerSession extends AbstractSession implements Wrapper {
 
+    private static final int DEFAULT_ASYNC_QUEUE_CAPACITY = 1024;
+    private static final int DEFAULT_COMMIT_LISTENER_QUEUE_CAPACITY = 1024;
+    // How long to wait for pending asynchronous operations on close, in seconds
+    private static final long ASYNC_TERMINATION_TIMEOUT = 10;
+
     private final MetamodelImpl metamodel;
 
     private CacheManager liveObjectCache;
@@ -48,6 +67,16 @@ public class ServerSession extends AbstractSession implements Wrapper {
 
     private Map<EntityTransaction, AbstractEntityManager> runningTransactions;
 
+    private ExecutorService asyncExecutor;
+    // Whether the session has been closed, guarded by this
+    private boolean closed;
+
+    private ObjectName cacheStatisticsMBeanName;
+
+    private CacheCoordinator cacheCoordinator;
+
+    private volatile CommitEventPublisher commitEventPublisher;
+
     ServerSession() {
         super(new Configuration(Collections.emptyMap()));
         this.metamodel = null;
@@ -73,9 +102,39 @@ public class ServerSession extends AbstractSession implements Wrapper {
         assert configuration != null;
         assert metamodel != null;
         this.runningTransactions = new ConcurrentHashMap<>();
-        this.liveObjectCache = CacheFactory.createCache(configuration.getProperties());
+        this.liveObjectCache = CacheFactory.createCache(configuration.getProperties(), metamodel);
         liveObjectCache.setInferredClasses(metamodel.getInferredClasses());
+        if (configuration.contains(JOPAPersistenceProperties.CACHE_COORDINATION_TRANSPORT)) {
+            this.cacheCoordinator = new CacheCoordinator(
+                    CacheCoordinator.createTransport(configuration.getProperties()), liveObjectCache, metamodel);
+            cacheCoordinator.start();
+        }
         this.storageAccessor = new DefaultStorageAccessor(storageProperties, configuration.getProperties());
+        if (configuration.is(JOPAPersistenceProperties.CACHE_STATISTICS_MBEAN)) {
+            registerCacheStatisticsMBean(storageProperties);
+        }
+    }
+
+    private void registerCacheStatisticsMBean(OntologyStorageProperties storageProperties) {
+        try {
+            final ObjectName name = new ObjectName(CacheStatisticsMXBeanImpl.DOMAIN + ":type=CacheStatistics,storage=" +
+                    ObjectName.quote(storageProperties.getPhysicalURI().toString()) + ",id=" +
+                    Integer.toHexString(System.identityHashCode(this)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new CacheStatisticsMXBeanImpl(liveObjectCache.unwrap(CacheStatistics.class)), name);
+            this.cacheStatisticsMBeanName = name;
+        } catch (JMException e) {
+            LOG.error("Unable to register cache statistics MBean.", e);
+        }
+    }
+
+    private void unregisterCacheStatisticsMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(cacheStatisticsMBeanName);
+        } catch (JMException e) {
+            LOG.warn("Unable to unregister cache statistics MBean.", e);
+        }
+        this.cacheStatisticsMBeanName = null;
     }
 
     @Override
@@ -88,11 +147,142 @@ public class ServerSession extends AbstractSession implements Wrapper {
         return new UnitOfWorkImpl(this);
     }
 
+    @Override
+    public <R> CompletableFuture<R> executeAsync(Function<UnitOfWorkImpl, R> operation) {
+        Objects.requireNonNull(operation);
+        return CompletableFuture.supplyAsync(() -> {
+            final UnitOfWorkImpl uow = (UnitOfWorkImpl) acquireUnitOfWork();
+            try {
+                return operation.apply(uow);
+            } finally {
+                uow.release();
+            }
+        }, getAsyncExecutor());
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (closed) {
+            throw new IllegalStateException("The session is closed.");
+        }
+        if (asyncExecutor == null) {
+            this.asyncExecutor = createAsyncExecutor();
+        }
+        return asyncExecutor;
+    }
+
+    private ExecutorService createAsyncExecutor() {
+        final String strPoolSize = getConfiguration().get(JOPAPersistenceProperties.ASYNC_POOL_SIZE);
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        if (strPoolSize != null) {
+            try {
+                poolSize = Integer.parseInt(strPoolSize);
+            } catch (NumberFormatException e) {
+                LOG.warn("Unable to parse async pool size setting value {}, using default value.", strPoolSize);
+            }
+        }
+        if (poolSize < 1) {
+            LOG.warn("Invalid async pool size {}, using default value.", poolSize);
+            poolSize = Runtime.getRuntime().availableProcessors();
+        }
+        final AtomicInteger threadCounter = new AtomicInteger();
+        // Bounded queue, operations exceeding its capacity are rejected instead of piling up
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(resolveAsyncQueueCapacity()), r -> {
+            final Thread t = new Thread(r, "jopa-async-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private int resolveAsyncQueueCapacity() {
+        final String strCapacity = getConfiguration().get(JOPAPersistenceProperties.ASYNC_QUEUE_CAPACITY);
+        if (strCapacity != null) {
+            try {
+                final int capacity = Integer.parseInt(strCapacity);
+                if (capacity > 0) {
+                    return capacity;
+                }
+                LOG.warn("Invalid async queue capacity {}, using default value.", capacity);
+            } catch (NumberFormatException e) {
+                LOG.warn("Unable to parse async queue capacity setting value {}, using default value.",
+                        strCapacity);
+            }
+        }
+        return DEFAULT_ASYNC_QUEUE_CAPACITY;
+    }
+
     @Override
     public CacheManager getLiveObjectCache() {
         return liveObjectCache;
     }
 
+    @Override
+    public boolean isCacheCoordinated() {
+        return cacheCoordinator != null;
+    }
+
+    @Override
+    public void publishCacheInvalidation(CacheInvalidation invalidation) {
+        if (cacheCoordinator != null) {
+            cacheCoordinator.publish(invalidation);
+        }
+    }
+
+    /**
+     * Registers a listener notified about committed transactions.
+     *
+     * @param listener The listener to register
+     */
+    public synchronized void addCommitListener(CommitListener listener) {
+        Objects.requireNonNull(listener);
+        if (commitEventPublisher == null) {
+            this.commitEventPublisher = new CommitEventPublisher(resolveCommitListenerQueueCapacity());
+        }
+        commitEventPublisher.addListener(listener);
+    }
+
+    private int resolveCommitListenerQueueCapacity() {
+        final String strCapacity = getConfiguration().get(JOPAPersistenceProperties.COMMIT_LISTENER_QUEUE_CAPACITY);
+        if (strCapacity != null) {
+            try {
+                final int capacity = Integer.parseInt(strCapacity);
+                if (capacity > 0) {
+                    return capacity;
+                }
+                LOG.warn("Invalid commit listener queue capacity {}, using default value.", capacity);
+            } catch (NumberFormatException e) {
+                LOG.warn("Unable to parse commit listener queue capacity setting value {}, using default value.",
+                        strCapacity);
+            }
+        }
+        return DEFAULT_COMMIT_LISTENER_QUEUE_CAPACITY;
+    }
+
+    /**
+     * Unregisters the specified commit listener.
+     *
+     * @param listener The listener to unregister
+     */
+    public synchronized void removeCommitListener(CommitListener listener) {
+        if (commitEventPublisher != null) {
+            commitEventPublisher.removeListener(listener);
+        }
+    }
+
+    @Override
+    public boolean hasCommitListeners() {
+        final CommitEventPublisher publisher = commitEventPublisher;
+        return publisher != null && publisher.hasListeners();
+    }
+
+    @Override
+    public void notifyCommitListeners(CommitEvent event) {
+        final CommitEventPublisher publisher = commitEventPublisher;
+        if (publisher != null) {
+            publisher.publish(event);
+        }
+    }
+
     public void transactionStarted(EntityTransaction t, AbstractEntityManager em) {
         assert t.isActive();
         runningTransactions.put(t, em);
@@ -105,8 +295,29 @@ public class ServerSession extends AbstractSession implements Wrapper {
         runningTransactions.remove(t);
     }
 
+    /**
+     * Shuts down the executor of asynchronous operations.
+     * <p>
+     * Pending operations are given time to finish, so that they do not access an already closed storage. Operations
+     * which do not finish in time are cancelled.
+     */
+    private static void shutdownAsyncExecutor(ExecutorService executor) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(ASYNC_TERMINATION_TIMEOUT, TimeUnit.SECONDS)) {
+                LOG.warn("Asynchronous operations did not finish in {}s, cancelling them.", ASYNC_TERMINATION_TIMEOUT);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Close the server session and all connections to the underlying data source.
+     * <p>
+     * Asynchronous operations cannot be executed after the session is closed.
      */
     public void close() {
         if (!runningTransactions.isEmpty()) {
@@ -114,6 +325,15 @@ public class ServerSession extends AbstractSession implements Wrapper {
             runningTransactions.keySet().stream().filter(EntityTransaction::isActive)
                                .forEach(EntityTransaction::setRollbackOnly);
         }
+        final ExecutorService executor;
+        synchronized (this) {
+            this.closed = true;
+            executor = asyncExecutor;
+            this.asyncExecutor = null;
+        }
+        if (executor != null) {
+            shutdownAsyncExecutor(executor);
+        }
         if (storageAccessor != null && storageAccessor.isOpen()) {
             try {
                 storageAccessor.close();
@@ -121,6 +341,15 @@ public class ServerSession extends AbstractSession implements Wrapper {
                 LOG.error("Exception caught when closing the storage accessor.", e);
             }
         }
+        if (cacheStatisticsMBeanName != null) {
+            unregisterCacheStatisticsMBean();
+        }
+        if (cacheCoordinator != null) {
+            cacheCoordinator.close();
+        }
+        if (commitEventPublisher != null) {
+            commitEventPublisher.close();
+        }
         liveObjectCache.close();
     }
 
@@ -21,8 +21,13 @@ import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.AbstractEntityManager;
 import cz.cvut.kbss.jopa.model.BeanListenerAspect;
 import cz.cvut.kbss.jopa.model.EntityManagerImpl.State;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.AttributeNode;
+import cz.cvut.kbss.jopa.model.EntityGraph;
 import cz.cvut.kbss.jopa.model.LoadState;
+import cz.cvut.kbss.jopa.model.Subgraph;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.annotations.BatchFetch;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.lifecycle.PostLoadInvoker;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
@@ -30,10 +35,14 @@ import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.query.NamedQueryManager;
 import cz.cvut.kbss.jopa.query.ResultSetMappingManager;
+import cz.cvut.kbss.jopa.query.UpdateScope;
 import cz.cvut.kbss.jopa.query.sparql.SparqlQueryFactory;
+import cz.cvut.kbss.jopa.sessions.cache.InferenceDependencies;
+import cz.cvut.kbss.jopa.sessions.cache.coordination.CacheInvalidation;
 import cz.cvut.kbss.jopa.sessions.change.ChangeManagerImpl;
 import cz.cvut.kbss.jopa.sessions.change.ChangeRecordImpl;
 import cz.cvut.kbss.jopa.sessions.change.ChangeSetFactory;
+import cz.cvut.kbss.jopa.sessions.change.CommittedChanges;
 import cz.cvut.kbss.jopa.sessions.descriptor.InstanceDescriptor;
 import cz.cvut.kbss.jopa.sessions.descriptor.InstanceDescriptorFactory;
 import cz.cvut.kbss.jopa.sessions.validator.AttributeModificationValidator;
@@ -48,7 +57,11 @@ import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static cz.cvut.kbss.jopa.exceptions.OWLEntityExistsException.individualAlreadyManaged;
 import static cz.cvut.kbss.jopa.utils.EntityPropertiesUtils.getValueAsURI;
@@ -63,6 +76,14 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
     private final Map<Object, Object> newObjectsCloneToOriginal;
     private final Map<Object, Object> newObjectsKeyToClone = new HashMap<>();
     private final Map<Object, InstanceDescriptor> instanceDescriptors;
+    // Managed existing instances by their class, candidates for batch loading of lazily loaded attributes
+    private final Map<Class<?>, Set<Object>> clonesByClass = new HashMap<>();
+    // Classes, individuals and contexts modified by update queries, they should be evicted from cache after commit
+    private final Set<Class<?>> updatedClasses = new HashSet<>();
+    private final Set<URI> updatedIndividuals = new HashSet<>();
+    private final Set<URI> updatedContexts = new HashSet<>();
+    // Decides which cached instances with inferred attributes should be evicted after commit, null means all
+    private BiPredicate<Class<?>, Object> affectedInferredObjects;
     private RepositoryMap repoMap;
 
     private boolean hasChanges;
@@ -91,6 +112,10 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
      */
     private final CacheManager cacheManager;
 
+    private final boolean copyOnWriteClones;
+    private final int lazyLoadingBatchSize;
+    private final InferredEviction inferredEviction;
+
     public UnitOfWorkImpl(AbstractSession parent) {
         super(parent.getConfiguration());
         this.parent = Objects.requireNonNull(parent);
@@ -101,6 +126,9 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         this.instanceDescriptors = new IdentityHashMap<>();
         this.repoMap = new RepositoryMap();
         repoMap.initDescriptors();
+        this.copyOnWriteClones = getConfiguration().is(JOPAPersistenceProperties.COPY_ON_WRITE_CLONES);
+        this.lazyLoadingBatchSize = resolveLazyLoadingBatchSize();
+        this.inferredEviction = resolveInferredEviction();
         this.cloneBuilder = new CloneBuilderImpl(this);
         this.collectionFactory = new CollectionFactory(this);
         this.cacheManager = parent.getLiveObjectCache();
@@ -112,6 +140,32 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         this.isActive = true;
     }
 
+    private int resolveLazyLoadingBatchSize() {
+        final String strBatchSize = getConfiguration().get(JOPAPersistenceProperties.LAZY_LOADING_BATCH_SIZE);
+        if (strBatchSize == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(strBatchSize);
+        } catch (NumberFormatException e) {
+            LOG.warn("Unable to parse lazy loading batch size setting value {}, using default value.", strBatchSize);
+            return 1;
+        }
+    }
+
+    private InferredEviction resolveInferredEviction() {
+        final String strEviction = getConfiguration().get(JOPAPersistenceProperties.CACHE_INFERRED_EVICTION);
+        if (strEviction == null) {
+            return InferredEviction.ALL;
+        }
+        try {
+            return InferredEviction.valueOf(strEviction.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Unsupported inferred objects eviction setting value {}, using default value.", strEviction);
+            return InferredEviction.ALL;
+        }
+    }
+
     CloneBuilder getCloneBuilder() {
         return cloneBuilder;
     }
@@ -140,6 +194,31 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         return readObjectInternal(cls, identifier, descriptor);
     }
 
+    /**
+     * Reads an object with the specified identifier without registering it in this persistence context.
+     * <p>
+     * If the object is already managed, the managed instance is returned. Otherwise, the instance provided by the
+     * storage (possibly shared through the second level cache) is returned directly, without being cloned and without
+     * having its changes tracked. Such instance must not be modified.
+     *
+     * @param cls        Expected object class
+     * @param identifier Object identifier
+     * @param descriptor Entity descriptor
+     * @return The loaded object or {@code null} if it does not exist
+     */
+    @Override
+    public <T> T readObjectWithoutRegistration(Class<T> cls, Object identifier, Descriptor descriptor) {
+        Objects.requireNonNull(cls, ErrorUtils.getNPXMessageSupplier("cls"));
+        Objects.requireNonNull(identifier, ErrorUtils.getNPXMessageSupplier("primaryKey"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+
+        final T result = readManagedObject(cls, identifier, descriptor);
+        if (result != null) {
+            return result;
+        }
+        return storage.find(new LoadingParameters<>(cls, getValueAsURI(identifier), descriptor));
+    }
+
     private <T> T readObjectInternal(Class<T> cls, Object identifier, Descriptor descriptor) {
         assert cls != null;
         assert identifier != null;
@@ -199,9 +278,9 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         registerEntityWithPersistenceContext(result);
         registerEntityWithOntologyContext(result, descriptor);
         if (getLiveObjectCache().contains(cls, identifier, descriptor)) {
-            cloneToOriginals.put(result, getLiveObjectCache().get(cls, identifier, descriptor));
+            putClone(result, getLiveObjectCache().get(cls, identifier, descriptor));
         } else {
-            cloneToOriginals.put(result, null);
+            putClone(result, null);
         }
         keysToClones.put(identifier, result);
         return result;
@@ -257,6 +336,7 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         newObjectsCloneToOriginal.clear();
         newObjectsKeyToClone.clear();
         instanceDescriptors.clear();
+        clonesByClass.clear();
         this.hasChanges = false;
         this.hasDeleted = false;
         this.hasNew = false;
@@ -302,6 +382,7 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         }
         storage.rollback();
         clear();
+        clearUpdated();
     }
 
     /**
@@ -318,6 +399,8 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
      */
     private void postCommit() {
         final boolean changes = hasChanges();
+        final CacheInvalidation invalidation = changes && parent.isCacheCoordinated() ? createCacheInvalidation() : null;
+        final CommitEvent commitEvent = changes && parent.hasCommitListeners() ? createCommitEvent() : null;
         clear();
         this.inCommit = false;
         if (changes) {
@@ -325,10 +408,92 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
                 cacheManager.evictAll();
                 this.shouldReleaseAfterCommit = true;
             } else {
-                cacheManager.evictInferredObjects();
+                evictInferredObjects();
+                evictUpdated(updatedClasses, updatedIndividuals, updatedContexts);
             }
         }
+        clearUpdated();
+        this.affectedInferredObjects = null;
+        if (invalidation != null) {
+            parent.publishCacheInvalidation(invalidation);
+        }
+        if (commitEvent != null) {
+            parent.notifyCommitListeners(commitEvent);
+        }
+    }
 
+    /**
+     * Creates invalidation of cache entries affected by the changes being committed, so that it can be published to
+     * other nodes sharing the storage.
+     */
+    private CacheInvalidation createCacheInvalidation() {
+        final CacheInvalidation.Builder builder = CacheInvalidation.builder();
+        if (shouldClearCacheAfterCommit) {
+            return builder.all().build();
+        }
+        if (!getMetamodel().getInferredClasses().isEmpty()) {
+            builder.inferred();
+        }
+        final Consumer<ObjectChangeSet> entryAdder = chSet -> builder
+                .entry(chSet.getObjectClass(), getValueAsURI(getIdentifier(chSet.getCloneObject())),
+                        chSet.getEntityContext());
+        uowChangeSet.getExistingObjectsChanges().forEach(entryAdder);
+        uowChangeSet.getNewObjects().forEach(entryAdder);
+        uowChangeSet.getDeletedObjects().forEach(entryAdder);
+        addUpdated(builder, updatedClasses, updatedIndividuals, updatedContexts);
+        return builder.build();
+    }
+
+    /**
+     * Creates event describing the changes being committed, so that it can be passed to commit listeners.
+     */
+    private CommitEvent createCommitEvent() {
+        final List<EntityChange> entityChanges = new ArrayList<>();
+        uowChangeSet.getNewObjects()
+                    .forEach(chSet -> entityChanges.add(toEntityChange(EntityChange.Type.PERSISTED, chSet)));
+        uowChangeSet.getExistingObjectsChanges()
+                    .forEach(chSet -> entityChanges.add(toEntityChange(EntityChange.Type.UPDATED, chSet)));
+        uowChangeSet.getDeletedObjects()
+                    .forEach(chSet -> entityChanges.add(toEntityChange(EntityChange.Type.REMOVED, chSet)));
+        final boolean unknownChanges = shouldClearCacheAfterCommit || !updatedClasses.isEmpty() ||
+                !updatedIndividuals.isEmpty() || !updatedContexts.isEmpty();
+        return new CommitEvent(entityChanges, unknownChanges, System.currentTimeMillis());
+    }
+
+    private EntityChange toEntityChange(EntityChange.Type type, ObjectChangeSet chSet) {
+        final Set<String> changedAttributes = type == EntityChange.Type.UPDATED ?
+                                              chSet.getChanges().stream().map(r -> r.getAttribute().getName())
+                                                   .collect(Collectors.toSet()) : Collections.emptySet();
+        return new EntityChange(type, chSet.getObjectClass(), getValueAsURI(getIdentifier(chSet.getCloneObject())),
+                chSet.getEntityContext(), changedAttributes);
+    }
+
+    private static CacheInvalidation.Builder addUpdated(CacheInvalidation.Builder builder, Set<Class<?>> classes,
+                                                        Set<URI> individuals, Set<URI> contexts) {
+        classes.forEach(builder::entityClass);
+        individuals.forEach(builder::individual);
+        contexts.forEach(builder::context);
+        return builder;
+    }
+
+    private void evictUpdated(Set<Class<?>> classes, Set<URI> individuals, Set<URI> contexts) {
+        contexts.forEach(cacheManager::evict);
+        classes.forEach(cacheManager::evict);
+        individuals.forEach(cacheManager::evictIndividual);
+    }
+
+    private void clearUpdated() {
+        updatedClasses.clear();
+        updatedIndividuals.clear();
+        updatedContexts.clear();
+    }
+
+    private void evictInferredObjects() {
+        if (affectedInferredObjects != null) {
+            cacheManager.evictInferredObjects(affectedInferredObjects);
+        } else {
+            cacheManager.evictInferredObjects();
+        }
     }
 
     /**
@@ -339,9 +504,26 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
             calculateChanges();
         }
         validateIntegrityConstraints();
+        if (hasChanges() && !shouldClearCacheAfterCommit) {
+            this.affectedInferredObjects = resolveAffectedInferredObjects();
+        }
         storageCommit();
     }
 
+    /**
+     * Resolves which cached instances with inferred attributes may be affected by the changes being committed.
+     *
+     * @return Predicate selecting the affected instances, {@code null} if all of them should be considered affected
+     */
+    private BiPredicate<Class<?>, Object> resolveAffectedInferredObjects() {
+        // Changes made by update queries are not known
+        if (inferredEviction == InferredEviction.ALL || !updatedClasses.isEmpty() || !updatedIndividuals.isEmpty() ||
+                !updatedContexts.isEmpty()) {
+            return null;
+        }
+        return parent.getInferenceDependencies().affectedBy(CommittedChanges.of(uowChangeSet, getMetamodel()));
+    }
+
     private void validateIntegrityConstraints() {
         final IntegrityConstraintsValidator validator = IntegrityConstraintsValidator.getValidator();
         for (ObjectChangeSet changeSet : uowChangeSet.getNewObjects()) {
@@ -429,6 +611,22 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         return clone != null ? cls.cast(cloneToOriginals.get(clone)) : null;
     }
 
+    /**
+     * Gets load state of the specified attribute of a managed instance with the specified identifier.
+     *
+     * @param cls        Class of the instance
+     * @param identifier Instance identifier
+     * @param descriptor Repository descriptor
+     * @param attribute  Attribute whose load state to get
+     * @return Load state of the attribute, {@link LoadState#UNKNOWN} if this UoW doesn't contain a matching instance
+     */
+    public LoadState getManagedAttributeLoadState(Class<?> cls, Object identifier, Descriptor descriptor,
+                                                  FieldSpecification<?, ?> attribute) {
+        final Object clone = getManagedClone(cls, identifier, descriptor);
+        final InstanceDescriptor<?> instanceDescriptor = clone != null ? instanceDescriptors.get(clone) : null;
+        return instanceDescriptor != null ? instanceDescriptor.isLoaded(attribute) : LoadState.UNKNOWN;
+    }
+
     /**
      * Check if this UnitOfWork contains this original entity. This method is used by the CloneBuilder so it does not
      * have to clone already managed referenced objects.
@@ -464,11 +662,84 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         this.hasChanges = true;
     }
 
+    /**
+     * Records that an update query modifying data in the specified scope has been executed.
+     * <p>
+     * Such updates bypass this persistence context, so the affected instances (instances of the affected classes,
+     * instances with the affected identifiers and instances from the affected contexts) are evicted from the second
+     * level cache instead of being loaded and merged. The eviction happens after commit, or immediately when no
+     * transaction is active. An unbounded scope means that the whole cache is evicted.
+     *
+     * @param scope Scope of data possibly modified by the update
+     */
+    public void updateQueryExecuted(UpdateScope scope) {
+        Objects.requireNonNull(scope);
+        if (scope.isUnbounded()) {
+            if (!isInTransaction()) {
+                cacheManager.evictAll();
+                if (parent.isCacheCoordinated()) {
+                    parent.publishCacheInvalidation(CacheInvalidation.builder().all().build());
+                }
+                notifyUpdateQueryExecuted();
+                return;
+            }
+            setShouldClearAfterCommit(true);
+        } else {
+            final Set<Class<?>> affectedClasses = scope.resolveEntityClasses(getMetamodel());
+            if (!isInTransaction()) {
+                // Inferred objects may depend on the updated data
+                cacheManager.evictInferredObjects();
+                evictUpdated(affectedClasses, scope.getSubjects(), scope.getContexts());
+                if (parent.isCacheCoordinated()) {
+                    final CacheInvalidation.Builder builder = CacheInvalidation.builder();
+                    if (!getMetamodel().getInferredClasses().isEmpty()) {
+                        builder.inferred();
+                    }
+                    parent.publishCacheInvalidation(addUpdated(builder, affectedClasses, scope.getSubjects(),
+                            scope.getContexts()).build());
+                }
+                notifyUpdateQueryExecuted();
+                return;
+            }
+            updatedClasses.addAll(affectedClasses);
+            updatedIndividuals.addAll(scope.getSubjects());
+            updatedContexts.addAll(scope.getContexts());
+        }
+        setHasChanges();
+    }
+
+    /**
+     * Notifies commit listeners about an update query executed outside of a transaction (i.e., auto-committed).
+     * <p>
+     * Entities changed by the query are not known.
+     */
+    private void notifyUpdateQueryExecuted() {
+        if (parent.hasCommitListeners()) {
+            parent.notifyCommitListeners(new CommitEvent(Collections.emptyList(), true, System.currentTimeMillis()));
+        }
+    }
+
     @Override
     public CacheManager getLiveObjectCache() {
         return parent.getLiveObjectCache();
     }
 
+    @Override
+    public InferenceDependencies getInferenceDependencies() {
+        return parent.getInferenceDependencies();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The operation is not executed in this unit of work, but in a new one acquired from the parent session, so it
+     * does not see changes pending in this unit of work.
+     */
+    @Override
+    public <R> CompletableFuture<R> executeAsync(Function<UnitOfWorkImpl, R> operation) {
+        return parent.executeAsync(operation);
+    }
+
     UnitOfWorkChangeSet getUowChangeSet() {
         return uowChangeSet;
     }
@@ -531,7 +802,7 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
             return;
         }
         final ChangeRecord record = new ChangeRecordImpl(fieldSpec,
-                EntityPropertiesUtils.getFieldValue(fieldSpec.getJavaField(), clone));
+                EntityPropertiesUtils.getAttributeValue(fieldSpec, clone));
         preventCachingIfReferenceIsNotLoaded(record);
         registerChangeRecord(clone, orig, descriptor, record);
     }
@@ -587,6 +858,49 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         }
     }
 
+    /**
+     * Merges the state of the specified detached entities into this Unit of Work.
+     * <p>
+     * Unlike calling {@link #mergeDetached(Object, Descriptor)} for each of the entities, their existence in the
+     * storage is verified for all of them together and entities which do not exist yet are persisted as a single
+     * batch.
+     *
+     * @param entities   Entities to merge
+     * @param descriptor Entity descriptor, specifies repository context
+     * @return Managed instances the states were merged to, in the order of the specified entities
+     * @throws NullPointerException If {@code entities} or {@code descriptor} is {@code null}
+     */
+    public <T> List<T> mergeDetachedAll(Collection<T> entities, Descriptor descriptor) {
+        Objects.requireNonNull(entities, ErrorUtils.getNPXMessageSupplier("entities"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+
+        final Map<T, Descriptor> withIdentifier = new IdentityHashMap<>(entities.size());
+        for (T entity : entities) {
+            Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+            if (getIdentifier(entity) != null) {
+                withIdentifier.put(entity, descriptor);
+            }
+        }
+        final Set<T> existing = Collections.newSetFromMap(new IdentityHashMap<>());
+        existing.addAll(storage.findExisting(withIdentifier));
+        // Existence of the new objects has just been verified, no need to check it again
+        registerNewObjects(entities.stream().filter(e -> !existing.contains(e)).collect(Collectors.toList()),
+                descriptor, false);
+        final List<T> result = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            if (!existing.contains(entity)) {
+                result.add(entity);
+                continue;
+            }
+            final Object id = getIdentifier(entity);
+            if (isIndividualManaged(id, entity) && !isSameType(id, entity)) {
+                throw individualAlreadyManaged(id);
+            }
+            result.add(mergeDetachedInternal(entity, descriptor));
+        }
+        return result;
+    }
+
     private boolean isSameType(Object id, Object entity) {
         final Class<?> mergedType = entity.getClass();
         final Object managed = keysToClones.containsKey(id) ? keysToClones.get(id) : newObjectsKeyToClone.get(id);
@@ -602,7 +916,7 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         try {
             // Merge only the changed attributes
             final ObjectChangeSet chSet = ChangeSetFactory.createObjectChangeSet(clone, entity, descriptor);
-            changeManager.calculateChanges(chSet);
+            changeManager.calculateModifiedChanges(chSet);
             if (chSet.hasChanges()) {
                 et.getLifecycleListenerManager().invokePreUpdateCallbacks(clone);
                 final DetachedInstanceMerger merger = new DetachedInstanceMerger(this);
@@ -687,7 +1001,7 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
     }
 
     private void registerClone(Object clone, Object original, Descriptor descriptor) {
-        cloneToOriginals.put(clone, original);
+        putClone(clone, original);
         final Object identifier = EntityPropertiesUtils.getIdentifier(clone, getMetamodel());
         keysToClones.put(identifier, clone);
         instanceDescriptors
@@ -764,16 +1078,68 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
     private void registerNewObjectInternal(Object entity, Descriptor descriptor) {
         final EntityTypeImpl<?> eType = entityType(entity.getClass());
         eType.getLifecycleListenerManager().invokePrePersistCallbacks(entity);
-        Object id = getIdentifier(entity);
+        final Object id = getIdentifier(entity);
         if (id == null) {
             EntityPropertiesUtils.verifyIdentifierIsGenerated(entity, eType);
         }
         verifyCanPersist(id, entity, eType, descriptor);
         storage.persist(id, entity, descriptor);
-        if (id == null) {
-            // If the ID was null, extract it from the entity. It is present now
-            id = getIdentifier(entity);
+        registerPersistedObject(entity, eType, descriptor);
+    }
+
+    /**
+     * Registers the specified new objects in this Unit of Work.
+     * <p>
+     * Unlike calling {@link #registerNewObject(Object, Descriptor)} for each of the objects, existence of the objects
+     * in the storage is verified for all of them together and the objects are persisted as a single batch.
+     *
+     * @param entities   The objects to register
+     * @param descriptor Entity descriptor, specifying optionally contexts into which the objects will be persisted
+     * @throws NullPointerException     If {@code entities}, any of the objects or {@code descriptor} is {@code null}
+     * @throws OWLEntityExistsException If any of the objects is already managed or exists in the storage
+     */
+    public void registerNewObjects(Collection<?> entities, Descriptor descriptor) {
+        Objects.requireNonNull(entities, ErrorUtils.getNPXMessageSupplier("entities"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+
+        registerNewObjects(entities, descriptor, true);
+    }
+
+    private void registerNewObjects(Collection<?> entities, Descriptor descriptor, boolean verifyNotInStorage) {
+        final Map<Object, Descriptor> toPersist = new IdentityHashMap<>(entities.size());
+        final Map<Object, Descriptor> toVerify = new IdentityHashMap<>(entities.size());
+        final Set<Object> identifiers = new HashSet<>(entities.size());
+        for (Object entity : entities) {
+            Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+            if (toPersist.containsKey(entity)) {
+                continue;
+            }
+            final EntityTypeImpl<?> eType = entityType(entity.getClass());
+            eType.getLifecycleListenerManager().invokePrePersistCallbacks(entity);
+            final Object id = getIdentifier(entity);
+            if (id == null) {
+                EntityPropertiesUtils.verifyIdentifierIsGenerated(entity, eType);
+            } else {
+                if (isIndividualManaged(id, entity) && !entity.getClass().isEnum() || !identifiers.add(id)) {
+                    throw individualAlreadyManaged(id);
+                }
+                toVerify.put(entity, descriptor);
+            }
+            toPersist.put(entity, descriptor);
+        }
+        final List<Object> existing =
+                verifyNotInStorage && !toVerify.isEmpty() ? storage.findExisting(toVerify) : Collections.emptyList();
+        if (!existing.isEmpty()) {
+            final Object instance = existing.get(0);
+            throw individualExists(getIdentifier(instance), entityType(instance.getClass()));
         }
+        storage.persistAll(toPersist);
+        toPersist.keySet().forEach(entity -> registerPersistedObject(entity, entityType(entity.getClass()), descriptor));
+    }
+
+    private void registerPersistedObject(Object entity, EntityTypeImpl<?> eType, Descriptor descriptor) {
+        // If the ID was null, it has been generated on persist
+        final Object id = getIdentifier(entity);
         assert id != null;
         // Original is null until commit
         newObjectsCloneToOriginal.put(entity, null);
@@ -791,11 +1157,15 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
             throw individualAlreadyManaged(id);
         }
         if (storage.contains(id, instance.getClass(), descriptor)) {
-            throw new OWLEntityExistsException(
-                    "Individual " + id + " of type " + et.getIRI() + " already exists in storage.");
+            throw individualExists(id, et);
         }
     }
 
+    private static OWLEntityExistsException individualExists(Object id, EntityType<?> et) {
+        return new OWLEntityExistsException(
+                "Individual " + id + " of type " + et.getIRI() + " already exists in storage.");
+    }
+
     private boolean isIndividualManaged(Object identifier, Object entity) {
         return keysToClones.containsKey(identifier) ||
                 newObjectsKeyToClone.containsKey(identifier) && !cloneMapping.contains(entity);
@@ -813,6 +1183,12 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         final Object primaryKey = getIdentifier(entity);
         final Descriptor descriptor = getDescriptor(entity);
 
+        markObjectRemoved(entity, primaryKey);
+        storage.remove(primaryKey, et.getJavaType(), descriptor);
+        et.getLifecycleListenerManager().invokePostRemoveCallbacks(entity);
+    }
+
+    private void markObjectRemoved(Object entity, Object primaryKey) {
         if (hasNew && newObjectsCloneToOriginal.containsKey(entity)) {
             unregisterObject(entity);
             newObjectsKeyToClone.remove(primaryKey);
@@ -820,8 +1196,37 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
             deletedObjects.put(entity, entity);
             this.hasDeleted = true;
         }
-        storage.remove(primaryKey, et.getJavaType(), descriptor);
-        et.getLifecycleListenerManager().invokePostRemoveCallbacks(entity);
+    }
+
+    /**
+     * Removes the specified objects.
+     * <p>
+     * Unlike calling {@link #removeObject(Object)} for each of the objects, the objects are removed from the storage
+     * as a single batch.
+     *
+     * @param entities The objects to remove
+     * @throws IllegalArgumentException If any of the objects is not managed by this Unit of Work
+     */
+    public void removeObjects(Collection<?> entities) {
+        assert entities != null;
+        final Map<Object, Descriptor> toRemove = new IdentityHashMap<>(entities.size());
+        for (Object entity : entities) {
+            if (toRemove.containsKey(entity)) {
+                continue;
+            }
+            if (!isObjectManaged(entity)) {
+                throw new IllegalArgumentException(
+                        "Cannot remove entity which is not managed in the current persistence context.");
+            }
+            entityType(entity.getClass()).getLifecycleListenerManager().invokePreRemoveCallbacks(entity);
+            final Descriptor descriptor = getDescriptor(entity);
+            markObjectRemoved(entity, getIdentifier(entity));
+            toRemove.put(entity, descriptor);
+        }
+        storage.removeAll(toRemove);
+        toRemove.keySet().forEach(
+                entity -> entityType(entity.getClass()).getLifecycleListenerManager()
+                                                       .invokePostRemoveCallbacks(entity));
     }
 
     @Override
@@ -833,6 +1238,12 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         storage.persist(id, entity, getDescriptor(entity));
     }
 
+    private void putClone(Object clone, Object original) {
+        cloneToOriginals.put(clone, original);
+        clonesByClass.computeIfAbsent(clone.getClass(), cls -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                     .add(clone);
+    }
+
     /**
      * Remove the registered object from this Unit of Work.
      *
@@ -843,6 +1254,10 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
             return;
         }
         final Object original = cloneToOriginals.remove(object);
+        final Set<Object> sameClass = clonesByClass.get(object.getClass());
+        if (sameClass != null) {
+            sameClass.remove(object);
+        }
         keysToClones.remove(EntityPropertiesUtils.getIdentifier(object, getMetamodel()));
 
         deletedObjects.remove(object);
@@ -923,15 +1338,137 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
             return;
         }
 
+        final int batchSize = getLazyLoadingBatchSize(field);
+        if (batchSize > 1) {
+            loadEntityFieldInBatch(entity, field, fieldSpec, batchSize);
+            return;
+        }
         storage.loadFieldValue(entity, field, entityDescriptor);
-        final Object orig = EntityPropertiesUtils.getFieldValue(field, entity);
+        processLoadedFieldValue(entity, field, fieldSpec, entityDescriptor);
+    }
+
+    /**
+     * Loads values of all attributes of the specified managed instance which have not been loaded yet (i.e., lazily
+     * loaded attributes).
+     * <p>
+     * This is used to complete the state of instances which are about to be detached, e.g., when this persistence
+     * context is released. Instances referenced by the specified one are not affected.
+     *
+     * @param entity The instance whose attributes to load
+     */
+    public void loadAllFields(Object entity) {
+        Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+        final InstanceDescriptor<?> instanceDescriptor = instanceDescriptors.get(entity);
+        if (instanceDescriptor == null) {
+            return;
+        }
+        for (FieldSpecification<?, ?> fieldSpec : entityType(entity.getClass()).getFieldSpecifications()) {
+            if (instanceDescriptor.isLoaded(fieldSpec) != LoadState.LOADED) {
+                loadEntityField(entity, fieldSpec.getJavaField());
+            }
+        }
+    }
+
+    private int getLazyLoadingBatchSize(Field field) {
+        final BatchFetch batchFetch = field.getAnnotation(BatchFetch.class);
+        return batchFetch != null ? batchFetch.size() : lazyLoadingBatchSize;
+    }
+
+    /**
+     * Loads the field value for the specified entity and up to {@code batchSize - 1} other managed instances of the
+     * same class which do not have the value loaded yet.
+     */
+    private <T> void loadEntityFieldInBatch(T entity, Field field, FieldSpecification<?, ?> fieldSpec,
+                                            int batchSize) {
+        final Map<Object, Descriptor> batch = new IdentityHashMap<>(batchSize);
+        batch.put(entity, getDescriptor(entity));
+        for (Object instance : clonesByClass.getOrDefault(entity.getClass(), Collections.emptySet())) {
+            if (batch.size() >= batchSize) {
+                break;
+            }
+            final InstanceDescriptor<?> instanceDescriptor = instanceDescriptors.get(instance);
+            if (!batch.containsKey(instance) && cloneToOriginals.containsKey(instance) &&
+                    !deletedObjects.containsKey(instance) && instanceDescriptor != null &&
+                    instanceDescriptor.isLoaded(fieldSpec) != LoadState.LOADED) {
+                batch.put(instance, getDescriptor(instance));
+            }
+        }
+        LOG.trace("Loading value of field {} for a batch of {} instances.", field, batch.size());
+        storage.loadFieldValues(batch, field);
+        batch.forEach((instance, descriptor) -> processLoadedFieldValue(instance, field, fieldSpec, descriptor));
+    }
+
+    /**
+     * Loads attributes specified by the entity graph for the specified entities.
+     * <p>
+     * The graph is loaded into the original instances for all the entities together, level by level. Values of graph attributes which are not loaded in the managed instances are then cloned from the
+     * originals.
+     * <p>
+     * Entities not managed by this persistence context (e.g., ones read without registration) are loaded directly.
+     *
+     * @param entities   Entities whose attributes should be loaded
+     * @param descriptor Descriptor of entities not managed by this persistence context
+     * @param graph      Entity graph specifying attributes to load
+     */
+    @Override
+    public void loadEntityGraph(Collection<?> entities, Descriptor descriptor, EntityGraph<?> graph) {
+        Objects.requireNonNull(entities, ErrorUtils.getNPXMessageSupplier("entities"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+        Objects.requireNonNull(graph, ErrorUtils.getNPXMessageSupplier("graph"));
+
+        final Map<Object, Descriptor> originals = new IdentityHashMap<>(entities.size());
+        for (Object entity : entities) {
+            if (cloneToOriginals.containsKey(entity)) {
+                originals.put(cloneToOriginals.get(entity), getDescriptor(entity));
+            } else if (!instanceDescriptors.containsKey(entity)) {
+                originals.put(entity, descriptor);
+            }
+        }
+        storage.loadEntityGraph(originals, graph);
+        final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        entities.forEach(entity -> cloneEntityGraphValues(entity, graph.getAttributeNodes(), visited));
+    }
+
+    private void cloneEntityGraphValues(Object entity, List<AttributeNode<?>> attributeNodes, Set<Object> visited) {
+        if (!cloneToOriginals.containsKey(entity) || !visited.add(entity)) {
+            return;
+        }
+        final Object original = cloneToOriginals.get(entity);
+        final EntityType<?> et = entityType(entity.getClass());
+        final InstanceDescriptor instanceDescriptor = instanceDescriptors.get(entity);
+        for (AttributeNode<?> node : attributeNodes) {
+            final FieldSpecification<?, ?> fieldSpec = et.getFieldSpecification(node.getAttributeName());
+            final Field field = fieldSpec.getJavaField();
+            if (instanceDescriptor.isLoaded(fieldSpec) != LoadState.LOADED) {
+                final Object value = EntityPropertiesUtils.getAttributeValue(fieldSpec, original);
+                final Descriptor fieldDescriptor = getFieldDescriptor(entity, field, getDescriptor(entity));
+                EntityPropertiesUtils.setAttributeValue(fieldSpec, entity,
+                        cloneLoadedFieldValue(entity, field, fieldDescriptor, value));
+                instanceDescriptor.setLoaded(fieldSpec, LoadState.LOADED);
+            }
+            for (Subgraph<?> subgraph : node.getSubgraphs().values()) {
+                final Object value = EntityPropertiesUtils.getAttributeValue(fieldSpec, entity);
+                if (value instanceof Collection) {
+                    ((Collection<?>) value)
+                            .forEach(v -> cloneEntityGraphValues(v, subgraph.getAttributeNodes(), visited));
+                } else if (value != null) {
+                    cloneEntityGraphValues(value, subgraph.getAttributeNodes(), visited);
+                }
+            }
+        }
+    }
+
+    private <T> void processLoadedFieldValue(T entity, Field field, FieldSpecification<?, ?> fieldSpec,
+                                             Descriptor entityDescriptor) {
+        final Object orig = EntityPropertiesUtils.getAttributeValue(fieldSpec, entity);
         final Object entityOriginal = getOriginal(entity);
         if (entityOriginal != null) {
-            EntityPropertiesUtils.setFieldValue(field, entityOriginal, orig);
+            EntityPropertiesUtils.setAttributeValue(fieldSpec, entityOriginal, orig);
+            cacheManager.update(getIdentifier(entity), entityOriginal, entityDescriptor);
         }
         final Descriptor fieldDescriptor = getFieldDescriptor(entity, field, entityDescriptor);
         final Object clone = cloneLoadedFieldValue(entity, field, fieldDescriptor, orig);
-        EntityPropertiesUtils.setFieldValue(field, entity, clone);
+        EntityPropertiesUtils.setAttributeValue(fieldSpec, entity, clone);
         instanceDescriptors.get(entity).setLoaded(fieldSpec, LoadState.LOADED);
     }
 
@@ -1062,6 +1599,29 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         return collectionFactory.createIndirectCollection(collection, owner, field);
     }
 
+    /**
+     * Whether clones built by this persistence context share collections of immutable values with the originals until
+     * they are modified.
+     *
+     * @return Copy-on-write cloning status
+     * @see JOPAPersistenceProperties#COPY_ON_WRITE_CLONES
+     */
+    public boolean usesCopyOnWriteClones() {
+        return copyOnWriteClones;
+    }
+
+    /**
+     * Creates an indirect collection, which shares the specified collection until it is first modified.
+     *
+     * @param collection Collection to share
+     * @param owner      Owner of the collection
+     * @param field      Field filled with the collection
+     * @return Copy-on-write indirect collection
+     */
+    public IndirectCollection<?> createCopyOnWriteCollection(Collection<?> collection, Object owner, Field field) {
+        return collectionFactory.createCopyOnWriteCollection(collection, owner, field);
+    }
+
     /**
      * Remove indirect collection implementations from the specified entity (if present).
      *
@@ -1071,10 +1631,10 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         assert entity != null;
         final EntityType<?> et = entityType(entity.getClass());
         for (FieldSpecification<?, ?> fs : et.getFieldSpecifications()) {
-            final Object value = EntityPropertiesUtils.getFieldValue(fs.getJavaField(), entity);
+            final Object value = EntityPropertiesUtils.getAttributeValue(fs, entity);
             if (value instanceof IndirectCollection) {
                 IndirectCollection<?> indCol = (IndirectCollection<?>) value;
-                EntityPropertiesUtils.setFieldValue(fs.getJavaField(), entity, indCol.getReferencedCollection());
+                EntityPropertiesUtils.setAttributeValue(fs, entity, indCol.unwrap());
             }
         }
     }
@@ -1140,4 +1700,13 @@ public class UnitOfWorkImpl extends AbstractSession implements UnitOfWork, Confi
         }
         return storage.unwrap(cls);
     }
+
+    /**
+     * Strategies of evicting instances with inferred attributes from the second level cache after commit.
+     *
+     * @see JOPAPersistenceProperties#CACHE_INFERRED_EVICTION
+     */
+    private enum InferredEviction {
+        ALL, DEPENDENCIES
+    }
 }
@@ -0,0 +1,269 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.sessions.CacheCounters;
+import cz.cvut.kbss.jopa.sessions.CacheStatistics;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Collects statistics of a second level cache.
+ * <p>
+ * The counters are striped ({@link LongAdder}), so that recording does not contend between threads accessing the
+ * cache.
+ */
+class CacheStatisticsImpl implements CacheStatistics {
+
+    private static final Counters EMPTY = new Counters();
+
+    private final LongSupplier sizeSupplier;
+
+    private final Counters total = new Counters();
+    private final ConcurrentMap<Class<?>, Counters> classCounters = new ConcurrentHashMap<>();
+    // ConcurrentHashMap does not support null keys, so the default context is kept separately
+    private final ConcurrentMap<URI, Counters> contextCounters = new ConcurrentHashMap<>();
+    private volatile Counters defaultContextCounters;
+
+    /**
+     * Creates new statistics.
+     *
+     * @param sizeSupplier Provides the current number of instances in the cache
+     */
+    CacheStatisticsImpl(LongSupplier sizeSupplier) {
+        this.sizeSupplier = sizeSupplier;
+    }
+
+    private void recordHit(Class<?> cls, URI context) {
+        total.hits.increment();
+        forClass(cls).hits.increment();
+        forCtx(context).hits.increment();
+    }
+
+    private void recordMiss(Class<?> cls, URI context) {
+        total.misses.increment();
+        forClass(cls).misses.increment();
+        forCtx(context).misses.increment();
+    }
+
+    /**
+     * Records a cache lookup.
+     *
+     * @param cls     Class of the looked up instance
+     * @param context Context of the looked up instance
+     * @param hit     Whether the instance was found in the cache
+     */
+    void recordLookup(Class<?> cls, URI context, boolean hit) {
+        if (hit) {
+            recordHit(cls, context);
+        } else {
+            recordMiss(cls, context);
+        }
+    }
+
+    void recordPut(Class<?> cls, URI context) {
+        total.puts.increment();
+        forClass(cls).puts.increment();
+        forCtx(context).puts.increment();
+    }
+
+    void recordEviction(Class<?> cls, URI context) {
+        total.evictions.increment();
+        forClass(cls).evictions.increment();
+        forCtx(context).evictions.increment();
+    }
+
+    void recordLoad(Class<?> cls, URI context, long loadTime) {
+        total.recordLoad(loadTime);
+        forClass(cls).recordLoad(loadTime);
+        forCtx(context).recordLoad(loadTime);
+    }
+
+    private Counters forClass(Class<?> cls) {
+        final Counters counters = classCounters.get(cls);
+        return counters != null ? counters : classCounters.computeIfAbsent(cls, c -> new Counters());
+    }
+
+    private Counters forCtx(URI context) {
+        if (context == null) {
+            if (defaultContextCounters == null) {
+                synchronized (this) {
+                    if (defaultContextCounters == null) {
+                        this.defaultContextCounters = new Counters();
+                    }
+                }
+            }
+            return defaultContextCounters;
+        }
+        final Counters counters = contextCounters.get(context);
+        return counters != null ? counters : contextCounters.computeIfAbsent(context, c -> new Counters());
+    }
+
+    @Override
+    public long getSize() {
+        return sizeSupplier.getAsLong();
+    }
+
+    @Override
+    public Set<Class<?>> getEntityClasses() {
+        return new HashSet<>(classCounters.keySet());
+    }
+
+    @Override
+    public Set<URI> getContexts() {
+        final Set<URI> contexts = new HashSet<>(contextCounters.keySet());
+        if (defaultContextCounters != null) {
+            contexts.add(null);
+        }
+        return contexts;
+    }
+
+    @Override
+    public CacheCounters forEntityClass(Class<?> cls) {
+        return classCounters.getOrDefault(cls, EMPTY);
+    }
+
+    @Override
+    public CacheCounters forContext(URI context) {
+        if (context == null) {
+            final Counters counters = defaultContextCounters;
+            return counters != null ? counters : EMPTY;
+        }
+        return contextCounters.getOrDefault(context, EMPTY);
+    }
+
+    @Override
+    public void reset() {
+        total.reset();
+        classCounters.clear();
+        contextCounters.clear();
+        this.defaultContextCounters = null;
+    }
+
+    @Override
+    public long getHitCount() {
+        return total.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return total.getMissCount();
+    }
+
+    @Override
+    public double getHitRatio() {
+        return total.getHitRatio();
+    }
+
+    @Override
+    public long getPutCount() {
+        return total.getPutCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return total.getEvictionCount();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return total.getLoadCount();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return total.getTotalLoadTime();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "size=" + getSize() +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", puts=" + getPutCount() +
+                ", evictions=" + getEvictionCount() +
+                ", loads=" + getLoadCount() +
+                ", loadTime=" + getTotalLoadTime() +
+                '}';
+    }
+
+    private static final class Counters implements CacheCounters {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder puts = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder loadTime = new LongAdder();
+
+        private void recordLoad(long time) {
+            loads.increment();
+            loadTime.add(time);
+        }
+
+        private void reset() {
+            hits.reset();
+            misses.reset();
+            puts.reset();
+            evictions.reset();
+            loads.reset();
+            loadTime.reset();
+        }
+
+        @Override
+        public long getHitCount() {
+            return hits.sum();
+        }
+
+        @Override
+        public long getMissCount() {
+            return misses.sum();
+        }
+
+        @Override
+        public double getHitRatio() {
+            final long hitCount = getHitCount();
+            final long lookups = hitCount + getMissCount();
+            return lookups > 0 ? (double) hitCount / lookups : 0;
+        }
+
+        @Override
+        public long getPutCount() {
+            return puts.sum();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return evictions.sum();
+        }
+
+        @Override
+        public long getLoadCount() {
+            return loads.sum();
+        }
+
+        @Override
+        public long getTotalLoadTime() {
+            return loadTime.sum();
+        }
+    }
+}
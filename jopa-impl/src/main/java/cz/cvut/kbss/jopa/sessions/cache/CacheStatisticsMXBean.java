@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.sessions.CacheCounters;
+
+import java.util.Map;
+
+/**
+ * Management interface exposing second level cache statistics via JMX.
+ *
+ * @see cz.cvut.kbss.jopa.sessions.CacheStatistics
+ */
+public interface CacheStatisticsMXBean {
+
+    long getSize();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRatio();
+
+    long getPutCount();
+
+    long getEvictionCount();
+
+    long getLoadCount();
+
+    /**
+     * Gets the total time spent loading instances from the storage.
+     *
+     * @return Load time in nanoseconds
+     */
+    long getTotalLoadTime();
+
+    /**
+     * Gets counters broken down by entity class.
+     *
+     * @return Map of entity class names to the corresponding counters
+     */
+    Map<String, CacheCounters> getEntityClassStatistics();
+
+    /**
+     * Gets counters broken down by repository context.
+     *
+     * @return Map of context identifiers to the corresponding counters
+     */
+    Map<String, CacheCounters> getContextStatistics();
+
+    /**
+     * Resets the statistics.
+     */
+    void reset();
+}
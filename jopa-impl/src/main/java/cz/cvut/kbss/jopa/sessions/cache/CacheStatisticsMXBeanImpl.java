@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.sessions.CacheCounters;
+import cz.cvut.kbss.jopa.sessions.CacheStatistics;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Exposes {@link CacheStatistics} as an MXBean.
+ */
+public class CacheStatisticsMXBeanImpl implements CacheStatisticsMXBean {
+
+    /**
+     * Domain of the object names of the registered MXBeans.
+     */
+    public static final String DOMAIN = "cz.cvut.kbss.jopa";
+
+    static final String DEFAULT_CONTEXT = "default";
+
+    private final CacheStatistics statistics;
+
+    public CacheStatisticsMXBeanImpl(CacheStatistics statistics) {
+        this.statistics = Objects.requireNonNull(statistics);
+    }
+
+    @Override
+    public long getSize() {
+        return statistics.getSize();
+    }
+
+    @Override
+    public long getHitCount() {
+        return statistics.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return statistics.getMissCount();
+    }
+
+    @Override
+    public double getHitRatio() {
+        return statistics.getHitRatio();
+    }
+
+    @Override
+    public long getPutCount() {
+        return statistics.getPutCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return statistics.getEvictionCount();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return statistics.getLoadCount();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return statistics.getTotalLoadTime();
+    }
+
+    @Override
+    public Map<String, CacheCounters> getEntityClassStatistics() {
+        final Map<String, CacheCounters> result = new HashMap<>();
+        statistics.getEntityClasses().forEach(cls -> result.put(cls.getName(), statistics.forEntityClass(cls)));
+        return result;
+    }
+
+    @Override
+    public Map<String, CacheCounters> getContextStatistics() {
+        final Map<String, CacheCounters> result = new HashMap<>();
+        for (URI ctx : statistics.getContexts()) {
+            result.put(ctx != null ? ctx.toString() : DEFAULT_CONTEXT, statistics.forContext(ctx));
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        statistics.reset();
+    }
+}
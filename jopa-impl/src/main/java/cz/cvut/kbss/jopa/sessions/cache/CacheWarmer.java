@@ -0,0 +1,350 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.jopa.model.EntityManagerFactory;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.query.TypedQuery;
+import cz.cvut.kbss.jopa.utils.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Preloads configured data into the second level cache in the background.
+ * <p>
+ * Each preload entry is either a fully qualified name of an entity class, in which case all its instances are loaded,
+ * or a pair {@code EntityClass=query}, where query is the name of a named query or a SOQL query returning instances of
+ * the entity class. Entries are separated by semicolons (see {@link JOPAPersistenceProperties#CACHE_PRELOAD}).
+ * <p>
+ * Entries are loaded in parallel on a bounded executor. Each entry is evaluated by a single query whose results are
+ * streamed, so the loaded set is not affected by data changing while preloading runs, as offset-based paging would be.
+ * Loaded instances are counted in batches of configurable size, which is also how often the task checks whether
+ * preloading has been stopped. Instances are loaded in read-only mode, so they are put into the cache without being
+ * registered in any persistence context.
+ */
+public class CacheWarmer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheWarmer.class);
+
+    static final int DEFAULT_BATCH_SIZE = 100;
+    static final int DEFAULT_POOL_SIZE = 1;
+
+    private static final String ENTRY_SEPARATOR = ";";
+    private static final char QUERY_SEPARATOR = '=';
+
+    private final EntityManagerFactory emf;
+    private final List<PreloadTask> tasks;
+    private final int batchSize;
+    private final int poolSize;
+
+    private final AtomicInteger completedTasks = new AtomicInteger();
+    private final AtomicInteger failedTasks = new AtomicInteger();
+    private final AtomicLong loadedInstances = new AtomicLong();
+    private volatile long startTime;
+    private volatile long endTime;
+
+    private ExecutorService executor;
+    private CompletableFuture<Void> completion;
+
+    public CacheWarmer(EntityManagerFactory emf, MetamodelImpl metamodel, Configuration configuration) {
+        this.emf = Objects.requireNonNull(emf);
+        Objects.requireNonNull(metamodel);
+        Objects.requireNonNull(configuration);
+        this.tasks = resolveTasks(configuration.get(JOPAPersistenceProperties.CACHE_PRELOAD, ""), metamodel);
+        this.batchSize = resolvePositiveInt(configuration, JOPAPersistenceProperties.CACHE_PRELOAD_BATCH_SIZE,
+                DEFAULT_BATCH_SIZE);
+        this.poolSize = resolvePositiveInt(configuration, JOPAPersistenceProperties.CACHE_PRELOAD_POOL_SIZE,
+                DEFAULT_POOL_SIZE);
+    }
+
+    private static List<PreloadTask> resolveTasks(String config, MetamodelImpl metamodel) {
+        final Map<String, EntityType<?>> entities = new HashMap<>();
+        metamodel.getEntities().forEach(et -> entities.put(et.getJavaType().getName(), et));
+        final List<PreloadTask> result = new ArrayList<>();
+        for (String entry : config.split(ENTRY_SEPARATOR)) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            final int separatorIndex = entry.indexOf(QUERY_SEPARATOR);
+            final String className =
+                    separatorIndex < 0 ? entry : entry.substring(0, separatorIndex).trim();
+            final EntityType<?> et = entities.get(className);
+            if (et == null) {
+                LOG.warn("Class {} in cache preload configuration is not an entity class, skipping it.", className);
+                continue;
+            }
+            if (separatorIndex < 0) {
+                result.add(new PreloadTask(et, null, false));
+            } else {
+                final String query = entry.substring(separatorIndex + 1).trim();
+                result.add(new PreloadTask(et, query, metamodel.getNamedQueryManager().hasQuery(query)));
+            }
+        }
+        return result;
+    }
+
+    private static int resolvePositiveInt(Configuration configuration, String property, int defaultValue) {
+        final String value = configuration.get(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+            LOG.warn("Invalid value {} of setting {}, using default value {}.", result, property, defaultValue);
+        } catch (NumberFormatException e) {
+            LOG.warn("Unable to parse value {} of setting {}, using default value {}.", value, property, defaultValue);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Starts preloading in the background.
+     * <p>
+     * This method returns immediately.
+     *
+     * @return Future completed when preloading of all entries finishes
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (completion != null) {
+            return completion;
+        }
+        this.startTime = System.currentTimeMillis();
+        if (tasks.isEmpty()) {
+            this.endTime = startTime;
+            this.completion = CompletableFuture.completedFuture(null);
+            return completion;
+        }
+        LOG.info("Preloading second level cache, {} entries.", tasks.size());
+        final AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.min(poolSize, tasks.size()), r -> {
+            final Thread t = new Thread(r, "jopa-cache-preload-" + threadCounter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        final CompletableFuture<?>[] futures = tasks.stream()
+                                                    .map(t -> CompletableFuture.runAsync(() -> preload(t), executor))
+                                                    .toArray(CompletableFuture[]::new);
+        this.completion = CompletableFuture.allOf(futures).whenComplete((r, e) -> {
+            this.endTime = System.currentTimeMillis();
+            LOG.info("Second level cache preloading finished. Loaded {} instances in {} ms, {} of {} entries failed.",
+                    loadedInstances.get(), endTime - startTime, failedTasks.get(), tasks.size());
+            executor.shutdown();
+        });
+        return completion;
+    }
+
+    private void preload(PreloadTask task) {
+        final long start = System.currentTimeMillis();
+        int loaded = 0;
+        EntityManager em = null;
+        try {
+            em = emf.createEntityManager();
+            try (Stream<?> results = task.createQuery(em).setHint(JOPAPersistenceProperties.READ_ONLY, Boolean.TRUE)
+                                         .getResultStream()) {
+                final Iterator<?> it = results.iterator();
+                int batch = 0;
+                while (it.hasNext() && !Thread.currentThread().isInterrupted()) {
+                    it.next();
+                    if (++batch == batchSize) {
+                        loaded += recordBatch(task, batch);
+                        batch = 0;
+                    }
+                }
+                loaded += recordBatch(task, batch);
+            }
+            LOG.debug("Preloaded {} instances for {} in {} ms.", loaded, task, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            failedTasks.incrementAndGet();
+            LOG.error("Unable to preload {} into the second level cache.", task, e);
+        } finally {
+            if (em != null && em.isOpen()) {
+                em.close();
+            }
+            completedTasks.incrementAndGet();
+        }
+    }
+
+    private int recordBatch(PreloadTask task, int batch) {
+        if (batch > 0) {
+            loadedInstances.addAndGet(batch);
+            LOG.trace("Preloaded batch of {} instances for {}.", batch, task);
+        }
+        return batch;
+    }
+
+    /**
+     * Gets the current progress of preloading.
+     *
+     * @return Progress snapshot
+     */
+    public Progress getProgress() {
+        final long start = startTime;
+        final long end = endTime;
+        final long elapsed = start == 0 ? 0 : (end != 0 ? end : System.currentTimeMillis()) - start;
+        return new Progress(tasks.size(), completedTasks.get(), failedTasks.get(), loadedInstances.get(), elapsed);
+    }
+
+    /**
+     * Stops preloading, if it is still running.
+     */
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    List<PreloadTask> getTasks() {
+        return Collections.unmodifiableList(tasks);
+    }
+
+    static final class PreloadTask {
+
+        private final EntityType<?> entityType;
+        private final String query;
+        private final boolean namedQuery;
+
+        PreloadTask(EntityType<?> entityType, String query, boolean namedQuery) {
+            this.entityType = entityType;
+            this.query = query;
+            this.namedQuery = namedQuery;
+        }
+
+        EntityType<?> getEntityType() {
+            return entityType;
+        }
+
+        String getQuery() {
+            return query;
+        }
+
+        boolean isNamedQuery() {
+            return namedQuery;
+        }
+
+        TypedQuery<?> createQuery(EntityManager em) {
+            final Class<?> cls = entityType.getJavaType();
+            if (query == null) {
+                return em.createNativeQuery("SELECT ?x WHERE { ?x a <" + entityType.getIRI() + "> . }", cls);
+            }
+            return namedQuery ? em.createNamedQuery(query, cls) : em.createQuery(query, cls);
+        }
+
+        @Override
+        public String toString() {
+            return entityType.getJavaType().getSimpleName() + (query != null ? " (" + query + ")" : "");
+        }
+    }
+
+    /**
+     * Snapshot of cache preloading progress.
+     */
+    public static final class Progress {
+
+        private final int totalEntries;
+        private final int completedEntries;
+        private final int failedEntries;
+        private final long loadedInstances;
+        private final long elapsedTime;
+
+        Progress(int totalEntries, int completedEntries, int failedEntries, long loadedInstances, long elapsedTime) {
+            this.totalEntries = totalEntries;
+            this.completedEntries = completedEntries;
+            this.failedEntries = failedEntries;
+            this.loadedInstances = loadedInstances;
+            this.elapsedTime = elapsedTime;
+        }
+
+        /**
+         * Number of configured preload entries.
+         *
+         * @return Number of entries
+         */
+        public int getTotalEntries() {
+            return totalEntries;
+        }
+
+        /**
+         * Number of entries whose preloading has finished, either successfully or with an error.
+         *
+         * @return Number of completed entries
+         */
+        public int getCompletedEntries() {
+            return completedEntries;
+        }
+
+        /**
+         * Number of entries whose preloading failed.
+         *
+         * @return Number of failed entries
+         */
+        public int getFailedEntries() {
+            return failedEntries;
+        }
+
+        /**
+         * Number of instances loaded so far.
+         *
+         * @return Number of loaded instances
+         */
+        public long getLoadedInstances() {
+            return loadedInstances;
+        }
+
+        /**
+         * Time elapsed since preloading started, or its total duration if it is done. In milliseconds.
+         *
+         * @return Elapsed time
+         */
+        public long getElapsedTime() {
+            return elapsedTime;
+        }
+
+        /**
+         * Whether preloading of all entries has finished.
+         *
+         * @return Completion status
+         */
+        public boolean isDone() {
+            return completedEntries == totalEntries;
+        }
+
+        @Override
+        public String toString() {
+            return "Progress{" + completedEntries + "/" + totalEntries + " entries, " + failedEntries + " failed, " +
+                    loadedInstances + " instances, " + elapsedTime + " ms}";
+        }
+    }
+}
@@ -14,14 +14,18 @@
  */
 package cz.cvut.kbss.jopa.sessions.cache;
 
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.sessions.CacheManager;
 
 import java.net.URI;
 import java.util.Set;
+import java.util.function.BiPredicate;
 
 public class DisabledCacheManager implements CacheManager {
 
+    private final CacheStatisticsImpl statistics = new CacheStatisticsImpl(() -> 0L);
+
     @Override
     public void add(Object identifier, Object entity, Descriptor descriptor) {
         // Do nothing
@@ -32,11 +36,26 @@ public class DisabledCacheManager implements CacheManager {
         return null;
     }
 
+    @Override
+    public void update(Object identifier, Object entity, Descriptor descriptor) {
+        // Do nothing
+    }
+
     @Override
     public void evictInferredObjects() {
         // Do nothing
     }
 
+    @Override
+    public void evictInferredObjects(BiPredicate<Class<?>, Object> affected) {
+        // Do nothing
+    }
+
+    @Override
+    public void evictIndividual(Object identifier) {
+        // Do nothing
+    }
+
     @Override
     public void setInferredClasses(Set<Class<?>> inferredClasses) {
         // Do nothing
@@ -47,6 +66,26 @@ public class DisabledCacheManager implements CacheManager {
         // Do nothing
     }
 
+    @Override
+    public void recordLoad(Class<?> cls, URI context, long loadTime) {
+        statistics.recordLoad(cls, context, loadTime);
+    }
+
+    @Override
+    public void recordLookup(Class<?> cls, URI context, boolean hit) {
+        statistics.recordLookup(cls, context, hit);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        if (cls.isAssignableFrom(getClass())) {
+            return cls.cast(this);
+        } else if (cls.isAssignableFrom(statistics.getClass())) {
+            return cls.cast(statistics);
+        }
+        throw new OWLPersistenceException("Instance of class " + cls + " not found.");
+    }
+
     @Override
     public boolean contains(Class<?> cls, Object identifier, Descriptor descriptor) {
         return false;
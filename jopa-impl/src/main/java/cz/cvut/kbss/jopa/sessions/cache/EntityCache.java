@@ -17,14 +17,16 @@ package cz.cvut.kbss.jopa.sessions.cache;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 
 class EntityCache {
 
-    // TODO Think about locking on context level, so that the whole cache doesn't have to be locked when being accessed
+    // Locking is done by cache managers, see PartitionedCacheManager for locking on context level
 
     private static final String DEFAULT_CONTEXT_BASE = "http://defaultContext";
 
@@ -126,6 +128,47 @@ class EntityCache {
         }
     }
 
+    /**
+     * Evicts instances of the specified class whose identifiers match the specified predicate.
+     *
+     * @param cls               Class of instances to evict
+     * @param identifierMatcher Predicate selecting identifiers of the instances to evict
+     */
+    void evict(Class<?> cls, Predicate<Object> identifierMatcher) {
+        for (Map.Entry<URI, Map<Object, Map<Class<?>, Object>>> e : repoCache.entrySet()) {
+            e.getValue().forEach((identifier, instances) -> {
+                if (instances.containsKey(cls) && identifierMatcher.test(identifier)) {
+                    evict(cls, identifier, e.getKey());
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts all instances with the specified identifier, regardless of their class and context.
+     *
+     * @param identifier Instance identifier
+     */
+    void evictIndividual(Object identifier) {
+        assert identifier != null;
+
+        for (Map.Entry<URI, Map<Object, Map<Class<?>, Object>>> e : repoCache.entrySet()) {
+            final Map<Class<?>, Object> instances = e.getValue().get(identifier);
+            if (instances != null) {
+                new ArrayList<>(instances.keySet()).forEach(cls -> evict(cls, identifier, e.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached instances.
+     *
+     * @return Number of instances in the cache
+     */
+    int size() {
+        return descriptors.size();
+    }
+
     private Map<Class<?>, Object> getMapForId(URI context, Object identifier) {
         assert identifier != null;
 
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.model.metamodel.Attribute;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
+import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates memory retained by entity instances stored in the second level cache.
+ * <p>
+ * The estimate is based on the shape of the entity given by the metamodel - it accounts for the instance itself, sizes
+ * of literal values and cardinalities of collections. Referenced entities are counted only as references, because they
+ * are cached (and estimated) separately. Note that a referenced entity remains reachable from the referencing instance
+ * even when it is evicted from the cache or too large to be cached, so the actually retained memory may exceed the
+ * estimate.
+ * <p>
+ * The estimates are approximate, they assume a 64-bit JVM with compressed references.
+ */
+public class EntitySizeEstimator {
+
+    static final long OBJECT_HEADER = 16L;
+    static final long REFERENCE = 4L;
+    // Overhead of a collection or map entry (e.g., hash map node)
+    static final long ENTRY_OVERHEAD = 32L;
+    // Size of boxed primitives, enums and other small values
+    static final long SMALL_VALUE = 16L;
+
+    private final Metamodel metamodel;
+
+    private final Map<Class<?>, List<FieldSpecification<?, ?>>> fieldSpecifications = new ConcurrentHashMap<>();
+
+    public EntitySizeEstimator(Metamodel metamodel) {
+        this.metamodel = Objects.requireNonNull(metamodel);
+    }
+
+    /**
+     * Estimates size of the specified entity instance in bytes.
+     *
+     * @param entity The instance to estimate
+     * @return Estimated size in bytes
+     */
+    public long estimate(Object entity) {
+        Objects.requireNonNull(entity);
+        final List<FieldSpecification<?, ?>> fields =
+                fieldSpecifications.computeIfAbsent(entity.getClass(), this::resolveFieldSpecifications);
+        long size = OBJECT_HEADER + REFERENCE * fields.size();
+        for (FieldSpecification<?, ?> fs : fields) {
+            final Object value = EntityPropertiesUtils.getAttributeValue(fs, entity);
+            size += estimateValue(value, isReference(fs));
+        }
+        return size;
+    }
+
+    private List<FieldSpecification<?, ?>> resolveFieldSpecifications(Class<?> cls) {
+        final EntityType<?> et = metamodel.entity(cls);
+        return new ArrayList<>(et.getFieldSpecifications());
+    }
+
+    private static boolean isReference(FieldSpecification<?, ?> fs) {
+        return fs instanceof Attribute &&
+                ((Attribute<?, ?>) fs).getPersistentAttributeType() == Attribute.PersistentAttributeType.OBJECT;
+    }
+
+    private static long estimateValue(Object value, boolean reference) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Collection) {
+            final Collection<?> col = (Collection<?>) value;
+            long size = OBJECT_HEADER + ENTRY_OVERHEAD;
+            for (Object item : col) {
+                size += ENTRY_OVERHEAD + estimateValue(item, reference);
+            }
+            return size;
+        }
+        if (value instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) value;
+            long size = OBJECT_HEADER + ENTRY_OVERHEAD;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                size += ENTRY_OVERHEAD + estimateValue(e.getKey(), false) + estimateValue(e.getValue(), false);
+            }
+            return size;
+        }
+        if (reference && !(value instanceof URI)) {
+            // Referenced entities are cached on their own
+            return 0L;
+        }
+        return estimateLiteral(value);
+    }
+
+    private static long estimateLiteral(Object value) {
+        if (value instanceof String) {
+            return estimateString((String) value);
+        }
+        if (value instanceof URI) {
+            // URI keeps the string and its parsed components
+            return OBJECT_HEADER + 2 * estimateString(value.toString());
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character ||
+                value instanceof Enum) {
+            return SMALL_VALUE;
+        }
+        // Dates and other values
+        return OBJECT_HEADER + SMALL_VALUE;
+    }
+
+    private static long estimateString(String value) {
+        // String object, its char array header and the characters
+        return 2 * OBJECT_HEADER + 8 + 2L * value.length();
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keys ordered by their expiration time, grouped into buckets of fixed duration.
+ * <p>
+ * Each key is in at most one bucket. Polling expired keys touches only the buckets whose time has passed, so its cost
+ * is proportional to the number of expired keys, not to the number of all keys.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <K> Key type
+ */
+final class ExpiryQueue<K> {
+
+    private final long bucketDuration;
+
+    private final NavigableMap<Long, Set<K>> buckets = new TreeMap<>();
+    private final Map<K, Long> scheduled = new HashMap<>();
+
+    /**
+     * @param bucketDuration Duration of one bucket, in milliseconds. Keys may be returned by {@link #pollExpired(long)}
+     *                       up to this time after their expiration
+     */
+    ExpiryQueue(long bucketDuration) {
+        if (bucketDuration <= 0) {
+            throw new IllegalArgumentException("Bucket duration must be positive.");
+        }
+        this.bucketDuration = bucketDuration;
+    }
+
+    /**
+     * Schedules the specified key to expire at the specified time.
+     * <p>
+     * If the key is already scheduled, it is moved to the bucket corresponding to the new expiration time.
+     *
+     * @param key            Key to schedule
+     * @param expirationTime Expiration time, in milliseconds
+     */
+    synchronized void schedule(K key, long expirationTime) {
+        final long bucket = bucketOf(expirationTime);
+        final Long previous = scheduled.put(key, bucket);
+        if (previous != null) {
+            if (previous == bucket) {
+                return;
+            }
+            removeFromBucket(previous, key);
+        }
+        buckets.computeIfAbsent(bucket, b -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * Schedules the specified key to expire at the specified time, unless it is already scheduled.
+     *
+     * @param key            Key to schedule
+     * @param expirationTime Expiration time, in milliseconds
+     */
+    synchronized void scheduleIfAbsent(K key, long expirationTime) {
+        if (!scheduled.containsKey(key)) {
+            schedule(key, expirationTime);
+        }
+    }
+
+    /**
+     * Removes the specified key from the queue.
+     *
+     * @param key Key to remove
+     */
+    synchronized void remove(K key) {
+        final Long bucket = scheduled.remove(key);
+        if (bucket != null) {
+            removeFromBucket(bucket, key);
+        }
+    }
+
+    private void removeFromBucket(long bucket, K key) {
+        final Set<K> keys = buckets.get(bucket);
+        if (keys != null) {
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                buckets.remove(bucket);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns keys whose expiration time is not after the specified time.
+     *
+     * @param currentTime Current time, in milliseconds
+     * @return Expired keys, possibly empty
+     */
+    synchronized List<K> pollExpired(long currentTime) {
+        final List<K> result = new ArrayList<>();
+        // A bucket is expired when all its expiration times have passed
+        final Iterator<Set<K>> it = buckets.headMap(currentTime / bucketDuration, true).values().iterator();
+        while (it.hasNext()) {
+            final Set<K> keys = it.next();
+            keys.forEach(scheduled::remove);
+            result.addAll(keys);
+            it.remove();
+        }
+        return result;
+    }
+
+    private long bucketOf(long expirationTime) {
+        // Round up so that keys are never considered expired before their expiration time
+        return expirationTime / bucketDuration + (expirationTime % bucketDuration == 0 ? 0 : 1);
+    }
+
+    synchronized int size() {
+        return scheduled.size();
+    }
+}
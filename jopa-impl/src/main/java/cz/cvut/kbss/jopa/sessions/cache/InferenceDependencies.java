@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.model.metamodel.Attribute;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
+import cz.cvut.kbss.jopa.model.metamodel.PropertiesSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.TypesSpecification;
+import cz.cvut.kbss.jopa.sessions.change.CommittedChanges;
+
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Tracks which axioms values of inferred attributes of entity classes depend on.
+ * <p>
+ * The dependencies are derived from the metamodel. An inferred attribute depends on axioms with the property it is
+ * mapped to, inferred types depend on class assertions and inferred unmapped properties depend on all property
+ * assertions. Moreover, inferred attributes of an instance depend on all axioms in which the instance is the subject or
+ * the object.
+ * <p>
+ * The dependencies only approximate what a reasoner may infer, see {@link
+ * cz.cvut.kbss.jopa.model.JOPAPersistenceProperties#CACHE_INFERRED_EVICTION} for their limitations.
+ */
+public class InferenceDependencies {
+
+    private final Metamodel metamodel;
+
+    private final Map<Class<?>, ClassDependencies> dependencies = new ConcurrentHashMap<>();
+
+    public InferenceDependencies(Metamodel metamodel) {
+        this.metamodel = Objects.requireNonNull(metamodel);
+    }
+
+    /**
+     * Creates a predicate deciding whether an instance with inferred attributes may be affected by the specified
+     * changes.
+     *
+     * @param changes Committed changes
+     * @return Predicate accepting entity class and identifier of an instance
+     */
+    public BiPredicate<Class<?>, Object> affectedBy(CommittedChanges changes) {
+        Objects.requireNonNull(changes);
+        return (cls, identifier) -> changes.containsIndividual(identifier) ||
+                dependencies.computeIfAbsent(cls, this::resolveDependencies).intersect(changes);
+    }
+
+    private ClassDependencies resolveDependencies(Class<?> cls) {
+        final EntityType<?> et = metamodel.entity(cls);
+        final ClassDependencies result = new ClassDependencies();
+        for (FieldSpecification<?, ?> fs : et.getFieldSpecifications()) {
+            if (!fs.isInferred()) {
+                continue;
+            }
+            if (fs instanceof TypesSpecification) {
+                result.types = true;
+            } else if (fs instanceof PropertiesSpecification) {
+                result.allProperties = true;
+            } else if (fs instanceof Attribute) {
+                result.properties.add(((Attribute<?, ?>) fs).getIRI().toURI());
+            }
+        }
+        return result;
+    }
+
+    private static final class ClassDependencies {
+        private final Set<URI> properties = new HashSet<>();
+        private boolean types;
+        private boolean allProperties;
+
+        private boolean intersect(CommittedChanges changes) {
+            if (types && changes.containsTypes() || allProperties && changes.containsAnyProperty()) {
+                return true;
+            }
+            return properties.stream().anyMatch(changes::containsProperty);
+        }
+    }
+}
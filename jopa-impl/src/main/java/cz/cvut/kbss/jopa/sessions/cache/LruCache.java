@@ -15,25 +15,88 @@
 package cz.cvut.kbss.jopa.sessions.cache;
 
 import java.net.URI;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
-class LruCache extends LinkedHashMap<LruCache.CacheNode, Object> {
+/**
+ * Keeps cache entries in the least recently used order and evicts the eldest ones when the cache is full.
+ * <p>
+ * The cache is full when either the number of entries reaches capacity or the total weight of the entries exceeds the
+ * maximum weight. The weight of each entry is its value.
+ */
+class LruCache extends LinkedHashMap<LruCache.CacheNode, Long> {
+
+    // Upper bound of the initial hash table size, capacity may be practically unlimited
+    private static final int MAX_INITIAL_CAPACITY = 512;
 
     private final int capacity;
+    private final long maxWeight;
     private final transient Consumer<CacheNode> removeCallback;
 
+    private long weight;
+
     LruCache(int initialCapacity, Consumer<CacheNode> removeCallback) {
-        super(initialCapacity, 1.0f, true);
-        this.capacity = initialCapacity;
+        this(initialCapacity, Long.MAX_VALUE, removeCallback);
+    }
+
+    LruCache(int capacity, long maxWeight, Consumer<CacheNode> removeCallback) {
+        super(Math.min(capacity, MAX_INITIAL_CAPACITY), 1.0f, true);
+        this.capacity = capacity;
+        this.maxWeight = maxWeight;
         this.removeCallback = removeCallback;
     }
 
     @Override
-    protected boolean removeEldestEntry(Map.Entry<CacheNode, Object> eldest) {
+    public Long put(CacheNode key, Long value) {
+        assert value != null;
+        final Long previous = super.put(key, value);
+        this.weight += value - (previous != null ? previous : 0L);
+        evictOverweight();
+        return previous;
+    }
+
+    private void evictOverweight() {
+        final Iterator<Map.Entry<CacheNode, Long>> it = entrySet().iterator();
+        // The most recently added entry is always retained
+        while (weight > maxWeight && size() > 1) {
+            final Map.Entry<CacheNode, Long> eldest = it.next();
+            removeCallback.accept(eldest.getKey());
+            this.weight -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    @Override
+    public Long remove(Object key) {
+        final Long removed = super.remove(key);
+        if (removed != null) {
+            this.weight -= removed;
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        this.weight = 0L;
+    }
+
+    /**
+     * Gets the total weight of entries in this cache.
+     *
+     * @return Sum of entry weights
+     */
+    long getWeight() {
+        return weight;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<CacheNode, Long> eldest) {
         if (this.size() >= capacity) {
             removeCallback.accept(eldest.getKey());
+            this.weight -= eldest.getValue();
             return true;
         }
         return false;
@@ -14,6 +14,7 @@
  */
 package cz.cvut.kbss.jopa.sessions.cache;
 
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.sessions.CacheManager;
@@ -29,12 +30,18 @@ import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * This is a fixed-size second level cache implementation with LRU eviction policy.
  * <p>
  * When the capacity is reached, the least recently used entry is removed from the cache.
+ * <p>
+ * Optionally, the cache can be limited by a memory budget. Size of each entry is then estimated when it is added or
+ * updated and the least recently used entries are removed when the total estimated size exceeds the budget. Entries
+ * larger than the maximum entry size are not cached at all.
  */
 public class LruCacheManager implements CacheManager {
 
@@ -46,12 +53,17 @@ public class LruCacheManager implements CacheManager {
     public static final int DEFAULT_CAPACITY = 512;
 
     private final int capacity;
+    private final long memoryLimit;
+    private final long maxEntrySize;
+    private final ToLongFunction<Object> sizeEstimator;
 
     private final Lock readLock;
     private final Lock writeLock;
 
     private LruEntityCache entityCache;
 
+    private final CacheStatisticsImpl statistics = new CacheStatisticsImpl(this::size);
+
     private Set<Class<?>> inferredClasses;
 
     LruCacheManager() {
@@ -59,13 +71,42 @@ public class LruCacheManager implements CacheManager {
     }
 
     LruCacheManager(Map<String, String> properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Creates new LRU cache manager.
+     *
+     * @param properties    Cache configuration
+     * @param sizeEstimator Estimates size of entities in bytes, used when the cache is limited by memory. May be
+     *                      {@code null}, in which case memory limit is not supported
+     */
+    LruCacheManager(Map<String, String> properties, ToLongFunction<Object> sizeEstimator) {
         Objects.requireNonNull(properties);
-        this.capacity = properties.containsKey(JOPAPersistenceProperties.LRU_CACHE_CAPACITY) ?
-                        resolveCapacitySetting(properties) : DEFAULT_CAPACITY;
+        this.memoryLimit = sizeEstimator != null ? resolveSizeSetting(properties,
+                JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, Long.MAX_VALUE) : Long.MAX_VALUE;
+        if (sizeEstimator == null && properties.containsKey(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT)) {
+            LOG.warn("Entity size estimation is not available, ignoring LRU cache memory limit setting.");
+        }
+        this.maxEntrySize = memoryLimit != Long.MAX_VALUE ? resolveSizeSetting(properties,
+                JOPAPersistenceProperties.LRU_CACHE_MAX_ENTRY_SIZE, memoryLimit) : Long.MAX_VALUE;
+        this.sizeEstimator = memoryLimit != Long.MAX_VALUE ? sizeEstimator : null;
+        if (properties.containsKey(JOPAPersistenceProperties.LRU_CACHE_CAPACITY)) {
+            this.capacity = resolveCapacitySetting(properties);
+        } else {
+            // Number of entries is not limited when the cache is limited by memory
+            this.capacity = this.sizeEstimator != null ? Integer.MAX_VALUE : DEFAULT_CAPACITY;
+        }
         final ReadWriteLock rwLock = new ReentrantReadWriteLock();
         this.readLock = rwLock.readLock();
         this.writeLock = rwLock.writeLock();
-        this.entityCache = new LruEntityCache(capacity);
+        this.entityCache = createEntityCache();
+    }
+
+    private LruEntityCache createEntityCache() {
+        return sizeEstimator != null ?
+               new LruEntityCache(capacity, memoryLimit, maxEntrySize, sizeEstimator, statistics) :
+               new LruEntityCache(capacity, statistics);
     }
 
     private static int resolveCapacitySetting(Map<String, String> properties) {
@@ -82,10 +123,43 @@ public class LruCacheManager implements CacheManager {
         return capacitySetting;
     }
 
+    private static long resolveSizeSetting(Map<String, String> properties, String property, long defaultValue) {
+        if (!properties.containsKey(property)) {
+            return defaultValue;
+        }
+        try {
+            final long value = Long.parseLong(properties.get(property));
+            if (value > 0) {
+                return value;
+            }
+            LOG.warn("Invalid value {} of setting {}. Using default value.", value, property);
+        } catch (NumberFormatException e) {
+            LOG.error("Unable to parse setting {}. Using default value.", property);
+        }
+        return defaultValue;
+    }
+
     int getCapacity() {
         return capacity;
     }
 
+    long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    private long size() {
+        readLock.lock();
+        try {
+            return entityCache.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
     @Override
     public void add(Object primaryKey, Object entity, Descriptor descriptor) {
         Objects.requireNonNull(primaryKey, ErrorUtils.getNPXMessageSupplier("primaryKey"));
@@ -113,6 +187,20 @@ public class LruCacheManager implements CacheManager {
         }
     }
 
+    @Override
+    public void update(Object primaryKey, Object entity, Descriptor descriptor) {
+        Objects.requireNonNull(primaryKey, ErrorUtils.getNPXMessageSupplier("primaryKey"));
+        Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+
+        writeLock.lock();
+        try {
+            entityCache.update(primaryKey, entity, descriptor);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public void evictInferredObjects() {
         writeLock.lock();
@@ -123,6 +211,18 @@ public class LruCacheManager implements CacheManager {
         }
     }
 
+    @Override
+    public void evictInferredObjects(BiPredicate<Class<?>, Object> affected) {
+        Objects.requireNonNull(affected);
+
+        writeLock.lock();
+        try {
+            getInferredClasses().forEach(cls -> entityCache.evict(cls, id -> affected.test(cls, id)));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     private Set<Class<?>> getInferredClasses() {
         if (inferredClasses == null) {
             return Collections.emptySet();
@@ -140,6 +240,26 @@ public class LruCacheManager implements CacheManager {
         // No-op
     }
 
+    @Override
+    public void recordLoad(Class<?> cls, URI context, long loadTime) {
+        statistics.recordLoad(cls, context, loadTime);
+    }
+
+    @Override
+    public void recordLookup(Class<?> cls, URI context, boolean hit) {
+        statistics.recordLookup(cls, context, hit);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        if (cls.isAssignableFrom(getClass())) {
+            return cls.cast(this);
+        } else if (cls.isAssignableFrom(statistics.getClass())) {
+            return cls.cast(statistics);
+        }
+        throw new OWLPersistenceException("Instance of class " + cls + " not found.");
+    }
+
     @Override
     public boolean contains(Class<?> cls, Object identifier, Descriptor descriptor) {
         if (cls == null || identifier == null || descriptor == null) {
@@ -178,6 +298,18 @@ public class LruCacheManager implements CacheManager {
         }
     }
 
+    @Override
+    public void evictIndividual(Object identifier) {
+        Objects.requireNonNull(identifier);
+
+        writeLock.lock();
+        try {
+            entityCache.evictIndividual(identifier);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @Override
     public void evict(URI context) {
         writeLock.lock();
@@ -192,7 +324,7 @@ public class LruCacheManager implements CacheManager {
     public void evictAll() {
         writeLock.lock();
         try {
-            this.entityCache = new LruEntityCache(capacity);
+            this.entityCache = createEntityCache();
         } finally {
             writeLock.unlock();
         }
@@ -200,24 +332,67 @@ public class LruCacheManager implements CacheManager {
 
     static final class LruEntityCache extends EntityCache implements Consumer<LruCache.CacheNode> {
 
-        private static final Object NULL_VALUE = null;
+        private static final long NO_WEIGHT = 0L;
 
         private final LruCache cache;
 
-        LruEntityCache(int capacity) {
+        private final long maxEntrySize;
+        private final ToLongFunction<Object> sizeEstimator;
+
+        private final CacheStatisticsImpl statistics;
+
+        LruEntityCache(int capacity, CacheStatisticsImpl statistics) {
             this.cache = new LruCache(capacity, this);
+            this.maxEntrySize = Long.MAX_VALUE;
+            this.sizeEstimator = null;
+            this.statistics = statistics;
+        }
+
+        LruEntityCache(int capacity, long memoryLimit, long maxEntrySize, ToLongFunction<Object> sizeEstimator,
+                       CacheStatisticsImpl statistics) {
+            this.cache = new LruCache(capacity, memoryLimit, this);
+            this.maxEntrySize = maxEntrySize;
+            this.sizeEstimator = sizeEstimator;
+            this.statistics = statistics;
         }
 
         @Override
         public void accept(LruCache.CacheNode cacheNode) {
-            super.evict(cacheNode.getCls(), cacheNode.getIdentifier(), cacheNode.getContext());
+            final URI ctx = cacheNode.getContext();
+            super.evict(cacheNode.getCls(), cacheNode.getIdentifier(), ctx);
+            statistics.recordEviction(cacheNode.getCls(), defaultContext.equals(ctx) ? null : ctx);
         }
 
         @Override
         void put(Object identifier, Object entity, Descriptor descriptor) {
             final URI ctx = descriptor.getContext() != null ? descriptor.getContext() : defaultContext;
+            final long size = sizeEstimator != null ? sizeEstimator.applyAsLong(entity) : NO_WEIGHT;
+            if (size > maxEntrySize) {
+                LOG.trace("Entity {} exceeds maximum cache entry size, it will not be cached.", identifier);
+                // Make sure a previous version of the instance is not left in the cache
+                evict(entity.getClass(), identifier, ctx);
+                return;
+            }
             super.put(identifier, entity, descriptor);
-            cache.put(new LruCache.CacheNode(ctx, entity.getClass(), identifier), NULL_VALUE);
+            cache.put(new LruCache.CacheNode(ctx, entity.getClass(), identifier), size);
+            statistics.recordPut(entity.getClass(), descriptor.getContext());
+        }
+
+        /**
+         * Re-estimates size of the specified cached instance after its state has changed.
+         */
+        void update(Object identifier, Object entity, Descriptor descriptor) {
+            if (sizeEstimator == null || super.get(entity.getClass(), identifier, descriptor) != entity) {
+                return;
+            }
+            final URI ctx = descriptor.getContext() != null ? descriptor.getContext() : defaultContext;
+            final long size = sizeEstimator.applyAsLong(entity);
+            if (size > maxEntrySize) {
+                LOG.trace("Entity {} exceeds maximum cache entry size, it will be evicted.", identifier);
+                evict(entity.getClass(), identifier, ctx);
+                return;
+            }
+            cache.put(new LruCache.CacheNode(ctx, entity.getClass(), identifier), size);
         }
 
         @Override
@@ -0,0 +1,306 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import cz.cvut.kbss.jopa.sessions.CacheManager;
+import cz.cvut.kbss.jopa.utils.ErrorUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
+
+/**
+ * Second level cache partitioned by repository contexts.
+ * <p>
+ * Each context has its own partition with an independent lock and capacity. When the capacity of a partition is
+ * reached, its least recently used entry is removed. Operations on different contexts thus do not contend with each
+ * other and an eviction of a context just drops the corresponding partition.
+ */
+public class PartitionedCacheManager implements CacheManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PartitionedCacheManager.class);
+
+    private static final String DEFAULT_CONTEXT_BASE = "http://defaultContext";
+
+    private final int partitionCapacity;
+
+    // Partition of the default context, ConcurrentHashMap does not support null keys
+    private final URI defaultContext;
+
+    private final ConcurrentMap<URI, Partition> partitions = new ConcurrentHashMap<>();
+
+    private volatile Set<Class<?>> inferredClasses = Collections.emptySet();
+
+    private final CacheStatisticsImpl statistics = new CacheStatisticsImpl(this::size);
+
+    PartitionedCacheManager() {
+        this(Collections.emptyMap());
+    }
+
+    PartitionedCacheManager(Map<String, String> properties) {
+        Objects.requireNonNull(properties);
+        this.partitionCapacity = properties.containsKey(JOPAPersistenceProperties.PARTITIONED_CACHE_CAPACITY) ?
+                                 resolveCapacitySetting(properties) : LruCacheManager.DEFAULT_CAPACITY;
+        this.defaultContext = URI.create(DEFAULT_CONTEXT_BASE + System.currentTimeMillis());
+    }
+
+    private static int resolveCapacitySetting(Map<String, String> properties) {
+        int capacitySetting = LruCacheManager.DEFAULT_CAPACITY;
+        try {
+            capacitySetting = Integer.parseInt(properties.get(JOPAPersistenceProperties.PARTITIONED_CACHE_CAPACITY));
+            if (capacitySetting <= 0) {
+                LOG.warn("Invalid cache partition capacity value {}. Using default value.", capacitySetting);
+                capacitySetting = LruCacheManager.DEFAULT_CAPACITY;
+            }
+        } catch (NumberFormatException e) {
+            LOG.error("Unable to parse cache partition capacity setting. Using default capacity {}.",
+                    LruCacheManager.DEFAULT_CAPACITY);
+        }
+        return capacitySetting;
+    }
+
+    int getPartitionCapacity() {
+        return partitionCapacity;
+    }
+
+    private long size() {
+        return partitions.values().stream().mapToLong(Partition::size).sum();
+    }
+
+    private URI partitionKey(URI context) {
+        return context != null ? context : defaultContext;
+    }
+
+    private Partition getPartition(URI context) {
+        return partitions.get(partitionKey(context));
+    }
+
+    @Override
+    public void add(Object primaryKey, Object entity, Descriptor descriptor) {
+        Objects.requireNonNull(primaryKey, ErrorUtils.getNPXMessageSupplier("primaryKey"));
+        Objects.requireNonNull(entity, ErrorUtils.getNPXMessageSupplier("entity"));
+        Objects.requireNonNull(descriptor, ErrorUtils.getNPXMessageSupplier("descriptor"));
+
+        final URI context = descriptor.getContext();
+        partitions.computeIfAbsent(partitionKey(context), key -> new Partition(context, partitionCapacity, statistics))
+                  .put(primaryKey, entity, descriptor);
+    }
+
+    @Override
+    public <T> T get(Class<T> cls, Object primaryKey, Descriptor descriptor) {
+        if (cls == null || primaryKey == null || descriptor == null) {
+            return null;
+        }
+        final Partition partition = getPartition(descriptor.getContext());
+        return partition != null ? partition.get(cls, primaryKey, descriptor) : null;
+    }
+
+    @Override
+    public void update(Object primaryKey, Object entity, Descriptor descriptor) {
+        // Partitions are not limited by size of entries, nothing to do
+    }
+
+    @Override
+    public boolean contains(Class<?> cls, Object identifier, Descriptor descriptor) {
+        if (cls == null || identifier == null || descriptor == null) {
+            return false;
+        }
+        final Partition partition = getPartition(descriptor.getContext());
+        return partition != null && partition.contains(cls, identifier, descriptor);
+    }
+
+    @Override
+    public void evictInferredObjects() {
+        final Set<Class<?>> inferred = inferredClasses;
+        partitions.values().forEach(p -> inferred.forEach(p::evict));
+    }
+
+    @Override
+    public void evictInferredObjects(BiPredicate<Class<?>, Object> affected) {
+        Objects.requireNonNull(affected);
+        final Set<Class<?>> inferred = inferredClasses;
+        partitions.values().forEach(p -> inferred.forEach(cls -> p.evict(cls, affected)));
+    }
+
+    @Override
+    public void setInferredClasses(Set<Class<?>> inferredClasses) {
+        this.inferredClasses = inferredClasses != null ? inferredClasses : Collections.emptySet();
+    }
+
+    @Override
+    public void evict(Class<?> cls, Object identifier, URI context) {
+        Objects.requireNonNull(cls, ErrorUtils.getNPXMessageSupplier("cls"));
+        Objects.requireNonNull(identifier, ErrorUtils.getNPXMessageSupplier("primaryKey"));
+
+        final Partition partition = getPartition(context);
+        if (partition != null) {
+            partition.evict(cls, identifier);
+        }
+    }
+
+    @Override
+    public void evict(Class<?> cls) {
+        Objects.requireNonNull(cls);
+        partitions.values().forEach(p -> p.evict(cls));
+    }
+
+    @Override
+    public void evictIndividual(Object identifier) {
+        Objects.requireNonNull(identifier);
+        partitions.values().forEach(p -> p.evictIndividual(identifier));
+    }
+
+    @Override
+    public void evict(URI context) {
+        partitions.remove(partitionKey(context));
+    }
+
+    @Override
+    public void evictAll() {
+        partitions.clear();
+    }
+
+    @Override
+    public void close() {
+        // No-op
+    }
+
+    @Override
+    public void recordLoad(Class<?> cls, URI context, long loadTime) {
+        statistics.recordLoad(cls, context, loadTime);
+    }
+
+    @Override
+    public void recordLookup(Class<?> cls, URI context, boolean hit) {
+        statistics.recordLookup(cls, context, hit);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        if (cls.isAssignableFrom(getClass())) {
+            return cls.cast(this);
+        } else if (cls.isAssignableFrom(statistics.getClass())) {
+            return cls.cast(statistics);
+        }
+        throw new OWLPersistenceException("Instance of class " + cls + " not found.");
+    }
+
+    /**
+     * Cache of a single repository context.
+     */
+    static final class Partition {
+
+        private final URI context;
+
+        private final Lock readLock;
+        private final Lock writeLock;
+
+        final LruCacheManager.LruEntityCache entityCache;
+
+        private Partition(URI context, int capacity, CacheStatisticsImpl statistics) {
+            this.context = context;
+            final ReadWriteLock rwLock = new ReentrantReadWriteLock();
+            this.readLock = rwLock.readLock();
+            this.writeLock = rwLock.writeLock();
+            this.entityCache = new LruCacheManager.LruEntityCache(capacity, statistics);
+        }
+
+        int size() {
+            readLock.lock();
+            try {
+                return entityCache.size();
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        void put(Object identifier, Object entity, Descriptor descriptor) {
+            writeLock.lock();
+            try {
+                entityCache.put(identifier, entity, descriptor);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        <T> T get(Class<T> cls, Object identifier, Descriptor descriptor) {
+            // Access updates the LRU order, so it modifies the cache
+            writeLock.lock();
+            try {
+                return entityCache.get(cls, identifier, descriptor);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        boolean contains(Class<?> cls, Object identifier, Descriptor descriptor) {
+            readLock.lock();
+            try {
+                return entityCache.contains(cls, identifier, descriptor);
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        void evict(Class<?> cls, Object identifier) {
+            writeLock.lock();
+            try {
+                entityCache.evict(cls, identifier, context);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void evict(Class<?> cls) {
+            writeLock.lock();
+            try {
+                entityCache.evict(cls);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void evict(Class<?> cls, BiPredicate<Class<?>, Object> matcher) {
+            writeLock.lock();
+            try {
+                entityCache.evict(cls, id -> matcher.test(cls, id));
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        void evictIndividual(Object identifier) {
+            writeLock.lock();
+            try {
+                entityCache.evictIndividual(identifier);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
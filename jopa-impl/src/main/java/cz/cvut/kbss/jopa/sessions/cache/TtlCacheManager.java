@@ -14,6 +14,7 @@
  */
 package cz.cvut.kbss.jopa.sessions.cache;
 
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.sessions.CacheManager;
@@ -24,12 +25,14 @@ import org.slf4j.LoggerFactory;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiPredicate;
 
 /**
  * Manages the second level cache shared by all persistence contexts.
@@ -38,7 +41,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * put in it, no matter that only one context is affected by the change.
  * <p>
  * This cache is swept regularly by a dedicated thread, which removes all entries whose time-to-live (TTL) has
- * expired.
+ * expired. Contexts are kept in buckets ordered by their expiration time, so that a sweep processes only contexts from
+ * the expired buckets and the cache is locked only while an expired context is being evicted.
  */
 public class TtlCacheManager implements CacheManager {
 
@@ -57,7 +61,9 @@ public class TtlCacheManager implements CacheManager {
 
     private Set<Class<?>> inferredClasses;
 
-    private TtlCache cache;
+    private volatile TtlCache cache;
+
+    private final CacheStatisticsImpl statistics = new CacheStatisticsImpl(this::size);
 
     // Each repository can have its own lock and they could be acquired by this
     // instance itself, no need to pass this burden to callers
@@ -69,11 +75,10 @@ public class TtlCacheManager implements CacheManager {
     private long initDelay;
     private long sweepRate;
     private long timeToLive;
-    private volatile boolean sweepRunning;
 
     public TtlCacheManager(Map<String, String> properties) {
-        this.cache = new TtlCache();
         initSettings(properties);
+        this.cache = new TtlCache(timeToLive, sweepRate);
         final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
         this.readLock = lock.readLock();
         this.writeLock = lock.writeLock();
@@ -133,6 +138,7 @@ public class TtlCacheManager implements CacheManager {
         } finally {
             releaseWriteLock();
         }
+        statistics.recordPut(entity.getClass(), descriptor.getContext());
     }
 
     /**
@@ -141,7 +147,7 @@ public class TtlCacheManager implements CacheManager {
     private void releaseCache() {
         acquireWriteLock();
         try {
-            this.cache = new TtlCache();
+            this.cache = new TtlCache(timeToLive, sweepRate);
         } finally {
             releaseWriteLock();
         }
@@ -157,6 +163,18 @@ public class TtlCacheManager implements CacheManager {
         }
     }
 
+    @Override
+    public void evictInferredObjects(BiPredicate<Class<?>, Object> affected) {
+        Objects.requireNonNull(affected);
+
+        acquireWriteLock();
+        try {
+            getInferredClasses().forEach(cls -> cache.evict(cls, id -> affected.test(cls, id)));
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
     @Override
     public <T> T get(Class<T> cls, Object primaryKey, Descriptor descriptor) {
         if (cls == null || primaryKey == null || descriptor == null) {
@@ -170,6 +188,11 @@ public class TtlCacheManager implements CacheManager {
         }
     }
 
+    @Override
+    public void update(Object primaryKey, Object entity, Descriptor descriptor) {
+        // Entries are not limited by size, nothing to do
+    }
+
     /**
      * Get the set of inferred classes.
      * <p>
@@ -236,6 +259,18 @@ public class TtlCacheManager implements CacheManager {
 
     }
 
+    @Override
+    public void evictIndividual(Object identifier) {
+        Objects.requireNonNull(identifier);
+
+        acquireWriteLock();
+        try {
+            cache.evictIndividual(identifier);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
     @Override
     public void evict(URI context) {
         acquireWriteLock();
@@ -251,6 +286,35 @@ public class TtlCacheManager implements CacheManager {
         releaseCache();
     }
 
+    @Override
+    public void recordLoad(Class<?> cls, URI context, long loadTime) {
+        statistics.recordLoad(cls, context, loadTime);
+    }
+
+    @Override
+    public void recordLookup(Class<?> cls, URI context, boolean hit) {
+        statistics.recordLookup(cls, context, hit);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> cls) {
+        if (cls.isAssignableFrom(getClass())) {
+            return cls.cast(this);
+        } else if (cls.isAssignableFrom(statistics.getClass())) {
+            return cls.cast(statistics);
+        }
+        throw new OWLPersistenceException("Instance of class " + cls + " not found.");
+    }
+
+    private long size() {
+        acquireReadLock();
+        try {
+            return cache.size();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     private void acquireReadLock() {
         readLock.lock();
     }
@@ -269,46 +333,80 @@ public class TtlCacheManager implements CacheManager {
 
     /**
      * Sweeps the second level cache and removes entities with no more time to live.
+     * <p>
+     * Only contexts from expired buckets are checked. Since access to a context does not move it to another bucket, a
+     * context accessed after it was scheduled is just rescheduled according to its last access time.
      */
     private final class CacheSweeper implements Runnable {
 
         @Override
         public void run() {
             LOG.trace("Running cache sweep.");
+            final TtlCache sweptCache = cache;
+            final long currentTime = System.currentTimeMillis();
+            for (URI ctx : sweptCache.expiryQueue.pollExpired(currentTime)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                if (!rescheduleIfAlive(sweptCache, ctx, currentTime)) {
+                    evictExpired(sweptCache, ctx, currentTime);
+                }
+            }
+        }
+
+        private boolean rescheduleIfAlive(TtlCache sweptCache, URI context, long currentTime) {
+            final Long lastAccess = sweptCache.ttls.get(context);
+            if (lastAccess == null) {
+                // Already evicted
+                return true;
+            }
+            final long expirationTime = lastAccess + timeToLive;
+            if (expirationTime < currentTime) {
+                return false;
+            }
+            sweptCache.expiryQueue.schedule(context, expirationTime);
+            return true;
+        }
+
+        private void evictExpired(TtlCache sweptCache, URI context, long currentTime) {
             TtlCacheManager.this.acquireWriteLock();
             try {
-                if (TtlCacheManager.this.sweepRunning) {
+                // Check again, the context might have been accessed or the whole cache released in the meantime
+                if (sweptCache != cache || rescheduleIfAlive(sweptCache, context, currentTime)) {
                     return;
                 }
-                TtlCacheManager.this.sweepRunning = true;
-                final long currentTime = System.currentTimeMillis();
-                final List<URI> toEvict = new ArrayList<>();
-                // Mark the objects for eviction (can't evict them now, it would
-                // cause ConcurrentModificationException)
-                for (Entry<URI, Long> e : cache.ttls.entrySet()) {
-                    final long lm = e.getValue();
-                    if (lm + TtlCacheManager.this.timeToLive < currentTime) {
-                        toEvict.add(e.getKey());
-                    }
-                }
-                // Evict them
-                toEvict.forEach(TtlCacheManager.this::evict);
+                recordExpiration(context);
+                sweptCache.evict(context);
             } finally {
-                TtlCacheManager.this.sweepRunning = false;
                 TtlCacheManager.this.releaseWriteLock();
             }
         }
+
+        private void recordExpiration(URI context) {
+            final URI ctx = cache.defaultContext.equals(context) ? null : context;
+            cache.repoCache.getOrDefault(context, Collections.emptyMap()).values().forEach(
+                    instances -> instances.keySet().forEach(cls -> statistics.recordEviction(cls, ctx)));
+        }
     }
 
     private static final class TtlCache extends EntityCache {
 
-        private final Map<URI, Long> ttls = new HashMap<>();
+        // Last access times of contexts, updated also by readers holding only the read lock
+        private final Map<URI, Long> ttls = new ConcurrentHashMap<>();
+        private final ExpiryQueue<URI> expiryQueue;
+        private final long timeToLive;
+
+        private TtlCache(long timeToLive, long bucketDuration) {
+            this.timeToLive = timeToLive;
+            this.expiryQueue = new ExpiryQueue<>(bucketDuration);
+        }
 
         @Override
         void put(Object identifier, Object entity, Descriptor descriptor) {
             super.put(identifier, entity, descriptor);
             final URI ctx = descriptor.getContext() != null ? descriptor.getContext() : defaultContext;
-            updateTimeToLive(ctx);
+            final long accessTime = updateTimeToLive(ctx);
+            expiryQueue.scheduleIfAbsent(ctx, accessTime + timeToLive);
         }
 
         @Override
@@ -324,17 +422,20 @@ public class TtlCacheManager implements CacheManager {
             return result;
         }
 
-        private void updateTimeToLive(URI context) {
+        private long updateTimeToLive(URI context) {
             assert context != null;
 
-            ttls.put(context, System.currentTimeMillis());
+            final long accessTime = System.currentTimeMillis();
+            ttls.put(context, accessTime);
+            return accessTime;
         }
 
         @Override
         void evict(URI context) {
             final URI ctx = context != null ? context : defaultContext;
             super.evict(ctx);
-            ttls.remove(context);
+            ttls.remove(ctx);
+            expiryQueue.remove(ctx);
         }
 
         @Override
@@ -349,6 +450,7 @@ public class TtlCacheManager implements CacheManager {
                 }
                 if (m.isEmpty()) {
                     ttls.remove(e.getKey());
+                    expiryQueue.remove(e.getKey());
                 }
             }
         }
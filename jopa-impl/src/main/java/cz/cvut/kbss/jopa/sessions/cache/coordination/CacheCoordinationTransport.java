@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import java.util.function.Consumer;
+
+/**
+ * Transports second level cache invalidations between nodes sharing the same storage.
+ * <p>
+ * Custom implementations can be configured using {@link cz.cvut.kbss.jopa.model.JOPAPersistenceProperties#CACHE_COORDINATION_TRANSPORT}.
+ * They have to provide a public constructor accepting the persistence unit properties ({@code Map<String, String>}).
+ */
+public interface CacheCoordinationTransport {
+
+    /**
+     * Starts receiving invalidations published by other nodes.
+     * <p>
+     * Invalidations published by this transport must not be passed to the receiver.
+     *
+     * @param receiver Handler of the received invalidations
+     */
+    void start(Consumer<CacheInvalidation> receiver);
+
+    /**
+     * Publishes the specified invalidation to other nodes.
+     *
+     * @param invalidation Invalidation to publish
+     */
+    void publish(CacheInvalidation invalidation);
+
+    /**
+     * Stops receiving invalidations and releases resources held by this transport.
+     */
+    void close();
+}
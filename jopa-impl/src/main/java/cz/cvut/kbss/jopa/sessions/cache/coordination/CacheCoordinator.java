@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
+import cz.cvut.kbss.jopa.sessions.CacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Coordinates second level caches of nodes sharing the same storage.
+ * <p>
+ * Invalidations caused by commits on this node are published via the configured transport and invalidations received
+ * from other nodes are applied to the local cache.
+ */
+public class CacheCoordinator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheCoordinator.class);
+
+    private static final String LOOPBACK_TRANSPORT = "loopback";
+    private static final String FILE_TRANSPORT = "file";
+
+    private static final String DEFAULT_CHANNEL = "default";
+    private static final long DEFAULT_POLL_INTERVAL = 1000L;
+
+    private final CacheCoordinationTransport transport;
+    private final CacheManager cache;
+    private final Map<String, Class<?>> entityClasses = new HashMap<>();
+
+    public CacheCoordinator(CacheCoordinationTransport transport, CacheManager cache, Metamodel metamodel) {
+        this.transport = Objects.requireNonNull(transport);
+        this.cache = Objects.requireNonNull(cache);
+        metamodel.getEntities().stream().map(EntityType::getJavaType)
+                 .forEach(cls -> entityClasses.put(cls.getName(), cls));
+    }
+
+    /**
+     * Starts receiving invalidations from other nodes.
+     */
+    public void start() {
+        transport.start(this::apply);
+    }
+
+    /**
+     * Publishes the specified invalidation to other nodes.
+     *
+     * @param invalidation Invalidation caused by a commit on this node
+     */
+    public void publish(CacheInvalidation invalidation) {
+        Objects.requireNonNull(invalidation);
+        if (invalidation.isEmpty()) {
+            return;
+        }
+        LOG.trace("Publishing cache invalidation {}.", invalidation);
+        transport.publish(invalidation);
+    }
+
+    /**
+     * Applies the specified invalidation received from another node to the local cache.
+     *
+     * @param invalidation Received invalidation
+     */
+    void apply(CacheInvalidation invalidation) {
+        if (invalidation.isAll()) {
+            cache.evictAll();
+            return;
+        }
+        if (invalidation.isInferred()) {
+            // Remote changes are not known in detail, so all instances with inferred attributes are possibly affected
+            cache.evictInferredObjects();
+        }
+        invalidation.getContexts().forEach(cache::evict);
+        invalidation.getIndividuals().forEach(cache::evictIndividual);
+        for (String clsName : invalidation.getEntityClasses()) {
+            final Class<?> cls = entityClasses.get(clsName);
+            if (cls != null) {
+                cache.evict(cls);
+            }
+        }
+        for (CacheInvalidation.Entry e : invalidation.getEntries()) {
+            final Class<?> cls = entityClasses.get(e.getEntityClass());
+            if (cls != null) {
+                cache.evict(cls, e.getIdentifier(), e.getContext());
+            } else {
+                // Unknown class, e.g., the nodes have different versions of the model
+                cache.evictIndividual(e.getIdentifier());
+            }
+        }
+    }
+
+    /**
+     * Stops the coordination.
+     */
+    public void close() {
+        transport.close();
+    }
+
+    /**
+     * Creates transport based on the specified configuration.
+     *
+     * @param properties Persistence unit properties
+     * @return Cache coordination transport
+     * @throws IllegalArgumentException If the configuration is invalid
+     */
+    public static CacheCoordinationTransport createTransport(Map<String, String> properties) {
+        final String type = properties.get(JOPAPersistenceProperties.CACHE_COORDINATION_TRANSPORT);
+        Objects.requireNonNull(type);
+        final String channel = properties.get(JOPAPersistenceProperties.CACHE_COORDINATION_CHANNEL);
+        switch (type.toLowerCase()) {
+            case LOOPBACK_TRANSPORT:
+                LOG.debug("Using loopback cache coordination transport.");
+                return new LoopbackCacheCoordinationTransport(channel != null ? channel : DEFAULT_CHANNEL);
+            case FILE_TRANSPORT:
+                if (channel == null) {
+                    throw new IllegalArgumentException("File cache coordination transport requires the " +
+                            JOPAPersistenceProperties.CACHE_COORDINATION_CHANNEL + " setting.");
+                }
+                LOG.debug("Using file-based cache coordination transport in directory {}.", channel);
+                return new FileCacheCoordinationTransport(Paths.get(channel), resolvePollInterval(properties));
+            default:
+                return instantiateTransport(type, properties);
+        }
+    }
+
+    private static long resolvePollInterval(Map<String, String> properties) {
+        final String value = properties.get(JOPAPersistenceProperties.CACHE_COORDINATION_POLL_INTERVAL);
+        if (value == null) {
+            return DEFAULT_POLL_INTERVAL;
+        }
+        try {
+            final long interval = Long.parseLong(value);
+            if (interval > 0) {
+                return interval;
+            }
+            LOG.warn("Invalid cache coordination poll interval {}. Using default value.", interval);
+        } catch (NumberFormatException e) {
+            LOG.error("Unable to parse cache coordination poll interval {}. Using default value.", value);
+        }
+        return DEFAULT_POLL_INTERVAL;
+    }
+
+    private static CacheCoordinationTransport instantiateTransport(String className, Map<String, String> properties) {
+        try {
+            final Class<?> cls = Class.forName(className);
+            if (!CacheCoordinationTransport.class.isAssignableFrom(cls)) {
+                throw new IllegalArgumentException(
+                        "Class " + className + " is not a " + CacheCoordinationTransport.class.getSimpleName());
+            }
+            return (CacheCoordinationTransport) cls.getConstructor(Map.class).newInstance(properties);
+        } catch (ClassNotFoundException | NoSuchMethodException | InstantiationException | IllegalAccessException |
+                InvocationTargetException e) {
+            throw new IllegalArgumentException("Unable to create cache coordination transport " + className, e);
+        }
+    }
+}
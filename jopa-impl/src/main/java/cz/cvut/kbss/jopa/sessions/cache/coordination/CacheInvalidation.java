@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Describes second level cache entries invalidated by a commit.
+ * <p>
+ * Invalidations are published to other nodes sharing the same storage, so that they can evict the corresponding data
+ * from their caches. Entity classes are represented by their names, because the message may be transferred out of
+ * the JVM.
+ */
+public final class CacheInvalidation {
+
+    private final boolean all;
+    private final boolean inferred;
+    private final Set<Entry> entries;
+    private final Set<String> entityClasses;
+    private final Set<URI> individuals;
+    private final Set<URI> contexts;
+
+    private CacheInvalidation(Builder builder) {
+        this.all = builder.all;
+        this.inferred = builder.inferred;
+        this.entries = Collections.unmodifiableSet(builder.entries);
+        this.entityClasses = Collections.unmodifiableSet(builder.entityClasses);
+        this.individuals = Collections.unmodifiableSet(builder.individuals);
+        this.contexts = Collections.unmodifiableSet(builder.contexts);
+    }
+
+    /**
+     * Whether the whole cache should be evicted.
+     *
+     * @return {@code true} if all cached data are invalid
+     */
+    public boolean isAll() {
+        return all;
+    }
+
+    /**
+     * Whether instances with inferred attributes should be evicted.
+     *
+     * @return {@code true} if inferred data may have changed
+     */
+    public boolean isInferred() {
+        return inferred;
+    }
+
+    /**
+     * Gets individual cache entries to evict.
+     *
+     * @return Set of entries
+     */
+    public Set<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Gets names of entity classes whose instances should be evicted.
+     *
+     * @return Set of class names
+     */
+    public Set<String> getEntityClasses() {
+        return entityClasses;
+    }
+
+    /**
+     * Gets identifiers of individuals whose instances should be evicted, regardless of their class and context.
+     *
+     * @return Set of individual identifiers
+     */
+    public Set<URI> getIndividuals() {
+        return individuals;
+    }
+
+    /**
+     * Gets repository contexts to evict.
+     *
+     * @return Set of context identifiers
+     */
+    public Set<URI> getContexts() {
+        return contexts;
+    }
+
+    /**
+     * Checks whether this invalidation does not invalidate anything.
+     *
+     * @return {@code true} if there is nothing to evict
+     */
+    public boolean isEmpty() {
+        return !all && !inferred && entries.isEmpty() && entityClasses.isEmpty() && individuals.isEmpty() &&
+                contexts.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return all == that.all && inferred == that.inferred && entries.equals(that.entries) &&
+                entityClasses.equals(that.entityClasses) && individuals.equals(that.individuals) &&
+                contexts.equals(that.contexts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(all, inferred, entries, entityClasses, individuals, contexts);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+                "all=" + all +
+                ", inferred=" + inferred +
+                ", entries=" + entries +
+                ", entityClasses=" + entityClasses +
+                ", individuals=" + individuals +
+                ", contexts=" + contexts +
+                '}';
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Single cache entry, identified by entity class, identifier and repository context.
+     */
+    public static final class Entry {
+
+        private final String entityClass;
+        private final URI identifier;
+        private final URI context;
+
+        /**
+         * Creates new entry.
+         *
+         * @param entityClass Name of the entity class
+         * @param identifier  Instance identifier
+         * @param context     Repository context, {@code null} represents the default context
+         */
+        public Entry(String entityClass, URI identifier, URI context) {
+            this.entityClass = Objects.requireNonNull(entityClass);
+            this.identifier = Objects.requireNonNull(identifier);
+            this.context = context;
+        }
+
+        public String getEntityClass() {
+            return entityClass;
+        }
+
+        public URI getIdentifier() {
+            return identifier;
+        }
+
+        public URI getContext() {
+            return context;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return entityClass.equals(entry.entityClass) && identifier.equals(entry.identifier) &&
+                    Objects.equals(context, entry.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityClass, identifier, context);
+        }
+
+        @Override
+        public String toString() {
+            return "<" + identifier + "> (" + entityClass + ")" + (context != null ? " in <" + context + ">" : "");
+        }
+    }
+
+    public static final class Builder {
+
+        private boolean all;
+        private boolean inferred;
+        private final Set<Entry> entries = new LinkedHashSet<>();
+        private final Set<String> entityClasses = new LinkedHashSet<>();
+        private final Set<URI> individuals = new LinkedHashSet<>();
+        private final Set<URI> contexts = new LinkedHashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder all() {
+            this.all = true;
+            return this;
+        }
+
+        public Builder inferred() {
+            this.inferred = true;
+            return this;
+        }
+
+        public Builder entry(Class<?> entityClass, URI identifier, URI context) {
+            return entry(entityClass.getName(), identifier, context);
+        }
+
+        public Builder entry(String entityClass, URI identifier, URI context) {
+            entries.add(new Entry(entityClass, identifier, context));
+            return this;
+        }
+
+        public Builder entityClass(Class<?> entityClass) {
+            return entityClass(entityClass.getName());
+        }
+
+        public Builder entityClass(String entityClass) {
+            entityClasses.add(Objects.requireNonNull(entityClass));
+            return this;
+        }
+
+        public Builder individual(URI identifier) {
+            individuals.add(Objects.requireNonNull(identifier));
+            return this;
+        }
+
+        public Builder context(URI context) {
+            contexts.add(Objects.requireNonNull(context));
+            return this;
+        }
+
+        public CacheInvalidation build() {
+            return new CacheInvalidation(this);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line-based text representation of {@link CacheInvalidation}s.
+ * <p>
+ * Each line contains a record type and its tab-separated arguments. IRIs cannot contain whitespace, so no escaping is
+ * necessary.
+ */
+final class CacheInvalidationCodec {
+
+    private static final String SEPARATOR = "\t";
+
+    private static final String ALL = "all";
+    private static final String INFERRED = "inferred";
+    private static final String ENTRY = "entry";
+    private static final String CLASS = "class";
+    private static final String INDIVIDUAL = "individual";
+    private static final String CONTEXT = "context";
+
+    private CacheInvalidationCodec() {
+        throw new AssertionError();
+    }
+
+    static List<String> encode(CacheInvalidation invalidation) {
+        final List<String> lines = new ArrayList<>();
+        if (invalidation.isAll()) {
+            lines.add(ALL);
+        }
+        if (invalidation.isInferred()) {
+            lines.add(INFERRED);
+        }
+        invalidation.getContexts().forEach(ctx -> lines.add(CONTEXT + SEPARATOR + ctx));
+        invalidation.getEntityClasses().forEach(cls -> lines.add(CLASS + SEPARATOR + cls));
+        invalidation.getIndividuals().forEach(ind -> lines.add(INDIVIDUAL + SEPARATOR + ind));
+        invalidation.getEntries().forEach(e -> lines.add(
+                ENTRY + SEPARATOR + e.getEntityClass() + SEPARATOR + e.getIdentifier() +
+                        (e.getContext() != null ? SEPARATOR + e.getContext() : "")));
+        return lines;
+    }
+
+    /**
+     * Decodes invalidation from the specified lines.
+     *
+     * @param lines Encoded invalidation
+     * @return Decoded invalidation
+     * @throws IllegalArgumentException If the lines do not represent a valid invalidation
+     */
+    static CacheInvalidation decode(List<String> lines) {
+        final CacheInvalidation.Builder builder = CacheInvalidation.builder();
+        for (String line : lines) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final String[] parts = line.split(SEPARATOR);
+            switch (parts[0]) {
+                case ALL:
+                    builder.all();
+                    break;
+                case INFERRED:
+                    builder.inferred();
+                    break;
+                case CONTEXT:
+                    builder.context(URI.create(argument(parts, 1, line)));
+                    break;
+                case CLASS:
+                    builder.entityClass(argument(parts, 1, line));
+                    break;
+                case INDIVIDUAL:
+                    builder.individual(URI.create(argument(parts, 1, line)));
+                    break;
+                case ENTRY:
+                    builder.entry(argument(parts, 1, line), URI.create(argument(parts, 2, line)),
+                            parts.length > 3 ? URI.create(parts[3]) : null);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown cache invalidation record " + line);
+            }
+        }
+        return builder.build();
+    }
+
+    private static String argument(String[] parts, int index, String line) {
+        if (parts.length <= index) {
+            throw new IllegalArgumentException("Missing argument in cache invalidation record " + line);
+        }
+        return parts[index];
+    }
+}
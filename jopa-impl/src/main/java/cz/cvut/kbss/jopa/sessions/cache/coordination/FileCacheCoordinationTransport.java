@@ -0,0 +1,193 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Transport exchanging invalidations through files in a directory shared by the nodes.
+ * <p>
+ * Each published invalidation is written into a new file, whose name consists of the publication time, identifier of
+ * the publishing node and a sequence number. The directory is polled regularly for files published by other nodes.
+ * Files older than the retention period are deleted by any node.
+ * <p>
+ * The directory may be on a local or network file system which supports atomic file moves.
+ */
+public class FileCacheCoordinationTransport implements CacheCoordinationTransport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileCacheCoordinationTransport.class);
+
+    static final String FILE_SUFFIX = ".invalidation";
+    private static final String TEMP_FILE_PREFIX = ".";
+
+    // Minimum time for which published files are kept, in millis
+    private static final long MIN_RETENTION = 60000L;
+    private static final int RETENTION_MULTIPLIER = 10;
+
+    private final Path directory;
+    private final long pollInterval;
+    private final long retention;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Accessed only by the polling thread
+    private final Set<String> processed = new HashSet<>();
+
+    private ScheduledExecutorService poller;
+    private Consumer<CacheInvalidation> receiver;
+
+    /**
+     * Creates new transport.
+     *
+     * @param directory    Directory shared by the nodes
+     * @param pollInterval How often the directory is checked for new invalidations, in milliseconds
+     */
+    public FileCacheCoordinationTransport(Path directory, long pollInterval) {
+        this.directory = Objects.requireNonNull(directory);
+        if (pollInterval <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive, got " + pollInterval);
+        }
+        this.pollInterval = pollInterval;
+        this.retention = Math.max(MIN_RETENTION, RETENTION_MULTIPLIER * pollInterval);
+    }
+
+    @Override
+    public synchronized void start(Consumer<CacheInvalidation> receiver) {
+        this.receiver = Objects.requireNonNull(receiver);
+        try {
+            Files.createDirectories(directory);
+            // Invalidations published before this node started are irrelevant, its cache is empty
+            processed.addAll(listPublished());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to initialize cache coordination directory " + directory, e);
+        }
+        this.poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "jopa-cache-coordination");
+            t.setDaemon(true);
+            return t;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private List<String> listPublished() throws IOException {
+        final List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            files.forEach(f -> names.add(f.getFileName().toString()));
+        }
+        names.sort(String::compareTo);
+        return names;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        Objects.requireNonNull(invalidation);
+        final String name = String.format("%013d-%s-%d%s", System.currentTimeMillis(), nodeId,
+                sequence.incrementAndGet(), FILE_SUFFIX);
+        try {
+            final Path tempFile = directory.resolve(TEMP_FILE_PREFIX + name);
+            Files.write(tempFile, CacheInvalidationCodec.encode(invalidation), StandardCharsets.UTF_8);
+            Files.move(tempFile, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.error("Unable to publish cache invalidation {}.", invalidation, e);
+        }
+    }
+
+    void poll() {
+        try {
+            final List<String> published = listPublished();
+            final long now = System.currentTimeMillis();
+            for (String name : published) {
+                if (processed.contains(name)) {
+                    continue;
+                }
+                processed.add(name);
+                if (!name.contains(nodeId)) {
+                    receive(name);
+                }
+            }
+            published.stream().filter(name -> isExpired(name, now)).forEach(this::delete);
+            processed.retainAll(published);
+        } catch (IOException | RuntimeException e) {
+            // Keep polling, the exception would cancel the scheduled task
+            LOG.error("Unable to process cache invalidations in directory {}.", directory, e);
+        }
+    }
+
+    private void receive(String name) throws IOException {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(directory.resolve(name), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            // Already deleted by another node
+            return;
+        }
+        final CacheInvalidation invalidation;
+        try {
+            invalidation = CacheInvalidationCodec.decode(lines);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Skipping invalid cache invalidation file {}.", name, e);
+            return;
+        }
+        LOG.trace("Received cache invalidation {}.", invalidation);
+        receiver.accept(invalidation);
+    }
+
+    private boolean isExpired(String name, long now) {
+        try {
+            final long published = Long.parseLong(name.substring(0, name.indexOf('-')));
+            return published + retention < now;
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    private void delete(String name) {
+        try {
+            Files.deleteIfExists(directory.resolve(name));
+        } catch (IOException e) {
+            LOG.debug("Unable to delete expired cache invalidation file {}.", name, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+            this.poller = null;
+        }
+    }
+}
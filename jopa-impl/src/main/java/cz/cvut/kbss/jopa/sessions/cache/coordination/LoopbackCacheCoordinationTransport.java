@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Transport delivering invalidations to other transports of the same channel in this JVM.
+ * <p>
+ * The invalidations are delivered synchronously, in the publishing thread. This transport is intended mainly for
+ * testing, e.g., when several entity manager factories represent nodes of a cluster.
+ */
+public class LoopbackCacheCoordinationTransport implements CacheCoordinationTransport {
+
+    private static final ConcurrentMap<String, Set<LoopbackCacheCoordinationTransport>> CHANNELS =
+            new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    private volatile Consumer<CacheInvalidation> receiver;
+
+    public LoopbackCacheCoordinationTransport(String channel) {
+        this.channel = Objects.requireNonNull(channel);
+    }
+
+    @Override
+    public void start(Consumer<CacheInvalidation> receiver) {
+        this.receiver = Objects.requireNonNull(receiver);
+        CHANNELS.computeIfAbsent(channel, key -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        Objects.requireNonNull(invalidation);
+        CHANNELS.getOrDefault(channel, Collections.emptySet()).stream().filter(t -> t != this)
+                .forEach(t -> t.receive(invalidation));
+    }
+
+    private void receive(CacheInvalidation invalidation) {
+        final Consumer<CacheInvalidation> r = receiver;
+        if (r != null) {
+            r.accept(invalidation);
+        }
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (key, transports) -> {
+            transports.remove(this);
+            return transports.isEmpty() ? null : transports;
+        });
+        this.receiver = null;
+    }
+}
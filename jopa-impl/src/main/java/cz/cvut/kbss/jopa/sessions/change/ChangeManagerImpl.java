@@ -14,15 +14,20 @@
  */
 package cz.cvut.kbss.jopa.sessions.change;
 
+import cz.cvut.kbss.jopa.model.BeanListenerAspect;
+import cz.cvut.kbss.jopa.model.metamodel.Attribute;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.sessions.ChangeManager;
+import cz.cvut.kbss.jopa.sessions.CloneBuilderImpl;
 import cz.cvut.kbss.jopa.sessions.MetamodelProvider;
 import cz.cvut.kbss.jopa.sessions.ObjectChangeSet;
 import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
+import cz.cvut.kbss.jopa.utils.FieldIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Field;
+import java.util.BitSet;
 import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -70,9 +75,8 @@ public class ChangeManagerImpl implements ChangeManager {
         }
         final Class<?> cls = clone.getClass();
         for (FieldSpecification<?, ?> fs : getFields(cls)) {
-            final Field f = fs.getJavaField();
-            final Object clVal = EntityPropertiesUtils.getFieldValue(f, clone);
-            final Object origVal = EntityPropertiesUtils.getFieldValue(f, original);
+            final Object clVal = EntityPropertiesUtils.getAttributeValue(fs, clone);
+            final Object origVal = EntityPropertiesUtils.getAttributeValue(fs, original);
             final boolean valueChanged = valueChanged(origVal, clVal);
             if (valueChanged) {
                 return true;
@@ -94,6 +98,43 @@ public class ChangeManagerImpl implements ChangeManager {
         return calculateChangesInternal(Objects.requireNonNull(changeSet));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Modified attributes are tracked by {@link BeanListenerAspect}. Only attributes whose setters have been invoked and
+     * attributes whose values can be modified in place (e.g., collections) are compared. If the clone is not tracked
+     * (e.g., it has been created or deserialized outside of a persistence context), all attributes are compared.
+     */
+    @Override
+    public boolean calculateModifiedChanges(ObjectChangeSet changeSet) {
+        Objects.requireNonNull(changeSet);
+        final Object clone = changeSet.getCloneObject();
+        final BitSet dirtyFields = clone instanceof BeanListenerAspect.Manageable ?
+                                   ((BeanListenerAspect.Manageable) clone).getDirtyFields() : null;
+        if (dirtyFields == null) {
+            return calculateChangesInternal(changeSet);
+        }
+        LOG.trace("Calculating changes of modified attributes for change set {}.", changeSet);
+        final Object original = changeSet.getChangedObject();
+        boolean changes = false;
+        for (FieldSpecification<?, ?> fs : getFields(clone.getClass())) {
+            final Field f = fs.getJavaField();
+            if (!dirtyFields.get(FieldIndex.indexOf(clone.getClass(), f)) && !isModifiableInPlace(fs)) {
+                continue;
+            }
+            changes |= calculateChange(fs, original, clone, changeSet);
+        }
+        return changes;
+    }
+
+    private static boolean isModifiableInPlace(FieldSpecification<?, ?> fs) {
+        if (!fs.isCollection() && fs instanceof Attribute && ((Attribute<?, ?>) fs).isAssociation()) {
+            // Singular references are compared by identifier
+            return false;
+        }
+        return !CloneBuilderImpl.isImmutable(fs.getJavaField().getType());
+    }
+
     /**
      * This internal method does the actual changes calculation. It compares every non-static attribute of the clone to
      * the original value. If the values are different, a change record is added into the change set.
@@ -107,18 +148,22 @@ public class ChangeManagerImpl implements ChangeManager {
         Object clone = changeSet.getCloneObject();
         boolean changes = false;
         for (FieldSpecification<?, ?> fs : getFields(clone.getClass())) {
-            final Field f = fs.getJavaField();
-            Object clVal = EntityPropertiesUtils.getFieldValue(f, clone);
-            Object origVal = EntityPropertiesUtils.getFieldValue(f, original);
-            if (clVal == null && origVal == null) {
-                continue;
-            }
-            boolean changed = valueChanged(origVal, clVal);
-            if (changed) {
-                changeSet.addChangeRecord(new ChangeRecordImpl(fs, clVal));
-                changes = true;
-            }
+            changes |= calculateChange(fs, original, clone, changeSet);
         }
         return changes;
     }
+
+    private boolean calculateChange(FieldSpecification<?, ?> fs, Object original, Object clone,
+                                    ObjectChangeSet changeSet) {
+        final Object clVal = EntityPropertiesUtils.getAttributeValue(fs, clone);
+        final Object origVal = EntityPropertiesUtils.getAttributeValue(fs, original);
+        if (clVal == null && origVal == null) {
+            return false;
+        }
+        if (valueChanged(origVal, clVal)) {
+            changeSet.addChangeRecord(new ChangeRecordImpl(fs, clVal));
+            return true;
+        }
+        return false;
+    }
 }
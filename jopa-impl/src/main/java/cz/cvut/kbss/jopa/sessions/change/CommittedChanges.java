@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.change;
+
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.metamodel.Attribute;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.PropertiesSpecification;
+import cz.cvut.kbss.jopa.model.metamodel.TypesSpecification;
+import cz.cvut.kbss.jopa.sessions.ChangeRecord;
+import cz.cvut.kbss.jopa.sessions.ObjectChangeSet;
+import cz.cvut.kbss.jopa.sessions.UnitOfWorkChangeSet;
+import cz.cvut.kbss.jopa.utils.EntityPropertiesUtils;
+import cz.cvut.kbss.jopa.utils.IdentifierTransformer;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Summary of axioms changed by a commit.
+ * <p>
+ * Records individuals which were subjects or objects of the changed axioms, properties of the changed axioms and
+ * whether class assertions or unmapped properties were changed.
+ */
+public class CommittedChanges {
+
+    private final MetamodelImpl metamodel;
+
+    private final Set<URI> individuals = new HashSet<>();
+    private final Set<URI> properties = new HashSet<>();
+    private boolean typesChanged;
+    private boolean unmappedPropertiesChanged;
+
+    private CommittedChanges(MetamodelImpl metamodel) {
+        this.metamodel = metamodel;
+    }
+
+    /**
+     * Creates a summary of changes represented by the specified change set.
+     *
+     * @param changeSet Change set to summarize
+     * @param metamodel Metamodel used to resolve axioms represented by the changed attributes
+     * @return Summary of the changes
+     */
+    public static CommittedChanges of(UnitOfWorkChangeSet changeSet, MetamodelImpl metamodel) {
+        Objects.requireNonNull(changeSet);
+        Objects.requireNonNull(metamodel);
+
+        final CommittedChanges changes = new CommittedChanges(metamodel);
+        changeSet.getNewObjects().forEach(chSet -> changes.addObject(chSet, false));
+        changeSet.getDeletedObjects().forEach(chSet -> changes.addObject(chSet, true));
+        changeSet.getExistingObjectsChanges().forEach(changes::addChanges);
+        return changes;
+    }
+
+    private void addObject(ObjectChangeSet changeSet, boolean deleted) {
+        final Object instance = changeSet.getCloneObject();
+        final EntityType<?> et = metamodel.entity(instance.getClass());
+        individuals.add(EntityPropertiesUtils.getIdentifier(instance, et));
+        // Class assertion of the instance
+        this.typesChanged = true;
+        for (FieldSpecification<?, ?> fs : et.getFieldSpecifications()) {
+            final Object value = EntityPropertiesUtils.getAttributeValue(fs, instance);
+            // Removal deletes all statements about the individual, regardless of the values being loaded
+            if (deleted || value != null) {
+                addAttributeChange(fs, value);
+            }
+        }
+    }
+
+    private void addChanges(ObjectChangeSet changeSet) {
+        individuals.add(EntityPropertiesUtils.getIdentifier(changeSet.getCloneObject(), metamodel));
+        for (ChangeRecord record : changeSet.getChanges()) {
+            addAttributeChange(record.getAttribute(),
+                    EntityPropertiesUtils.getAttributeValue(record.getAttribute(), changeSet.getChangedObject()));
+            addAttributeChange(record.getAttribute(), record.getNewValue());
+        }
+    }
+
+    private void addAttributeChange(FieldSpecification<?, ?> fs, Object value) {
+        if (fs instanceof TypesSpecification) {
+            this.typesChanged = true;
+        } else if (fs instanceof PropertiesSpecification) {
+            this.unmappedPropertiesChanged = true;
+        } else if (fs instanceof Attribute) {
+            final Attribute<?, ?> att = (Attribute<?, ?>) fs;
+            properties.add(att.getIRI().toURI());
+            if (att.getPersistentAttributeType() == Attribute.PersistentAttributeType.OBJECT) {
+                addReferencedIndividuals(value);
+            }
+        }
+    }
+
+    private void addReferencedIndividuals(Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Collection) {
+            ((Collection<?>) value).forEach(this::addReferencedIndividuals);
+        } else if (metamodel.isEntityType(value.getClass())) {
+            individuals.add(EntityPropertiesUtils.getIdentifier(value, metamodel));
+        } else if (IdentifierTransformer.isValidIdentifierType(value.getClass())) {
+            individuals.add(EntityPropertiesUtils.getValueAsURI(value));
+        }
+    }
+
+    /**
+     * Checks whether the specified individual was a subject or an object of any of the changed axioms.
+     *
+     * @param identifier Individual identifier
+     * @return {@code true} if the individual was affected by the changes, {@code false} otherwise
+     */
+    public boolean containsIndividual(Object identifier) {
+        return identifier != null && individuals.contains(EntityPropertiesUtils.getValueAsURI(identifier));
+    }
+
+    /**
+     * Checks whether any axiom with the specified property was changed.
+     *
+     * @param property Property identifier
+     * @return {@code true} if the property was affected by the changes, {@code false} otherwise
+     */
+    public boolean containsProperty(URI property) {
+        return properties.contains(property) || unmappedPropertiesChanged;
+    }
+
+    /**
+     * Whether any property assertion axiom was changed.
+     *
+     * @return {@code true} if any property was affected by the changes, {@code false} otherwise
+     */
+    public boolean containsAnyProperty() {
+        return !properties.isEmpty() || unmappedPropertiesChanged;
+    }
+
+    /**
+     * Whether any class assertion axiom was changed.
+     *
+     * @return {@code true} if class assertions were affected by the changes, {@code false} otherwise
+     */
+    public boolean containsTypes() {
+        return typesChanged;
+    }
+}
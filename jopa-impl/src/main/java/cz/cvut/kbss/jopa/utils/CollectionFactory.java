@@ -55,6 +55,25 @@ public final class CollectionFactory {
         return res;
     }
 
+    /**
+     * Creates a copy-on-write indirect collection, which shares the specified collection until it is first modified.
+     *
+     * @param collection The collection to share
+     * @param owner      Owner of the collection
+     * @param field      The field holding the collection
+     * @return New indirect collection
+     * @see IndirectList#copyOnWrite(Object, Field, UnitOfWorkImpl, List)
+     * @see IndirectSet#copyOnWrite(Object, Field, UnitOfWorkImpl, Set)
+     */
+    public IndirectCollection<?> createCopyOnWriteCollection(Collection<?> collection, Object owner, Field field) {
+        if (collection instanceof List) {
+            return IndirectList.copyOnWrite(owner, field, uow, (List<?>) collection);
+        } else if (collection instanceof Set) {
+            return IndirectSet.copyOnWrite(owner, field, uow, (Set<?>) collection);
+        }
+        throw new UnsupportedOperationException("Unsupported collection type " + collection.getClass());
+    }
+
     /**
      * Creates an instance of a {@link Collection} implementation best matching the specified instance.
      * <p>
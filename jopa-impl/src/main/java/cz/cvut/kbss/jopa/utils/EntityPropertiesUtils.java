@@ -17,7 +17,9 @@ package cz.cvut.kbss.jopa.utils;
 import cz.cvut.kbss.jopa.exception.IdentifierNotSetException;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.annotations.Transient;
+import cz.cvut.kbss.jopa.model.metamodel.AccessibleFieldSpecification;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.FieldAccessor;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.model.metamodel.Identifier;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
@@ -100,6 +102,8 @@ public class EntityPropertiesUtils {
 
     /**
      * Gets value of the specified attribute.
+     * <p>
+     * Uses the attribute's {@link FieldAccessor} if it provides one.
      *
      * @param attribute Attribute to extract value of
      * @param instance  Instance from which value will be extracted
@@ -107,8 +111,32 @@ public class EntityPropertiesUtils {
      */
     public static Object getAttributeValue(FieldSpecification<?, ?> attribute, Object instance) {
         Objects.requireNonNull(attribute);
-        final Field field = attribute.getJavaField();
-        return getFieldValue(field, instance);
+        final FieldAccessor accessor = getAccessor(attribute);
+        return accessor != null ? accessor.getValue(instance) : getFieldValue(attribute.getJavaField(), instance);
+    }
+
+    /**
+     * Sets value of the specified attribute.
+     * <p>
+     * Uses the attribute's {@link FieldAccessor} if it provides one.
+     *
+     * @param attribute Attribute to set value of
+     * @param instance  Target instance
+     * @param value     The value to set (may be {@code null})
+     */
+    public static void setAttributeValue(FieldSpecification<?, ?> attribute, Object instance, Object value) {
+        Objects.requireNonNull(attribute);
+        final FieldAccessor accessor = getAccessor(attribute);
+        if (accessor != null) {
+            accessor.setValue(instance, value);
+        } else {
+            setFieldValue(attribute.getJavaField(), instance, value);
+        }
+    }
+
+    private static FieldAccessor getAccessor(FieldSpecification<?, ?> attribute) {
+        return attribute instanceof AccessibleFieldSpecification ?
+               ((AccessibleFieldSpecification<?, ?>) attribute).getAccessor() : null;
     }
 
     /**
@@ -120,7 +148,7 @@ public class EntityPropertiesUtils {
      */
     public static <T> URI getIdentifier(T entity, EntityType<?> et) {
         try {
-            final Object id = getFieldValue(et.getIdentifier().getJavaField(), entity);
+            final Object id = getAttributeValue(et.getIdentifier(), entity);
             if (id == null) {
                 return null;
             }
@@ -142,7 +170,7 @@ public class EntityPropertiesUtils {
         final Field idField = id.getJavaField();
         try {
             final Object assignableId = IdentifierTransformer.transformToIdentifier(identifier, idField.getType());
-            setFieldValue(idField, entity, assignableId);
+            setAttributeValue(id, entity, assignableId);
         } catch (IllegalArgumentException e) {
             throw new UnassignableIdentifierException(e);
         }
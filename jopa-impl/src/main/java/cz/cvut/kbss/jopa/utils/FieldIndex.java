@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns a stable index to every instance field of a class, including fields declared in its superclasses.
+ * <p>
+ * The indexes are dense (starting at 0), so they can be used to address per-instance field state kept in bit sets.
+ * Fields declared in a superclass come first, so a field has the same index in the class declaring it and in all its
+ * subclasses. Indexes are computed once per class and cached using {@link ClassValue}.
+ */
+public final class FieldIndex {
+
+    private static final ClassValue<Map<Field, Integer>> INDEXES = new ClassValue<Map<Field, Integer>>() {
+        @Override
+        protected Map<Field, Integer> computeValue(Class<?> type) {
+            final Class<?> superclass = type.getSuperclass();
+            final Map<Field, Integer> indexes = superclass != null && superclass != Object.class ?
+                                                new HashMap<>(INDEXES.get(superclass)) : new HashMap<>();
+            for (Field f : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(f.getModifiers()) && !f.isSynthetic()) {
+                    indexes.put(f, indexes.size());
+                }
+            }
+            return Collections.unmodifiableMap(indexes);
+        }
+    };
+
+    private FieldIndex() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Gets index of the specified field.
+     * <p>
+     * The index is the same in the declaring class of the field and all its subclasses.
+     *
+     * @param field Instance field
+     * @return Field index
+     * @throws IllegalArgumentException If the field is static
+     */
+    public static int indexOf(Field field) {
+        return indexOf(field.getDeclaringClass(), field);
+    }
+
+    /**
+     * Gets index of the specified field in the specified class.
+     *
+     * @param cls   Class whose field index to use
+     * @param field Field declared in {@code cls} or one of its superclasses
+     * @return Field index
+     * @throws IllegalArgumentException If the field is not an instance field of the class or its superclasses
+     */
+    public static int indexOf(Class<?> cls, Field field) {
+        final Integer index = INDEXES.get(cls).get(field);
+        if (index == null) {
+            throw new IllegalArgumentException("Field " + field + " is not an instance field of " + cls + ".");
+        }
+        return index;
+    }
+}
@@ -299,4 +299,46 @@ class IndirectListTest {
         owner.getReferencedList().removeIf(e -> toRemove.contains(e.getUri()));
         verify(uow, times(toRemove.size())).attributeChanged(owner, ownerField);
     }
+
+    @Test
+    void copyOnWriteListSharesReferencedListUntilModified() {
+        final IndirectList<OWLClassA> sut = IndirectList.copyOnWrite(owner, ownerField, uow, list);
+        assertSame(list, sut.getReferencedCollection());
+        assertEquals(backupList.get(0), sut.get(0));
+        final OWLClassA added = Generators.generateOwlClassAInstance();
+        sut.add(added);
+        assertNotSame(list, sut.getReferencedCollection());
+        assertEquals(added, sut.get(sut.size() - 1));
+        assertEquals(backupList, list);
+        verify(uow).attributeChanged(owner, ownerField);
+    }
+
+    @Test
+    void copyOnWriteListIteratorRemoveRemovesElementsFromCopyOnly() {
+        final IndirectList<OWLClassA> sut = IndirectList.copyOnWrite(owner, ownerField, uow, list);
+        sut.removeIf(e -> backupList.indexOf(e) % 2 == 0);
+        final List<OWLClassA> expected = new ArrayList<>(backupList);
+        expected.removeIf(e -> backupList.indexOf(e) % 2 == 0);
+        assertEquals(expected, sut);
+        assertEquals(backupList, list);
+        verify(uow, times(backupList.size() - expected.size())).attributeChanged(owner, ownerField);
+    }
+
+    @Test
+    void copyOnWriteListCopiesListBeforeCreatingListIterator() {
+        final IndirectList<OWLClassA> sut = IndirectList.copyOnWrite(owner, ownerField, uow, list);
+        final ListIterator<OWLClassA> it = sut.listIterator();
+        it.next();
+        it.set(Generators.generateOwlClassAInstance());
+        assertEquals(backupList, list);
+        assertNotEquals(backupList, sut);
+    }
+
+    @Test
+    void unwrapReturnsCopyOfSharedList() {
+        final IndirectList<OWLClassA> sut = IndirectList.copyOnWrite(owner, ownerField, uow, list);
+        final List<OWLClassA> result = sut.unwrap();
+        assertNotSame(list, result);
+        assertEquals(list, result);
+    }
 }
@@ -15,6 +15,7 @@
 package cz.cvut.kbss.jopa.adapters;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -228,4 +229,54 @@ class IndirectSetTest {
         assertTrue(target.containsAll(backupSet));
         assertTrue(set.containsAll(backupSet));
     }
+
+    @Test
+    void copyOnWriteSetSharesReferencedSetUntilModified() {
+        final IndirectSet<OWLClassA> sut = IndirectSet.copyOnWrite(owner, ownerField, uow, set);
+        assertSame(set, sut.getReferencedCollection());
+        assertTrue(sut.containsAll(backupSet));
+        final OWLClassA added = Generators.generateOwlClassAInstance();
+        sut.add(added);
+        assertNotSame(set, sut.getReferencedCollection());
+        assertTrue(sut.contains(added));
+        assertFalse(set.contains(added));
+        assertEquals(backupSet, set);
+        verify(uow).attributeChanged(owner, ownerField);
+    }
+
+    @Test
+    void copyOnWriteSetIteratorRemoveDoesNotModifySharedSet() {
+        final IndirectSet<OWLClassA> sut = IndirectSet.copyOnWrite(owner, ownerField, uow, set);
+        final Iterator<OWLClassA> it = sut.iterator();
+        final OWLClassA removed = it.next();
+        it.remove();
+        while (it.hasNext()) {
+            assertNotNull(it.next());
+        }
+        assertFalse(sut.contains(removed));
+        assertEquals(backupSet.size() - 1, sut.size());
+        assertEquals(backupSet, set);
+        verify(uow).attributeChanged(owner, ownerField);
+    }
+
+    @Test
+    void copyOnWriteSetIteratorRemoveThrowsIllegalStateWhenNextWasNotCalled() {
+        final IndirectSet<OWLClassA> sut = IndirectSet.copyOnWrite(owner, ownerField, uow, set);
+        final Iterator<OWLClassA> it = sut.iterator();
+        assertThrows(IllegalStateException.class, it::remove);
+    }
+
+    @Test
+    void unwrapReturnsCopyOfSharedSet() {
+        final IndirectSet<OWLClassA> sut = IndirectSet.copyOnWrite(owner, ownerField, uow, set);
+        final Set<OWLClassA> result = sut.unwrap();
+        assertNotSame(set, result);
+        assertEquals(set, result);
+        verify(uow, never()).attributeChanged(any(), any());
+    }
+
+    @Test
+    void unwrapReturnsReferencedSetWhenNotShared() {
+        assertSame(set, target.unwrap());
+    }
 }
@@ -1043,8 +1043,9 @@ public class MetamodelFactory {
         when(id.getJavaField()).thenReturn(OWLClassT.getUriField());
         when(id.getDeclaringType()).thenReturn(et);
         when(et.getIRI()).thenReturn(IRI.create(OWLClassT.getClassIri()));
-        when(et.getFieldSpecifications()).thenReturn(new HashSet(Arrays.asList(localDateAtt, localDateTimeAtt, id)));
-        when(et.getAttributes()).thenReturn(new HashSet(Arrays.asList(localDateAtt, localDateTimeAtt)));
+        when(et.getFieldSpecifications())
+                .thenReturn(new HashSet(Arrays.asList(localDateAtt, localDateTimeAtt, owlClassSAtt, id)));
+        when(et.getAttributes()).thenReturn(new HashSet(Arrays.asList(localDateAtt, localDateTimeAtt, owlClassSAtt)));
         when(et.getPersistenceType()).thenReturn(Type.PersistenceType.ENTITY);
 
         when(localDateAtt.getJavaField()).thenReturn(OWLClassT.getLocalDateField());
@@ -1079,6 +1080,7 @@ public class MetamodelFactory {
         when(owlClassSAtt.getJavaType()).thenReturn(OWLClassT.getOwlClassSField().getType());
         when(owlClassSAtt.getName()).thenReturn(OWLClassT.getOwlClassSField().getName());
         when(et.getAttribute(OWLClassT.getOwlClassSField().getName())).thenReturn(owlClassSAtt);
+        when(et.getFieldSpecification(OWLClassT.getOwlClassSField().getName())).thenReturn(owlClassSAtt);
         when(owlClassSAtt.getPersistentAttributeType()).thenReturn(Attribute.PersistentAttributeType.OBJECT);
         when(owlClassSAtt.isCollection()).thenReturn(false);
         when(owlClassSAtt.getBindableJavaType()).thenReturn(OWLClassS.class);
@@ -329,6 +329,10 @@ public class MetamodelMocks {
         return new OWLClassEMetamodel();
     }
 
+    public OWLClassFMetamodel forOwlClassF() {
+        return new OWLClassFMetamodel();
+    }
+
     public OWLClassJMetamodel forOwlClassJ() {
         return new OWLClassJMetamodel();
     }
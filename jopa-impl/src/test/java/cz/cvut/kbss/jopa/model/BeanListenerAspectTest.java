@@ -27,12 +27,15 @@ import cz.cvut.kbss.jopa.model.annotations.OWLAnnotationProperty;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkTestBase;
+import cz.cvut.kbss.jopa.utils.FieldIndex;
 import cz.cvut.kbss.jopa.vocabulary.RDFS;
+import org.aspectj.lang.Aspects;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class BeanListenerAspectTest extends UnitOfWorkTestBase {
@@ -119,4 +122,64 @@ class BeanListenerAspectTest extends UnitOfWorkTestBase {
         final OWLClassM clone = (OWLClassM) sut.registerExistingObject(entityM, descriptor);
         assertThrows(AttributeModificationForbiddenException.class, () -> clone.setLexicalForm("value"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void setterAspectMarksFieldDirtyInRegisteredInstance() throws Exception {
+        final OWLClassA clone = (OWLClassA) sut.registerExistingObject(entityA, descriptor);
+        final BitSet dirtyFields = ((BeanListenerAspect.Manageable) clone).getDirtyFields();
+        assertTrue(dirtyFields.isEmpty());
+        clone.setStringAttribute("test");
+        assertTrue(dirtyFields.get(FieldIndex.indexOf(OWLClassA.class, OWLClassA.getStrAttField())));
+        assertEquals(1, dirtyFields.cardinality());
+    }
+
+    @Test
+    void setterAspectMarksFieldDirtyInDetachedInstance() throws Exception {
+        final OWLClassA clone = (OWLClassA) sut.registerExistingObject(entityA, descriptor);
+        sut.unregisterObject(clone);
+        clone.setStringAttribute("test");
+        final BitSet dirtyFields = ((BeanListenerAspect.Manageable) clone).getDirtyFields();
+        assertTrue(dirtyFields.get(FieldIndex.indexOf(OWLClassA.class, OWLClassA.getStrAttField())));
+    }
+
+    @Test
+    void setterAspectDoesNotTrackModificationsOfInstanceNeverRegisteredInPersistenceContext() {
+        final OWLClassA instance = new OWLClassA(Generators.createIndividualIdentifier());
+        instance.setStringAttribute("test");
+        assertNull(((BeanListenerAspect.Manageable) instance).getDirtyFields());
+    }
+
+    @Test
+    void getterAspectLoadsFieldOnlyOnFirstAccess() throws Exception {
+        final OWLClassQ entityQ = new OWLClassQ();
+        entityQ.setUri(Generators.createIndividualIdentifier());
+        final FieldSpecification aSpec = metamodelMock.entity(OWLClassQ.class).getFieldSpecification("owlClassA");
+        when(aSpec.getFetchType()).thenReturn(FetchType.LAZY);
+        final OWLClassQ clone = (OWLClassQ) sut.registerExistingObject(entityQ, descriptor);
+        clone.getOwlClassA();
+        clone.getOwlClassA();
+        verify(sut).loadEntityField(clone, OWLClassQ.getOwlClassAField());
+        assertTrue(((BeanListenerAspect.Manageable) clone).getLoadedFields()
+                                                          .get(FieldIndex.indexOf(OWLClassQ.getOwlClassAField())));
+    }
+
+    @Test
+    void getterAspectChecksFieldLoadingAgainAfterInstanceIsRegisteredAgain() throws Exception {
+        final OWLClassQ entityQ = new OWLClassQ();
+        entityQ.setUri(Generators.createIndividualIdentifier());
+        final OWLClassQ clone = (OWLClassQ) sut.registerExistingObject(entityQ, descriptor);
+        clone.getOwlClassA();
+        Aspects.aspectOf(BeanListenerAspect.class).register(clone, sut);
+        clone.getOwlClassA();
+        verify(sut, times(2)).loadEntityField(clone, OWLClassQ.getOwlClassAField());
+    }
+
+    @Test
+    void deregisterStopsTrackingOfLoadedFields() {
+        final OWLClassA clone = (OWLClassA) sut.registerExistingObject(entityA, descriptor);
+        sut.unregisterObject(clone);
+        assertNull(((BeanListenerAspect.Manageable) clone).getLoadedFields());
+        clone.getStringAttribute();
+        verify(sut, never()).loadEntityField(any(), any());
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassF;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+class EntityGraphImplTest {
+
+    @Mock
+    private MetamodelImpl metamodelMock;
+
+    private MetamodelMocks metamodelMocks;
+
+    private EntityGraphImpl<OWLClassF> sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        this.metamodelMocks = new MetamodelMocks();
+        metamodelMocks.setMocks(metamodelMock);
+        when(metamodelMock.isEntityType(OWLClassA.class)).thenReturn(true);
+        this.sut = new EntityGraphImpl<>("test", metamodelMocks.forOwlClassF().entityType(), metamodelMock);
+    }
+
+    @Test
+    void addSubgraphCreatesSubgraphForEntityReferencedByAttribute() throws Exception {
+        final Subgraph<OWLClassA> result = sut.addSubgraph(OWLClassF.getSimpleSetField().getName());
+        assertEquals(OWLClassA.class, result.getClassType());
+        assertEquals(1, sut.getAttributeNodes().size());
+        final AttributeNode<?> node = sut.getAttributeNodes().get(0);
+        assertEquals(OWLClassF.getSimpleSetField().getName(), node.getAttributeName());
+        assertSame(result, node.getSubgraphs().get(OWLClassA.class));
+    }
+
+    @Test
+    void addSubgraphThrowsIllegalArgumentExceptionForAttributeNotReferencingEntity() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> sut.addSubgraph(OWLClassF.getStrAttField().getName()));
+    }
+
+    @Test
+    void addAttributeNodesDoesNotDuplicateExistingNode() throws Exception {
+        sut.addSubgraph(OWLClassF.getSimpleSetField().getName());
+        sut.addAttributeNodes(OWLClassF.getSimpleSetField().getName(), OWLClassF.getStrAttField().getName());
+        assertEquals(2, sut.getAttributeNodes().size());
+        assertFalse(sut.getAttributeNodes().get(0).getSubgraphs().isEmpty());
+    }
+
+    @Test
+    void makeImmutablePreventsModificationOfGraphAndItsSubgraphs() throws Exception {
+        final Subgraph<OWLClassA> subgraph = sut.addSubgraph(OWLClassF.getSimpleSetField().getName());
+        sut.makeImmutable();
+        assertThrows(IllegalStateException.class,
+                () -> sut.addAttributeNodes(OWLClassF.getStrAttField().getName()));
+        assertThrows(IllegalStateException.class,
+                () -> subgraph.addAttributeNodes(OWLClassA.getStrAttField().getName()));
+    }
+
+    @Test
+    void copyCreatesMutableDeepCopyOfImmutableGraph() throws Exception {
+        sut.addSubgraph(OWLClassF.getSimpleSetField().getName());
+        sut.makeImmutable();
+        final EntityGraphImpl<OWLClassF> result = sut.copy();
+        assertEquals(sut.getName(), result.getName());
+        result.addAttributeNodes(OWLClassF.getStrAttField().getName());
+        final Subgraph<?> subgraphCopy = result.getAttributeNodes().get(0).getSubgraphs().get(OWLClassA.class);
+        subgraphCopy.addAttributeNodes(OWLClassA.getStrAttField().getName());
+        assertEquals(1, sut.getAttributeNodes().size());
+        assertEquals(1, subgraphCopy.getAttributeNodes().size());
+    }
+
+    @Test
+    void fromHintResolvesNamedEntityGraphByName() {
+        doReturn(sut).when(metamodelMock).getNamedEntityGraph("test");
+        assertSame(sut, EntityGraphImpl.fromHint("test", metamodelMock));
+        assertSame(sut, EntityGraphImpl.fromHint(sut, metamodelMock));
+        assertNull(EntityGraphImpl.fromHint(null, metamodelMock));
+    }
+}
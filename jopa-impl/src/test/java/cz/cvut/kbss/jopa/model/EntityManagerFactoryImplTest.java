@@ -17,6 +17,7 @@ package cz.cvut.kbss.jopa.model;
 import cz.cvut.kbss.jopa.environment.OWLClassA;
 import cz.cvut.kbss.jopa.environment.utils.DataSourceStub;
 import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.sessions.cache.CacheWarmer;
 import cz.cvut.kbss.ontodriver.Connection;
 import cz.cvut.kbss.ontodriver.Types;
 import org.junit.jupiter.api.BeforeEach;
@@ -41,15 +42,19 @@ class EntityManagerFactoryImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
+        this.emf = new EntityManagerFactoryImpl(initProperties());
+        emf.createEntityManager();
+        emf.getServerSession().unwrap(DataSourceStub.class).setConnection(connection);
+        when(connection.types()).thenReturn(mock(Types.class));
+    }
+
+    private static Map<String, String> initProperties() {
         final Map<String, String> props = new HashMap<>();
         props.put(JOPAPersistenceProperties.DATA_SOURCE_CLASS, DataSourceStub.class.getName());
         props.put(JOPAPersistenceProperties.ONTOLOGY_PHYSICAL_URI_KEY,
                 Generators.createIndividualIdentifier().toString());
         props.put(JOPAPersistenceProperties.SCAN_PACKAGE, "cz.cvut.kbss.jopa.environment");
-        this.emf = new EntityManagerFactoryImpl(props);
-        emf.createEntityManager();
-        emf.getServerSession().unwrap(DataSourceStub.class).setConnection(connection);
-        when(connection.types()).thenReturn(mock(Types.class));
+        return props;
     }
 
     @Test
@@ -112,4 +117,42 @@ class EntityManagerFactoryImplTest {
         final DataSourceStub result = emf.unwrap(DataSourceStub.class);
         assertSame(emf.getServerSession().unwrap(DataSourceStub.class), result);
     }
+
+    @Test
+    void constructorDoesNotInitializeServerSessionWhenCachePreloadIsNotConfigured() {
+        final EntityManagerFactoryImpl sut = new EntityManagerFactoryImpl(initProperties());
+        try {
+            assertNull(sut.getServerSession());
+        } finally {
+            sut.close();
+        }
+    }
+
+    @Test
+    void constructorInitializesServerSessionEagerlyAndStartsCacheWarmerWhenCachePreloadIsConfigured() {
+        final Map<String, String> props = initProperties();
+        props.put(JOPAPersistenceProperties.CACHE_PRELOAD, OWLClassA.class.getName());
+        final EntityManagerFactoryImpl sut = new EntityManagerFactoryImpl(props);
+        try {
+            assertNotNull(sut.getServerSession());
+            final CacheWarmer warmer = sut.unwrap(CacheWarmer.class);
+            assertNotNull(warmer);
+            assertEquals(1, warmer.getProgress().getTotalEntries());
+        } finally {
+            sut.close();
+        }
+    }
+
+    @Test
+    void constructorIgnoresCachePreloadWhenCacheIsDisabled() {
+        final Map<String, String> props = initProperties();
+        props.put(JOPAPersistenceProperties.CACHE_PRELOAD, OWLClassA.class.getName());
+        props.put(JOPAPersistenceProperties.CACHE_ENABLED, Boolean.FALSE.toString());
+        final EntityManagerFactoryImpl sut = new EntityManagerFactoryImpl(props);
+        try {
+            assertNull(sut.getServerSession());
+        } finally {
+            sut.close();
+        }
+    }
 }
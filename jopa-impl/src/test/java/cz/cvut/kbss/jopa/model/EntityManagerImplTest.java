@@ -37,14 +37,17 @@ import cz.cvut.kbss.jopa.utils.Configuration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.Field;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -62,6 +65,8 @@ class EntityManagerImplTest {
     @Mock
     private ConnectionWrapper connectorMock;
 
+    private ServerSessionStub serverSessionMock;
+
     private UnitOfWorkImpl uow;
 
     @Mock
@@ -74,7 +79,7 @@ class EntityManagerImplTest {
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        final ServerSessionStub serverSessionMock = spy(new ServerSessionStub(connectorMock));
+        this.serverSessionMock = spy(new ServerSessionStub(connectorMock));
         when(serverSessionMock.getMetamodel()).thenReturn(metamodelMock);
         when(serverSessionMock.getLiveObjectCache()).thenReturn(new DisabledCacheManager());
         this.uow = spy(new UnitOfWorkImpl(serverSessionMock));
@@ -127,6 +132,51 @@ class EntityManagerImplTest {
         verify(uow).mergeDetached(eq(a), any());
     }
 
+    @Test
+    void persistAllRegistersNewObjectsInBatch() {
+        final OWLClassA a = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+
+        em.persistAll(Arrays.asList(a, another));
+        verify(uow).registerNewObjects(eq(Arrays.asList(a, another)), any(Descriptor.class));
+        verify(uow, never()).registerNewObject(any(), any());
+        assertTrue(em.contains(a));
+        assertTrue(em.contains(another));
+    }
+
+    @Test
+    void persistAllThrowsIllegalArgumentForNonEntity() {
+        final OWLClassA a = new OWLClassA(Generators.createIndividualIdentifier());
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> em.persistAll(Arrays.asList(a, new UnknownEntity())));
+        assertEquals(NON_ENTITY_CLASS_EXCEPTION_MESSAGE, ex.getMessage());
+        verify(uow, never()).registerNewObjects(any(), any());
+    }
+
+    @Test
+    void mergeAllMergesDetachedObjectsInBatch() {
+        final OWLClassA a = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+
+        final List<OWLClassA> result = em.mergeAll(Arrays.asList(a, another));
+        assertEquals(Arrays.asList(a, another), result);
+        verify(uow).mergeDetachedAll(eq(Arrays.asList(a, another)), any(Descriptor.class));
+        verify(uow, never()).mergeDetached(any(), any());
+    }
+
+    @Test
+    void removeAllRemovesManagedObjectsInBatch() {
+        final OWLClassA a = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+        em.persistAll(Arrays.asList(a, another));
+
+        em.removeAll(Arrays.asList(a, another));
+        verify(uow).removeObjects(Arrays.asList(a, another));
+        verify(uow, never()).removeObject(any());
+        assertFalse(em.contains(a));
+        assertFalse(em.contains(another));
+    }
+
     @Test
     void unwrapReturnsItselfWhenClassMatches() {
         assertSame(em, em.unwrap(EntityManagerImpl.class));
@@ -147,6 +197,45 @@ class EntityManagerImplTest {
         assertEquals(NON_ENTITY_CLASS_EXCEPTION_MESSAGE, ex.getMessage());
     }
 
+    @Test
+    void findAsyncReadsObjectInSeparateUnitOfWork() throws Exception {
+        final URI identifier = Generators.createIndividualIdentifier();
+        final OWLClassA a = new OWLClassA(identifier);
+        em.getCurrentPersistenceContext();
+        final UnitOfWorkImpl asyncUow = spy(new UnitOfWorkImpl(serverSessionMock));
+        doReturn(asyncUow).when(serverSessionMock).acquireUnitOfWork();
+        doReturn(a).when(asyncUow).readObject(eq(OWLClassA.class), eq(identifier), any(Descriptor.class));
+
+        final OWLClassA result = em.findAsync(OWLClassA.class, identifier).get();
+        assertSame(a, result);
+        verify(asyncUow).readObject(eq(OWLClassA.class), eq(identifier), any(Descriptor.class));
+        verify(asyncUow).release();
+        verify(uow, never()).readObject(any(), any(), any());
+    }
+
+    @Test
+    void findAsyncLoadsAllFieldsOfResultBeforeReleasingUnitOfWork() throws Exception {
+        final URI identifier = Generators.createIndividualIdentifier();
+        final OWLClassA a = new OWLClassA(identifier);
+        em.getCurrentPersistenceContext();
+        final UnitOfWorkImpl asyncUow = spy(new UnitOfWorkImpl(serverSessionMock));
+        doReturn(asyncUow).when(serverSessionMock).acquireUnitOfWork();
+        doReturn(a).when(asyncUow).readObject(eq(OWLClassA.class), eq(identifier), any(Descriptor.class));
+
+        em.findAsync(OWLClassA.class, identifier).get();
+        final InOrder inOrder = inOrder(asyncUow);
+        inOrder.verify(asyncUow).loadAllFields(a);
+        inOrder.verify(asyncUow).release();
+    }
+
+    @Test
+    void findAsyncThrowsIllegalArgumentForNonEntityOnCallingThread() {
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> em.findAsync(UnknownEntity.class, "primaryKey"));
+        assertEquals(NON_ENTITY_CLASS_EXCEPTION_MESSAGE, ex.getMessage());
+        verify(serverSessionMock, never()).executeAsync(any());
+    }
+
     @Test
     void persistThrowsIllegalArgumentForNonEntity() {
         final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
@@ -617,4 +706,53 @@ class EntityManagerImplTest {
                 () -> em.getReference(OWLClassA.class, Generators.createIndividualIdentifier()));
         verify(uow, never()).getReference(any(), any(), any());
     }
+
+    @Test
+    void findInReadOnlyEntityManagerReadsObjectWithoutRegisteringItInPersistenceContext() {
+        final EntityManagerImpl readOnlyEm = createReadOnlyEntityManager();
+        final OWLClassA instance = new OWLClassA(Generators.createIndividualIdentifier());
+        doReturn(instance).when(uow).readObjectWithoutRegistration(OWLClassA.class, instance.getUri(),
+                new EntityDescriptor());
+        final OWLClassA result = readOnlyEm.find(OWLClassA.class, instance.getUri());
+        assertSame(instance, result);
+        verify(uow, never()).readObject(any(), any(), any());
+    }
+
+    private EntityManagerImpl createReadOnlyEntityManager() {
+        return new EntityManagerImpl(emfMock,
+                new Configuration(Collections.singletonMap(JOPAPersistenceProperties.READ_ONLY, "true")),
+                serverSessionMock);
+    }
+
+    @Test
+    void persistThrowsIllegalStateExceptionInReadOnlyEntityManager() {
+        final EntityManagerImpl readOnlyEm = createReadOnlyEntityManager();
+        final OWLClassA instance = new OWLClassA(Generators.createIndividualIdentifier());
+        assertThrows(IllegalStateException.class, () -> readOnlyEm.persist(instance));
+        verify(uow, never()).registerNewObject(any(), any());
+    }
+
+    @Test
+    void mergeThrowsIllegalStateExceptionInReadOnlyEntityManager() {
+        final EntityManagerImpl readOnlyEm = createReadOnlyEntityManager();
+        final OWLClassA instance = new OWLClassA(Generators.createIndividualIdentifier());
+        assertThrows(IllegalStateException.class, () -> readOnlyEm.merge(instance));
+        verify(uow, never()).mergeDetached(any(), any());
+    }
+
+    @Test
+    void removeThrowsIllegalStateExceptionInReadOnlyEntityManager() {
+        final EntityManagerImpl readOnlyEm = createReadOnlyEntityManager();
+        final OWLClassA instance = new OWLClassA(Generators.createIndividualIdentifier());
+        assertThrows(IllegalStateException.class, () -> readOnlyEm.remove(instance));
+        verify(uow, never()).removeObject(any());
+    }
+
+    @Test
+    void createQueryInReadOnlyEntityManagerSetsReadOnlyHint() {
+        final EntityManagerImpl readOnlyEm = createReadOnlyEntityManager();
+        final TypedQueryImpl<OWLClassA> query = readOnlyEm.createNativeQuery(SELECT_QUERY, OWLClassA.class);
+        assertTrue(query.isReadOnly());
+        assertEquals(Boolean.TRUE, query.getHints().get(JOPAPersistenceProperties.READ_ONLY));
+    }
 }
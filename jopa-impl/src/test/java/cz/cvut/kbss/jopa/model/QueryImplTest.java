@@ -14,18 +14,24 @@
  */
 package cz.cvut.kbss.jopa.model;
 
+import cz.cvut.kbss.jopa.environment.utils.Generators;
 import cz.cvut.kbss.jopa.exceptions.NoResultException;
 import cz.cvut.kbss.jopa.exceptions.NoUniqueResultException;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.query.Query;
 import cz.cvut.kbss.jopa.query.QueryParameter;
+import cz.cvut.kbss.jopa.query.UpdateScope;
 import cz.cvut.kbss.jopa.query.parameter.ParameterValueFactory;
+import cz.cvut.kbss.jopa.vocabulary.RDFS;
 import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.net.URI;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -119,6 +125,40 @@ class QueryImplTest extends QueryTestBase {
         verify(statementMock).executeUpdate(UPDATE_QUERY);
     }
 
+    @Test
+    void executeUpdateNotifiesUpdateExecutedHandlerWithUnboundedScopeWhenUpdateCannotBeAnalyzed() throws Exception {
+        final QueryImpl q = createQuery(UPDATE_QUERY);
+        final Consumer<UpdateScope> updateHandler = mock(Consumer.class);
+        q.setUpdateExecutedHandler(updateHandler);
+        q.executeUpdate();
+        verify(statementMock).executeUpdate(UPDATE_QUERY);
+        verify(updateHandler).accept(UpdateScope.unbounded());
+    }
+
+    @Test
+    void executeUpdateNotifiesUpdateExecutedHandlerWithScopeResolvedFromUpdate() throws Exception {
+        final URI subject = Generators.createIndividualIdentifier();
+        final String update = "INSERT DATA { <" + subject + "> <" + RDFS.LABEL + "> \"Label\" . }";
+        final QueryImpl q = createQuery(update);
+        final Consumer<UpdateScope> updateHandler = mock(Consumer.class);
+        q.setUpdateExecutedHandler(updateHandler);
+        q.executeUpdate();
+        final ArgumentCaptor<UpdateScope> captor = ArgumentCaptor.forClass(UpdateScope.class);
+        verify(updateHandler).accept(captor.capture());
+        assertFalse(captor.getValue().isUnbounded());
+        assertEquals(Collections.singleton(subject), captor.getValue().getSubjects());
+    }
+
+    @Test
+    void executeUpdateDoesNotNotifyUpdateExecutedHandlerWhenUpdateFails() throws Exception {
+        doThrow(new OntoDriverException()).when(statementMock).executeUpdate(UPDATE_QUERY);
+        final QueryImpl q = createQuery(UPDATE_QUERY);
+        final Consumer<UpdateScope> updateHandler = mock(Consumer.class);
+        q.setUpdateExecutedHandler(updateHandler);
+        assertThrows(OWLPersistenceException.class, q::executeUpdate);
+        verify(updateHandler, never()).accept(any());
+    }
+
     @Test
     void executeUpdateThrowsPersistenceExceptionWhenOntoDriverExceptionIsThrown() throws Exception {
         doThrow(new OntoDriverException()).when(statementMock).executeUpdate(UPDATE_QUERY);
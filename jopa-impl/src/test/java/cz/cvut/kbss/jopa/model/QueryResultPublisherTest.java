@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model;
+
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.query.Flow;
+import cz.cvut.kbss.jopa.utils.Procedure;
+import cz.cvut.kbss.ontodriver.ResultSet;
+import cz.cvut.kbss.ontodriver.Statement;
+import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
+import cz.cvut.kbss.ontodriver.iteration.ResultRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class QueryResultPublisherTest {
+
+    private static final String QUERY = "SELECT ?x WHERE { ?x a ?type . }";
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private Procedure onError;
+
+    private List<ResultRow> rows;
+
+    private QueryResultPublisher<Integer> sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        this.rows = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            rows.add(mock(ResultRow.class));
+        }
+        when(resultSet.iterator()).thenAnswer(inv -> rows.iterator());
+        this.sut = new QueryResultPublisher<>(() -> statement, QUERY, row -> Optional.of(rows.indexOf(row)), onError);
+    }
+
+    @Test
+    void subscribeDoesNotExecuteQueryUntilResultsAreRequested() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        assertNotNull(subscriber.subscription);
+        verify(statement, never()).executeQuery(anyString());
+    }
+
+    @Test
+    void requestPublishesOnlyRequestedNumberOfItems() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.items.size());
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        assertEquals(3, subscriber.items.size());
+        verify(statement).executeQuery(QUERY);
+        verify(statement, never()).close();
+    }
+
+    @Test
+    void requestPublishesAllItemsCompletesAndClosesStatementWhenResultsAreExhausted() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(5, subscriber.items.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Integer.valueOf(i), subscriber.items.get(i));
+        }
+        assertTrue(subscriber.completed);
+        verify(statement).close();
+    }
+
+    @Test
+    void cancelClosesStatementImmediately() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        verify(statement).close();
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.items.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void requestFromOnNextDoesNotReenterPublishing() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                subscription.request(1);
+            }
+        };
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(5, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void itemsNotProducedByMapperDoNotConsumeDemand() {
+        final Function<ResultRow, Optional<Integer>> evenOnly = row -> rows.indexOf(row) % 2 == 0 ?
+                                                                       Optional.of(rows.indexOf(row)) :
+                                                                       Optional.empty();
+        this.sut = new QueryResultPublisher<>(() -> statement, QUERY, evenOnly, onError);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.items.size());
+        assertEquals(Integer.valueOf(2), subscriber.items.get(1));
+    }
+
+    @Test
+    void queryEvaluationErrorIsPassedToSubscriberAndInvokesErrorHandler() throws Exception {
+        when(statement.executeQuery(anyString())).thenThrow(new OntoDriverException("Evaluation failed."));
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.error instanceof OWLPersistenceException);
+        verify(onError).execute();
+        verify(statement).close();
+    }
+
+    @Test
+    void nonPositiveRequestSignalsErrorAndReleasesResources() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        sut.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        verify(statement).close();
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Integer> {
+
+        Flow.Subscription subscription;
+        final List<Integer> items = new ArrayList<>();
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
@@ -21,11 +21,13 @@ import cz.cvut.kbss.jopa.exceptions.NoUniqueResultException;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
+import cz.cvut.kbss.jopa.model.query.Flow;
 import cz.cvut.kbss.jopa.model.query.Query;
 import cz.cvut.kbss.jopa.model.query.TypedQuery;
 import cz.cvut.kbss.jopa.query.QueryParameter;
 import cz.cvut.kbss.jopa.query.parameter.ParameterValueFactory;
 import cz.cvut.kbss.jopa.query.sparql.SparqlQueryHolder;
+import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +38,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -350,6 +354,27 @@ class TypedQueryImplTest extends QueryTestBase {
         }
     }
 
+    @Test
+    void getResultListWithReadOnlyHintLoadsInstancesWithoutRegisteringThemInPersistenceContext() throws Exception {
+        final TypedQuery<OWLClassA> query = create(SELECT_QUERY, OWLClassA.class);
+        final List<String> uris = initDataForQuery(5);
+        for (String u : uris) {
+            when(uowMock.readObjectWithoutRegistration(eq(OWLClassA.class), eq(URI.create(u)), any()))
+                    .thenReturn(new OWLClassA(URI.create(u)));
+        }
+        final List<OWLClassA> res = query.setHint(JOPAPersistenceProperties.READ_ONLY, true).getResultList();
+        verifyResults(uris, res, 5);
+        verify(uowMock, never()).readObject(any(), any(), any());
+    }
+
+    @Test
+    void executeUpdateThrowsIllegalStateExceptionForReadOnlyQuery() throws Exception {
+        final TypedQuery<Void> query = create("INSERT DATA { <http://a> <http://b> <http://c> . }", Void.class);
+        query.setHint(JOPAPersistenceProperties.READ_ONLY, "true");
+        assertThrows(IllegalStateException.class, query::executeUpdate);
+        verify(statementMock, never()).executeUpdate(any());
+    }
+
     @Test
     void setFirstResultExecutesQueryWithSpecifiedOffset() throws Exception {
         final TypedQuery<OWLClassA> q = create(SELECT_QUERY, OWLClassA.class);
@@ -428,4 +453,77 @@ class TypedQueryImplTest extends QueryTestBase {
             verify(statementMock).close();
         }
     }
+
+    @Test
+    void getResultListAsyncExecutesAssembledQueryInUnitOfWorkProvidedForAsyncExecution() throws Exception {
+        final TypedQuery<OWLClassA> query = create(SELECT_QUERY, OWLClassA.class);
+        final List<String> uris = initDataForQuery(3);
+        final UnitOfWorkImpl workerUow = mockAsyncExecution();
+        final List<OWLClassA> res = query.setMaxResults(3).getResultListAsync().get();
+        verifyResults(uris, res, 3);
+        verify(workerUow).sparqlQueryFactory();
+        final ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(statementMock).executeQuery(captor.capture());
+        assertThat(captor.getValue(), containsString("LIMIT 3"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private UnitOfWorkImpl mockAsyncExecution() {
+        when(uowMock.sparqlQueryFactory()).thenReturn(queryFactory);
+        when(uowMock.executeAsync(any())).thenAnswer(inv -> CompletableFuture
+                .completedFuture(((Function<UnitOfWorkImpl, ?>) inv.getArgument(0)).apply(uowMock)));
+        return uowMock;
+    }
+
+    @Test
+    void getResultListAsyncPassesDescriptorToInstanceLoading() throws Exception {
+        final TypedQuery<OWLClassA> query = create(SELECT_QUERY, OWLClassA.class);
+        final List<String> uris = initDataForQuery(2);
+        mockAsyncExecution();
+        final Descriptor descriptor = new EntityDescriptor(URI.create("http://contextOne"));
+        query.setDescriptor(descriptor).getResultListAsync().get();
+        for (String uri : uris) {
+            verify(uowMock).readObject(OWLClassA.class, URI.create(uri), descriptor);
+        }
+    }
+
+    @Test
+    void getResultListAsyncEnsuresPersistenceContextIsOpenOnCallingThread() {
+        final TypedQuery<OWLClassA> query = create(SELECT_QUERY, OWLClassA.class);
+        doThrow(IllegalStateException.class).when(ensureOpenProcedure).execute();
+        assertThrows(IllegalStateException.class, query::getResultListAsync);
+        verify(uowMock, never()).executeAsync(any());
+    }
+
+    @Test
+    void getResultPublisherPublishesEntitiesAndClosesStatementWhenResultsAreExhausted() throws Exception {
+        final TypedQuery<OWLClassA> query = create(SELECT_QUERY, OWLClassA.class);
+        final List<String> uris = initDataForQuery(3);
+        final List<OWLClassA> res = new ArrayList<>();
+        final boolean[] completed = new boolean[1];
+        query.getResultPublisher().subscribe(new Flow.Subscriber<OWLClassA>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(OWLClassA item) {
+                res.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        verifyResults(uris, res, 3);
+        assertTrue(completed[0]);
+        verify(statementMock).close();
+    }
 }
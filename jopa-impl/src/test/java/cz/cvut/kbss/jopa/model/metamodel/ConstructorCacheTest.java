@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstructorCacheTest {
+
+    private final ConstructorCache sut = new ConstructorCache();
+
+    @Test
+    void getConstructorReturnsHandleCreatingInstanceWithSpecifiedArguments() throws Throwable {
+        final URI uri = Generators.createIndividualIdentifier();
+        final MethodHandle ctor = sut.getConstructor(OWLClassA.class, URI.class);
+        final Object result = (Object) ctor.invokeExact(new Object[]{uri});
+        assertTrue(result instanceof OWLClassA);
+        assertEquals(uri, ((OWLClassA) result).getUri());
+    }
+
+    @Test
+    void getConstructorReturnsCachedHandleForSameClassAndParameterTypes() throws Exception {
+        final MethodHandle one = sut.getConstructor(OWLClassA.class);
+        final MethodHandle two = sut.getConstructor(OWLClassA.class);
+        assertSame(one, two);
+        assertNotSame(one, sut.getConstructor(OWLClassA.class, URI.class));
+    }
+
+    @Test
+    void getConstructorThrowsNoSuchMethodExceptionWhenNoMatchingConstructorExists() {
+        assertThrows(NoSuchMethodException.class, () -> sut.getConstructor(OWLClassA.class, Integer.class));
+    }
+}
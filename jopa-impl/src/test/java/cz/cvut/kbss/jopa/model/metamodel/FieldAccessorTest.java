@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassD;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldAccessorTest {
+
+    @Test
+    void getValueReadsFieldValue() throws Exception {
+        final OWLClassA instance = new OWLClassA();
+        instance.setStringAttribute("test");
+        assertEquals("test", new FieldAccessor(OWLClassA.getStrAttField()).getValue(instance));
+    }
+
+    @Test
+    void setValueWritesFieldValue() throws Exception {
+        final OWLClassA instance = new OWLClassA();
+        final FieldAccessor accessor = new FieldAccessor(OWLClassA.getStrAttField());
+        accessor.setValue(instance, "test");
+        assertEquals("test", instance.getStringAttribute());
+        accessor.setValue(instance, null);
+        assertNull(instance.getStringAttribute());
+    }
+
+    @Test
+    void getValueThrowsIllegalArgumentExceptionForInstanceOfDifferentClass() throws Exception {
+        final FieldAccessor accessor = new FieldAccessor(OWLClassA.getStrAttField());
+        assertThrows(IllegalArgumentException.class, () -> accessor.getValue(new OWLClassD()));
+    }
+
+    @Test
+    void setValueThrowsIllegalArgumentExceptionForValueOfIncompatibleType() throws Exception {
+        final FieldAccessor accessor = new FieldAccessor(OWLClassA.getStrAttField());
+        assertThrows(IllegalArgumentException.class, () -> accessor.setValue(new OWLClassA(), 117));
+    }
+
+    @Test
+    void getValueThrowsNullPointerExceptionForNullInstanceOfInstanceField() throws Exception {
+        final FieldAccessor accessor = new FieldAccessor(OWLClassA.getStrAttField());
+        assertThrows(NullPointerException.class, () -> accessor.getValue(null));
+    }
+
+    @Test
+    void accessorSupportsStaticAndFinalFields() throws Exception {
+        final Field field = WithPrimitives.class.getDeclaredField("CONSTANT");
+        assertEquals(WithPrimitives.CONSTANT, new FieldAccessor(field).getValue(null));
+        final FieldAccessor finalAccessor = new FieldAccessor(WithPrimitives.class.getDeclaredField("value"));
+        final WithPrimitives instance = new WithPrimitives();
+        finalAccessor.setValue(instance, 5);
+        assertEquals(5, finalAccessor.getValue(instance));
+    }
+
+    @Test
+    void setValueAppliesWideningConversionToPrimitiveField() throws Exception {
+        final FieldAccessor accessor = new FieldAccessor(WithPrimitives.class.getDeclaredField("count"));
+        final WithPrimitives instance = new WithPrimitives();
+        accessor.setValue(instance, 117);
+        assertEquals(117L, instance.count);
+    }
+
+    @Test
+    void setValueThrowsIllegalArgumentExceptionForNullSetIntoPrimitiveField() throws Exception {
+        final FieldAccessor accessor = new FieldAccessor(WithPrimitives.class.getDeclaredField("count"));
+        assertThrows(IllegalArgumentException.class, () -> accessor.setValue(new WithPrimitives(), null));
+    }
+
+    private static class WithPrimitives {
+        private static final String CONSTANT = "constant";
+
+        private final Integer value = 1;
+
+        private long count;
+    }
+}
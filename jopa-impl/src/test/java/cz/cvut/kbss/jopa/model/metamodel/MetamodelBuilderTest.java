@@ -68,6 +68,22 @@ class MetamodelBuilderTest {
         private URI uri;
     }
 
+    @Test
+    void buildMetamodelStoresLoadPlanInEntityTypes() {
+        when(finderMock.getEntities()).thenReturn(Collections.singleton(OWLClassA.class));
+        builder.buildMetamodel(finderMock);
+        final EntityTypeImpl<OWLClassA> result = (EntityTypeImpl<OWLClassA>) builder.entity(OWLClassA.class);
+        assertNotNull(result.getLoadPlan());
+    }
+
+    @Test
+    void buildMetamodelStoresClonersInEntityTypes() {
+        when(finderMock.getEntities()).thenReturn(Collections.singleton(OWLClassA.class));
+        builder.buildMetamodel(finderMock);
+        final EntityTypeImpl<OWLClassA> result = (EntityTypeImpl<OWLClassA>) builder.entity(OWLClassA.class);
+        assertNotNull(result.getCloner());
+    }
+
     @Test
     void buildsMetamodelOfEntityWithNamespacesDeclaredOnClass() {
         when(finderMock.getEntities()).thenReturn(Collections.singleton(EntityWithNamespace.class));
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.model.metamodel;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.exception.MetamodelInitializationException;
+import cz.cvut.kbss.jopa.model.AttributeNode;
+import cz.cvut.kbss.jopa.model.EntityGraphImpl;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.Subgraph;
+import cz.cvut.kbss.jopa.model.annotations.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+class NamedEntityGraphProcessorTest {
+
+    @Mock
+    private MetamodelImpl metamodelMock;
+
+    private NamedEntityGraphProcessor processor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        final MetamodelMocks metamodelMocks = new MetamodelMocks();
+        metamodelMocks.setMocks(metamodelMock);
+        when(metamodelMock.isEntityType(OWLClassA.class)).thenReturn(true);
+        // The annotated classes share the mapping of OWLClassF
+        doReturn(metamodelMocks.forOwlClassF().entityType()).when(metamodelMock).entity(WithSubgraph.class);
+        doReturn(metamodelMocks.forOwlClassF().entityType()).when(metamodelMock).entity(UnknownSubgraph.class);
+        doReturn(metamodelMocks.forOwlClassF().entityType()).when(metamodelMock).entity(DuplicateNames.class);
+        this.processor = new NamedEntityGraphProcessor(metamodelMock);
+    }
+
+    @Test
+    void processClassBuildsImmutableNamedEntityGraphWithSubgraph() {
+        processor.processClass(WithSubgraph.class);
+        final EntityGraphImpl<?> graph = processor.getGraphs().get("withSubgraph");
+        assertNotNull(graph);
+        assertEquals(2, graph.getAttributeNodes().size());
+        final AttributeNode<?> setNode = graph.getAttributeNodes().get(0);
+        assertEquals("simpleSet", setNode.getAttributeName());
+        final Subgraph<?> subgraph = setNode.getSubgraphs().get(OWLClassA.class);
+        assertNotNull(subgraph);
+        assertEquals("stringAttribute", subgraph.getAttributeNodes().get(0).getAttributeName());
+        assertThrows(IllegalStateException.class, () -> graph.addAttributeNodes("secondStringAttribute"));
+    }
+
+    @NamedEntityGraph(name = "withSubgraph",
+                      attributeNodes = {@NamedAttributeNode(value = "simpleSet", subgraph = "a"),
+                                        @NamedAttributeNode("secondStringAttribute")},
+                      subgraphs = @NamedSubgraph(name = "a", attributeNodes = @NamedAttributeNode("stringAttribute")))
+    private static class WithSubgraph {
+    }
+
+    @Test
+    void processClassThrowsMetamodelInitializationExceptionForUnknownSubgraph() {
+        assertThrows(MetamodelInitializationException.class, () -> processor.processClass(UnknownSubgraph.class));
+    }
+
+    @NamedEntityGraph(attributeNodes = @NamedAttributeNode(value = "simpleSet", subgraph = "unknown"))
+    private static class UnknownSubgraph {
+    }
+
+    @Test
+    void processClassThrowsMetamodelInitializationExceptionForDuplicateGraphName() {
+        assertThrows(MetamodelInitializationException.class, () -> processor.processClass(DuplicateNames.class));
+    }
+
+    @NamedEntityGraphs({
+            @NamedEntityGraph(name = "duplicate", attributeNodes = @NamedAttributeNode("simpleSet")),
+            @NamedEntityGraph(name = "duplicate", attributeNodes = @NamedAttributeNode("secondStringAttribute"))
+    })
+    private static class DuplicateNames {
+    }
+}
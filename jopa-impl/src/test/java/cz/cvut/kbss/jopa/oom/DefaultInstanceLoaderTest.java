@@ -82,6 +82,38 @@ class DefaultInstanceLoaderTest extends InstanceLoaderTestBase {
         verify(connectionMock).find(axiomDescriptor);
     }
 
+    @Test
+    void loadEntityRecordsLoadOfInstanceIntoCacheStatistics() throws Exception {
+        final Collection<Axiom<?>> entityAAxioms = Collections.singletonList(mock(Axiom.class));
+        when(connectionMock.find(axiomDescriptor)).thenReturn(entityAAxioms);
+        when(entityConstructorMock.reconstructEntity(IDENTIFIER, etAMock, descriptor, entityAAxioms))
+                .thenReturn(entityA);
+        instanceLoader.loadEntity(loadingParameters);
+
+        verify(cacheMock).recordLoad(eq(OWLClassA.class), eq(descriptor.getContext()), anyLong());
+    }
+
+    @Test
+    void loadEntityRecordsCacheMissIntoCacheStatisticsWhenInstanceIsNotCached() throws Exception {
+        final Collection<Axiom<?>> entityAAxioms = Collections.singletonList(mock(Axiom.class));
+        when(connectionMock.find(axiomDescriptor)).thenReturn(entityAAxioms);
+        when(entityConstructorMock.reconstructEntity(IDENTIFIER, etAMock, descriptor, entityAAxioms))
+                .thenReturn(entityA);
+        instanceLoader.loadEntity(loadingParameters);
+
+        verify(cacheMock).recordLookup(OWLClassA.class, descriptor.getContext(), false);
+    }
+
+    @Test
+    void loadEntityReturnsCachedInstanceAndRecordsCacheHitIntoCacheStatistics() throws Exception {
+        when(cacheMock.get(OWLClassA.class, IDENTIFIER, descriptor)).thenReturn(entityA);
+        final OWLClassA res = instanceLoader.loadEntity(loadingParameters);
+
+        assertSame(entityA, res);
+        verify(cacheMock).recordLookup(OWLClassA.class, descriptor.getContext(), true);
+        verify(connectionMock, never()).find(any());
+    }
+
     @Test
     void testLoadEntityUnknown() throws Exception {
         when(connectionMock.find(axiomDescriptor)).thenReturn(Collections.emptyList());
@@ -105,7 +137,8 @@ class DefaultInstanceLoaderTest extends InstanceLoaderTestBase {
                 .thenReturn(entityA);
         final OWLClassA res = instanceLoader.loadEntity(loadingParameters);
         assertNotNull(res);
-        verify(cacheMock, never()).contains(etAMock.getJavaType(), IDENTIFIER, descriptor);
+        verify(cacheMock, never()).get(etAMock.getJavaType(), IDENTIFIER, descriptor);
+        verify(cacheMock, never()).recordLookup(any(), any(), anyBoolean());
     }
 
     @Test
@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.oom;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassC;
+import cz.cvut.kbss.jopa.environment.OWLClassF;
+import cz.cvut.kbss.jopa.environment.OWLClassR;
+import cz.cvut.kbss.jopa.environment.OWLClassS;
+import cz.cvut.kbss.jopa.environment.OWLClassT;
+import cz.cvut.kbss.jopa.environment.Vocabulary;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.model.EntityGraphImpl;
+import cz.cvut.kbss.jopa.model.LoadState;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.annotations.OWLObjectProperty;
+import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
+import cz.cvut.kbss.jopa.sessions.CacheManager;
+import cz.cvut.kbss.jopa.utils.Configuration;
+import cz.cvut.kbss.ontodriver.Connection;
+import cz.cvut.kbss.ontodriver.descriptor.AxiomDescriptor;
+import cz.cvut.kbss.ontodriver.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.net.URI;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EntityGraphLoaderTest {
+
+    @Mock
+    private ObjectOntologyMapperImpl mapperMock;
+
+    @Mock
+    private Connection connectionMock;
+
+    @Mock
+    private EntityConstructor entityBuilderMock;
+
+    @Mock
+    private CacheManager cacheMock;
+
+    @Mock
+    private MetamodelImpl metamodelMock;
+
+    private MetamodelMocks metamodelMocks;
+
+    private final Descriptor descriptor = new EntityDescriptor();
+
+    private EntityGraphLoader sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        this.metamodelMocks = new MetamodelMocks();
+        metamodelMocks.setMocks(metamodelMock);
+        when(metamodelMock.isEntityType(OWLClassA.class)).thenReturn(true);
+        when(mapperMock.getEntityType(any())).thenAnswer(inv -> metamodelMock.entity(inv.getArgument(0)));
+        this.sut = new EntityGraphLoader(mapperMock, connectionMock,
+                new AxiomDescriptorFactory(new Configuration(Collections.emptyMap())), entityBuilderMock, cacheMock,
+                metamodelMock);
+    }
+
+    @Test
+    void loadLoadsGraphAttributesAndReferencedEntitiesUsingOneStorageRequestPerLevel() throws Exception {
+        final OWLClassF fOne = new OWLClassF(Generators.createIndividualIdentifier());
+        final OWLClassF fTwo = new OWLClassF(Generators.createIndividualIdentifier());
+        final URI aOne = Generators.createIndividualIdentifier();
+        final URI aTwo = Generators.createIndividualIdentifier();
+        final Axiom<?> fOneAx = referenceAxiom(fOne.getUri(), aOne);
+        final Axiom<?> fTwoAx = referenceAxiom(fTwo.getUri(), aTwo);
+        when(connectionMock.findAll(anyCollection())).thenReturn(Arrays.asList(fOneAx, fTwoAx))
+                                                     .thenReturn(Arrays.asList(classAssertion(aOne),
+                                                             classAssertion(aTwo)));
+        when(entityBuilderMock.reconstructEntity(any(), any(), any(), anyCollection()))
+                .thenAnswer(inv -> new OWLClassA((URI) inv.getArgument(0)));
+        final Map<OWLClassF, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(fOne, descriptor);
+        entities.put(fTwo, descriptor);
+
+        sut.load(entities, graphWithSimpleSet().getAttributeNodes());
+        final ArgumentCaptor<Collection<AxiomDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectionMock, times(2)).findAll(captor.capture());
+        verify(connectionMock, never()).find(any());
+        // First level - both F instances, second level - both referenced A instances
+        assertEquals(2, captor.getAllValues().get(0).size());
+        assertEquals(2, captor.getAllValues().get(1).size());
+        verify(entityBuilderMock).reconstructEntity(eq(aOne), any(), any(), anyCollection());
+        verify(entityBuilderMock).reconstructEntity(eq(aTwo), any(), any(), anyCollection());
+        verify(cacheMock, times(2)).add(any(), any(OWLClassA.class), any());
+        verify(entityBuilderMock).setFieldValue(eq(fOne), eq(OWLClassF.getSimpleSetField()),
+                eq(Collections.singletonList(fOneAx)), any(), eq(descriptor));
+        verify(entityBuilderMock).setFieldValue(eq(fTwo), eq(OWLClassF.getSimpleSetField()),
+                eq(Collections.singletonList(fTwoAx)), any(), eq(descriptor));
+    }
+
+    @Test
+    void loadNotifiesCacheAboutInstancesWhoseValuesHaveBeenSet() throws Exception {
+        final OWLClassF f = new OWLClassF(Generators.createIndividualIdentifier());
+        final URI a = Generators.createIndividualIdentifier();
+        when(connectionMock.findAll(anyCollection()))
+                .thenReturn(Collections.singletonList(referenceAxiom(f.getUri(), a)))
+                .thenReturn(Collections.singletonList(classAssertion(a)));
+        when(entityBuilderMock.reconstructEntity(any(), any(), any(), anyCollection()))
+                .thenAnswer(inv -> new OWLClassA((URI) inv.getArgument(0)));
+
+        sut.load(Collections.singletonMap(f, descriptor), graphWithSimpleSet().getAttributeNodes());
+        verify(cacheMock).update(f.getUri(), f, descriptor);
+    }
+
+    private static Axiom<?> referenceAxiom(URI subject, URI object) throws Exception {
+        final String iri = OWLClassF.getSimpleSetField().getAnnotation(OWLObjectProperty.class).iri();
+        return new AxiomImpl<>(NamedResource.create(subject),
+                Assertion.createObjectPropertyAssertion(URI.create(iri), false),
+                new Value<>(NamedResource.create(object)));
+    }
+
+    private static Axiom<?> classAssertion(URI subject) {
+        return new AxiomImpl<>(NamedResource.create(subject), Assertion.createClassAssertion(false),
+                new Value<>(NamedResource.create(Vocabulary.c_OwlClassA)));
+    }
+
+    private EntityGraphImpl<OWLClassF> graphWithSimpleSet() throws Exception {
+        final EntityGraphImpl<OWLClassF> graph =
+                new EntityGraphImpl<>(null, metamodelMocks.forOwlClassF().entityType(), metamodelMock);
+        graph.addAttributeNodes(OWLClassF.getSimpleSetField().getName());
+        return graph;
+    }
+
+    @Test
+    void loadDoesNotAccessStorageWhenGraphAttributesAreAlreadyLoaded() throws Exception {
+        final OWLClassF f = new OWLClassF(Generators.createIndividualIdentifier());
+        f.setSimpleSet(Collections.singleton(new OWLClassA(Generators.createIndividualIdentifier())));
+
+        sut.load(Collections.singletonMap(f, descriptor), graphWithSimpleSet().getAttributeNodes());
+        verify(connectionMock, never()).findAll(anyCollection());
+        verify(entityBuilderMock, never()).setFieldValue(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void loadUsesAlreadyLoadedReferencedInstanceInsteadOfLoadingItFromStorage() throws Exception {
+        final OWLClassF f = new OWLClassF(Generators.createIndividualIdentifier());
+        final OWLClassA existing = new OWLClassA(Generators.createIndividualIdentifier());
+        final Axiom<?> ax = referenceAxiom(f.getUri(), existing.getUri());
+        when(connectionMock.findAll(anyCollection())).thenReturn(Collections.singletonList(ax));
+        when(mapperMock.getExistingInstance(eq(OWLClassA.class), eq(existing.getUri()), any())).thenReturn(existing);
+
+        sut.load(Collections.singletonMap(f, descriptor), graphWithSimpleSet().getAttributeNodes());
+        verify(connectionMock).findAll(anyCollection());
+        verify(entityBuilderMock, never()).reconstructEntity(any(), any(), any(), anyCollection());
+        verify(entityBuilderMock).setFieldValue(eq(f), eq(OWLClassF.getSimpleSetField()),
+                eq(Collections.singletonList(ax)), any(), eq(descriptor));
+    }
+
+    @Test
+    void loadDoesNotAccessStorageWhenGraphAttributeIsLoadedAccordingToPersistenceContext() throws Exception {
+        final OWLClassF f = new OWLClassF(Generators.createIndividualIdentifier());
+        when(mapperMock.getLoadState(eq(f), eq(f.getUri()), any(), any())).thenReturn(LoadState.LOADED);
+
+        sut.load(Collections.singletonMap(f, descriptor), graphWithSimpleSet().getAttributeNodes());
+        verify(connectionMock, never()).findAll(anyCollection());
+    }
+
+    @Test
+    void loadLoadsGraphAttributeWithValueWhenItIsNotLoadedAccordingToPersistenceContext() throws Exception {
+        final OWLClassF f = new OWLClassF(Generators.createIndividualIdentifier());
+        final OWLClassA existing = new OWLClassA(Generators.createIndividualIdentifier());
+        f.setSimpleSet(Collections.singleton(existing));
+        when(mapperMock.getLoadState(eq(f), eq(f.getUri()), any(), any())).thenReturn(LoadState.NOT_LOADED);
+        final Axiom<?> ax = referenceAxiom(f.getUri(), existing.getUri());
+        when(connectionMock.findAll(anyCollection())).thenReturn(Collections.singletonList(ax));
+        when(mapperMock.getExistingInstance(eq(OWLClassA.class), eq(existing.getUri()), any())).thenReturn(existing);
+
+        sut.load(Collections.singletonMap(f, descriptor), graphWithSimpleSet().getAttributeNodes());
+        verify(connectionMock).findAll(anyCollection());
+        verify(entityBuilderMock).setFieldValue(eq(f), eq(OWLClassF.getSimpleSetField()),
+                eq(Collections.singletonList(ax)), any(), eq(descriptor));
+    }
+
+    @Test
+    void loadLoadsSameIndividualInDifferentContextsUsingSeparateStorageRequests() throws Exception {
+        final URI identifier = Generators.createIndividualIdentifier();
+        final OWLClassF fOne = new OWLClassF(identifier);
+        final OWLClassF fTwo = new OWLClassF(identifier);
+        final Descriptor descriptorOne = new EntityDescriptor(Generators.createIndividualIdentifier());
+        final Descriptor descriptorTwo = new EntityDescriptor(Generators.createIndividualIdentifier());
+        final Axiom<?> axOne = referenceAxiom(identifier, Generators.createIndividualIdentifier());
+        final Axiom<?> axTwo = referenceAxiom(identifier, Generators.createIndividualIdentifier());
+        when(connectionMock.findAll(anyCollection())).thenReturn(Collections.singletonList(axOne))
+                                                     .thenReturn(Collections.singletonList(axTwo))
+                                                     .thenReturn(Collections.emptyList());
+        final Map<OWLClassF, Descriptor> entities = new LinkedHashMap<>();
+        entities.put(fOne, descriptorOne);
+        entities.put(fTwo, descriptorTwo);
+
+        sut.load(entities, graphWithSimpleSet().getAttributeNodes());
+        verify(entityBuilderMock).setFieldValue(eq(fOne), eq(OWLClassF.getSimpleSetField()),
+                eq(Collections.singletonList(axOne)), any(), eq(descriptorOne));
+        verify(entityBuilderMock).setFieldValue(eq(fTwo), eq(OWLClassF.getSimpleSetField()),
+                eq(Collections.singletonList(axTwo)), any(), eq(descriptorTwo));
+    }
+
+    @Test
+    void loadResolvesTypesOfReferencedPolymorphicEntitiesUsingOneStorageRequestPerLevel() throws Exception {
+        final String attName = OWLClassT.getOwlClassSField().getName();
+        when(metamodelMock.isEntityType(OWLClassS.class)).thenReturn(true);
+        final OWLClassT tOne = new OWLClassT();
+        tOne.setUri(Generators.createIndividualIdentifier());
+        final OWLClassT tTwo = new OWLClassT();
+        tTwo.setUri(Generators.createIndividualIdentifier());
+        final URI sOne = Generators.createIndividualIdentifier();
+        final URI sTwo = Generators.createIndividualIdentifier();
+        final Assertion hasS = Assertion.createObjectPropertyAssertion(URI.create(
+                OWLClassT.getOwlClassSField().getAnnotation(OWLObjectProperty.class).iri()), false);
+        when(connectionMock.findAll(anyCollection()))
+                .thenReturn(Arrays.asList(new AxiomImpl<>(NamedResource.create(tOne.getUri()), hasS,
+                                new Value<>(NamedResource.create(sOne))),
+                        new AxiomImpl<>(NamedResource.create(tTwo.getUri()), hasS,
+                                new Value<>(NamedResource.create(sTwo)))))
+                .thenReturn(Arrays.asList(typeAxiom(sOne), typeAxiom(sTwo)))
+                .thenReturn(Arrays.asList(typeAxiom(sOne), typeAxiom(sTwo)));
+        when(entityBuilderMock.reconstructEntity(any(), any(), any(), anyCollection())).thenAnswer(inv -> {
+            final OWLClassR r = new OWLClassR();
+            r.setUri(inv.getArgument(0));
+            return r;
+        });
+        final Map<OWLClassT, Descriptor> entities = new LinkedHashMap<>();
+        entities.put(tOne, descriptor);
+        entities.put(tTwo, descriptor);
+        final EntityGraphImpl<OWLClassT> graph =
+                new EntityGraphImpl<>(null, metamodelMocks.forOwlClassT().entityType(), metamodelMock);
+        graph.addAttributeNodes(attName);
+
+        sut.load(entities, graph.getAttributeNodes());
+        verify(connectionMock, times(3)).findAll(anyCollection());
+        verify(mapperMock, never()).getEntityFromCacheOrOntology(any(), any(), any());
+        verify(entityBuilderMock).reconstructEntity(eq(sOne), eq(metamodelMocks.forOwlClassR().entityType()), any(),
+                anyCollection());
+        verify(entityBuilderMock).reconstructEntity(eq(sTwo), eq(metamodelMocks.forOwlClassR().entityType()), any(),
+                anyCollection());
+    }
+
+    private static Axiom<?> typeAxiom(URI subject) {
+        return new AxiomImpl<>(NamedResource.create(subject), Assertion.createClassAssertion(false),
+                new Value<>(URI.create(OWLClassR.getClassIri())));
+    }
+
+    @Test
+    void loadLoadsElementsOfListAttributeTogetherAtNextLevel() throws Exception {
+        final OWLClassC c = new OWLClassC(Generators.createIndividualIdentifier());
+        final URI aOne = Generators.createIndividualIdentifier();
+        final URI aTwo = Generators.createIndividualIdentifier();
+        final Assertion hasSimpleList =
+                Assertion.createObjectPropertyAssertion(URI.create(Vocabulary.P_HAS_SIMPLE_LIST), false);
+        final Axiom<NamedResource> headAx =
+                new AxiomImpl<>(NamedResource.create(c.getUri()), hasSimpleList, new Value<>(NamedResource.create(aOne)));
+        final List<Axiom<NamedResource>> elements = Arrays.asList(headAx,
+                new AxiomImpl<>(NamedResource.create(aOne), hasSimpleList, new Value<>(NamedResource.create(aTwo))));
+        when(connectionMock.findAll(anyCollection())).thenReturn(Collections.singletonList(headAx))
+                                                     .thenReturn(Arrays.asList(classAssertion(aOne),
+                                                             classAssertion(aTwo)));
+        when(mapperMock.loadSimpleList(any())).thenReturn(elements);
+        when(entityBuilderMock.reconstructEntity(any(), any(), any(), anyCollection()))
+                .thenAnswer(inv -> new OWLClassA((URI) inv.getArgument(0)));
+        final EntityGraphImpl<OWLClassC> graph =
+                new EntityGraphImpl<>(null, metamodelMocks.forOwlClassC().entityType(), metamodelMock);
+        graph.addAttributeNodes(OWLClassC.getSimpleListField().getName());
+
+        sut.load(Collections.singletonMap(c, descriptor), graph.getAttributeNodes());
+        final ArgumentCaptor<Collection<AxiomDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectionMock, times(2)).findAll(captor.capture());
+        assertEquals(1, captor.getAllValues().get(0).size());
+        assertEquals(2, captor.getAllValues().get(1).size());
+        verify(mapperMock).loadSimpleList(any());
+        verify(entityBuilderMock).reconstructEntity(eq(aOne), any(), any(), anyCollection());
+        verify(entityBuilderMock).reconstructEntity(eq(aTwo), any(), any(), anyCollection());
+        verify(entityBuilderMock).setListFieldValue(eq(c), eq(OWLClassC.getSimpleListField()),
+                eq(new ArrayList<Axiom<?>>(elements)), any(), eq(descriptor));
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.oom;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassB;
+import cz.cvut.kbss.jopa.environment.Vocabulary;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.model.annotations.FetchType;
+import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
+import cz.cvut.kbss.jopa.vocabulary.RDF;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.net.URI;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EntityLoadPlanTest {
+
+    @Mock
+    private EntityMappingHelper mapperMock;
+
+    private MetamodelMocks metamodelMocks;
+
+    private final Descriptor descriptor = new EntityDescriptor();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        this.metamodelMocks = new MetamodelMocks();
+    }
+
+    @Test
+    void ofReturnsPlanStoredInEntityType() {
+        final EntityTypeImpl<OWLClassA> et = metamodelMocks.forOwlClassA().entityType();
+        final EntityLoadPlan<OWLClassA> plan = new EntityLoadPlan<>(et);
+        when(et.getLoadPlan()).thenReturn(plan);
+        assertSame(plan, EntityLoadPlan.of(et));
+    }
+
+    @Test
+    void ofComputesPlanWhenEntityTypeDoesNotProvideOne() {
+        final EntityType<OWLClassA> et = metamodelMocks.forOwlClassA().entityType();
+        final EntityLoadPlan<OWLClassA> result = EntityLoadPlan.of(et);
+        assertNotNull(result);
+        assertSame(et, result.getEntityType());
+    }
+
+    @Test
+    void resolveAttributeFindsAttributeByAssertionIdentifier() {
+        final EntityLoadPlan<OWLClassA> sut = EntityLoadPlan.of(metamodelMocks.forOwlClassA().entityType());
+        assertEquals(metamodelMocks.forOwlClassA().stringAttribute(),
+                sut.resolveAttribute(URI.create(Vocabulary.p_a_stringAttribute)));
+        assertEquals(metamodelMocks.forOwlClassA().typesSpec(), sut.resolveAttribute(URI.create(RDF.TYPE)));
+    }
+
+    @Test
+    void resolveAttributeReturnsNullForUnknownAssertionWhenEntityHasNoPropertiesField() {
+        final EntityLoadPlan<OWLClassA> sut = EntityLoadPlan.of(metamodelMocks.forOwlClassA().entityType());
+        assertNull(sut.resolveAttribute(URI.create(Vocabulary.ATTRIBUTE_BASE + "unknown")));
+    }
+
+    @Test
+    void resolveAttributeReturnsPropertiesFieldForUnknownAssertion() {
+        final EntityLoadPlan<OWLClassB> sut = EntityLoadPlan.of(metamodelMocks.forOwlClassB().entityType());
+        assertEquals(metamodelMocks.forOwlClassB().propertiesSpec(),
+                sut.resolveAttribute(URI.create(Vocabulary.ATTRIBUTE_BASE + "unknown")));
+    }
+
+    @Test
+    void createFieldStrategyCreatesNewStrategyForEachCall() {
+        final EntityLoadPlan<OWLClassA> sut = EntityLoadPlan.of(metamodelMocks.forOwlClassA().entityType());
+        final FieldStrategy<?, ?> one =
+                sut.createFieldStrategy(metamodelMocks.forOwlClassA().stringAttribute(), descriptor, mapperMock);
+        final FieldStrategy<?, ?> two =
+                sut.createFieldStrategy(metamodelMocks.forOwlClassA().stringAttribute(), descriptor, mapperMock);
+        assertThat(one, instanceOf(SingularDataPropertyStrategy.class));
+        assertNotSame(one, two);
+    }
+
+    @Test
+    void eagerAttributesDoNotContainLazilyLoadedAttributes() {
+        final EntityType<OWLClassA> et = metamodelMocks.forOwlClassA().entityType();
+        when(metamodelMocks.forOwlClassA().stringAttribute().getFetchType()).thenReturn(FetchType.LAZY);
+        final EntityLoadPlan<OWLClassA> sut = EntityLoadPlan.of(et);
+        assertFalse(sut.getEagerAttributes().contains(metamodelMocks.forOwlClassA().stringAttribute()));
+    }
+}
@@ -40,6 +40,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -169,6 +170,59 @@ class ObjectOntologyMapperTest {
                 any());
     }
 
+    @Test
+    void loadFieldValuesLoadsFieldValueOfAllEntitiesTogether() throws Exception {
+        final Field typesField = OWLClassA.getTypesField();
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+        final AxiomDescriptor anotherAxiomDescriptor = new AxiomDescriptor(NamedResource.create(another.getUri()));
+        when(descriptorFactoryMock.createForFieldLoading(another.getUri(), typesField, aDescriptor, etAMock))
+                .thenReturn(anotherAxiomDescriptor);
+        final Collection<Axiom<?>> axiomsForA = getAxiomsForEntityA();
+        final Axiom<?> anotherAxiom = new AxiomImpl<>(NamedResource.create(another.getUri()),
+                Assertion.createClassAssertion(false), new Value<Object>(NamedResource.create(Vocabulary.c_OwlClassA)));
+        final List<Axiom<?>> allAxioms = new ArrayList<>(axiomsForA);
+        allAxioms.add(anotherAxiom);
+        when(connectionMock.findAll(anyCollection())).thenReturn(allAxioms);
+        final Map<OWLClassA, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(entityA, aDescriptor);
+        entities.put(another, aDescriptor);
+
+        mapper.loadFieldValues(entities, typesField);
+        final ArgumentCaptor<Collection<AxiomDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectionMock).findAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().containsAll(Arrays.asList(axiomDescriptor, anotherAxiomDescriptor)));
+        verify(connectionMock, never()).find(any());
+        verify(entityConstructorMock).setFieldValue(entityA, typesField, new ArrayList<>(axiomsForA), etAMock,
+                aDescriptor);
+        verify(entityConstructorMock).setFieldValue(another, typesField, Collections.singletonList(anotherAxiom),
+                etAMock, aDescriptor);
+    }
+
+    @Test
+    void loadFieldValuesLoadsValuesOfSameIndividualInDifferentContextsSeparately() throws Exception {
+        final Field typesField = OWLClassA.getTypesField();
+        final OWLClassA inContext = new OWLClassA(IDENTIFIER);
+        final Descriptor contextDescriptor = new EntityDescriptor(Generators.createIndividualIdentifier());
+        final AxiomDescriptor inContextAxiomDescriptor = new AxiomDescriptor(NamedResource.create(IDENTIFIER));
+        inContextAxiomDescriptor.setSubjectContext(contextDescriptor.getContext());
+        when(descriptorFactoryMock.createForFieldLoading(IDENTIFIER, typesField, contextDescriptor, etAMock))
+                .thenReturn(inContextAxiomDescriptor);
+        final List<Axiom<?>> axiomsForA = new ArrayList<>(getAxiomsForEntityA());
+        final List<Axiom<?>> axiomsInContext = Collections.singletonList(axiomsForA.get(0));
+        when(connectionMock.findAll(Collections.singletonList(axiomDescriptor))).thenReturn(axiomsForA);
+        when(connectionMock.findAll(Collections.singletonList(inContextAxiomDescriptor))).thenReturn(axiomsInContext);
+        final Map<OWLClassA, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(entityA, aDescriptor);
+        entities.put(inContext, contextDescriptor);
+
+        mapper.loadFieldValues(entities, typesField);
+        verify(connectionMock, times(2)).findAll(anyCollection());
+        verify(entityConstructorMock).setFieldValue(entityA, typesField, axiomsForA, etAMock, aDescriptor);
+        verify(entityConstructorMock).setFieldValue(inContext, typesField, axiomsInContext, etAMock,
+                contextDescriptor);
+    }
+
     @Test
     void testPersistEntity() {
         final AxiomValueGatherer madMock = mock(AxiomValueGatherer.class);
@@ -194,6 +248,99 @@ class ObjectOntologyMapperTest {
         verify(madMock).persist(connectionMock);
     }
 
+    @Test
+    void persistEntitiesGeneratesMissingIdentifiersAndPersistsAxiomsOfAllEntitiesInSingleBatch() throws Exception {
+        final OWLClassA a = new OWLClassA();
+        final URI generatedUri = Generators.createIndividualIdentifier();
+        when(connectionMock.generateIdentifier(etAMock.getIRI().toURI())).thenReturn(generatedUri);
+        when(entityDeconstructorMock.mapEntityToAxioms(IDENTIFIER, entityA, etAMock, aDescriptor))
+                .thenReturn(new AxiomValueGatherer(NamedResource.create(IDENTIFIER), null));
+        when(entityDeconstructorMock.mapEntityToAxioms(generatedUri, a, etAMock, aDescriptor))
+                .thenReturn(new AxiomValueGatherer(NamedResource.create(generatedUri), null));
+        final Map<OWLClassA, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(entityA, aDescriptor);
+        entities.put(a, aDescriptor);
+
+        mapper.persistEntities(entities);
+        assertEquals(generatedUri, a.getUri());
+        final ArgumentCaptor<Collection<AxiomValueDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectionMock).persistAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().stream().anyMatch(d -> d.getSubject().getIdentifier().equals(IDENTIFIER)));
+        assertTrue(captor.getValue().stream().anyMatch(d -> d.getSubject().getIdentifier().equals(generatedUri)));
+        verify(connectionMock, never()).persist(any());
+    }
+
+    @Test
+    void findExistingEntitiesVerifiesExistenceOfAllEntitiesUsingSingleStorageRequest() throws Exception {
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+        final Axiom<?> entityAAxiom = new AxiomImpl<>(NamedResource.create(IDENTIFIER),
+                Assertion.createClassAssertion(false), new Value<>(NamedResource.create(OWLClassA.getClassIri())));
+        when(connectionMock.findContained(anyCollection(), any())).thenReturn(Collections.singleton(entityAAxiom));
+        final Map<OWLClassA, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(entityA, aDescriptor);
+        entities.put(another, aDescriptor);
+
+        final List<OWLClassA> result = mapper.findExistingEntities(entities);
+        assertEquals(Collections.singletonList(entityA), result);
+        final ArgumentCaptor<Collection<Axiom<?>>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectionMock).findContained(captor.capture(), eq(aDescriptor.getContext()));
+        assertEquals(2, captor.getValue().size());
+        verify(connectionMock, never()).contains(any(), any());
+    }
+
+    @Test
+    void persistEntitiesRestoresPreviousReferenceSavingResolverAfterMappingEntities() throws Exception {
+        final ReferenceSavingResolver previous = new ReferenceSavingResolver(mapper);
+        when(entityDeconstructorMock.getReferenceSavingResolver()).thenReturn(previous);
+        when(entityDeconstructorMock.mapEntityToAxioms(IDENTIFIER, entityA, etAMock, aDescriptor))
+                .thenReturn(new AxiomValueGatherer(NamedResource.create(IDENTIFIER), null));
+
+        mapper.persistEntities(Collections.singletonMap(entityA, aDescriptor));
+        final InOrder inOrder = inOrder(entityDeconstructorMock);
+        inOrder.verify(entityDeconstructorMock).setReferenceSavingResolver(argThat(r -> r != previous));
+        inOrder.verify(entityDeconstructorMock).mapEntityToAxioms(IDENTIFIER, entityA, etAMock, aDescriptor);
+        inOrder.verify(entityDeconstructorMock).setReferenceSavingResolver(previous);
+    }
+
+    @Test
+    void findExistingEntitiesReturnsAllInstancesWithIdentifierOfExistingIndividual() throws Exception {
+        final OWLClassA sameIndividual = new OWLClassA(IDENTIFIER);
+        final Axiom<?> entityAAxiom = new AxiomImpl<>(NamedResource.create(IDENTIFIER),
+                Assertion.createClassAssertion(false), new Value<>(NamedResource.create(OWLClassA.getClassIri())));
+        when(connectionMock.findContained(anyCollection(), any())).thenReturn(Collections.singleton(entityAAxiom));
+        final Map<OWLClassA, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(entityA, aDescriptor);
+        entities.put(sameIndividual, aDescriptor);
+
+        final List<OWLClassA> result = mapper.findExistingEntities(entities);
+        assertEquals(2, result.size());
+        assertTrue(result.contains(entityA));
+        assertTrue(result.stream().anyMatch(e -> e == sameIndividual));
+    }
+
+    @Test
+    void removeEntitiesRemovesAllEntitiesUsingSingleStorageRequest() throws Exception {
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+        final AxiomDescriptor anotherAxiomDescriptor = new AxiomDescriptor(NamedResource.create(another.getUri()));
+        when(descriptorFactoryMock
+                .createForEntityLoading(new LoadingParameters<>(OWLClassA.class, IDENTIFIER, aDescriptor, true),
+                        etAMock)).thenReturn(axiomDescriptor);
+        when(descriptorFactoryMock
+                .createForEntityLoading(new LoadingParameters<>(OWLClassA.class, another.getUri(), aDescriptor, true),
+                        etAMock)).thenReturn(anotherAxiomDescriptor);
+        final Map<OWLClassA, Descriptor> entities = new IdentityHashMap<>();
+        entities.put(entityA, aDescriptor);
+        entities.put(another, aDescriptor);
+
+        mapper.removeEntities(entities);
+        final ArgumentCaptor<Collection<AxiomDescriptor>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectionMock).removeAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().containsAll(Arrays.asList(axiomDescriptor, anotherAxiomDescriptor)));
+        verify(connectionMock, never()).remove(any());
+    }
+
     @Test
     void testGetEntityFromCacheOrOntologyFromCache() {
         when(cacheMock.contains(OWLClassA.class, IDENTIFIER, aDescriptor)).thenReturn(Boolean.TRUE);
@@ -340,7 +487,6 @@ class ObjectOntologyMapperTest {
 
     @Test
     void loadEntityLoadsInstanceFromCacheWhenItIsPresentThere() throws Exception {
-        when(cacheMock.contains(OWLClassA.class, IDENTIFIER, loadingParameters.getDescriptor())).thenReturn(true);
         when(cacheMock.get(OWLClassA.class, IDENTIFIER, loadingParameters.getDescriptor())).thenReturn(entityA);
 
         final OWLClassA result = mapper.loadEntity(loadingParameters);
@@ -353,7 +499,6 @@ class ObjectOntologyMapperTest {
     void loadEntityDeterminesConcreteEntityTypeAndLoadsItFromCacheWhenItIsPresentThere() throws Exception {
         final OWLClassR entity = new OWLClassR();
         entity.setUri(IDENTIFIER);
-        when(cacheMock.contains(OWLClassR.class, IDENTIFIER, aDescriptor)).thenReturn(true);
         when(cacheMock.get(OWLClassR.class, IDENTIFIER, aDescriptor)).thenReturn(entity);
         final Types typesMock = mock(Types.class);
         final NamedResource individual = NamedResource.create(IDENTIFIER);
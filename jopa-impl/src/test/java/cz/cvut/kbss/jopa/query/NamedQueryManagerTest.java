@@ -59,4 +59,12 @@ public class NamedQueryManagerTest {
         thrown.expectMessage("Query with name " + name + " was not found in this persistence unit.");
         queryManager.getQuery(name);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void hasQueryReturnsTrueOnlyForAddedQuery() {
+        final String name = "selectAll";
+        queryManager.addNamedQuery(name, QUERY);
+        assertTrue(queryManager.hasQuery(name));
+        assertFalse(queryManager.hasQuery("unknown"));
+    }
+}
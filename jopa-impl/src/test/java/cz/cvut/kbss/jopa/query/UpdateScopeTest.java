@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.query;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassB;
+import cz.cvut.kbss.jopa.environment.OWLClassD;
+import cz.cvut.kbss.jopa.environment.Vocabulary;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class UpdateScopeTest {
+
+    private Metamodel metamodel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        final MetamodelMocks metamodelMocks = new MetamodelMocks();
+        this.metamodel = mock(Metamodel.class);
+        doReturn(new HashSet<>(Arrays.asList(metamodelMocks.forOwlClassA().entityType(),
+                metamodelMocks.forOwlClassB().entityType(), metamodelMocks.forOwlClassD().entityType())))
+                .when(metamodel).getEntities();
+    }
+
+    @Test
+    void ofClassesReturnsUnboundedScopeForEmptyClasses() {
+        assertTrue(UpdateScope.ofClasses(Collections.emptySet()).isUnbounded());
+        assertFalse(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)).isUnbounded());
+    }
+
+    @Test
+    void resolveEntityClassesReturnsClassesWithAttributesMappedToModifiedPropertiesAndClassesWithPropertiesSpecification() {
+        final UpdateScope sut = new UpdateScope(Collections.emptySet(), Collections.emptySet(),
+                Collections.singleton(URI.create(Vocabulary.P_HAS_A)), Collections.emptySet(), Collections.emptySet());
+        final Set<Class<?>> result = sut.resolveEntityClasses(metamodel);
+        assertEquals(new HashSet<>(Arrays.asList(OWLClassB.class, OWLClassD.class)), result);
+    }
+
+    @Test
+    void resolveEntityClassesReturnsClassesMappedToModifiedTypesAndClassesWithTypesSpecification() {
+        final UpdateScope sut = new UpdateScope(Collections.emptySet(),
+                Collections.singleton(URI.create(OWLClassD.getClassIri())), Collections.emptySet(),
+                Collections.emptySet(), Collections.emptySet());
+        final Set<Class<?>> result = sut.resolveEntityClasses(metamodel);
+        assertEquals(new HashSet<>(Arrays.asList(OWLClassA.class, OWLClassD.class)), result);
+    }
+
+    @Test
+    void resolveEntityClassesReturnsExplicitlySpecifiedClassesWhenNoTypesOrPropertiesWereModified() {
+        final UpdateScope sut = UpdateScope.ofClasses(Collections.singleton(OWLClassB.class));
+        assertEquals(Collections.singleton(OWLClassB.class), sut.resolveEntityClasses(metamodel));
+    }
+}
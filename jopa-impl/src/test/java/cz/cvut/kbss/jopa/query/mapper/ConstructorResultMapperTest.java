@@ -17,6 +17,7 @@ package cz.cvut.kbss.jopa.query.mapper;
 import cz.cvut.kbss.jopa.environment.OWLClassA;
 import cz.cvut.kbss.jopa.environment.utils.Generators;
 import cz.cvut.kbss.jopa.exception.SparqlResultMappingException;
+import cz.cvut.kbss.jopa.model.metamodel.ConstructorCache;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.ontodriver.iteration.ResultRow;
 import org.junit.jupiter.api.BeforeEach;
@@ -47,7 +48,7 @@ class ConstructorResultMapperTest {
 
     @Test
     void mapRetrievesVariableValueAndUsesConstructorToCreateNewInstance() {
-        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class);
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
         final VariableResultMapper paramMapper = mock(VariableResultMapper.class);
         final URI uri = Generators.createIndividualIdentifier();
         when(paramMapper.map(resultRow, uowMock)).thenReturn(uri);
@@ -61,7 +62,7 @@ class ConstructorResultMapperTest {
 
     @Test
     void mapRetrievesValuesForMultipleConstructorParamsAndInstantiatesResult() {
-        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class);
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
         final VariableResultMapper idMapper = mock(VariableResultMapper.class);
         final VariableResultMapper stringMapper = mock(VariableResultMapper.class);
         final URI uri = Generators.createIndividualIdentifier();
@@ -80,7 +81,7 @@ class ConstructorResultMapperTest {
 
     @Test
     void mapInstantiatesResultsWhenResultSetReturnsNullForVariableMapping() {
-        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class);
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
         final VariableResultMapper idMapper = mock(VariableResultMapper.class);
         final VariableResultMapper stringMapper = mock(VariableResultMapper.class);
         final URI uri = Generators.createIndividualIdentifier();
@@ -99,7 +100,7 @@ class ConstructorResultMapperTest {
 
     @Test
     void mapThrowsMappingExceptionWhenMatchingConstructorCannotBeFound() {
-        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class);
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
         final VariableResultMapper wrongMapper = mock(VariableResultMapper.class);
         when(wrongMapper.map(resultRow, uowMock)).thenReturn(117);
         mapper.addParameterMapper(wrongMapper);
@@ -113,7 +114,7 @@ class ConstructorResultMapperTest {
 
     @Test
     void mapIsAbleToUsePrivateConstructorToCreateTargetInstance() {
-        final ConstructorResultMapper mapper = new ConstructorResultMapper(WithPrivateConstructor.class);
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(WithPrivateConstructor.class, new ConstructorCache());
         final VariableResultMapper wrongMapper = mock(VariableResultMapper.class);
         final URI uri = Generators.createIndividualIdentifier();
         when(wrongMapper.map(resultRow, uowMock)).thenReturn(uri);
@@ -134,7 +135,7 @@ class ConstructorResultMapperTest {
 
     @Test
     void mapThrowsMappingExceptionWhenItIsUnableToBuildTargetInstance() {
-        final ConstructorResultMapper mapper = new ConstructorResultMapper(AbstractClass.class);
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(AbstractClass.class, new ConstructorCache());
         final VariableResultMapper wrongMapper = mock(VariableResultMapper.class);
         final URI uri = Generators.createIndividualIdentifier();
         when(wrongMapper.map(resultRow, uowMock)).thenReturn(uri);
@@ -153,4 +154,44 @@ class ConstructorResultMapperTest {
             this.uri = uri;
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void compileResolvesConstructorForDeclaredParameterTypesUsedForMapping() {
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
+        final VariableResultMapper idMapper = mock(VariableResultMapper.class);
+        final URI uri = Generators.createIndividualIdentifier();
+        when(idMapper.map(resultRow, uowMock)).thenReturn(uri);
+        when(idMapper.getTargetType()).thenAnswer(inv -> URI.class);
+        mapper.addParameterMapper(idMapper);
+        mapper.compile();
+
+        final Object resultOne = mapper.map(resultRow, uowMock);
+        final Object resultTwo = mapper.map(resultRow, uowMock);
+        assertEquals(uri, ((OWLClassA) resultOne).getUri());
+        assertEquals(uri, ((OWLClassA) resultTwo).getUri());
+        assertNotSame(resultOne, resultTwo);
+    }
+
+    @Test
+    void compileSkipsResolutionWhenParameterTypeIsNotDeclared() {
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
+        final VariableResultMapper idMapper = mock(VariableResultMapper.class);
+        final URI uri = Generators.createIndividualIdentifier();
+        when(idMapper.map(resultRow, uowMock)).thenReturn(uri);
+        when(idMapper.getTargetType()).thenAnswer(inv -> void.class);
+        mapper.addParameterMapper(idMapper);
+        mapper.compile();
+
+        final Object result = mapper.map(resultRow, uowMock);
+        assertEquals(uri, ((OWLClassA) result).getUri());
+    }
+
+    @Test
+    void compileDoesNotThrowExceptionWhenNoConstructorMatchesDeclaredTypes() {
+        final ConstructorResultMapper mapper = new ConstructorResultMapper(OWLClassA.class, new ConstructorCache());
+        final VariableResultMapper wrongMapper = mock(VariableResultMapper.class);
+        when(wrongMapper.getTargetType()).thenAnswer(inv -> Integer.class);
+        mapper.addParameterMapper(wrongMapper);
+        assertDoesNotThrow(mapper::compile);
+    }
+}
@@ -15,6 +15,8 @@
 package cz.cvut.kbss.jopa.query.mapper;
 
 import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.exception.SparqlResultMappingException;
+import cz.cvut.kbss.jopa.model.metamodel.ConstructorCache;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.sessions.UnitOfWorkImpl;
 import cz.cvut.kbss.ontodriver.iteration.ResultRow;
@@ -24,6 +26,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class EntityResultMapperTest {
@@ -42,7 +45,7 @@ class EntityResultMapperTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
-        this.mapper = new EntityResultMapper<>(etMock);
+        this.mapper = new EntityResultMapper<>(etMock, new ConstructorCache());
         when(etMock.getJavaType()).thenReturn(OWLClassA.class);
     }
 
@@ -66,4 +69,18 @@ class EntityResultMapperTest {
         verify(fOne).map(eq(resultRow), any(), eq(uowMock));
         verify(fTwo).map(eq(resultRow), any(), eq(uowMock));
     }
-}
\ No newline at end of file
+
+    @Test
+    void compileThrowsMappingExceptionWhenEntityClassHasNoNoArgConstructor() {
+        final EntityType<WithoutNoArgConstructor> et = mock(EntityType.class);
+        when(et.getJavaType()).thenReturn(WithoutNoArgConstructor.class);
+        final EntityResultMapper<WithoutNoArgConstructor> sut = new EntityResultMapper<>(et, new ConstructorCache());
+        assertThrows(SparqlResultMappingException.class, sut::compile);
+    }
+
+    @SuppressWarnings("unused")
+    private static class WithoutNoArgConstructor {
+        private WithoutNoArgConstructor(String value) {
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class ResultSetMappingProcessorTest {
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
+        when(builderMock.getConstructorCache()).thenReturn(new ConstructorCache());
         this.processor = new ResultSetMappingProcessor(builderMock);
     }
 
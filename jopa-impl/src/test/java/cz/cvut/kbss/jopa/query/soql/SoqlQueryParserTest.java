@@ -14,8 +14,11 @@
  */
 package cz.cvut.kbss.jopa.query.soql;
 
+import cz.cvut.kbss.jopa.environment.OWLClassA;
 import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.exception.QueryParserException;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.query.QueryHolder;
 import cz.cvut.kbss.jopa.query.QueryParser;
 import cz.cvut.kbss.jopa.query.parameter.ParameterValueFactory;
@@ -26,7 +29,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -37,13 +42,15 @@ public class SoqlQueryParserTest {
     @Mock
     private MetamodelImpl metamodel;
 
+    private MetamodelMocks metamodelMocks;
+
     private QueryParser sut;
 
     @BeforeEach
     void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        MetamodelMocks mocks =new MetamodelMocks();
-        mocks.setMocks(metamodel);
+        this.metamodelMocks = new MetamodelMocks();
+        metamodelMocks.setMocks(metamodel);
         final MetamodelProvider mpp = mock(MetamodelProvider.class);
         when(mpp.getMetamodel()).thenReturn(metamodel);
         when(mpp.isEntityType(any())).thenAnswer(inv -> metamodel.isEntityType(inv.getArgument(0)));
@@ -482,4 +489,53 @@ public class SoqlQueryParserTest {
         assertEquals(expectedSparqlQuery, holder.getQuery());
         assertEquals(5, holder.getParameters().size());
     }
+
+    @Test
+    public void testParseUpdateQuery(){
+        final String soqlQuery = "UPDATE Person p SET p.username = :username WHERE p.age = :age";
+        final String expectedSparqlQuery = "DELETE { ?x <http://www.example.org/username> ?pUsernameCurrent . } INSERT { ?x <http://www.example.org/username> ?username . } WHERE { ?x a <http://www.example.org/Person> . ?x <http://www.example.org/age> ?age . OPTIONAL { ?x <http://www.example.org/username> ?pUsernameCurrent . } }";
+        final QueryHolder holder = sut.parseQuery(soqlQuery);
+        assertEquals(expectedSparqlQuery, holder.getQuery());
+        assertEquals(4, holder.getParameters().size());
+    }
+
+    @Test
+    public void testParseUpdateMultipleAttributesQuery(){
+        final String soqlQuery = "UPDATE Person p SET p.username = :username, p.gender = :gender";
+        final String expectedSparqlQuery = "DELETE { ?x <http://www.example.org/username> ?pUsernameCurrent . ?x <http://www.example.org/gender> ?pGenderCurrent . } INSERT { ?x <http://www.example.org/username> ?username . ?x <http://www.example.org/gender> ?gender . } WHERE { ?x a <http://www.example.org/Person> . OPTIONAL { ?x <http://www.example.org/username> ?pUsernameCurrent . } OPTIONAL { ?x <http://www.example.org/gender> ?pGenderCurrent . } }";
+        final QueryHolder holder = sut.parseQuery(soqlQuery);
+        assertEquals(expectedSparqlQuery, holder.getQuery());
+        assertEquals(5, holder.getParameters().size());
+    }
+
+    @Test
+    public void testParseUpdateWithUnsupportedOperatorThrowsParserException(){
+        final String soqlQuery = "UPDATE Person p SET p.age > :age";
+        assertThrows(QueryParserException.class, () -> sut.parseQuery(soqlQuery));
+    }
+
+    @Test
+    public void testParseDeleteQuery(){
+        final String soqlQuery = "DELETE FROM Person p WHERE p.username = :username";
+        final String expectedSparqlQuery = "DELETE { ?x ?xProperty ?xValue . } WHERE { ?x a <http://www.example.org/Person> . ?x <http://www.example.org/username> ?username . ?x ?xProperty ?xValue . }";
+        final QueryHolder holder = sut.parseQuery(soqlQuery);
+        assertEquals(expectedSparqlQuery, holder.getQuery());
+        assertEquals(4, holder.getParameters().size());
+    }
+
+    @Test
+    public void testParseUpdateQueryResolvesAffectedEntityClass(){
+        when(metamodelMocks.forOwlClassA().entityType().getName()).thenReturn(OWLClassA.class.getSimpleName());
+        when(metamodel.getEntities()).thenReturn(Collections.<EntityType<?>>singleton(metamodelMocks.forOwlClassA().entityType()));
+        final String soqlQuery = "UPDATE OWLClassA a SET a.stringAttribute = :value";
+        final QueryHolder holder = sut.parseQuery(soqlQuery);
+        assertEquals(Collections.singleton(OWLClassA.class), holder.getAffectedEntityClasses());
+    }
+
+    @Test
+    public void testParseSelectQueryHasNoAffectedEntityClasses(){
+        final String soqlQuery = "SELECT p FROM Person p WHERE p.username = :username";
+        final QueryHolder holder = sut.parseQuery(soqlQuery);
+        assertTrue(holder.getAffectedEntityClasses().isEmpty());
+    }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.query.sparql;
+
+import cz.cvut.kbss.jopa.query.UpdateScope;
+import cz.cvut.kbss.jopa.vocabulary.RDF;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparqlUpdateAnalyzerTest {
+
+    private static final String PREFIX = "PREFIX ex: <http://example.org/> ";
+
+    @Test
+    void analyzeInsertDataResolvesSubjectsOfInsertedTriples() {
+        final UpdateScope result = SparqlUpdateAnalyzer.analyze(PREFIX +
+                "INSERT DATA { ex:a ex:name \"A\"@en , \"B\" ; a ex:Person . " +
+                "GRAPH <http://example.org/graph> { <http://example.org/b> ex:age 25 . } }");
+        assertFalse(result.isUnbounded());
+        assertEquals(new HashSet<>(Arrays.asList(URI.create("http://example.org/a"),
+                URI.create("http://example.org/b"))), result.getSubjects());
+        assertTrue(result.getTypes().isEmpty());
+        assertTrue(result.getProperties().isEmpty());
+    }
+
+    @Test
+    void analyzeDeleteInsertWhereResolvesPropertiesAndTypesOfTemplatesWithVariableSubjects() {
+        final UpdateScope result = SparqlUpdateAnalyzer.analyze(PREFIX +
+                "DELETE { ?x ex:name ?name } INSERT { ?x ex:name \"\"\"New {name}\"\"\" ; a ex:Person } " +
+                "WHERE { ?x ex:name ?name . FILTER (?name != \"}\" && STRLEN(?name) < 5) OPTIONAL { ?x ex:age ?age } }");
+        assertFalse(result.isUnbounded());
+        assertEquals(Collections.singleton(URI.create("http://example.org/name")), result.getProperties());
+        assertEquals(Collections.singleton(URI.create("http://example.org/Person")), result.getTypes());
+        assertTrue(result.getSubjects().isEmpty());
+    }
+
+    @Test
+    void analyzeIgnoresTriplesWithBlankNodeSubjects() {
+        final UpdateScope result = SparqlUpdateAnalyzer.analyze(PREFIX +
+                "INSERT DATA { _:b ex:name \"A\" . [ ex:name \"B\" ] ex:age 10 . }");
+        assertFalse(result.isUnbounded());
+        assertTrue(result.getSubjects().isEmpty());
+        assertTrue(result.getProperties().isEmpty());
+    }
+
+    @Test
+    void analyzeResolvesModifiedGraphsOfGraphManagementOperations() {
+        final UpdateScope result = SparqlUpdateAnalyzer.analyze(
+                "CLEAR GRAPH <http://example.org/one> ; MOVE SILENT <http://example.org/two> TO GRAPH <http://example.org/three> ; " +
+                        "CREATE GRAPH <http://example.org/four>");
+        assertFalse(result.isUnbounded());
+        assertEquals(new HashSet<>(Arrays.asList(URI.create("http://example.org/one"),
+                URI.create("http://example.org/two"), URI.create("http://example.org/three"))), result.getContexts());
+    }
+
+    @Test
+    void analyzeResolvesRelativeIrisAgainstBase() {
+        final UpdateScope result = SparqlUpdateAnalyzer.analyze(
+                "# Comment\nBASE <http://example.org/> INSERT DATA { <a> <" + RDF.TYPE + "> <Person> . }");
+        assertEquals(Collections.singleton(URI.create("http://example.org/a")), result.getSubjects());
+    }
+
+    @Test
+    void analyzeReturnsUnboundedScopeForTemplateWithVariableSubjectAndPredicate() {
+        assertTrue(SparqlUpdateAnalyzer.analyze("DELETE WHERE { ?x ?p ?o }").isUnbounded());
+    }
+
+    @Test
+    void analyzeReturnsUnboundedScopeForClassAssertionWithVariableClass() {
+        assertTrue(SparqlUpdateAnalyzer.analyze(PREFIX + "DELETE { ?x a ?type } WHERE { ?x a ?type }").isUnbounded());
+    }
+
+    @Test
+    void analyzeReturnsUnboundedScopeForOperationsOnAllGraphs() {
+        assertTrue(SparqlUpdateAnalyzer.analyze("CLEAR ALL").isUnbounded());
+        assertTrue(SparqlUpdateAnalyzer.analyze("DROP DEFAULT").isUnbounded());
+        assertTrue(SparqlUpdateAnalyzer.analyze("LOAD <http://example.org/data.ttl>").isUnbounded());
+    }
+
+    @Test
+    void analyzeReturnsUnboundedScopeForUnknownPrefix() {
+        assertTrue(SparqlUpdateAnalyzer.analyze("INSERT DATA { ex:a ex:name \"A\" }").isUnbounded());
+    }
+
+    @Test
+    void analyzeReturnsUnboundedScopeForInvalidUpdate() {
+        assertTrue(SparqlUpdateAnalyzer.analyze("INSERT DATA { <http://example.org/a> ").isUnbounded());
+        assertTrue(SparqlUpdateAnalyzer.analyze("SELECT * WHERE { ?x ?y ?z }").isUnbounded());
+    }
+}
@@ -207,4 +207,34 @@ public class CollectionInstanceBuilderTest {
         verify(uowMock).registerExistingObject(aOneOrig, descriptor, Collections.emptyList());
         verify(uowMock).registerExistingObject(aTwoOrig, descriptor, Collections.emptyList());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void buildCloneSharesCollectionOfImmutableValuesWhenCopyOnWriteIsEnabled() throws Exception {
+        when(uowMock.usesCopyOnWriteClones()).thenReturn(true);
+        when(uowMock.createCopyOnWriteCollection(any(), any(), any(Field.class))).thenAnswer(
+                invocation -> IndirectSet.copyOnWrite(invocation.getArguments()[1],
+                        (Field) invocation.getArguments()[2], uowMock, (Set<?>) invocation.getArguments()[0]));
+        final CollectionOwner owner = new CollectionOwner();
+        owner.set = new HashSet<>();
+        IntStream.range(0, 10).forEach(i -> owner.set.add("String" + i));
+        final Object result =
+                builder.buildClone(owner, CollectionOwner.setField(), owner.set, new CloneConfiguration(descriptor));
+        assertTrue(result instanceof IndirectSet);
+        assertSame(owner.set, ((IndirectSet<?>) result).getReferencedCollection());
+    }
+
+    @Test
+    public void buildCloneClonesCollectionOfEntitiesWhenCopyOnWriteIsEnabled() throws Exception {
+        when(uowMock.usesCopyOnWriteClones()).thenReturn(true);
+        when(uowMock.isEntityType(OWLClassA.class)).thenReturn(true);
+        final OWLClassA orig = Generators.generateOwlClassAInstance();
+        final OWLClassA clone = new OWLClassA(orig);
+        when(uowMock.registerExistingObject(orig, descriptor, Collections.emptyList())).thenReturn(clone);
+        final List<OWLClassA> list = new ArrayList<>(Collections.singletonList(orig));
+        final Object result = builder.buildClone(new OWLClassC(), OWLClassC.getRefListField(), list,
+                new CloneConfiguration(descriptor));
+        assertTrue(result instanceof IndirectList);
+        assertNotSame(list, ((IndirectList<?>) result).getReferencedCollection());
+        assertSame(clone, ((List<?>) result).get(0));
+    }
+}
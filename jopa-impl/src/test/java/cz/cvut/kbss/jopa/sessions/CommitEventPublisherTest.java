@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitEventPublisherTest {
+
+    private CommitEventPublisher sut = new CommitEventPublisher(16);
+
+    @AfterEach
+    void tearDown() {
+        sut.close();
+    }
+
+    private static CommitEvent event() {
+        return new CommitEvent(Collections.emptyList(), false, System.currentTimeMillis());
+    }
+
+    @Test
+    void publishDeliversEventsToAllListenersInOrder() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(4);
+        final List<CommitEvent> received = new CopyOnWriteArrayList<>();
+        sut.addListener(e -> {
+            received.add(e);
+            latch.countDown();
+        });
+        sut.addListener(e -> latch.countDown());
+        final CommitEvent first = event();
+        final CommitEvent second = event();
+        sut.publish(first);
+        sut.publish(second);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(first, received.get(0));
+        assertEquals(second, received.get(1));
+    }
+
+    @Test
+    void publishDeliversEventToOtherListenersWhenListenerThrowsException() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        sut.addListener(e -> {
+            throw new IllegalStateException("Failure");
+        });
+        sut.addListener(e -> latch.countDown());
+        sut.publish(event());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void publishDropsEventWhenQueueIsFull() throws Exception {
+        sut.close();
+        this.sut = new CommitEventPublisher(1);
+        final CountDownLatch deliveryStarted = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        sut.addListener(e -> {
+            deliveryStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sut.publish(event());
+        assertTrue(deliveryStarted.await(5, TimeUnit.SECONDS));
+        sut.publish(event());
+        sut.publish(event());
+
+        assertEquals(1, sut.getDroppedCount());
+        release.countDown();
+    }
+
+    @Test
+    void hasListenersReflectsRegisteredListeners() {
+        assertFalse(sut.hasListeners());
+        final CommitListener listener = e -> {
+        };
+        sut.addListener(listener);
+        assertTrue(sut.hasListeners());
+        sut.removeListener(listener);
+        assertFalse(sut.hasListeners());
+    }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.CloneSupport;
+import cz.cvut.kbss.jopa.model.metamodel.ConstructorCache;
+import cz.cvut.kbss.jopa.model.metamodel.EntityTypeImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class EntityClonerTest {
+
+    private MetamodelMocks metamodelMocks;
+
+    private EntityCloner<OWLClassA> sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.metamodelMocks = new MetamodelMocks();
+        this.sut = new EntityCloner<>(metamodelMocks.forOwlClassA().entityType(), new ConstructorCache());
+    }
+
+    @Test
+    void ofReturnsClonerStoredInEntityType() {
+        final EntityTypeImpl<OWLClassA> et = metamodelMocks.forOwlClassA().entityType();
+        when(et.getCloner()).thenReturn(sut);
+        assertSame(sut, EntityCloner.of(et, OWLClassA.class));
+    }
+
+    @Test
+    void ofCreatesClonerForSpecifiedClassWhenEntityTypeDoesNotProvideOne() {
+        final EntityTypeImpl<OWLClassA> et = metamodelMocks.forOwlClassA().entityType();
+        final EntityCloner<OWLClassA> result = EntityCloner.of(et, OWLClassA.class);
+        assertNotSame(sut, result);
+        assertSame(et, result.getEntityType());
+        assertThat(result.newInstance(), instanceOf(OWLClassA.class));
+    }
+
+    @Test
+    void ofCreatesClonerForSpecifiedClassWhenStoredClonerHandlesDifferentClass() {
+        final EntityTypeImpl<OWLClassA> et = metamodelMocks.forOwlClassA().entityType();
+        when(et.getCloner()).thenReturn(sut);
+        final EntityCloner<OWLClassA> result = EntityCloner.of(et, ShallowCopyableA.class);
+        assertNotSame(sut, result);
+        assertThat(result.newInstance(), instanceOf(ShallowCopyableA.class));
+    }
+
+    @Test
+    void newInstanceCreatesInstanceUsingNoArgConstructor() {
+        final Object result = sut.newInstance();
+        assertThat(result, instanceOf(OWLClassA.class));
+    }
+
+    @Test
+    void copyIdentifierCopiesIdentifierValue() {
+        final OWLClassA original = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassA clone = new OWLClassA();
+        sut.copyIdentifier(original, clone);
+        assertEquals(original.getUri(), clone.getUri());
+    }
+
+    @Test
+    void attributesDoNotContainIdentifier() {
+        assertFalse(sut.getAttributes().isEmpty());
+        assertTrue(sut.getAttributes().stream().noneMatch(
+                att -> att.getFieldSpecification().equals(metamodelMocks.forOwlClassA().identifier())));
+        assertNull(sut.getAttribute(metamodelMocks.forOwlClassA().identifier()));
+    }
+
+    @Test
+    void attributeCopierCopiesAttributeValue() {
+        final OWLClassA original = new OWLClassA(Generators.createIndividualIdentifier());
+        original.setStringAttribute("test");
+        final OWLClassA clone = new OWLClassA();
+        final EntityCloner.AttributeCopier att = sut.getAttribute(metamodelMocks.forOwlClassA().stringAttribute());
+        att.setValue(clone, att.getValue(original));
+        assertEquals(original.getStringAttribute(), clone.getStringAttribute());
+    }
+
+    @Test
+    void newCloneCreatesEmptyInstanceWhenClassDoesNotSupportShallowCopy() {
+        final OWLClassA original = new OWLClassA(Generators.createIndividualIdentifier());
+        assertFalse(sut.createsShallowCopies());
+        final Object result = sut.newClone(original);
+        assertThat(result, instanceOf(OWLClassA.class));
+        assertNull(((OWLClassA) result).getUri());
+    }
+
+    @Test
+    void newCloneCreatesShallowCopyWhenClassSupportsIt() {
+        final EntityCloner<OWLClassA> cloner =
+                EntityCloner.of(metamodelMocks.forOwlClassA().entityType(), ShallowCopyableA.class);
+        final ShallowCopyableA original = new ShallowCopyableA();
+        original.setUri(Generators.createIndividualIdentifier());
+        original.setStringAttribute("test");
+        assertTrue(cloner.createsShallowCopies());
+        final Object result = cloner.newClone(original);
+        assertThat(result, instanceOf(ShallowCopyableA.class));
+        assertNotSame(original, result);
+        assertEquals(original.getUri(), ((OWLClassA) result).getUri());
+        assertEquals(original.getStringAttribute(), ((OWLClassA) result).getStringAttribute());
+    }
+
+    @Test
+    void newCloneThrowsPersistenceExceptionWhenShallowCopyIsOfDifferentClass() {
+        final EntityCloner<OWLClassA> cloner =
+                EntityCloner.of(metamodelMocks.forOwlClassA().entityType(), ShallowCopyableA.class);
+        final ShallowCopyableA original = new ShallowCopyableA() {
+        };
+        assertThrows(OWLPersistenceException.class, () -> cloner.newClone(original));
+    }
+
+    @Test
+    void newCloneCreatesEmptyInstanceOfSubclassWhichInheritsShallowCopyMethod() {
+        final EntityCloner<OWLClassA> cloner =
+                EntityCloner.of(metamodelMocks.forOwlClassA().entityType(), ShallowCopyableSubclass.class);
+        final ShallowCopyableSubclass original = new ShallowCopyableSubclass();
+        original.setUri(Generators.createIndividualIdentifier());
+        assertFalse(cloner.createsShallowCopies());
+        final Object result = cloner.newClone(original);
+        assertThat(result, instanceOf(ShallowCopyableSubclass.class));
+        assertNull(((OWLClassA) result).getUri());
+    }
+
+    @Test
+    void attributeCopierMarksAttributesOfImmutableTypes() {
+        assertTrue(sut.getAttribute(metamodelMocks.forOwlClassA().stringAttribute()).isImmutable());
+        assertFalse(sut.getAttribute(metamodelMocks.forOwlClassA().typesSpec()).isImmutable());
+    }
+
+    public static class ShallowCopyableA extends OWLClassA implements CloneSupport {
+
+        @Override
+        public Object shallowCopy() {
+            final ShallowCopyableA copy = new ShallowCopyableA();
+            copy.setUri(getUri());
+            copy.setStringAttribute(getStringAttribute());
+            copy.setTypes(getTypes());
+            return copy;
+        }
+    }
+
+    public static class ShallowCopyableSubclass extends ShallowCopyableA {
+    }
+}
@@ -17,6 +17,7 @@ package cz.cvut.kbss.jopa.sessions;
 import cz.cvut.kbss.jopa.accessors.DataSourceStub;
 import cz.cvut.kbss.jopa.accessors.StorageAccessor;
 import cz.cvut.kbss.jopa.model.AbstractEntityManager;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
 import cz.cvut.kbss.jopa.model.MetamodelImpl;
 import cz.cvut.kbss.jopa.model.metamodel.EntityType;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
@@ -30,9 +31,14 @@ import org.mockito.MockitoAnnotations;
 
 import java.net.URI;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertSame;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 public class ServerSessionTest {
@@ -40,12 +46,14 @@ public class ServerSessionTest {
     @Mock
     private MetamodelImpl metamodelMock;
 
+    private OntologyStorageProperties storageProperties;
+
     private ServerSession session;
 
     @Before
     public void setUp() throws Exception {
         MockitoAnnotations.initMocks(this);
-        OntologyStorageProperties storageProperties = OntologyStorageProperties.ontologyUri(
+        this.storageProperties = OntologyStorageProperties.ontologyUri(
                 URI.create("http://krizik.felk.cvut.cz/ontologies/jopa")).physicalUri(
                 URI.create("file://tmp/jopa")).driver(DataSourceStub.class.getCanonicalName()).build();
         when(metamodelMock.getEntities()).thenReturn(Collections.emptySet());
@@ -74,4 +82,90 @@ public class ServerSessionTest {
         final StorageAccessor sa = session.unwrap(StorageAccessor.class);
         assertNotNull(sa);
     }
+
+    @Test
+    public void hasCommitListenersReturnsTrueOnlyWhileListenerIsRegistered() {
+        assertFalse(session.hasCommitListeners());
+        final CommitListener listener = event -> {
+        };
+        session.addCommitListener(listener);
+        assertTrue(session.hasCommitListeners());
+        session.removeCommitListener(listener);
+        assertFalse(session.hasCommitListeners());
+    }
+
+    @Test
+    public void notifyCommitListenersDeliversEventToRegisteredListener() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final CommitEvent event = new CommitEvent(Collections.emptyList(), true, System.currentTimeMillis());
+        session.addCommitListener(e -> {
+            assertSame(event, e);
+            latch.countDown();
+        });
+        session.notifyCommitListeners(event);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void executeAsyncRejectsOperationWhenTooManyOperationsArePending() {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(JOPAPersistenceProperties.ASYNC_POOL_SIZE, "1");
+        properties.put(JOPAPersistenceProperties.ASYNC_QUEUE_CAPACITY, "1");
+        final ServerSession sut = spy(new ServerSession(storageProperties, new Configuration(properties),
+                metamodelMock));
+        doReturn(mock(UnitOfWorkImpl.class)).when(sut).acquireUnitOfWork();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            // Occupies the only worker thread
+            sut.executeAsync(uow -> {
+                try {
+                    return latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            });
+            // Fills the queue
+            sut.executeAsync(uow -> true);
+            try {
+                sut.executeAsync(uow -> true);
+                fail("Operation exceeding queue capacity should have been rejected.");
+            } catch (RejectedExecutionException e) {
+                // Expected
+            }
+        } finally {
+            latch.countDown();
+            sut.close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void executeAsyncThrowsIllegalStateExceptionWhenSessionIsClosed() {
+        session.executeAsync(uow -> true);
+        session.close();
+        session.executeAsync(uow -> true);
+    }
+
+    @Test
+    public void closeWaitsForPendingAsyncOperationsBeforeClosingStorage() throws Exception {
+        final ServerSession sut = spy(new ServerSession(storageProperties, new Configuration(Collections.emptyMap()),
+                metamodelMock));
+        doReturn(mock(UnitOfWorkImpl.class)).when(sut).acquireUnitOfWork();
+        final StorageAccessor storageAccessor = sut.unwrap(StorageAccessor.class);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Boolean> result = sut.executeAsync(uow -> {
+            started.countDown();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return storageAccessor.isOpen();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        sut.close();
+        assertTrue(result.isDone());
+        assertTrue(result.get());
+        assertFalse(storageAccessor.isOpen());
+    }
 }
@@ -23,10 +23,15 @@ import cz.cvut.kbss.jopa.exceptions.CardinalityConstraintViolatedException;
 import cz.cvut.kbss.jopa.exceptions.EntityNotFoundException;
 import cz.cvut.kbss.jopa.exceptions.OWLEntityExistsException;
 import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.AttributeNode;
+import cz.cvut.kbss.jopa.model.EntityGraph;
 import cz.cvut.kbss.jopa.model.EntityManagerImpl.State;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
 import cz.cvut.kbss.jopa.model.LoadState;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
+import cz.cvut.kbss.jopa.query.UpdateScope;
+import cz.cvut.kbss.jopa.sessions.cache.coordination.CacheInvalidation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -35,6 +40,7 @@ import org.mockito.Mockito;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.*;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -105,6 +111,23 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         verify(storageMock, never()).find(any());
     }
 
+    @Test
+    void readObjectWithoutRegistrationReturnsLoadedInstanceWithoutCloningIt() {
+        when(storageMock.find(new LoadingParameters<>(OWLClassA.class, entityA.getUri(), descriptor)))
+                .thenReturn(entityA);
+        final OWLClassA res = uow.readObjectWithoutRegistration(OWLClassA.class, entityA.getUri(), descriptor);
+        assertSame(entityA, res);
+        assertFalse(uow.contains(res));
+    }
+
+    @Test
+    void readObjectWithoutRegistrationReturnsAlreadyManagedInstance() {
+        final OWLClassA clone = (OWLClassA) uow.registerExistingObject(entityA, descriptor);
+        final OWLClassA res = uow.readObjectWithoutRegistration(OWLClassA.class, entityA.getUri(), descriptor);
+        assertSame(clone, res);
+        verify(storageMock, never()).find(any());
+    }
+
     @Test
     void testCalculateNewObjects() {
         uow.registerNewObject(entityA, descriptor);
@@ -339,6 +362,87 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         }
     }
 
+    @Test
+    void registerNewObjectsVerifiesExistenceAndPersistsObjectsInBatch() {
+        final OWLClassA newOne = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassA newTwo = new OWLClassA(Generators.createIndividualIdentifier());
+        uow.registerNewObjects(Arrays.asList(newOne, newTwo), descriptor);
+
+        assertEquals(State.MANAGED_NEW, uow.getState(newOne));
+        assertEquals(State.MANAGED_NEW, uow.getState(newTwo));
+        final ArgumentCaptor<Map<Object, Descriptor>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(storageMock).findExisting(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(storageMock).persistAll(captor.capture());
+        assertTrue(captor.getValue().containsKey(newOne));
+        assertTrue(captor.getValue().containsKey(newTwo));
+        verify(storageMock, never()).contains(any(), any(), any());
+        verify(storageMock, never()).persist(any(), any(), any());
+    }
+
+    @Test
+    void registerNewObjectsThrowsEntityExistsExceptionWhenAnyObjectExistsInStorage() {
+        final OWLClassA newOne = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassA existing = new OWLClassA(Generators.createIndividualIdentifier());
+        doReturn(Collections.singletonList(existing)).when(storageMock).findExisting(anyMap());
+
+        assertThrows(OWLEntityExistsException.class,
+                () -> uow.registerNewObjects(Arrays.asList(newOne, existing), descriptor));
+        verify(storageMock, never()).persistAll(anyMap());
+        assertFalse(uow.contains(newOne));
+    }
+
+    @Test
+    void registerNewObjectsThrowsEntityExistsExceptionWhenObjectsHaveSameIdentifier() {
+        final URI id = Generators.createIndividualIdentifier();
+        assertThrows(OWLEntityExistsException.class,
+                () -> uow.registerNewObjects(Arrays.asList(new OWLClassA(id), new OWLClassA(id)), descriptor));
+        verify(storageMock, never()).persistAll(anyMap());
+    }
+
+    @Test
+    void mergeDetachedAllPersistsNewObjectsInBatchAndMergesExistingOnes() {
+        final OWLClassA newOne = new OWLClassA(Generators.createIndividualIdentifier());
+        final OWLClassB detached = new OWLClassB(entityB.getUri());
+        detached.setStringAttribute("updatedString");
+        doReturn(Collections.singletonList(detached)).when(storageMock).findExisting(anyMap());
+        when(storageMock.find(any())).thenReturn(entityB);
+
+        final List<Object> result = uow.mergeDetachedAll(Arrays.asList(newOne, detached), descriptor);
+        assertEquals(2, result.size());
+        assertSame(newOne, result.get(0));
+        assertEquals(State.MANAGED_NEW, uow.getState(newOne));
+        assertEquals(State.MANAGED, uow.getState(result.get(1)));
+        assertEquals(detached.getStringAttribute(), ((OWLClassB) result.get(1)).getStringAttribute());
+        final ArgumentCaptor<Map<Object, Descriptor>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(storageMock).persistAll(captor.capture());
+        assertEquals(Collections.singleton(newOne), captor.getValue().keySet());
+        // Existence is verified only once, for all the merged objects
+        verify(storageMock).findExisting(anyMap());
+    }
+
+    @Test
+    void removeObjectsRemovesObjectsFromStorageInBatch() {
+        final OWLClassB toRemove = (OWLClassB) uow.registerExistingObject(entityB, descriptor);
+        final OWLClassA newOne = new OWLClassA(Generators.createIndividualIdentifier());
+        uow.registerNewObject(newOne, descriptor);
+
+        uow.removeObjects(Arrays.asList(toRemove, newOne));
+        assertEquals(State.REMOVED, uow.getState(toRemove));
+        assertFalse(uow.contains(newOne));
+        final ArgumentCaptor<Map<Object, Descriptor>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(storageMock).removeAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        verify(storageMock, never()).remove(any(), any(), any());
+    }
+
+    @Test
+    void removeObjectsThrowsIllegalArgumentExceptionWhenObjectIsNotManaged() {
+        assertThrows(IllegalArgumentException.class,
+                () -> uow.removeObjects(Collections.singletonList(new OWLClassA(Generators.createIndividualIdentifier()))));
+        verify(storageMock, never()).removeAll(anyMap());
+    }
+
     @Test
     void testReleaseUnitOfWork() {
         assertTrue(uow.isActive());
@@ -454,6 +558,80 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         verify(cacheManagerMock).evictAll();
     }
 
+    @Test
+    void updateQueryExecutedEvictsAffectedClassesFromCacheAfterCommit() {
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)));
+        verify(cacheManagerMock, never()).evict(OWLClassA.class);
+        uow.commit();
+
+        verify(cacheManagerMock).evict(OWLClassA.class);
+        verify(cacheManagerMock, never()).evictAll();
+    }
+
+    @Test
+    void updateQueryExecutedWithUnknownAffectedClassesEvictsWholeCacheAfterCommit() {
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.updateQueryExecuted(UpdateScope.unbounded());
+        uow.commit();
+
+        verify(cacheManagerMock).evictAll();
+    }
+
+    @Test
+    void updateQueryExecutedOutsideOfTransactionEvictsAffectedClassesImmediately() {
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)));
+        verify(cacheManagerMock).evict(OWLClassA.class);
+    }
+
+    @Test
+    void updateQueryExecutedEvictsAffectedIndividualsAndContextsFromCacheAfterCommit() {
+        when(transactionMock.isActive()).thenReturn(true);
+        final URI individual = Generators.createIndividualIdentifier();
+        final URI context = Generators.createIndividualIdentifier();
+        uow.updateQueryExecuted(new UpdateScope(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                Collections.singleton(individual), Collections.singleton(context)));
+        verify(cacheManagerMock, never()).evictIndividual(any());
+        uow.commit();
+
+        verify(cacheManagerMock).evictIndividual(individual);
+        verify(cacheManagerMock).evict(context);
+        verify(cacheManagerMock, never()).evictAll();
+    }
+
+    @Test
+    void updateQueryExecutedOutsideOfTransactionEvictsAffectedIndividualsImmediately() {
+        final URI individual = Generators.createIndividualIdentifier();
+        uow.updateQueryExecuted(new UpdateScope(Collections.emptySet(), Collections.emptySet(), Collections.emptySet(),
+                Collections.singleton(individual), Collections.emptySet()));
+        verify(cacheManagerMock).evictIndividual(individual);
+        verify(cacheManagerMock, never()).evictAll();
+    }
+
+    @Test
+    void updateQueryExecutedOutsideOfTransactionEvictsInferredObjectsAndPublishesTheirInvalidation() {
+        when(serverSessionStub.isCacheCoordinated()).thenReturn(true);
+        when(metamodelMock.getInferredClasses()).thenReturn(Collections.singleton(OWLClassA.class));
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassB.class)));
+
+        verify(cacheManagerMock).evictInferredObjects();
+        verify(cacheManagerMock).evict(OWLClassB.class);
+        final ArgumentCaptor<CacheInvalidation> captor = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(serverSessionStub).publishCacheInvalidation(captor.capture());
+        assertTrue(captor.getValue().isInferred());
+        assertTrue(captor.getValue().getEntityClasses().contains(OWLClassB.class.getName()));
+    }
+
+    @Test
+    void rollbackDiscardsClassesAffectedByUpdateQuery() {
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)));
+        uow.rollback();
+        uow.commit();
+
+        verify(cacheManagerMock, never()).evict(OWLClassA.class);
+    }
+
     @Test
     void loadFieldLoadsLiteralValueAttribute() throws Exception {
         final OWLClassB b = new OWLClassB();
@@ -933,6 +1111,131 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         uow.registerNewObject(entityB, descriptor);
         uow.commit();
         verify(cacheManagerMock).evictInferredObjects();
+        verify(cacheManagerMock, never()).evictInferredObjects(any());
+    }
+
+    @Test
+    void commitEvictsInferredObjectsAffectedByChangesFromCacheWhenConfiguredToUseDependencies() {
+        serverSessionStub.getConfiguration().set(JOPAPersistenceProperties.CACHE_INFERRED_EVICTION, "dependencies");
+        final UnitOfWorkImpl sut = new UnitOfWorkImpl(serverSessionStub);
+        sut.setEntityManager(emMock);
+        sut.registerExistingObject(entityA, descriptor);
+        sut.registerNewObject(entityB, descriptor);
+        sut.commit();
+        final ArgumentCaptor<BiPredicate<Class<?>, Object>> captor = ArgumentCaptor.forClass(BiPredicate.class);
+        verify(cacheManagerMock).evictInferredObjects(captor.capture());
+        verify(cacheManagerMock, never()).evictInferredObjects();
+        assertTrue(captor.getValue().test(OWLClassB.class, entityB.getUri()));
+        assertFalse(captor.getValue().test(OWLClassA.class, Generators.createIndividualIdentifier()));
+    }
+
+    @Test
+    void commitEvictsAllInferredObjectsFromCacheWhenEvictionSettingIsNotSupported() {
+        serverSessionStub.getConfiguration().set(JOPAPersistenceProperties.CACHE_INFERRED_EVICTION, "reasoner");
+        final UnitOfWorkImpl sut = new UnitOfWorkImpl(serverSessionStub);
+        sut.setEntityManager(emMock);
+        sut.registerNewObject(entityB, descriptor);
+        sut.commit();
+        verify(cacheManagerMock).evictInferredObjects();
+        verify(cacheManagerMock, never()).evictInferredObjects(any());
+    }
+
+    @Test
+    void commitEvictsAllInferredObjectsFromCacheWhenUpdateQueryWasExecuted() {
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.registerNewObject(entityB, descriptor);
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)));
+        uow.commit();
+        verify(cacheManagerMock).evictInferredObjects();
+        verify(cacheManagerMock).evict(OWLClassA.class);
+    }
+
+    @Test
+    void commitPublishesInvalidationOfChangedInstancesWhenCacheIsCoordinated() {
+        when(serverSessionStub.isCacheCoordinated()).thenReturn(true);
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.registerNewObject(entityB, descriptor);
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)));
+        uow.commit();
+
+        final ArgumentCaptor<CacheInvalidation> captor = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(serverSessionStub).publishCacheInvalidation(captor.capture());
+        final CacheInvalidation invalidation = captor.getValue();
+        assertFalse(invalidation.isAll());
+        assertTrue(invalidation.getEntries()
+                               .contains(new CacheInvalidation.Entry(OWLClassB.class.getName(), entityB.getUri(),
+                                       CONTEXT_URI)));
+        assertTrue(invalidation.getEntityClasses().contains(OWLClassA.class.getName()));
+    }
+
+    @Test
+    void commitPublishesInvalidationOfWholeCacheWhenCacheIsCoordinatedAndCacheIsToBeCleared() {
+        when(serverSessionStub.isCacheCoordinated()).thenReturn(true);
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.registerNewObject(entityB, descriptor);
+        uow.updateQueryExecuted(UpdateScope.unbounded());
+        uow.commit();
+
+        final ArgumentCaptor<CacheInvalidation> captor = ArgumentCaptor.forClass(CacheInvalidation.class);
+        verify(serverSessionStub).publishCacheInvalidation(captor.capture());
+        assertTrue(captor.getValue().isAll());
+    }
+
+    @Test
+    void commitDoesNotPublishInvalidationWhenCacheIsNotCoordinated() {
+        uow.registerNewObject(entityB, descriptor);
+        uow.commit();
+        verify(serverSessionStub, never()).publishCacheInvalidation(any());
+    }
+
+    @Test
+    void commitNotifiesCommitListenersAboutCommittedChanges() {
+        when(serverSessionStub.hasCommitListeners()).thenReturn(true);
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.registerNewObject(entityB, descriptor);
+        uow.commit();
+
+        final ArgumentCaptor<CommitEvent> captor = ArgumentCaptor.forClass(CommitEvent.class);
+        verify(serverSessionStub).notifyCommitListeners(captor.capture());
+        final CommitEvent event = captor.getValue();
+        assertFalse(event.containsUnknownChanges());
+        assertEquals(1, event.getEntityChanges().size());
+        final EntityChange change = event.getEntityChanges().get(0);
+        assertEquals(EntityChange.Type.PERSISTED, change.getType());
+        assertEquals(OWLClassB.class, change.getEntityClass());
+        assertEquals(entityB.getUri(), change.getIdentifier());
+        assertEquals(CONTEXT_URI, change.getContext());
+    }
+
+    @Test
+    void commitNotifiesCommitListenersAboutUnknownChangesWhenUpdateQueryWasExecuted() {
+        when(serverSessionStub.hasCommitListeners()).thenReturn(true);
+        when(transactionMock.isActive()).thenReturn(true);
+        uow.registerNewObject(entityB, descriptor);
+        uow.updateQueryExecuted(UpdateScope.ofClasses(Collections.singleton(OWLClassA.class)));
+        uow.commit();
+
+        final ArgumentCaptor<CommitEvent> captor = ArgumentCaptor.forClass(CommitEvent.class);
+        verify(serverSessionStub).notifyCommitListeners(captor.capture());
+        assertTrue(captor.getValue().containsUnknownChanges());
+    }
+
+    @Test
+    void updateQueryExecutedOutsideOfTransactionNotifiesCommitListeners() {
+        when(serverSessionStub.hasCommitListeners()).thenReturn(true);
+        uow.updateQueryExecuted(UpdateScope.unbounded());
+
+        final ArgumentCaptor<CommitEvent> captor = ArgumentCaptor.forClass(CommitEvent.class);
+        verify(serverSessionStub).notifyCommitListeners(captor.capture());
+        assertTrue(captor.getValue().containsUnknownChanges());
+        assertTrue(captor.getValue().getEntityChanges().isEmpty());
+    }
+
+    @Test
+    void commitDoesNotNotifyCommitListenersWhenThereAreNone() {
+        uow.registerNewObject(entityB, descriptor);
+        uow.commit();
+        verify(serverSessionStub, never()).notifyCommitListeners(any());
     }
 
     @Test
@@ -998,6 +1301,20 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         assertEquals(LoadState.LOADED, uow.isLoaded(instance, OWLClassL.getSetField().getName()));
     }
 
+    @Test
+    void loadEntityFieldNotifiesCacheThatOriginalHasBeenUpdated() throws Exception {
+        final OWLClassL instance = (OWLClassL) uow.registerExistingObject(entityL, descriptor);
+        doAnswer(inv -> {
+            final OWLClassL inst = inv.getArgument(0);
+            inst.setSet(Collections.singleton(entityA));
+            return null;
+        }).when(storageMock).loadFieldValue(eq(instance), eq(OWLClassL.getSetField()), any());
+        uow.loadEntityField(instance, OWLClassL.getSetField());
+
+        assertEquals(1, entityL.getSet().size());
+        verify(cacheManagerMock).update(entityL.getUri(), entityL, descriptor);
+    }
+
     @Test
     void loadEntityFieldCausesLoadStateOfLazilyLoadedAttributeToBeSetToLoadedEvenIfValueIsNull() throws Exception {
         final OWLClassL instance = (OWLClassL) uow.registerExistingObject(entityL, descriptor);
@@ -1008,6 +1325,22 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         assertEquals(LoadState.LOADED, uow.isLoaded(instance, OWLClassL.getSetField().getName()));
     }
 
+    @Test
+    void loadAllFieldsLoadsValuesOfNotLoadedAttributes() throws Exception {
+        final OWLClassL instance = (OWLClassL) uow.registerExistingObject(entityL, descriptor);
+        assertEquals(LoadState.UNKNOWN, uow.isLoaded(instance, OWLClassL.getSetField().getName()));
+        uow.loadAllFields(instance);
+
+        verify(storageMock).loadFieldValue(eq(instance), eq(OWLClassL.getSetField()), any());
+        assertEquals(LoadState.LOADED, uow.isLoaded(instance));
+    }
+
+    @Test
+    void loadAllFieldsDoesNothingForInstanceNotManagedByPersistenceContext() throws Exception {
+        uow.loadAllFields(entityL);
+        verify(storageMock, never()).loadFieldValue(any(), any(), any());
+    }
+
     @Test
     void attributeChangedSetsAttributeLoadStatusToLoaded() throws Exception {
         when(transactionMock.isActive()).thenReturn(Boolean.TRUE);
@@ -1030,6 +1363,74 @@ class UnitOfWorkTest extends UnitOfWorkTestBase {
         verify(storageMock, never()).loadFieldValue(eq(instance), eq(OWLClassL.getSetField()), any(Descriptor.class));
     }
 
+    @Test
+    void loadEntityFieldLoadsFieldValueForBatchOfManagedInstancesWhenBatchSizeIsConfigured() throws Exception {
+        serverSessionStub.getConfiguration().set(JOPAPersistenceProperties.LAZY_LOADING_BATCH_SIZE, "2");
+        final UnitOfWorkImpl sut = new UnitOfWorkImpl(serverSessionStub);
+        sut.setEntityManager(emMock);
+        final OWLClassL otherL = new OWLClassL();
+        otherL.setUri(Generators.createIndividualIdentifier());
+        final OWLClassL thirdL = new OWLClassL();
+        thirdL.setUri(Generators.createIndividualIdentifier());
+        final OWLClassL instance = (OWLClassL) sut.registerExistingObject(entityL, descriptor);
+        sut.registerExistingObject(otherL, descriptor);
+        sut.registerExistingObject(thirdL, descriptor);
+
+        sut.loadEntityField(instance, OWLClassL.getSetField());
+        final ArgumentCaptor<Map<Object, Descriptor>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(storageMock).loadFieldValues(captor.capture(), eq(OWLClassL.getSetField()));
+        assertEquals(2, captor.getValue().size());
+        assertTrue(captor.getValue().containsKey(instance));
+        for (Object loaded : captor.getValue().keySet()) {
+            assertEquals(LoadState.LOADED, sut.isLoaded(loaded, OWLClassL.getSetField().getName()));
+        }
+        verify(storageMock, never()).loadFieldValue(any(), any(), any());
+    }
+
+    @Test
+    void loadEntityGraphLoadsGraphForOriginalsAndClonesLoadedValuesIntoManagedInstances() throws Exception {
+        final OWLClassL instance = (OWLClassL) uow.registerExistingObject(entityL, descriptor);
+        final EntityGraph<?> graph = mock(EntityGraph.class);
+        final AttributeNode<?> node = mock(AttributeNode.class);
+        when(node.getAttributeName()).thenReturn(OWLClassL.getSetField().getName());
+        when(node.getSubgraphs()).thenReturn(Collections.emptyMap());
+        doReturn(Collections.singletonList(node)).when(graph).getAttributeNodes();
+        doAnswer(inv -> {
+            entityL.setSet(Collections.singleton(entityA));
+            return null;
+        }).when(storageMock).loadEntityGraph(anyMap(), eq(graph));
+
+        uow.loadEntityGraph(Collections.singletonList(instance), descriptor, graph);
+        final ArgumentCaptor<Map<Object, Descriptor>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(storageMock).loadEntityGraph(captor.capture(), eq(graph));
+        assertEquals(Collections.singleton(entityL), captor.getValue().keySet());
+        assertEquals(1, instance.getSet().size());
+        final OWLClassA loadedA = instance.getSet().iterator().next();
+        assertEquals(entityA.getUri(), loadedA.getUri());
+        assertNotSame(entityA, loadedA);
+        assertTrue(uow.contains(loadedA));
+        assertEquals(LoadState.LOADED, uow.isLoaded(instance, OWLClassL.getSetField().getName()));
+    }
+
+    @Test
+    void loadEntityFieldDoesNotIncludeInstancesWithLoadedFieldValueInBatch() throws Exception {
+        serverSessionStub.getConfiguration().set(JOPAPersistenceProperties.LAZY_LOADING_BATCH_SIZE, "5");
+        final UnitOfWorkImpl sut = new UnitOfWorkImpl(serverSessionStub);
+        sut.setEntityManager(emMock);
+        final OWLClassL otherL = new OWLClassL();
+        otherL.setUri(Generators.createIndividualIdentifier());
+        final OWLClassL instance = (OWLClassL) sut.registerExistingObject(entityL, descriptor);
+        final OWLClassL otherClone = (OWLClassL) sut.registerExistingObject(otherL, descriptor);
+        when(transactionMock.isActive()).thenReturn(true);
+        otherClone.setSet(Collections.singleton(entityA));
+        sut.attributeChanged(otherClone, OWLClassL.getSetField());
+
+        sut.loadEntityField(instance, OWLClassL.getSetField());
+        final ArgumentCaptor<Map<Object, Descriptor>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(storageMock).loadFieldValues(captor.capture(), eq(OWLClassL.getSetField()));
+        assertEquals(Collections.singleton(instance), captor.getValue().keySet());
+    }
+
     @Test
     void changesToRemovedObjectAreIgnoredOnCommit() throws Exception {
         when(transactionMock.isActive()).thenReturn(Boolean.TRUE);
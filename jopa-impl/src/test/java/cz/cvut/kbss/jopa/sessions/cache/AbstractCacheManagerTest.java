@@ -19,14 +19,18 @@ import cz.cvut.kbss.jopa.environment.OWLClassB;
 import cz.cvut.kbss.jopa.environment.OWLClassD;
 import cz.cvut.kbss.jopa.environment.OWLClassM;
 import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
 import cz.cvut.kbss.jopa.sessions.CacheManager;
+import cz.cvut.kbss.jopa.sessions.CacheStatistics;
 import org.junit.Test;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -268,6 +272,34 @@ public abstract class AbstractCacheManagerTest<T extends CacheManager> {
         assertTrue(manager.contains(testB.getClass(), testB.getUri(), descriptorTwo));
     }
 
+    @Test
+    public void evictInferredObjectsWithPredicateRemovesOnlyMatchingInstancesOfInferredClasses() {
+        final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
+        final OWLClassA another = new OWLClassA(Generators.createIndividualIdentifier());
+        manager.add(testA.getUri(), testA, descriptorOne);
+        manager.add(another.getUri(), another, descriptorOne);
+        manager.add(testB.getUri(), testB, descriptorOne);
+        manager.setInferredClasses(Collections.singleton(OWLClassA.class));
+        manager.evictInferredObjects((cls, id) -> testA.getUri().equals(id) || testB.getUri().equals(id));
+        assertFalse(manager.contains(OWLClassA.class, testA.getUri(), descriptorOne));
+        assertTrue(manager.contains(OWLClassA.class, another.getUri(), descriptorOne));
+        assertTrue(manager.contains(OWLClassB.class, testB.getUri(), descriptorOne));
+    }
+
+    @Test
+    public void evictIndividualRemovesInstancesWithIdentifierFromAllClassesAndContexts() {
+        final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
+        final Descriptor descriptorTwo = descriptor(CONTEXT_TWO);
+        final OWLClassB sameIndividual = new OWLClassB(testA.getUri());
+        manager.add(testA.getUri(), testA, descriptorOne);
+        manager.add(sameIndividual.getUri(), sameIndividual, descriptorTwo);
+        manager.add(testB.getUri(), testB, descriptorOne);
+        manager.evictIndividual(testA.getUri());
+        assertFalse(manager.contains(OWLClassA.class, testA.getUri(), descriptorOne));
+        assertFalse(manager.contains(OWLClassB.class, sameIndividual.getUri(), descriptorTwo));
+        assertTrue(manager.contains(OWLClassB.class, testB.getUri(), descriptorOne));
+    }
+
     @Test
     public void testEvictByContextClassAndPrimaryKey() throws Exception {
         final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
@@ -410,6 +442,61 @@ public abstract class AbstractCacheManagerTest<T extends CacheManager> {
         assertTrue(extractDescriptors().containsKey(testB));
     }
 
+    @Test
+    public void recordLookupRecordsHitsAndMissesInStatistics() {
+        manager.recordLookup(OWLClassA.class, CONTEXT_ONE, true);
+        manager.recordLookup(OWLClassB.class, null, false);
+
+        final CacheStatistics statistics = manager.unwrap(CacheStatistics.class);
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.forEntityClass(OWLClassA.class).getHitCount());
+        assertEquals(0, statistics.forEntityClass(OWLClassA.class).getMissCount());
+        assertEquals(1, statistics.forContext(CONTEXT_ONE).getHitCount());
+        assertEquals(1, statistics.forContext(null).getMissCount());
+    }
+
+    @Test
+    public void containsDoesNotRecordLookupInStatistics() {
+        final Descriptor descriptor = descriptor(CONTEXT_ONE);
+        manager.add(testA.getUri(), testA, descriptor);
+        assertTrue(manager.contains(OWLClassA.class, testA.getUri(), descriptor));
+        assertFalse(manager.contains(OWLClassB.class, testB.getUri(), descriptor(null)));
+
+        final CacheStatistics statistics = manager.unwrap(CacheStatistics.class);
+        assertEquals(0, statistics.getHitCount());
+        assertEquals(0, statistics.getMissCount());
+    }
+
+    @Test
+    public void addRecordsPutInStatistics() {
+        manager.add(testA.getUri(), testA, descriptor(CONTEXT_ONE));
+        manager.add(testB.getUri(), testB, descriptor(CONTEXT_TWO));
+
+        final CacheStatistics statistics = manager.unwrap(CacheStatistics.class);
+        assertEquals(2, statistics.getPutCount());
+        assertEquals(2, statistics.getSize());
+        assertEquals(1, statistics.forEntityClass(OWLClassB.class).getPutCount());
+        assertEquals(1, statistics.forContext(CONTEXT_TWO).getPutCount());
+        assertEquals(new HashSet<>(Arrays.asList(CONTEXT_ONE, CONTEXT_TWO)), statistics.getContexts());
+    }
+
+    @Test
+    public void recordLoadRecordsLoadCountAndTimeInStatistics() {
+        manager.recordLoad(OWLClassA.class, CONTEXT_ONE, 100L);
+        manager.recordLoad(OWLClassA.class, null, 50L);
+
+        final CacheStatistics statistics = manager.unwrap(CacheStatistics.class);
+        assertEquals(2, statistics.getLoadCount());
+        assertEquals(150L, statistics.getTotalLoadTime());
+        assertEquals(100L, statistics.forContext(CONTEXT_ONE).getTotalLoadTime());
+    }
+
+    @Test(expected = OWLPersistenceException.class)
+    public void unwrapThrowsPersistenceExceptionForUnsupportedClass() {
+        manager.unwrap(String.class);
+    }
+
     @Test
     public void cacheSupportsEntitiesOverridingEqualsAndHashCode() {
         final URI uri = Generators.createIndividualIdentifier();
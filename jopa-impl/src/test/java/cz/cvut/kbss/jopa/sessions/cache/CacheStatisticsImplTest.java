@@ -0,0 +1,64 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassB;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheStatisticsImplTest {
+
+    private static final URI CONTEXT = URI.create("http://example.org/context");
+
+    private final CacheStatisticsImpl sut = new CacheStatisticsImpl(() -> 0L);
+
+    @Test
+    void getHitRatioReturnsRatioOfHitsToAllLookups() {
+        sut.recordLookup(OWLClassA.class, CONTEXT, true);
+        sut.recordLookup(OWLClassA.class, CONTEXT, true);
+        sut.recordLookup(OWLClassA.class, CONTEXT, true);
+        sut.recordLookup(OWLClassB.class, null, false);
+
+        assertEquals(0.75, sut.getHitRatio());
+        assertEquals(1.0, sut.forEntityClass(OWLClassA.class).getHitRatio());
+        assertEquals(0.0, sut.forContext(null).getHitRatio());
+    }
+
+    @Test
+    void getHitRatioReturnsZeroWhenThereWereNoLookups() {
+        assertEquals(0.0, sut.getHitRatio());
+    }
+
+    @Test
+    void resetClearsTotalsAndBreakdowns() {
+        sut.recordPut(OWLClassA.class, CONTEXT);
+        sut.recordEviction(OWLClassA.class, null);
+        sut.recordLoad(OWLClassB.class, CONTEXT, 1000L);
+
+        sut.reset();
+        assertEquals(0, sut.getPutCount());
+        assertEquals(0, sut.getEvictionCount());
+        assertEquals(0, sut.getLoadCount());
+        assertEquals(0, sut.getTotalLoadTime());
+        assertTrue(sut.getEntityClasses().isEmpty());
+        assertTrue(sut.getContexts().isEmpty());
+        assertEquals(0, sut.forEntityClass(OWLClassA.class).getPutCount());
+    }
+}
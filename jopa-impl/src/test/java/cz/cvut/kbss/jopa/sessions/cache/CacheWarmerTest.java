@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.exceptions.OWLPersistenceException;
+import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.jopa.model.EntityManagerFactory;
+import cz.cvut.kbss.jopa.model.IRI;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.query.TypedQuery;
+import cz.cvut.kbss.jopa.query.NamedQueryManager;
+import cz.cvut.kbss.jopa.utils.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CacheWarmerTest {
+
+    private static final String SOQL_QUERY = "SELECT a FROM OWLClassA a";
+
+    @Mock
+    private EntityManagerFactory emfMock;
+
+    @Mock
+    private EntityManager emMock;
+
+    @Mock
+    private TypedQuery<OWLClassA> queryMock;
+
+    @Mock
+    private MetamodelImpl metamodelMock;
+
+    @Mock
+    private EntityType<OWLClassA> etMock;
+
+    private final NamedQueryManager namedQueryManager = new NamedQueryManager();
+
+    private final Map<String, String> properties = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(etMock.getJavaType()).thenReturn(OWLClassA.class);
+        when(etMock.getIRI()).thenReturn(IRI.create(OWLClassA.getClassIri()));
+        when(metamodelMock.getEntities()).thenReturn(Collections.singleton(etMock));
+        when(metamodelMock.getNamedQueryManager()).thenReturn(namedQueryManager);
+        when(emfMock.createEntityManager()).thenReturn(emMock);
+        when(emMock.isOpen()).thenReturn(true);
+        when(emMock.createNativeQuery(anyString(), eq(OWLClassA.class))).thenReturn(queryMock);
+        when(emMock.createNamedQuery(anyString(), eq(OWLClassA.class))).thenReturn(queryMock);
+        when(emMock.createQuery(anyString(), eq(OWLClassA.class))).thenReturn(queryMock);
+        when(queryMock.setHint(anyString(), any())).thenReturn(queryMock);
+        when(queryMock.getResultStream()).thenReturn(Stream.empty());
+    }
+
+    private CacheWarmer createWarmer(String preload) {
+        properties.put(JOPAPersistenceProperties.CACHE_PRELOAD, preload);
+        return new CacheWarmer(emfMock, metamodelMock, new Configuration(properties));
+    }
+
+    @Test
+    void startLoadsAllInstancesOfConfiguredEntityClassUsingSingleStreamedQuery() throws Exception {
+        properties.put(JOPAPersistenceProperties.CACHE_PRELOAD_BATCH_SIZE, "2");
+        final AtomicBoolean closed = new AtomicBoolean();
+        when(queryMock.getResultStream()).thenReturn(
+                Stream.of(Generators.generateOwlClassAInstance(), Generators.generateOwlClassAInstance(),
+                        Generators.generateOwlClassAInstance()).onClose(() -> closed.set(true)));
+        final CacheWarmer sut = createWarmer(OWLClassA.class.getName());
+
+        sut.start().get();
+        verify(emMock).createNativeQuery(contains(OWLClassA.getClassIri()), eq(OWLClassA.class));
+        verify(queryMock).getResultStream();
+        verify(queryMock, never()).setFirstResult(anyInt());
+        verify(queryMock, never()).getResultList();
+        assertTrue(closed.get());
+        verify(emMock).close();
+        final CacheWarmer.Progress progress = sut.getProgress();
+        assertTrue(progress.isDone());
+        assertEquals(3, progress.getLoadedInstances());
+        assertEquals(0, progress.getFailedEntries());
+    }
+
+    @Test
+    void startLoadsInstancesInReadOnlyMode() throws Exception {
+        final CacheWarmer sut = createWarmer(OWLClassA.class.getName());
+
+        sut.start().get();
+        verify(queryMock).setHint(JOPAPersistenceProperties.READ_ONLY, Boolean.TRUE);
+    }
+
+    @Test
+    void startUsesNamedQueryWhenEntryReferencesNamedQuery() throws Exception {
+        final String queryName = "OWLClassA.findAll";
+        namedQueryManager.addNamedQuery(queryName, "SELECT ?x WHERE { ?x a <" + OWLClassA.getClassIri() + "> . }");
+        final CacheWarmer sut = createWarmer(OWLClassA.class.getName() + "=" + queryName);
+
+        sut.start().get();
+        verify(emMock).createNamedQuery(queryName, OWLClassA.class);
+        verify(emMock, never()).createQuery(anyString(), any(Class.class));
+    }
+
+    @Test
+    void startUsesSoqlQueryWhenEntryQueryIsNotNamedQuery() throws Exception {
+        final CacheWarmer sut = createWarmer(OWLClassA.class.getName() + " = " + SOQL_QUERY);
+
+        sut.start().get();
+        verify(emMock).createQuery(SOQL_QUERY, OWLClassA.class);
+    }
+
+    @Test
+    void constructorSkipsEntriesWithUnknownClasses() {
+        final CacheWarmer sut = createWarmer(String.class.getName() + "; " + OWLClassA.class.getName());
+
+        assertEquals(1, sut.getTasks().size());
+        assertEquals(etMock, sut.getTasks().get(0).getEntityType());
+    }
+
+    @Test
+    void startCompletesImmediatelyWhenThereAreNoValidEntries() {
+        final CacheWarmer sut = createWarmer(String.class.getName());
+
+        assertTrue(sut.start().isDone());
+        assertTrue(sut.getProgress().isDone());
+        verify(emfMock, never()).createEntityManager();
+    }
+
+    @Test
+    void startRecordsFailedEntryAndClosesEntityManagerWhenLoadingFails() throws Exception {
+        when(queryMock.getResultStream()).thenThrow(new OWLPersistenceException("Storage unavailable."));
+        final CacheWarmer sut = createWarmer(OWLClassA.class.getName());
+
+        sut.start().get();
+        verify(emMock).close();
+        final CacheWarmer.Progress progress = sut.getProgress();
+        assertTrue(progress.isDone());
+        assertEquals(1, progress.getFailedEntries());
+    }
+
+    @Test
+    void constructorUsesDefaultBatchSizeWhenConfiguredValueIsInvalid() throws Exception {
+        properties.put(JOPAPersistenceProperties.CACHE_PRELOAD_BATCH_SIZE, "-5");
+        when(queryMock.getResultStream()).thenReturn(
+                Stream.of(Generators.generateOwlClassAInstance(), Generators.generateOwlClassAInstance()));
+        final CacheWarmer sut = createWarmer(OWLClassA.class.getName());
+
+        sut.start().get();
+        assertEquals(2, sut.getProgress().getLoadedInstances());
+    }
+}
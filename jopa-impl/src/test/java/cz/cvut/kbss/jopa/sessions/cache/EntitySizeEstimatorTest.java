@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassD;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntitySizeEstimatorTest {
+
+    @Mock
+    private MetamodelImpl metamodelMock;
+
+    private EntitySizeEstimator sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        final MetamodelMocks metamodelMocks = new MetamodelMocks();
+        metamodelMocks.setMocks(metamodelMock);
+        this.sut = new EntitySizeEstimator(metamodelMock);
+    }
+
+    @Test
+    void estimateGrowsWithLengthOfStringAttributeValue() {
+        final OWLClassA shortValue = new OWLClassA(Generators.createIndividualIdentifier(), "a");
+        final OWLClassA longValue = new OWLClassA(shortValue.getUri(), "abcdefghijklmnopqrstuvwxyz");
+
+        final long shortSize = sut.estimate(shortValue);
+        final long longSize = sut.estimate(longValue);
+        assertEquals(2L * (longValue.getStringAttribute().length() - shortValue.getStringAttribute().length()),
+                longSize - shortSize);
+    }
+
+    @Test
+    void estimateAccountsForCollectionItems() {
+        final OWLClassA instance = new OWLClassA(Generators.createIndividualIdentifier());
+        instance.setTypes(new HashSet<>());
+        final long emptySize = sut.estimate(instance);
+        final Set<String> types = Collections.singleton(Generators.createIndividualIdentifier().toString());
+        instance.setTypes(types);
+
+        final long size = sut.estimate(instance);
+        assertTrue(size > emptySize + types.iterator().next().length());
+    }
+
+    @Test
+    void estimateDoesNotIncludeSizeOfReferencedEntities() {
+        final OWLClassD instance = new OWLClassD(Generators.createIndividualIdentifier());
+        final long withoutReference = sut.estimate(instance);
+        final OWLClassA reference = Generators.generateOwlClassAInstance();
+        instance.setOwlClassA(reference);
+
+        assertEquals(withoutReference, sut.estimate(instance));
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiryQueueTest {
+
+    private final ExpiryQueue<String> sut = new ExpiryQueue<>(1000L);
+
+    @Test
+    void pollExpiredReturnsOnlyKeysWhoseExpirationTimeHasPassed() {
+        sut.schedule("a", 1500L);
+        sut.schedule("b", 2000L);
+        sut.schedule("c", 2001L);
+
+        assertTrue(sut.pollExpired(1999L).isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(sut.pollExpired(2000L)));
+        assertTrue(sut.pollExpired(2999L).isEmpty());
+        assertEquals(Collections.singletonList("c"), sut.pollExpired(3000L));
+    }
+
+    @Test
+    void pollExpiredRemovesReturnedKeysFromQueue() {
+        sut.schedule("a", 1000L);
+        assertEquals(1, sut.size());
+
+        sut.pollExpired(1000L);
+        assertEquals(0, sut.size());
+        assertTrue(sut.pollExpired(5000L).isEmpty());
+    }
+
+    @Test
+    void scheduleMovesAlreadyScheduledKeyToNewBucket() {
+        sut.schedule("a", 1000L);
+        sut.schedule("a", 5000L);
+
+        assertEquals(1, sut.size());
+        assertTrue(sut.pollExpired(4000L).isEmpty());
+        assertEquals(Collections.singletonList("a"), sut.pollExpired(5000L));
+    }
+
+    @Test
+    void scheduleIfAbsentDoesNotRescheduleAlreadyScheduledKey() {
+        sut.schedule("a", 5000L);
+        sut.scheduleIfAbsent("a", 1000L);
+
+        assertTrue(sut.pollExpired(4000L).isEmpty());
+        assertEquals(Collections.singletonList("a"), sut.pollExpired(5000L));
+    }
+
+    @Test
+    void removeRemovesKeyFromQueue() {
+        sut.schedule("a", 1000L);
+        sut.remove("a");
+
+        assertEquals(0, sut.size());
+        assertTrue(sut.pollExpired(1000L).isEmpty());
+    }
+
+    @Test
+    void constructorThrowsIllegalArgumentExceptionForNonPositiveBucketDuration() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpiryQueue<>(0L));
+    }
+}
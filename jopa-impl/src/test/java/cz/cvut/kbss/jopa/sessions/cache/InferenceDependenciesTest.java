@@ -0,0 +1,117 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassD;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
+import cz.cvut.kbss.jopa.model.MetamodelImpl;
+import cz.cvut.kbss.jopa.model.descriptors.EntityDescriptor;
+import cz.cvut.kbss.jopa.sessions.ObjectChangeSet;
+import cz.cvut.kbss.jopa.sessions.UnitOfWorkChangeSet;
+import cz.cvut.kbss.jopa.sessions.change.ChangeRecordImpl;
+import cz.cvut.kbss.jopa.sessions.change.ChangeSetFactory;
+import cz.cvut.kbss.jopa.sessions.change.CommittedChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.function.BiPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class InferenceDependenciesTest {
+
+    @Mock
+    private MetamodelImpl metamodelMock;
+
+    private MetamodelMocks metamodelMocks;
+
+    private InferenceDependencies sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        this.metamodelMocks = new MetamodelMocks();
+        metamodelMocks.setMocks(metamodelMock);
+        when(metamodelMock.isEntityType(OWLClassA.class)).thenReturn(true);
+        this.sut = new InferenceDependencies(metamodelMock);
+    }
+
+    @Test
+    void affectedByAcceptsIndividualsReferencedByChangedAxioms() {
+        final OWLClassD original = new OWLClassD(Generators.createIndividualIdentifier());
+        original.setOwlClassA(Generators.generateOwlClassAInstance());
+        final OWLClassD clone = new OWLClassD(original.getUri());
+        final OWLClassA newReference = Generators.generateOwlClassAInstance();
+        clone.setOwlClassA(newReference);
+        final UnitOfWorkChangeSet changeSet = ChangeSetFactory.createUoWChangeSet();
+        final ObjectChangeSet objectChanges = ChangeSetFactory.createObjectChangeSet(original, clone,
+                new EntityDescriptor());
+        objectChanges.addChangeRecord(new ChangeRecordImpl(metamodelMocks.forOwlClassD().owlClassAAtt(), newReference));
+        changeSet.addObjectChangeSet(objectChanges);
+
+        final BiPredicate<Class<?>, Object> result = sut.affectedBy(CommittedChanges.of(changeSet, metamodelMock));
+        assertTrue(result.test(OWLClassD.class, original.getUri()));
+        assertTrue(result.test(OWLClassA.class, original.getOwlClassA().getUri()));
+        assertTrue(result.test(OWLClassA.class, newReference.getUri()));
+        assertFalse(result.test(OWLClassA.class, Generators.createIndividualIdentifier()));
+    }
+
+    @Test
+    void affectedByAcceptsAllInstancesOfClassWithInferredAttributeMappedToChangedProperty() {
+        when(metamodelMocks.forOwlClassD().owlClassAAtt().isInferred()).thenReturn(true);
+        final OWLClassD instance = new OWLClassD(Generators.createIndividualIdentifier());
+        instance.setOwlClassA(Generators.generateOwlClassAInstance());
+        final UnitOfWorkChangeSet changeSet = ChangeSetFactory.createUoWChangeSet();
+        changeSet.addNewObjectChangeSet(ChangeSetFactory.createObjectChangeSet(instance, instance,
+                new EntityDescriptor()));
+
+        final BiPredicate<Class<?>, Object> result = sut.affectedBy(CommittedChanges.of(changeSet, metamodelMock));
+        assertTrue(result.test(OWLClassD.class, Generators.createIndividualIdentifier()));
+    }
+
+    @Test
+    void affectedByRejectsInstancesOfClassWhoseInferredAttributesAreMappedToUnchangedProperties() {
+        when(metamodelMocks.forOwlClassD().owlClassAAtt().isInferred()).thenReturn(true);
+        final OWLClassA original = Generators.generateOwlClassAInstance();
+        final OWLClassA clone = new OWLClassA(original.getUri());
+        clone.setStringAttribute("updated");
+        final UnitOfWorkChangeSet changeSet = ChangeSetFactory.createUoWChangeSet();
+        final ObjectChangeSet objectChanges = ChangeSetFactory.createObjectChangeSet(original, clone,
+                new EntityDescriptor());
+        objectChanges.addChangeRecord(new ChangeRecordImpl(metamodelMocks.forOwlClassA().stringAttribute(), "updated"));
+        changeSet.addObjectChangeSet(objectChanges);
+
+        final BiPredicate<Class<?>, Object> result = sut.affectedBy(CommittedChanges.of(changeSet, metamodelMock));
+        assertFalse(result.test(OWLClassD.class, Generators.createIndividualIdentifier()));
+    }
+
+    @Test
+    void affectedByAcceptsAllInstancesOfClassWithInferredTypesWhenClassAssertionsChanged() {
+        when(metamodelMocks.forOwlClassA().typesSpec().isInferred()).thenReturn(true);
+        final OWLClassD instance = new OWLClassD(Generators.createIndividualIdentifier());
+        final UnitOfWorkChangeSet changeSet = ChangeSetFactory.createUoWChangeSet();
+        changeSet.addDeletedObjectChangeSet(ChangeSetFactory.createDeleteObjectChangeSet(instance,
+                new EntityDescriptor()));
+
+        final BiPredicate<Class<?>, Object> result = sut.affectedBy(CommittedChanges.of(changeSet, metamodelMock));
+        assertTrue(result.test(OWLClassA.class, Generators.createIndividualIdentifier()));
+    }
+}
@@ -21,6 +21,7 @@ import cz.cvut.kbss.jopa.environment.OWLClassE;
 import cz.cvut.kbss.jopa.environment.utils.Generators;
 import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import cz.cvut.kbss.jopa.sessions.CacheStatistics;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -120,6 +121,29 @@ public class LruCacheManagerTest extends AbstractCacheManagerTest<LruCacheManage
         assertTrue(manager.contains(testB.getClass(), testB.getUri(), descriptorTwo));
     }
 
+    @Test
+    public void evictionDueToCapacityIsRecordedInStatistics() {
+        final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
+        this.manager = new LruCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.LRU_CACHE_CAPACITY, "2"));
+        manager.add(testA.getUri(), testA, descriptorOne);
+        manager.add(testB.getUri(), testB, descriptor(CONTEXT_TWO));
+
+        final CacheStatistics statistics = manager.unwrap(CacheStatistics.class);
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(1, statistics.forEntityClass(OWLClassA.class).getEvictionCount());
+        assertEquals(1, statistics.forContext(CONTEXT_ONE).getEvictionCount());
+        assertEquals(0, statistics.forContext(CONTEXT_TWO).getEvictionCount());
+    }
+
+    @Test
+    public void explicitEvictionIsNotRecordedInStatistics() {
+        manager.add(testA.getUri(), testA, descriptor(CONTEXT_ONE));
+        manager.evict(CONTEXT_ONE);
+
+        assertEquals(0, manager.unwrap(CacheStatistics.class).getEvictionCount());
+    }
+
     @Test
     public void leastRecentlyUsedEntryGetsEvictedWhenCacheIsFull_withContext() throws Exception {
         final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
@@ -142,6 +166,119 @@ public class LruCacheManagerTest extends AbstractCacheManagerTest<LruCacheManage
         assertFalse(manager.contains(testB.getClass(), testB.getUri(), descriptorTwo));
     }
 
+    @Test
+    public void initializationWithMemoryLimitDoesNotLimitNumberOfEntries() {
+        final Map<String, String> props = Collections
+                .singletonMap(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1024");
+        this.manager = new LruCacheManager(props, e -> 1L);
+        assertEquals(1024L, manager.getMemoryLimit());
+        assertEquals(1024L, manager.getMaxEntrySize());
+        assertEquals(Integer.MAX_VALUE, manager.getCapacity());
+    }
+
+    @Test
+    public void initializationWithMemoryLimitWithoutSizeEstimatorIgnoresMemoryLimit() {
+        final Map<String, String> props = Collections
+                .singletonMap(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1024");
+        this.manager = new LruCacheManager(props);
+        assertEquals(Long.MAX_VALUE, manager.getMemoryLimit());
+        assertEquals(LruCacheManager.DEFAULT_CAPACITY, manager.getCapacity());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvictedWhenMemoryLimitIsExceeded() throws Exception {
+        final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
+        final Descriptor descriptorTwo = descriptor(CONTEXT_TWO);
+        this.manager = new LruCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "250"), e -> 100L);
+        manager.add(testA.getUri(), testA, descriptorOne);
+        manager.add(testB.getUri(), testB, descriptorTwo);
+        manager.get(testA.getClass(), testA.getUri(), descriptorOne);
+        final OWLClassA aTwo = new OWLClassA(URI.create("http://aTwo"));
+        manager.add(aTwo.getUri(), aTwo, descriptorTwo);
+
+        assertTrue(manager.contains(testA.getClass(), testA.getUri(), descriptorOne));
+        assertTrue(manager.contains(aTwo.getClass(), aTwo.getUri(), descriptorTwo));
+        assertFalse(manager.contains(testB.getClass(), testB.getUri(), descriptorTwo));
+        assertEquals(200L, getLruCache().getWeight());
+    }
+
+    @Test
+    public void entityExceedingMaxEntrySizeIsNotCached() throws Exception {
+        final Map<String, String> props = new HashMap<>();
+        props.put(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1000");
+        props.put(JOPAPersistenceProperties.LRU_CACHE_MAX_ENTRY_SIZE, "100");
+        this.manager = new LruCacheManager(props, e -> e == testA ? 500L : 50L);
+        final Descriptor descriptor = descriptor(CONTEXT_ONE);
+        manager.add(testA.getUri(), testA, descriptor);
+        manager.add(testB.getUri(), testB, descriptor);
+
+        assertFalse(manager.contains(testA.getClass(), testA.getUri(), descriptor));
+        assertTrue(manager.contains(testB.getClass(), testB.getUri(), descriptor));
+        assertEquals(50L, getLruCache().getWeight());
+    }
+
+    @Test
+    public void addingOversizedVersionOfCachedEntityEvictsItFromCache() {
+        final Map<String, String> props = new HashMap<>();
+        props.put(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1000");
+        props.put(JOPAPersistenceProperties.LRU_CACHE_MAX_ENTRY_SIZE, "100");
+        this.manager = new LruCacheManager(props, e -> ((OWLClassA) e).getStringAttribute() != null ? 500L : 50L);
+        final Descriptor descriptor = descriptor(CONTEXT_ONE);
+        final OWLClassA instance = new OWLClassA(testA.getUri());
+        manager.add(instance.getUri(), instance, descriptor);
+        assertTrue(manager.contains(OWLClassA.class, instance.getUri(), descriptor));
+
+        final OWLClassA update = new OWLClassA(testA.getUri(), "Large value");
+        manager.add(update.getUri(), update, descriptor);
+        assertFalse(manager.contains(OWLClassA.class, instance.getUri(), descriptor));
+    }
+
+    @Test
+    public void updateReestimatesSizeOfCachedEntity() throws Exception {
+        this.manager = new LruCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1000"),
+                e -> ((OWLClassA) e).getStringAttribute() != null ? 80L : 50L);
+        final Descriptor descriptor = descriptor(CONTEXT_ONE);
+        final OWLClassA instance = new OWLClassA(testA.getUri());
+        manager.add(instance.getUri(), instance, descriptor);
+        assertEquals(50L, getLruCache().getWeight());
+
+        instance.setStringAttribute("Lazily loaded value");
+        manager.update(instance.getUri(), instance, descriptor);
+        assertTrue(manager.contains(OWLClassA.class, instance.getUri(), descriptor));
+        assertEquals(80L, getLruCache().getWeight());
+    }
+
+    @Test
+    public void updateEvictsEntityWhichExceedsMaxEntrySize() throws Exception {
+        final Map<String, String> props = new HashMap<>();
+        props.put(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1000");
+        props.put(JOPAPersistenceProperties.LRU_CACHE_MAX_ENTRY_SIZE, "100");
+        this.manager = new LruCacheManager(props, e -> ((OWLClassA) e).getStringAttribute() != null ? 500L : 50L);
+        final Descriptor descriptor = descriptor(CONTEXT_ONE);
+        final OWLClassA instance = new OWLClassA(testA.getUri());
+        manager.add(instance.getUri(), instance, descriptor);
+
+        instance.setStringAttribute("Large lazily loaded value");
+        manager.update(instance.getUri(), instance, descriptor);
+        assertFalse(manager.contains(OWLClassA.class, instance.getUri(), descriptor));
+        assertEquals(0L, getLruCache().getWeight());
+    }
+
+    @Test
+    public void updateDoesNothingForInstanceWhichIsNotCached() throws Exception {
+        this.manager = new LruCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.LRU_CACHE_MEMORY_LIMIT, "1000"), e -> 50L);
+        final Descriptor descriptor = descriptor(CONTEXT_ONE);
+        manager.add(testA.getUri(), testA, descriptor);
+        final OWLClassA other = new OWLClassA(testA.getUri());
+
+        manager.update(other.getUri(), other, descriptor);
+        assertSame(testA, manager.get(OWLClassA.class, testA.getUri(), descriptor));
+        assertEquals(50L, getLruCache().getWeight());
+    }
+
     @Override
     Map<?, ?> extractDescriptors() throws Exception {
         final Field cacheField = LruCacheManager.class.getDeclaredField("entityCache");
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassB;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PartitionedCacheManagerTest extends AbstractCacheManagerTest<PartitionedCacheManager> {
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        this.manager = new PartitionedCacheManager();
+    }
+
+    @Test
+    public void initWithCustomPartitionCapacity() {
+        this.manager = new PartitionedCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.PARTITIONED_CACHE_CAPACITY, "117"));
+        assertEquals(117, manager.getPartitionCapacity());
+    }
+
+    @Test
+    public void initWithInvalidPartitionCapacityUsesDefaultValue() {
+        this.manager = new PartitionedCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.PARTITIONED_CACHE_CAPACITY, "-1"));
+        assertEquals(LruCacheManager.DEFAULT_CAPACITY, manager.getPartitionCapacity());
+    }
+
+    @Test
+    public void fullPartitionEvictsOnlyItsOwnEntries() {
+        this.manager = new PartitionedCacheManager(
+                Collections.singletonMap(JOPAPersistenceProperties.PARTITIONED_CACHE_CAPACITY, "2"));
+        final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
+        final Descriptor descriptorTwo = descriptor(CONTEXT_TWO);
+        manager.add(testB.getUri(), testB, descriptorTwo);
+        manager.add(testA.getUri(), testA, descriptorOne);
+        final OWLClassA another = new OWLClassA(URI.create("http://anotherA"));
+        manager.add(another.getUri(), another, descriptorOne);
+
+        assertFalse(manager.contains(OWLClassA.class, testA.getUri(), descriptorOne));
+        assertTrue(manager.contains(OWLClassA.class, another.getUri(), descriptorOne));
+        assertTrue(manager.contains(OWLClassB.class, testB.getUri(), descriptorTwo));
+    }
+
+    @Test
+    public void evictByContextDropsPartition() throws Exception {
+        manager.add(testA.getUri(), testA, descriptor(CONTEXT_ONE));
+        manager.add(testB.getUri(), testB, descriptor(CONTEXT_TWO));
+        manager.evict(CONTEXT_ONE);
+        final Map<URI, ?> partitions = extractPartitions();
+        assertFalse(partitions.containsKey(CONTEXT_ONE));
+        assertTrue(partitions.containsKey(CONTEXT_TWO));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<URI, PartitionedCacheManager.Partition> extractPartitions() throws Exception {
+        final Field partitionsField = PartitionedCacheManager.class.getDeclaredField("partitions");
+        partitionsField.setAccessible(true);
+        return (Map<URI, PartitionedCacheManager.Partition>) partitionsField.get(manager);
+    }
+
+    @Override
+    Map<?, ?> extractDescriptors() throws Exception {
+        final Field descriptorsField = EntityCache.class.getDeclaredField("descriptors");
+        descriptorsField.setAccessible(true);
+        final Map<Object, Object> result = new IdentityHashMap<>();
+        for (PartitionedCacheManager.Partition partition : extractPartitions().values()) {
+            result.putAll((Map<?, ?>) descriptorsField.get(partition.entityCache));
+        }
+        return result;
+    }
+}
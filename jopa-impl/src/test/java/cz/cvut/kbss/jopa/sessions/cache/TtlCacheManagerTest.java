@@ -120,6 +120,28 @@ public class TtlCacheManagerTest extends AbstractCacheManagerTest<TtlCacheManage
         assertTrue(scheduler.isShutdown());
     }
 
+    @Test
+    public void evictRemovesContextFromExpiryQueue() throws Exception {
+        final Descriptor descriptorOne = descriptor(CONTEXT_ONE);
+        final Descriptor descriptorTwo = descriptor(CONTEXT_TWO);
+        manager.add(testA.getUri(), testA, descriptorOne);
+        manager.add(testB.getUri(), testB, descriptorTwo);
+        final ExpiryQueue<?> queue = extractExpiryQueue();
+        assertEquals(2, queue.size());
+
+        manager.evict(CONTEXT_ONE);
+        assertEquals(1, queue.size());
+    }
+
+    private ExpiryQueue<?> extractExpiryQueue() throws Exception {
+        final Field cacheField = TtlCacheManager.class.getDeclaredField("cache");
+        cacheField.setAccessible(true);
+        final Object cache = cacheField.get(manager);
+        final Field queueField = cache.getClass().getDeclaredField("expiryQueue");
+        queueField.setAccessible(true);
+        return (ExpiryQueue<?>) queueField.get(cache);
+    }
+
     @Override
     Map<?, ?> extractDescriptors() throws Exception {
         final Field cacheField = TtlCacheManager.class.getDeclaredField("cache");
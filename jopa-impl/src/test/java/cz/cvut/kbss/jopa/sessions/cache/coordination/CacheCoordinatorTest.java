@@ -0,0 +1,133 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import cz.cvut.kbss.jopa.model.JOPAPersistenceProperties;
+import cz.cvut.kbss.jopa.model.metamodel.EntityType;
+import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
+import cz.cvut.kbss.jopa.sessions.CacheManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CacheCoordinatorTest {
+
+    @Mock
+    private CacheCoordinationTransport transportMock;
+
+    @Mock
+    private CacheManager cacheMock;
+
+    @Mock
+    private Metamodel metamodelMock;
+
+    @Mock
+    private EntityType<OWLClassA> etMock;
+
+    private CacheCoordinator sut;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(etMock.getJavaType()).thenReturn(OWLClassA.class);
+        when(metamodelMock.getEntities()).thenReturn(Collections.singleton(etMock));
+        this.sut = new CacheCoordinator(transportMock, cacheMock, metamodelMock);
+    }
+
+    @Test
+    void applyEvictsInvalidatedEntriesFromCache() {
+        final URI identifier = Generators.createIndividualIdentifier();
+        final URI context = Generators.createIndividualIdentifier();
+        sut.apply(CacheInvalidation.builder().entry(OWLClassA.class, identifier, context).build());
+        verify(cacheMock).evict(OWLClassA.class, identifier, context);
+    }
+
+    @Test
+    void applyEvictsIndividualWhenEntryClassIsUnknown() {
+        final URI identifier = Generators.createIndividualIdentifier();
+        sut.apply(CacheInvalidation.builder().entry("org.example.Unknown", identifier, null).build());
+        verify(cacheMock).evictIndividual(identifier);
+    }
+
+    @Test
+    void applyEvictsWholeCacheForInvalidationOfAll() {
+        sut.apply(CacheInvalidation.builder().all().entityClass(OWLClassA.class).build());
+        verify(cacheMock).evictAll();
+        verify(cacheMock, never()).evict(any(Class.class));
+    }
+
+    @Test
+    void applyEvictsInferredObjectsClassesIndividualsAndContexts() {
+        final URI individual = Generators.createIndividualIdentifier();
+        final URI context = Generators.createIndividualIdentifier();
+        sut.apply(CacheInvalidation.builder().inferred().entityClass(OWLClassA.class).individual(individual)
+                                   .context(context).build());
+        verify(cacheMock).evictInferredObjects();
+        verify(cacheMock).evict(OWLClassA.class);
+        verify(cacheMock).evictIndividual(individual);
+        verify(cacheMock).evict(context);
+    }
+
+    @Test
+    void startRegistersReceiverWhichAppliesInvalidations() {
+        sut.start();
+        final ArgumentCaptor<Consumer<CacheInvalidation>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(transportMock).start(captor.capture());
+        captor.getValue().accept(CacheInvalidation.builder().all().build());
+        verify(cacheMock).evictAll();
+    }
+
+    @Test
+    void publishDoesNotPublishEmptyInvalidation() {
+        sut.publish(CacheInvalidation.builder().build());
+        verify(transportMock, never()).publish(any());
+    }
+
+    @Test
+    void createTransportCreatesLoopbackTransport() {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(JOPAPersistenceProperties.CACHE_COORDINATION_TRANSPORT, "loopback");
+        assertTrue(CacheCoordinator.createTransport(properties) instanceof LoopbackCacheCoordinationTransport);
+    }
+
+    @Test
+    void createTransportThrowsIllegalArgumentExceptionWhenFileTransportDirectoryIsMissing() {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(JOPAPersistenceProperties.CACHE_COORDINATION_TRANSPORT, "file");
+        assertThrows(IllegalArgumentException.class, () -> CacheCoordinator.createTransport(properties));
+    }
+
+    @Test
+    void createTransportThrowsIllegalArgumentExceptionForClassNotImplementingTransport() {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(JOPAPersistenceProperties.CACHE_COORDINATION_TRANSPORT, String.class.getName());
+        assertThrows(IllegalArgumentException.class, () -> CacheCoordinator.createTransport(properties));
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheInvalidationCodecTest {
+
+    @Test
+    void decodeReconstructsEncodedInvalidation() {
+        final CacheInvalidation invalidation = CacheInvalidation.builder().inferred()
+                                                                .entry(OWLClassA.class,
+                                                                        Generators.createIndividualIdentifier(), null)
+                                                                .entry(OWLClassA.class,
+                                                                        Generators.createIndividualIdentifier(),
+                                                                        Generators.createIndividualIdentifier())
+                                                                .entityClass(OWLClassA.class)
+                                                                .individual(Generators.createIndividualIdentifier())
+                                                                .context(Generators.createIndividualIdentifier())
+                                                                .build();
+
+        assertEquals(invalidation, CacheInvalidationCodec.decode(CacheInvalidationCodec.encode(invalidation)));
+    }
+
+    @Test
+    void decodeSupportsInvalidationOfWholeCache() {
+        final CacheInvalidation result = CacheInvalidationCodec.decode(
+                CacheInvalidationCodec.encode(CacheInvalidation.builder().all().build()));
+        assertTrue(result.isAll());
+    }
+
+    @Test
+    void decodeThrowsIllegalArgumentExceptionForUnknownRecord() {
+        final List<String> lines = Arrays.asList("context\t" + URI.create("http://example.org/ctx"), "unknown");
+        assertThrows(IllegalArgumentException.class, () -> CacheInvalidationCodec.decode(lines));
+    }
+}
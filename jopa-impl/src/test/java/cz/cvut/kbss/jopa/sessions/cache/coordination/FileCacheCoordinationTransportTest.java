@@ -0,0 +1,94 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileCacheCoordinationTransportTest {
+
+    // Polling is triggered manually in the tests
+    private static final long POLL_INTERVAL = 3600000L;
+
+    @TempDir
+    Path directory;
+
+    private FileCacheCoordinationTransport nodeOne;
+    private FileCacheCoordinationTransport nodeTwo;
+
+    private final List<CacheInvalidation> receivedOne = new ArrayList<>();
+    private final List<CacheInvalidation> receivedTwo = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        this.nodeOne = new FileCacheCoordinationTransport(directory, POLL_INTERVAL);
+        this.nodeTwo = new FileCacheCoordinationTransport(directory, POLL_INTERVAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeOne.close();
+        nodeTwo.close();
+    }
+
+    @Test
+    void publishedInvalidationIsReceivedByOtherNode() {
+        nodeOne.start(receivedOne::add);
+        nodeTwo.start(receivedTwo::add);
+        final CacheInvalidation invalidation = CacheInvalidation.builder()
+                                                                .entry(OWLClassA.class,
+                                                                        Generators.createIndividualIdentifier(), null)
+                                                                .build();
+        nodeOne.publish(invalidation);
+        nodeOne.poll();
+        nodeTwo.poll();
+
+        assertTrue(receivedOne.isEmpty());
+        assertEquals(1, receivedTwo.size());
+        assertEquals(invalidation, receivedTwo.get(0));
+    }
+
+    @Test
+    void invalidationIsReceivedOnlyOnce() {
+        nodeOne.start(receivedOne::add);
+        nodeTwo.start(receivedTwo::add);
+        nodeOne.publish(CacheInvalidation.builder().all().build());
+        nodeTwo.poll();
+        nodeTwo.poll();
+
+        assertEquals(1, receivedTwo.size());
+    }
+
+    @Test
+    void invalidationsPublishedBeforeNodeStartAreIgnored() {
+        nodeOne.start(receivedOne::add);
+        nodeOne.publish(CacheInvalidation.builder().all().build());
+        nodeTwo.start(receivedTwo::add);
+        nodeTwo.poll();
+
+        assertTrue(receivedTwo.isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.sessions.cache.coordination;
+
+import cz.cvut.kbss.jopa.environment.utils.Generators;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoopbackCacheCoordinationTransportTest {
+
+    private static final String CHANNEL = "test";
+
+    private final LoopbackCacheCoordinationTransport nodeOne = new LoopbackCacheCoordinationTransport(CHANNEL);
+    private final LoopbackCacheCoordinationTransport nodeTwo = new LoopbackCacheCoordinationTransport(CHANNEL);
+
+    private final List<CacheInvalidation> receivedOne = new ArrayList<>();
+    private final List<CacheInvalidation> receivedTwo = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodeOne.close();
+        nodeTwo.close();
+    }
+
+    @Test
+    void publishDeliversInvalidationToOtherNodesOnly() {
+        nodeOne.start(receivedOne::add);
+        nodeTwo.start(receivedTwo::add);
+        final CacheInvalidation invalidation =
+                CacheInvalidation.builder().individual(Generators.createIndividualIdentifier()).build();
+        nodeOne.publish(invalidation);
+
+        assertTrue(receivedOne.isEmpty());
+        assertEquals(1, receivedTwo.size());
+        assertSame(invalidation, receivedTwo.get(0));
+    }
+
+    @Test
+    void publishDoesNotDeliverInvalidationToClosedNodes() {
+        nodeOne.start(receivedOne::add);
+        nodeTwo.start(receivedTwo::add);
+        nodeTwo.close();
+        nodeOne.publish(CacheInvalidation.builder().all().build());
+
+        assertTrue(receivedTwo.isEmpty());
+    }
+
+    @Test
+    void publishDoesNotDeliverInvalidationToNodesInOtherChannels() {
+        final LoopbackCacheCoordinationTransport other = new LoopbackCacheCoordinationTransport("other");
+        final List<CacheInvalidation> receivedOther = new ArrayList<>();
+        other.start(receivedOther::add);
+        nodeOne.start(receivedOne::add);
+        nodeOne.publish(CacheInvalidation.builder().all().build());
+        other.close();
+
+        assertTrue(receivedOther.isEmpty());
+    }
+}
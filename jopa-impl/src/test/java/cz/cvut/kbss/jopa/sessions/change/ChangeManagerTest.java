@@ -18,17 +18,20 @@ import cz.cvut.kbss.jopa.environment.*;
 import cz.cvut.kbss.jopa.environment.utils.Generators;
 import cz.cvut.kbss.jopa.environment.utils.MetamodelMocks;
 import cz.cvut.kbss.jopa.environment.utils.TestEnvironmentUtils;
+import cz.cvut.kbss.jopa.model.BeanListenerAspect;
 import cz.cvut.kbss.jopa.model.metamodel.FieldSpecification;
 import cz.cvut.kbss.jopa.model.metamodel.Metamodel;
 import cz.cvut.kbss.jopa.sessions.ChangeManager;
 import cz.cvut.kbss.jopa.sessions.ChangeRecord;
 import cz.cvut.kbss.jopa.sessions.MetamodelProvider;
 import cz.cvut.kbss.jopa.sessions.ObjectChangeSet;
+import org.aspectj.lang.Aspects;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.lang.reflect.Field;
 import java.net.URI;
 import java.util.*;
 import java.util.Map.Entry;
@@ -550,4 +553,49 @@ public class ChangeManagerTest {
         verifyChangeSetContainsChangeOfAttribute(metamodelMocks.forOwlClassQ().qOwlClassAAtt(), changeSet);
         assertEquals(newA, changes.iterator().next().getNewValue());
     }
+
+    @Test
+    public void calculateModifiedChangesSkipsUnmodifiedImmutableAttributesOfTrackedInstance() throws Exception {
+        Aspects.aspectOf(BeanListenerAspect.class).register(testAClone, null);
+        // Modification bypassing the setter is not tracked
+        final Field strField = OWLClassA.getStrAttField();
+        strField.setAccessible(true);
+        strField.set(testAClone, "differentStringAttribute");
+
+        final ObjectChangeSet changeSet = createChangeSet(testA, testAClone);
+        assertFalse(manager.calculateModifiedChanges(changeSet));
+        assertTrue(changeSet.getChanges().isEmpty());
+    }
+
+    @Test
+    public void calculateModifiedChangesRegistersChangeOfModifiedAttributeOfTrackedInstance() throws Exception {
+        Aspects.aspectOf(BeanListenerAspect.class).register(testAClone, null);
+        testAClone.setStringAttribute("differentStringAttribute");
+
+        final ObjectChangeSet changeSet = createChangeSet(testA, testAClone);
+        assertTrue(manager.calculateModifiedChanges(changeSet));
+        assertEquals(1, changeSet.getChanges().size());
+        verifyChangeSetContainsChangeOfAttribute(metamodelMocks.forOwlClassA().stringAttribute(), changeSet);
+    }
+
+    @Test
+    public void calculateModifiedChangesAlwaysComparesCollectionsOfTrackedInstance() throws Exception {
+        Aspects.aspectOf(BeanListenerAspect.class).register(testAClone, null);
+        testAClone.getTypes().add(Generators.createIndividualIdentifier().toString());
+
+        final ObjectChangeSet changeSet = createChangeSet(testA, testAClone);
+        assertTrue(manager.calculateModifiedChanges(changeSet));
+        verifyChangeSetContainsChangeOfAttribute(metamodelMocks.forOwlClassA().typesSpec(), changeSet);
+    }
+
+    @Test
+    public void calculateModifiedChangesComparesAllAttributesOfUntrackedInstance() throws Exception {
+        final Field strField = OWLClassA.getStrAttField();
+        strField.setAccessible(true);
+        strField.set(testAClone, "differentStringAttribute");
+
+        final ObjectChangeSet changeSet = createChangeSet(testA, testAClone);
+        assertTrue(manager.calculateModifiedChanges(changeSet));
+        verifyChangeSetContainsChangeOfAttribute(metamodelMocks.forOwlClassA().stringAttribute(), changeSet);
+    }
 }
@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.jopa.utils;
+
+import cz.cvut.kbss.jopa.environment.OWLClassA;
+import cz.cvut.kbss.jopa.environment.OWLClassD;
+import cz.cvut.kbss.jopa.environment.OWLClassQ;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldIndexTest {
+
+    @Test
+    void indexOfReturnsSameIndexForSameField() throws Exception {
+        final int one = FieldIndex.indexOf(OWLClassA.class, OWLClassA.getStrAttField());
+        final int two = FieldIndex.indexOf(OWLClassA.class, OWLClassA.class.getDeclaredField("stringAttribute"));
+        assertEquals(one, two);
+    }
+
+    @Test
+    void indexOfAssignsDistinctIndexesToFieldsDeclaredInClassAndItsSuperclasses() throws Exception {
+        final Set<Integer> indexes = new HashSet<>();
+        for (Field f : OWLClassQ.getPersistentFields()) {
+            assertTrue(indexes.add(FieldIndex.indexOf(OWLClassQ.class, f)));
+        }
+        assertTrue(indexes.add(FieldIndex.indexOf(OWLClassQ.class, OWLClassQ.getUriField())));
+    }
+
+    @Test
+    void indexOfThrowsIllegalArgumentExceptionForFieldOfUnrelatedClass() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldIndex.indexOf(OWLClassD.class, OWLClassA.getStrAttField()));
+    }
+
+    @Test
+    void indexOfReturnsSameIndexOfInheritedFieldInDeclaringClassAndSubclass() throws Exception {
+        final Field labelField = OWLClassQ.getLabelField();
+        assertEquals(FieldIndex.indexOf(labelField), FieldIndex.indexOf(OWLClassQ.class, labelField));
+    }
+}
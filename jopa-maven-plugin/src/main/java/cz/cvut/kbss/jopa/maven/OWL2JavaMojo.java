@@ -35,6 +35,7 @@ public class OWL2JavaMojo extends AbstractMojo {
     private static final String IGNORE_FAILED_IMPORTS_PARAM = "ignore-failed-imports";
     private static final String PROPERTIES_TYPE = "properties-type";
     private static final String GENERATE_JAVADOC = "javadoc-from-rdfs-comment";
+    private static final String GENERATE_CLONE_SUPPORT = "generate-clone-support";
 
     @Parameter(alias = MAPPING_FILE_PARAM)
     private String pMappingFile;
@@ -69,6 +70,9 @@ public class OWL2JavaMojo extends AbstractMojo {
     @Parameter(alias = GENERATE_JAVADOC, defaultValue = "true")
     private boolean generateJavadoc;
 
+    @Parameter(alias = GENERATE_CLONE_SUPPORT, defaultValue = "false")
+    private boolean generateCloneSupport;
+
     @Override
     public void execute() {
         OWL2JavaTransformer owl2java = new OWL2JavaTransformer();
@@ -100,7 +104,7 @@ public class OWL2JavaMojo extends AbstractMojo {
 
         final TransformationConfiguration config =
                 builder.packageName(pPackage).targetDir(pOutputDirectory).addOwlapiIris(pWithOWLAPI)
-                       .generateJavadoc(generateJavadoc).build();
+                       .generateJavadoc(generateJavadoc).generateCloneSupport(generateCloneSupport).build();
 
         if (pVocabularyOnly) {
             owl2java.generateVocabulary(config);
@@ -123,5 +127,6 @@ public class OWL2JavaMojo extends AbstractMojo {
         getLog().info(IGNORE_FAILED_IMPORTS_PARAM + ": " + ignoreFailedImports);
         getLog().info(PROPERTIES_TYPE + ": " + pPropertiesType);
         getLog().info(GENERATE_JAVADOC + ": " + generateJavadoc);
+        getLog().info(GENERATE_CLONE_SUPPORT + ": " + generateCloneSupport);
     }
 }
@@ -16,6 +16,7 @@ import com.sun.codemodel.*;
 import cz.cvut.kbss.jopa.ic.api.AtomicSubClassConstraint;
 import cz.cvut.kbss.jopa.ic.api.DataParticipationConstraint;
 import cz.cvut.kbss.jopa.ic.api.ObjectParticipationConstraint;
+import cz.cvut.kbss.jopa.model.CloneSupport;
 import cz.cvut.kbss.jopa.model.annotations.OWLAnnotationProperty;
 import cz.cvut.kbss.jopa.model.annotations.OWLDataProperty;
 import cz.cvut.kbss.jopa.model.annotations.OWLObjectProperty;
@@ -357,6 +358,41 @@ public class JavaTransformer {
                 generateDataProperty(ontology, cm, context, clazz, subj, prop);
             }
         }
+        if (configuration.shouldGenerateCloneSupport()) {
+            classes.values().forEach(JavaTransformer::generateShallowCopyMethod);
+        }
+    }
+
+    /**
+     * Generates implementation of {@link CloneSupport#shallowCopy()}, which copies values of all persistent instance
+     * fields of the class and its generated superclasses into a new instance.
+     */
+    private static void generateShallowCopyMethod(JDefinedClass cls) {
+        if (!(cls._extends() instanceof JDefinedClass)) {
+            cls._implements(CloneSupport.class);
+        }
+        final JMethod shallowCopy = cls.method(JMod.PUBLIC, Object.class, "shallowCopy");
+        shallowCopy.annotate(Override.class);
+        final JBlock body = shallowCopy.body();
+        final JVar copy = body.decl(JMod.FINAL, cls, "copy", JExpr._new(cls));
+        JClass current = cls;
+        while (current instanceof JDefinedClass) {
+            for (JFieldVar field : ((JDefinedClass) current).fields().values()) {
+                if (isPersistentField(field)) {
+                    body.assign(copy.ref(field), JExpr._this().ref(field));
+                }
+            }
+            current = current._extends();
+        }
+        body._return(copy);
+    }
+
+    private static boolean isPersistentField(JFieldVar field) {
+        if ((field.mods().getValue() & (JMod.STATIC | JMod.TRANSIENT)) != 0) {
+            return false;
+        }
+        return field.annotations().stream().noneMatch(
+                a -> a.getAnnotationClass().fullName().equals(Transient.class.getName()));
     }
 
     private void generateVocabulary(final OWLOntology o, final JCodeModel cm, ContextDefinition context) {
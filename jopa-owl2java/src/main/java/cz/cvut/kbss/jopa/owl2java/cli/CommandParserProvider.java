@@ -48,6 +48,7 @@ public final class CommandParserProvider {
          .defaultsTo(Defaults.JAVA_CLASSNAME_ANNOTATION);
         p.accepts(PROPERTIES_TYPE).withRequiredArg().ofType(String.class).defaultsTo(Defaults.PROPERTIES_TYPE);
         p.accepts(GENERATE_JAVADOC_FROM_COMMENT).withOptionalArg().ofType(Boolean.class).defaultsTo(true);
+        p.accepts(GENERATE_CLONE_SUPPORT).withOptionalArg().ofType(Boolean.class).defaultsTo(true);
         return p;
     }
 
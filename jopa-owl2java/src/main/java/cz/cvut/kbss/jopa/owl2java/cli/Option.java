@@ -85,7 +85,14 @@ public enum Option {
      * By default, OWL2Java will generate Javadoc from the first rdfs:comment it finds for each axioms. This leads to
      * documentation being created for classes, their attributes and vocabulary constants.
      */
-    GENERATE_JAVADOC_FROM_COMMENT("doc", "generate Javadoc from rdfs:comment annotations");
+    GENERATE_JAVADOC_FROM_COMMENT("doc", "generate Javadoc from rdfs:comment annotations"),
+    /**
+     * Whether to generate shallow copy routines used by JOPA when cloning entities.
+     * <p>
+     * If enabled, each generated entity class implements {@link cz.cvut.kbss.jopa.model.CloneSupport}. By default, no
+     * such routines are generated and JOPA copies field values one by one.
+     */
+    GENERATE_CLONE_SUPPORT("cs", "generate shallow copy routines used by JOPA when cloning entities");
 
     public final String arg;
     final String description;
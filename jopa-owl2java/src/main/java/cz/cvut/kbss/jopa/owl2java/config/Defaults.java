@@ -63,6 +63,11 @@ public class Defaults {
      */
     public static final boolean GENERATE_JAVADOC_FROM_COMMENT = true;
 
+    /**
+     * @see Option#GENERATE_CLONE_SUPPORT
+     */
+    public static final boolean GENERATE_CLONE_SUPPORT = false;
+
     private Defaults() {
         throw new AssertionError();
     }
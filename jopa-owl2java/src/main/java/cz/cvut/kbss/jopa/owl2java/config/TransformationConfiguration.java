@@ -30,6 +30,8 @@ public class TransformationConfiguration {
 
     private final boolean generateJavadoc;
 
+    private final boolean generateCloneSupport;
+
     private final PropertiesType propertiesType;
 
     private final CliParams cliParams;
@@ -40,6 +42,7 @@ public class TransformationConfiguration {
         this.targetDir = builder.targetDir;
         this.generateOwlapiIris = builder.owlapiIris;
         this.generateJavadoc = builder.generateJavadoc;
+        this.generateCloneSupport = builder.generateCloneSupport;
         this.propertiesType = builder.propertiesType;
         this.cliParams = CliParams.empty();
     }
@@ -53,6 +56,7 @@ public class TransformationConfiguration {
         this.generateOwlapiIris = cliParams.is(Option.WITH_IRIS.arg, Defaults.WITH_IRIS);
         this.generateJavadoc = cliParams
                 .is(Option.GENERATE_JAVADOC_FROM_COMMENT.arg, Defaults.GENERATE_JAVADOC_FROM_COMMENT);
+        this.generateCloneSupport = cliParams.is(Option.GENERATE_CLONE_SUPPORT.arg, Defaults.GENERATE_CLONE_SUPPORT);
         this.propertiesType = PropertiesType.fromParam(cliParams.valueOf(Option.PROPERTIES_TYPE.arg));
     }
 
@@ -80,6 +84,10 @@ public class TransformationConfiguration {
         return generateJavadoc;
     }
 
+    public boolean shouldGenerateCloneSupport() {
+        return generateCloneSupport;
+    }
+
     public PropertiesType getPropertiesType() {
         return propertiesType;
     }
@@ -103,6 +111,7 @@ public class TransformationConfiguration {
         private PropertiesType propertiesType = PropertiesType.valueOf(Defaults.PROPERTIES_TYPE);
         private boolean owlapiIris = Defaults.WITH_IRIS;
         private boolean generateJavadoc = Defaults.GENERATE_JAVADOC_FROM_COMMENT;
+        private boolean generateCloneSupport = Defaults.GENERATE_CLONE_SUPPORT;
 
         public TransformationConfigurationBuilder context(String context) {
             this.context = context;
@@ -129,6 +138,11 @@ public class TransformationConfiguration {
             return this;
         }
 
+        public TransformationConfigurationBuilder generateCloneSupport(boolean cloneSupport) {
+            this.generateCloneSupport = cloneSupport;
+            return this;
+        }
+
         public TransformationConfigurationBuilder propertiesType(PropertiesType propertiesType) {
             this.propertiesType = propertiesType;
             return this;
@@ -14,17 +14,28 @@
  */
 package cz.cvut.kbss.jopa.owl2java;
 
+import com.sun.codemodel.JClass;
 import com.sun.codemodel.JDefinedClass;
 import com.sun.codemodel.JFieldVar;
 import com.sun.codemodel.JType;
+import cz.cvut.kbss.jopa.model.CloneSupport;
 import cz.cvut.kbss.jopa.owl2java.config.TransformationConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
 import uk.ac.manchester.cs.owl.owlapi.OWLDataFactoryImpl;
 
-import java.util.Map;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -130,4 +141,82 @@ class JavaTransformerTest {
             assertNotEquals(f.name(), name);
     }
 
+    @Test
+    void generateModelGeneratesShallowCopyMethodWhenCloneSupportIsEnabled() {
+        this.sut = new JavaTransformer(
+                TransformationConfiguration.builder().packageName("").generateCloneSupport(true).build());
+        final String className = "TestClass";
+        final IRI iri = IRI.create("http://onto.fel.cvut.cz/ontologies/jopa/" + className);
+        ontology.add(dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(iri)));
+        final ContextDefinition context = new ContextDefinition();
+        context.add(dataFactory.getOWLClass(iri));
+        context.parse();
+        final ObjectModel result = sut.generateModel(ontology, context);
+        final JDefinedClass resultClass =
+                result.getCodeModel()._getClass(Constants.MODEL_PACKAGE + Constants.PACKAGE_SEPARATOR + className);
+        assertNotNull(resultClass.getMethod("shallowCopy", new JType[0]));
+        final Iterator<JClass> it = resultClass._implements();
+        boolean implementsCloneSupport = false;
+        while (it.hasNext()) {
+            implementsCloneSupport |= it.next().fullName().equals(CloneSupport.class.getName());
+        }
+        assertTrue(implementsCloneSupport);
+    }
+
+    @Test
+    void generatedShallowCopyMethodCompilesAndCopiesFieldValues(@TempDir Path targetDir) throws Exception {
+        this.sut = new JavaTransformer(
+                TransformationConfiguration.builder().packageName("").generateCloneSupport(true).build());
+        final String className = "TestClass";
+        final IRI iri = IRI.create("http://onto.fel.cvut.cz/ontologies/jopa/" + className);
+        ontology.add(dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(iri)));
+        final ContextDefinition context = new ContextDefinition();
+        context.add(dataFactory.getOWLClass(iri));
+        context.parse();
+        final ObjectModel result = sut.generateModel(ontology, context);
+        result.getCodeModel().build(targetDir.toFile());
+        compile(targetDir);
+
+        try (final URLClassLoader loader = new URLClassLoader(new URL[]{targetDir.toUri().toURL()},
+                getClass().getClassLoader())) {
+            final Class<?> cls = loader.loadClass(Constants.MODEL_PACKAGE + Constants.PACKAGE_SEPARATOR + className);
+            final Object original = cls.newInstance();
+            cls.getMethod("setId", String.class).invoke(original, iri.toString());
+            cls.getMethod("setName", String.class).invoke(original, className);
+            cls.getMethod("setTypes", Set.class).invoke(original, Collections.singleton(iri.toString()));
+            final Object copy = ((CloneSupport) original).shallowCopy();
+            assertNotSame(original, copy);
+            assertEquals(cls, copy.getClass());
+            assertEquals(iri.toString(), cls.getMethod("getId").invoke(copy));
+            assertEquals(className, cls.getMethod("getName").invoke(copy));
+            assertSame(cls.getMethod("getTypes").invoke(original), cls.getMethod("getTypes").invoke(copy));
+        }
+    }
+
+    private static void compile(Path sourceDir) throws Exception {
+        // Generated classes reference only JOPA API
+        final String jopaApi =
+                Paths.get(CloneSupport.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        final List<String> args = new ArrayList<>(Arrays.asList("-d", sourceDir.toString(), "-cp",
+                jopaApi + File.pathSeparator + System.getProperty("java.class.path")));
+        try (final Stream<Path> files = Files.walk(sourceDir)) {
+            files.filter(f -> f.toString().endsWith(".java")).forEach(f -> args.add(f.toString()));
+        }
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, args.toArray(new String[0])));
+    }
+
+    @Test
+    void generateModelDoesNotGenerateShallowCopyMethodByDefault() {
+        final String className = "TestClass";
+        final IRI iri = IRI.create("http://onto.fel.cvut.cz/ontologies/jopa/" + className);
+        ontology.add(dataFactory.getOWLDeclarationAxiom(dataFactory.getOWLClass(iri)));
+        final ContextDefinition context = new ContextDefinition();
+        context.add(dataFactory.getOWLClass(iri));
+        context.parse();
+        final ObjectModel result = sut.generateModel(ontology, context);
+        final JDefinedClass resultClass =
+                result.getCodeModel()._getClass(Constants.MODEL_PACKAGE + Constants.PACKAGE_SEPARATOR + className);
+        assertNull(resultClass.getMethod("shallowCopy", new JType[0]));
+    }
+
 }
@@ -21,6 +21,7 @@ import cz.cvut.kbss.ontodriver.model.Axiom;
 import cz.cvut.kbss.ontodriver.model.NamedResource;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -127,6 +128,28 @@ public interface Connection extends AutoCloseable, Wrapper {
      */
     boolean contains(Axiom<?> axiom, URI context) throws OntoDriverException;
 
+    /**
+     * Checks which of the specified axioms are contained in the storage.
+     * <p>
+     * This allows verifying existence of multiple axioms in a single request. Drivers should evaluate the axioms
+     * together, the default implementation checks them one by one using {@link #contains(Axiom, URI)}.
+     *
+     * @param axioms  The axioms to look for
+     * @param context Optional search context, {@code null} means to look in the default storage context
+     * @return Those of the specified axioms which are contained in the storage
+     * @throws OntoDriverException   If an ontology access error occurs
+     * @throws IllegalStateException If called on a closed connection
+     */
+    default Collection<Axiom<?>> findContained(Collection<Axiom<?>> axioms, URI context) throws OntoDriverException {
+        final Collection<Axiom<?>> result = new ArrayList<>();
+        for (Axiom<?> axiom : axioms) {
+            if (contains(axiom, context)) {
+                result.add(axiom);
+            }
+        }
+        return result;
+    }
+
     /**
      * Finds axioms with the corresponding subject and properties.
      *
@@ -137,6 +160,26 @@ public interface Connection extends AutoCloseable, Wrapper {
      */
     Collection<Axiom<?>> find(AxiomDescriptor descriptor) throws OntoDriverException;
 
+    /**
+     * Finds axioms with the corresponding subjects and properties.
+     * <p>
+     * This allows loading values of multiple subjects in a single request. Drivers should evaluate the descriptors
+     * together, the default implementation evaluates them one by one using {@link #find(AxiomDescriptor)}.
+     *
+     * @param descriptors Loading descriptors, each specifying subject, properties to load and possible contexts to
+     *                    work with
+     * @return Collection of axioms matching criteria specified by any of the descriptors
+     * @throws OntoDriverException   If an ontology access error occurs
+     * @throws IllegalStateException If called on a closed connection
+     */
+    default Collection<Axiom<?>> findAll(Collection<AxiomDescriptor> descriptors) throws OntoDriverException {
+        final Collection<Axiom<?>> result = new ArrayList<>();
+        for (AxiomDescriptor descriptor : descriptors) {
+            result.addAll(find(descriptor));
+        }
+        return result;
+    }
+
     /**
      * Persists new individual and its property values specified by the descriptor.
      *
@@ -146,6 +189,22 @@ public interface Connection extends AutoCloseable, Wrapper {
      */
     void persist(AxiomValueDescriptor descriptor) throws OntoDriverException;
 
+    /**
+     * Persists new individuals and their property values specified by the descriptors.
+     * <p>
+     * This allows inserting values of multiple subjects as a single batch. Drivers may insert the values together, the
+     * default implementation persists them one by one using {@link #persist(AxiomValueDescriptor)}.
+     *
+     * @param descriptors Descriptors of the persisted values
+     * @throws OntoDriverException   If an ontology access error occurs
+     * @throws IllegalStateException If called on a closed connection
+     */
+    default void persistAll(Collection<AxiomValueDescriptor> descriptors) throws OntoDriverException {
+        for (AxiomValueDescriptor descriptor : descriptors) {
+            persist(descriptor);
+        }
+    }
+
     /**
      * Generates a new unique identifier based on the specified type.
      * <p>
@@ -183,6 +242,22 @@ public interface Connection extends AutoCloseable, Wrapper {
      */
     void remove(AxiomDescriptor descriptor) throws OntoDriverException;
 
+    /**
+     * Removes all axioms related to subjects specified by the descriptors.
+     * <p>
+     * Drivers may remove the axioms together, the default implementation removes them one by one using {@link
+     * #remove(AxiomDescriptor)}.
+     *
+     * @param descriptors Descriptors of contexts and subjects of removal
+     * @throws OntoDriverException   If an ontology access error occurs
+     * @throws IllegalStateException If called on a closed connection
+     */
+    default void removeAll(Collection<AxiomDescriptor> descriptors) throws OntoDriverException {
+        for (AxiomDescriptor descriptor : descriptors) {
+            remove(descriptor);
+        }
+    }
+
     /**
      * Gets ontology lists handler.
      *
@@ -24,15 +24,21 @@ import java.util.NoSuchElementException;
 /**
  * Iterator over a {@link ResultSet}.
  * <p>
+ * The iterator works as a cursor - {@link #next()} always returns the same {@link ResultRow} instance, which is a view
+ * of the current row of the underlying result set. Values have to be read from the row before the iterator is moved
+ * further.
+ * <p>
  * Note that the methods wrap {@link OntoDriverException}s possibly thrown by the underlying result set in a {@link OntoDriverRuntimeException}
  * in order to support the {@link Iterator} API.
  */
 public class ResultSetIterator implements Iterator<ResultRow> {
 
     private final ResultSet resultSet;
+    private final ResultRow row;
 
     public ResultSetIterator(ResultSet resultSet) {
         this.resultSet = resultSet;
+        this.row = new DelegatingResultRow(resultSet);
     }
 
     @Override
@@ -51,7 +57,7 @@ public class ResultSetIterator implements Iterator<ResultRow> {
         }
         try {
             resultSet.next();
-            return new DelegatingResultRow(resultSet);
+            return row;
         } catch (OntoDriverException e) {
             throw new ResultSetIterationException(e);
         }
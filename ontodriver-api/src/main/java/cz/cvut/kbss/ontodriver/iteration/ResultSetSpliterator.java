@@ -26,12 +26,17 @@ import java.util.function.Consumer;
 /**
  * {@link Spliterator} implementation for a {@link ResultSet}.
  * <p>
+ * All rows are passed to the consumer as the same {@link ResultRow} instance, which is a view of the current row of
+ * the underlying result set.
+ * <p>
  * Note that the methods wrap {@link OntoDriverException}s possibly thrown by the underlying result set in a {@link OntoDriverRuntimeException}
  * in order to support the {@link Spliterator} API.
  */
 public class ResultSetSpliterator extends Spliterators.AbstractSpliterator<ResultRow> {
 
     private final ResultSet resultSet;
+    // Row is just a view on the result set which does the actual iteration, so it can be reused
+    private final DelegatingResultRow row;
 
     /**
      * Creates a spliterator reporting unknown estimate size and the following characteristics:
@@ -46,6 +51,7 @@ public class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Resul
     public ResultSetSpliterator(ResultSet resultSet) {
         super(Long.MAX_VALUE, Spliterator.IMMUTABLE | Spliterator.ORDERED | Spliterator.NONNULL);
         this.resultSet = Objects.requireNonNull(resultSet);
+        this.row = new DelegatingResultRow(resultSet);
     }
 
     @Override
@@ -54,7 +60,7 @@ public class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Resul
         try {
             if (resultSet.hasNext()) {
                 resultSet.next();
-                action.accept(new DelegatingResultRow(resultSet));
+                action.accept(row);
                 return true;
             } else {
                 return false;
@@ -68,8 +74,6 @@ public class ResultSetSpliterator extends Spliterators.AbstractSpliterator<Resul
     public void forEachRemaining(Consumer<? super ResultRow> action) {
         Objects.requireNonNull(action);
         try {
-            // Row is just a view on the result set which does the actual iteration
-            final DelegatingResultRow row = new DelegatingResultRow(resultSet);
             while (resultSet.hasNext()) {
                 resultSet.next();
                 action.accept(row);
@@ -80,4 +80,13 @@ class ResultSetIteratorTest {
         when(resultSet.hasNext()).thenReturn(false);
         assertThrows(NoSuchElementException.class, () -> sut.next());
     }
-}
\ No newline at end of file
+
+    @Test
+    void nextReturnsSameRowInstanceForSubsequentRows() throws Exception {
+        when(resultSet.hasNext()).thenReturn(true);
+        final ResultRow first = sut.next();
+        final ResultRow second = sut.next();
+        assertSame(first, second);
+        verify(resultSet, times(2)).next();
+    }
+}
@@ -26,6 +26,9 @@ import org.apache.jena.rdf.model.RDFNode;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class SelectResultSet extends AbstractResultSet {
@@ -34,34 +37,53 @@ public class SelectResultSet extends AbstractResultSet {
     private final ResultSet jenaResult;
     private QuerySolution current;
 
+    private List<String> variables;
+    private Map<String, Integer> variableIndexes;
+
     public SelectResultSet(QueryExecution execution, ResultSet jenaResult) {
         this.execution = execution;
         this.jenaResult = jenaResult;
     }
 
+    /**
+     * Result variables do not change during iteration, so they are resolved once and indexed by name.
+     */
+    private List<String> getVariables() {
+        if (variables == null) {
+            this.variables = jenaResult.getResultVars();
+            this.variableIndexes = new HashMap<>(variables.size());
+            for (int i = 0; i < variables.size(); i++) {
+                variableIndexes.put(variables.get(i), i);
+            }
+        }
+        return variables;
+    }
+
     @Override
     public int findColumn(String variableName) {
         ensureOpen();
-        return jenaResult.getResultVars().indexOf(variableName);
+        getVariables();
+        return variableIndexes.getOrDefault(variableName, -1);
     }
 
     @Override
     public int getColumnCount() {
         ensureOpen();
-        return jenaResult.getResultVars().size();
+        return getVariables().size();
     }
 
     @Override
     public boolean isBound(int variableIndex) {
         ensureState();
-        return variableIndex >= 0 && variableIndex < jenaResult.getResultVars().size() && current
+        return variableIndex >= 0 && variableIndex < getVariables().size() && current
                 .get(getVariableAt(variableIndex)) != null;
     }
 
     @Override
     public boolean isBound(String variableName) {
         ensureState();
-        return jenaResult.getResultVars().contains(variableName) && current.get(variableName) != null;
+        getVariables();
+        return variableIndexes.containsKey(variableName) && current.get(variableName) != null;
     }
 
     @Override
@@ -84,7 +106,7 @@ public class SelectResultSet extends AbstractResultSet {
         if (!value.isLiteral()) {
             throw new JenaDriverException("Expected value " + value + " to be a literal.");
         }
-        return current.get(varName).asLiteral();
+        return value.asLiteral();
     }
 
     private RDFNode getCurrent(String varName) {
@@ -271,10 +293,11 @@ public class SelectResultSet extends AbstractResultSet {
     }
 
     private String getVariableAt(int index) {
-        if (index < 0 || index >= jenaResult.getResultVars().size()) {
+        final List<String> vars = getVariables();
+        if (index < 0 || index >= vars.size()) {
             throw new IllegalArgumentException("Variable index " + index + " is out of bounds.");
         }
-        return jenaResult.getResultVars().get(index);
+        return vars.get(index);
     }
 
     @Override
@@ -42,7 +42,8 @@ class SelectResultSet extends AbstractResultSet {
     private Iterator<ResultBinding<OWLObject>> iterator;
 
     private final Map<String, Variable<OWLObject>> namesToVariables;
-    private final Map<Integer, Variable<OWLObject>> indexesToVariables;
+    private final Map<String, Integer> namesToIndexes;
+    private final List<Variable<OWLObject>> variables;
 
     private int currentIndex;
     private ResultBinding<OWLObject> currentRow;
@@ -54,32 +55,23 @@ class SelectResultSet extends AbstractResultSet {
         this.currentIndex = -1;
         final int bindingSize = queryResult.getResultVars().size();
         this.namesToVariables = new HashMap<>(bindingSize);
-        this.indexesToVariables = new HashMap<>(bindingSize);
+        this.namesToIndexes = new HashMap<>(bindingSize);
+        this.variables = new ArrayList<>(bindingSize);
         resolveVariableNamesAndIndexes();
     }
 
     private void resolveVariableNamesAndIndexes() {
-        Integer i = 0;
         for (Variable<OWLObject> v : queryResult.getResultVars()) {
             namesToVariables.put(v.getName(), v);
-            indexesToVariables.put(i, v);
-            i++;
+            namesToIndexes.put(v.getName(), variables.size());
+            variables.add(v);
         }
     }
 
     @Override
     public int findColumn(String columnLabel) {
         ensureOpen();
-        final Variable<OWLObject> v = namesToVariables.get(columnLabel);
-        if (v == null) {
-            return -1;
-        }
-        for (Map.Entry<Integer, Variable<OWLObject>> e : indexesToVariables.entrySet()) {
-            if (e.getValue().equals(v)) {
-                return e.getKey();
-            }
-        }
-        return -1;
+        return namesToIndexes.getOrDefault(columnLabel, -1);
     }
 
     @Override
@@ -91,8 +83,11 @@ class SelectResultSet extends AbstractResultSet {
     @Override
     public boolean isBound(int variableIndex) {
         ensureState();
-        return indexesToVariables.containsKey(variableIndex) && currentRow
-                .get(indexesToVariables.get(variableIndex)) != null;
+        return isValidIndex(variableIndex) && currentRow.get(variables.get(variableIndex)) != null;
+    }
+
+    private boolean isValidIndex(int variableIndex) {
+        return variableIndex >= 0 && variableIndex < variables.size();
     }
 
     @Override
@@ -140,10 +135,10 @@ class SelectResultSet extends AbstractResultSet {
 
     private OWLObject getCurrentValue(int columnIndex) throws OwlapiDriverException {
         ensureState();
-        if (!indexesToVariables.containsKey(columnIndex)) {
+        if (!isValidIndex(columnIndex)) {
             throw new OwlapiDriverException("No result binding found for index " + columnIndex);
         }
-        final Variable<OWLObject> v = indexesToVariables.get(columnIndex);
+        final Variable<OWLObject> v = variables.get(columnIndex);
         final GroundTerm<OWLObject> gt = currentRow.get(v);
         if (gt == null) {
             throw new VariableNotBoundException(
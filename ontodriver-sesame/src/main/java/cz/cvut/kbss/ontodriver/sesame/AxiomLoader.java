@@ -69,6 +69,39 @@ class AxiomLoader {
         return result;
     }
 
+    /**
+     * Loads axioms specified by the descriptors.
+     * <p>
+     * Statements of all the subjects are loaded together, using one repository request for explicit statements and,
+     * if any descriptor requires them, one for inferred statements.
+     *
+     * @param descriptors Descriptors specifying subjects, properties to load and contexts to work with
+     * @return Axioms matching any of the descriptors
+     * @throws SesameDriverException If a repository access error occurs
+     */
+    Collection<Axiom<?>> loadAxioms(Collection<AxiomDescriptor> descriptors) throws SesameDriverException {
+        final List<BatchItem> items = new ArrayList<>(descriptors.size());
+        final Set<IRI> explicitSubjects = new LinkedHashSet<>();
+        final Set<IRI> inferredSubjects = new LinkedHashSet<>();
+        for (AxiomDescriptor descriptor : descriptors) {
+            final BatchItem item = new BatchItem(descriptor);
+            if (item.loadsExplicit()) {
+                explicitSubjects.add(item.subject);
+            }
+            if (item.loadsInferred()) {
+                inferredSubjects.add(item.subject);
+            }
+            items.add(item);
+        }
+        final Map<Resource, List<Statement>> explicit = connector.findStatements(explicitSubjects, false);
+        final Map<Resource, List<Statement>> inferred = connector.findStatements(inferredSubjects, true);
+        final Collection<Axiom<?>> result = new ArrayList<>();
+        for (BatchItem item : items) {
+            result.addAll(item.toAxioms(explicit, inferred));
+        }
+        return result;
+    }
+
     /**
      * Processes assertions in the specified descriptor.
      * <p>
@@ -107,4 +140,51 @@ class AxiomLoader {
                 .findStatements(subject, null, null, includeInferred, sesameContext);
         return statements.stream().map(axiomBuilder::statementToAxiom).collect(Collectors.toSet());
     }
+
+    /**
+     * Descriptor of a batch load together with its processed assertions.
+     */
+    private final class BatchItem {
+
+        private final AxiomDescriptor descriptor;
+        private final IRI subject;
+        private final AxiomLoader loader;
+        private final Assertion unspecified;
+
+        private BatchItem(AxiomDescriptor descriptor) {
+            this.descriptor = descriptor;
+            this.subject = SesameUtils.toSesameIri(descriptor.getSubject().getIdentifier(), valueFactory);
+            // Each descriptor needs its own property to assertion mapping
+            this.loader = new AxiomLoader(connector, valueFactory, config);
+            this.unspecified = loader.processAssertions(descriptor);
+        }
+
+        private boolean loadsExplicit() {
+            return !loader.explicitAssertions.isEmpty() && (unspecified == null || !unspecified.isInferred());
+        }
+
+        private boolean loadsInferred() {
+            return !loader.inferredAssertions.isEmpty();
+        }
+
+        private Collection<Axiom<?>> toAxioms(Map<Resource, List<Statement>> explicit,
+                                              Map<Resource, List<Statement>> inferred) {
+            final Collection<Axiom<?>> result = new HashSet<>();
+            final AxiomBuilder axiomBuilder =
+                    new AxiomBuilder(descriptor.getSubject(), loader.propertyToAssertion, unspecified);
+            final StatementLoader statementLoader =
+                    new StatementLoader(config, descriptor, connector, subject, axiomBuilder);
+            if (loadsExplicit()) {
+                statementLoader.setIncludeInferred(false);
+                result.addAll(statementLoader.statementsToAxioms(loader.explicitAssertions,
+                        explicit.getOrDefault(subject, Collections.emptyList())));
+            }
+            if (loadsInferred()) {
+                statementLoader.setIncludeInferred(true);
+                result.addAll(statementLoader.statementsToAxioms(loader.inferredAssertions,
+                        inferred.getOrDefault(subject, Collections.emptyList())));
+            }
+            return result;
+        }
+    }
 }
@@ -41,11 +41,23 @@ class AxiomSaver {
     }
 
     void persistAxioms(AxiomValueDescriptor axiomDescriptor) throws SesameDriverException {
+        persistAxioms(Collections.singleton(axiomDescriptor));
+    }
+
+    /**
+     * Persists axioms specified by all the descriptors using a single statement addition.
+     *
+     * @param axiomDescriptors Descriptors of the persisted axioms
+     * @throws SesameDriverException If the statements cannot be added
+     */
+    void persistAxioms(Collection<AxiomValueDescriptor> axiomDescriptors) throws SesameDriverException {
         final List<Statement> statements = new ArrayList<>();
-        for (Assertion assertion : axiomDescriptor.getAssertions()) {
-            statements.addAll(createSesameStatements(axiomDescriptor.getSubject(), assertion,
-                    axiomDescriptor.getAssertionValues(assertion),
-                    axiomDescriptor.getAssertionContext(assertion)));
+        for (AxiomValueDescriptor axiomDescriptor : axiomDescriptors) {
+            for (Assertion assertion : axiomDescriptor.getAssertions()) {
+                statements.addAll(createSesameStatements(axiomDescriptor.getSubject(), assertion,
+                        axiomDescriptor.getAssertionValues(assertion),
+                        axiomDescriptor.getAssertionContext(assertion)));
+            }
         }
         if (!statements.isEmpty()) {
             connector.addStatements(statements);
@@ -49,15 +49,28 @@ class EpistemicAxiomRemover {
     }
 
     void remove(AxiomDescriptor axiomDescriptor) throws SesameDriverException {
-        final Resource individual = SesameUtils.toSesameIri(axiomDescriptor.getSubject().getIdentifier(), valueFactory);
+        remove(Collections.singleton(axiomDescriptor));
+    }
+
+    /**
+     * Removes axioms described by all the descriptors using a single statement removal.
+     *
+     * @param axiomDescriptors Descriptors of the removed axioms
+     * @throws SesameDriverException If the statements cannot be found or removed
+     */
+    void remove(Collection<AxiomDescriptor> axiomDescriptors) throws SesameDriverException {
         final Collection<Statement> toRemove = new HashSet<>();
-        for (Assertion a : axiomDescriptor.getAssertions()) {
-            if (a.isInferred()) {
-                continue;
+        for (AxiomDescriptor axiomDescriptor : axiomDescriptors) {
+            final Resource individual =
+                    SesameUtils.toSesameIri(axiomDescriptor.getSubject().getIdentifier(), valueFactory);
+            for (Assertion a : axiomDescriptor.getAssertions()) {
+                if (a.isInferred()) {
+                    continue;
+                }
+                final IRI contextUri = SesameUtils.toSesameIri(axiomDescriptor.getAssertionContext(a), valueFactory);
+                toRemove.addAll(connector.findStatements(individual,
+                        SesameUtils.toSesameIri(a.getIdentifier(), valueFactory), null, a.isInferred(), contextUri));
             }
-            final IRI contextUri = SesameUtils.toSesameIri(axiomDescriptor.getAssertionContext(a), valueFactory);
-            toRemove.addAll(connector.findStatements(individual,
-                    SesameUtils.toSesameIri(a.getIdentifier(), valueFactory), null, a.isInferred(), contextUri));
         }
         connector.removeStatements(toRemove);
     }
@@ -30,14 +30,13 @@ import cz.cvut.kbss.ontodriver.sesame.util.SesameUtils;
 import cz.cvut.kbss.ontodriver.util.IdentifierUtils;
 import cz.cvut.kbss.ontodriver.util.Transaction;
 import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 class SesameAdapter implements Closeable, Wrapper {
 
@@ -157,6 +156,14 @@ class SesameAdapter implements Closeable, Wrapper {
 
     boolean contains(Axiom<?> axiom, URI context) throws SesameDriverException {
         startTransactionIfNotActive();
+        final Statement statement = toStatement(axiom);
+        final org.eclipse.rdf4j.model.IRI sesameContext = SesameUtils.toSesameIri(context, valueFactory);
+        return connector.containsStatement(statement.getSubject(), statement.getPredicate(), statement.getObject(),
+                axiom.getAssertion().isInferred(), sesameContext);
+
+    }
+
+    private Statement toStatement(Axiom<?> axiom) {
         Value value;
         if (SesameUtils.isResourceIdentifier(axiom.getValue().getValue())) {
             value = valueFactory.createIRI(axiom.getValue().stringValue());
@@ -165,12 +172,28 @@ class SesameAdapter implements Closeable, Wrapper {
                     axiom.getAssertion().hasLanguage() ? axiom.getAssertion().getLanguage() : Constants.DEFAULT_LANG;
             value = SesameUtils.createDataPropertyLiteral(axiom.getValue().getValue(), lang, valueFactory);
         }
-        final org.eclipse.rdf4j.model.IRI sesameContext = SesameUtils.toSesameIri(context, valueFactory);
-        return connector.containsStatement(
-                SesameUtils.toSesameIri(axiom.getSubject().getIdentifier(), valueFactory),
-                SesameUtils.toSesameIri(axiom.getAssertion().getIdentifier(), valueFactory), value,
-                axiom.getAssertion().isInferred(), sesameContext);
+        return valueFactory.createStatement(SesameUtils.toSesameIri(axiom.getSubject().getIdentifier(), valueFactory),
+                SesameUtils.toSesameIri(axiom.getAssertion().getIdentifier(), valueFactory), value);
+    }
 
+    Collection<Axiom<?>> findContained(Collection<Axiom<?>> axioms, URI context) throws SesameDriverException {
+        startTransactionIfNotActive();
+        final org.eclipse.rdf4j.model.IRI sesameContext = SesameUtils.toSesameIri(context, valueFactory);
+        // Axioms are checked in at most two requests - with and without inference
+        final Map<Boolean, Map<Statement, List<Axiom<?>>>> byInference = new HashMap<>(2);
+        for (Axiom<?> ax : axioms) {
+            byInference.computeIfAbsent(ax.getAssertion().isInferred(), k -> new LinkedHashMap<>())
+                       .computeIfAbsent(toStatement(ax), k -> new ArrayList<>(1)).add(ax);
+        }
+        final Set<Axiom<?>> contained = new HashSet<>();
+        for (Map.Entry<Boolean, Map<Statement, List<Axiom<?>>>> e : byInference.entrySet()) {
+            final Map<Statement, List<Axiom<?>>> statements = e.getValue();
+            connector.findContainedStatements(statements.keySet(), e.getKey(), sesameContext)
+                     .forEach(s -> contained.addAll(statements.get(s)));
+        }
+        final List<Axiom<?>> result = new ArrayList<>(contained.size());
+        axioms.stream().filter(contained::contains).forEach(result::add);
+        return result;
     }
 
     Collection<Axiom<?>> find(AxiomDescriptor axiomDescriptor) throws SesameDriverException {
@@ -178,11 +201,21 @@ class SesameAdapter implements Closeable, Wrapper {
         return new AxiomLoader(connector, valueFactory, config).loadAxioms(axiomDescriptor);
     }
 
+    Collection<Axiom<?>> findAll(Collection<AxiomDescriptor> axiomDescriptors) throws SesameDriverException {
+        startTransactionIfNotActive();
+        return new AxiomLoader(connector, valueFactory, config).loadAxioms(axiomDescriptors);
+    }
+
     void persist(AxiomValueDescriptor axiomDescriptor) throws SesameDriverException {
         startTransactionIfNotActive();
         new AxiomSaver(connector, valueFactory).persistAxioms(axiomDescriptor);
     }
 
+    void persistAll(Collection<AxiomValueDescriptor> axiomDescriptors) throws SesameDriverException {
+        startTransactionIfNotActive();
+        new AxiomSaver(connector, valueFactory).persistAxioms(axiomDescriptors);
+    }
+
     void update(AxiomValueDescriptor axiomDescriptor) throws SesameDriverException {
         startTransactionIfNotActive();
         new EpistemicAxiomRemover(connector, valueFactory).remove(axiomDescriptor);
@@ -194,6 +227,11 @@ class SesameAdapter implements Closeable, Wrapper {
         new EpistemicAxiomRemover(connector, valueFactory).remove(axiomDescriptor);
     }
 
+    void removeAll(Collection<AxiomDescriptor> axiomDescriptors) throws SesameDriverException {
+        startTransactionIfNotActive();
+        new EpistemicAxiomRemover(connector, valueFactory).remove(axiomDescriptors);
+    }
+
     StatementExecutor getQueryExecutor() {
         return connector;
     }
@@ -167,6 +167,17 @@ class SesameConnection implements Connection {
         return adapter.contains(axiom, context);
     }
 
+    @Override
+    public Collection<Axiom<?>> findContained(Collection<Axiom<?>> axioms, URI context) throws OntoDriverException {
+        ensureOpen();
+        Objects.requireNonNull(axioms, getNPXMessageSupplier("axioms"));
+        try {
+            return adapter.findContained(axioms, context);
+        } catch (RuntimeException e) {
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public Collection<Axiom<?>> find(AxiomDescriptor descriptor) throws OntoDriverException {
         ensureOpen();
@@ -178,6 +189,17 @@ class SesameConnection implements Connection {
         }
     }
 
+    @Override
+    public Collection<Axiom<?>> findAll(Collection<AxiomDescriptor> descriptors) throws OntoDriverException {
+        ensureOpen();
+        Objects.requireNonNull(descriptors, getNPXMessageSupplier("descriptors"));
+        try {
+            return adapter.findAll(descriptors);
+        } catch (RuntimeException e) {
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public void persist(AxiomValueDescriptor descriptor) throws OntoDriverException {
         ensureOpen();
@@ -190,6 +212,18 @@ class SesameConnection implements Connection {
         }
     }
 
+    @Override
+    public void persistAll(Collection<AxiomValueDescriptor> descriptors) throws OntoDriverException {
+        ensureOpen();
+        Objects.requireNonNull(descriptors, getNPXMessageSupplier("descriptors"));
+        try {
+            adapter.persistAll(descriptors);
+            commitIfAuto();
+        } catch (RuntimeException e) {
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public void update(AxiomValueDescriptor descriptor) throws OntoDriverException {
         ensureOpen();
@@ -214,6 +248,18 @@ class SesameConnection implements Connection {
         }
     }
 
+    @Override
+    public void removeAll(Collection<AxiomDescriptor> descriptors) throws OntoDriverException {
+        ensureOpen();
+        Objects.requireNonNull(descriptors, getNPXMessageSupplier("descriptors"));
+        try {
+            adapter.removeAll(descriptors);
+            commitIfAuto();
+        } catch (RuntimeException e) {
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public Lists lists() {
         ensureOpen();
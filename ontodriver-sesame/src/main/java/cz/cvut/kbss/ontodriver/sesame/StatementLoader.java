@@ -87,6 +87,18 @@ class StatementLoader {
 
     private Collection<Axiom<?>> loadAll(Map<IRI, Assertion> properties) throws SesameDriverException {
         final Collection<Statement> statements = connector.findStatements(subject, null, null, includeInferred);
+        return statementsToAxioms(properties, statements);
+    }
+
+    /**
+     * Transforms statements of the subject into axioms matching the specified properties and their contexts.
+     *
+     * @param properties Properties whose values to include
+     * @param statements All statements of the subject
+     * @return Matching axioms
+     */
+    Collection<Axiom<?>> statementsToAxioms(Map<IRI, Assertion> properties, Collection<Statement> statements) {
+        this.loadAll = properties.containsValue(Assertion.createUnspecifiedPropertyAssertion(includeInferred));
         final Collection<Axiom<?>> result = new HashSet<>(statements.size());
         final Assertion unspecified = Assertion.createUnspecifiedPropertyAssertion(includeInferred);
         for (Statement s : statements) {
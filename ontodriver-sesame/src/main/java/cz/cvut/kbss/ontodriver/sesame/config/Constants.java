@@ -23,6 +23,13 @@ public class Constants {
      */
     public static final int DEFAULT_LOAD_ALL_THRESHOLD = 5;
 
+    /**
+     * Default maximum number of statements in the driver-level statement cache. Zero means the cache is disabled.
+     *
+     * @see SesameOntoDriverProperties#SESAME_STATEMENT_CACHE_SIZE
+     */
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 0;
+
     /**
      * Default language to use when an {@link cz.cvut.kbss.ontodriver.model.Assertion} does not specify a language.
      * <p>
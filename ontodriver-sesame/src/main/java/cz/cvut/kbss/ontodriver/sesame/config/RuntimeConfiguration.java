@@ -22,6 +22,7 @@ import cz.cvut.kbss.ontodriver.config.DriverConfiguration;
 public class RuntimeConfiguration {
 
     private final int loadAllThreshold;
+    private final int statementCacheSize;
 
     public RuntimeConfiguration(DriverConfiguration config) {
         if (config.isSet(SesameConfigParam.LOAD_ALL_THRESHOLD)) {
@@ -35,9 +36,25 @@ public class RuntimeConfiguration {
         } else {
             this.loadAllThreshold = Constants.DEFAULT_LOAD_ALL_THRESHOLD;
         }
+        if (config.isSet(SesameConfigParam.STATEMENT_CACHE_SIZE)) {
+            try {
+                this.statementCacheSize =
+                        Integer.parseInt(config.getProperty(SesameConfigParam.STATEMENT_CACHE_SIZE));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "Invalid value of the \"" + SesameOntoDriverProperties.SESAME_STATEMENT_CACHE_SIZE +
+                                "\" parameter. Must be a valid integer.", e);
+            }
+        } else {
+            this.statementCacheSize = Constants.DEFAULT_STATEMENT_CACHE_SIZE;
+        }
     }
 
     public int getLoadAllThreshold() {
         return loadAllThreshold;
     }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
 }
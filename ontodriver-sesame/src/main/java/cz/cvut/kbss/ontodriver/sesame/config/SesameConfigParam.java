@@ -28,6 +28,7 @@ public enum SesameConfigParam implements ConfigurationParameter {
     USE_VOLATILE_STORAGE(SesameOntoDriverProperties.SESAME_USE_VOLATILE_STORAGE),
     USE_INFERENCE(SesameOntoDriverProperties.SESAME_USE_INFERENCE),
     LOAD_ALL_THRESHOLD(SesameOntoDriverProperties.SESAME_LOAD_ALL_THRESHOLD),
+    STATEMENT_CACHE_SIZE(SesameOntoDriverProperties.SESAME_STATEMENT_CACHE_SIZE),
     USERNAME(OntoDriverProperties.DATA_SOURCE_USERNAME),
     PASSWORD(OntoDriverProperties.DATA_SOURCE_PASSWORD),
     REPOSITORY_CONFIG(SesameOntoDriverProperties.SESAME_REPOSITORY_CONFIG);
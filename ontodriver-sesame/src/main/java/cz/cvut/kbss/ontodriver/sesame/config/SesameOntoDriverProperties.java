@@ -74,6 +74,18 @@ public abstract class SesameOntoDriverProperties {
      */
     public static final String SESAME_REPOSITORY_CONFIG = "cz.cvut.kbss.ontodriver.sesame.repository-config";
 
+    /**
+     * Maximum number of statements kept in the driver-level statement cache.
+     * <p>
+     * When set to a positive number, statements of subjects loaded from the repository are cached (separately for each
+     * context) and subsequent lookups of the same subjects are answered from the cache, saving round trips to remote
+     * repositories. The cache is invalidated by changes committed through the driver. Therefore, it should be used
+     * only when the repository is not modified by other applications.
+     * <p>
+     * {@code Integer} value expected, default is {@code 0}, i.e., the cache is disabled.
+     */
+    public static final String SESAME_STATEMENT_CACHE_SIZE = "cz.cvut.kbss.ontodriver.sesame.statement-cache-size";
+
     private SesameOntoDriverProperties() {
         throw new AssertionError();
     }
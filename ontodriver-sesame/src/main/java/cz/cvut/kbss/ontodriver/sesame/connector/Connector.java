@@ -21,6 +21,7 @@ import org.eclipse.rdf4j.model.*;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface Connector extends Closeable, StatementExecutor, Wrapper {
 
@@ -97,6 +98,22 @@ public interface Connector extends Closeable, StatementExecutor, Wrapper {
     Collection<Statement> findStatements(Resource subject, IRI property, Value value,
                                          boolean includeInferred, IRI context) throws SesameDriverException;
 
+    /**
+     * Finds all statements of the specified subjects.
+     * <p>
+     * The statements are loaded from the default context using a single repository request. Each returned statement
+     * carries the context in which it is stored, if it is stored in a named context.
+     *
+     * @param subjects        Statement subjects
+     * @param includeInferred Whether to include inferred statements as well
+     * @return Statements of the subjects, grouped by subject. Subjects without any statements need not be present in
+     * the map
+     * @throws SesameDriverException If a repository access error occurs
+     * @see #findStatements(Resource, IRI, Value, boolean)
+     */
+    Map<Resource, List<Statement>> findStatements(Collection<IRI> subjects, boolean includeInferred)
+            throws SesameDriverException;
+
     /**
      * Checks whether the repository contains any statements matching the specified criteria.
      * <p>
@@ -128,6 +145,23 @@ public interface Connector extends Closeable, StatementExecutor, Wrapper {
     boolean containsStatement(Resource subject, IRI property, Value value, boolean includeInferred, IRI context)
             throws SesameDriverException;
 
+    /**
+     * Finds which of the specified statements are contained in the repository.
+     * <p>
+     * The statements which cannot be resolved locally are checked using a single repository request. Contexts of the
+     * statements are ignored.
+     *
+     * @param statements      Statements to look for
+     * @param includeInferred Whether to include inferred statements as well
+     * @param context         Optionally specify context in which the search should be performed. If not specified, the
+     *                        default one is used
+     * @return Those of the specified statements which are contained in the repository
+     * @throws SesameDriverException If a repository access error occurs
+     * @see #containsStatement(Resource, IRI, Value, boolean, IRI)
+     */
+    Collection<Statement> findContainedStatements(Collection<Statement> statements, boolean includeInferred,
+                                                  IRI context) throws SesameDriverException;
+
     /**
      * Adds the specified statements to the underlying repository.
      * <p>
@@ -16,6 +16,7 @@ package cz.cvut.kbss.ontodriver.sesame.connector;
 
 import cz.cvut.kbss.ontodriver.config.DriverConfiguration;
 import cz.cvut.kbss.ontodriver.exception.OntoDriverException;
+import cz.cvut.kbss.ontodriver.sesame.config.RuntimeConfiguration;
 import cz.cvut.kbss.ontodriver.sesame.exceptions.SesameDriverException;
 import org.eclipse.rdf4j.repository.Repository;
 
@@ -25,6 +26,8 @@ final class ConnectorFactoryImpl implements ConnectorFactory {
 
     private volatile StorageConnector centralConnector;
 
+    private StatementCache statementCache;
+
     ConnectorFactoryImpl() {
         this.open = true;
     }
@@ -33,7 +36,7 @@ final class ConnectorFactoryImpl implements ConnectorFactory {
     public Connector createStorageConnector(DriverConfiguration configuration) throws SesameDriverException {
         ensureOpen();
         ensureConnected(configuration);
-        return new PoolingStorageConnector(centralConnector);
+        return new PoolingStorageConnector(centralConnector, statementCache);
     }
 
     private void ensureOpen() {
@@ -53,6 +56,10 @@ final class ConnectorFactoryImpl implements ConnectorFactory {
     }
 
     private void initCentralConnector(DriverConfiguration configuration) throws SesameDriverException {
+        final int statementCacheSize = new RuntimeConfiguration(configuration).getStatementCacheSize();
+        if (statementCacheSize > 0) {
+            this.statementCache = new StatementCache(statementCacheSize);
+        }
         this.centralConnector = new StorageConnector(configuration);
     }
 
@@ -61,6 +68,9 @@ final class ConnectorFactoryImpl implements ConnectorFactory {
         ensureOpen();
         ensureConnected(configuration);
         centralConnector.setRepository(repository);
+        if (statementCache != null) {
+            statementCache.clear();
+        }
     }
 
     @Override
@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.ontodriver.sesame.connector;
+
+import cz.cvut.kbss.ontodriver.sesame.exceptions.SesameDriverException;
+import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.query.*;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+
+import java.util.*;
+
+/**
+ * Checks existence of multiple statements using a single SPARQL query.
+ * <p>
+ * The statements are bound using a {@code VALUES} block and matched against the repository. Contexts of the statements
+ * are ignored, the context in which to search is specified for all of them.
+ */
+final class ContainedStatementFinder {
+
+    private static final String SUBJECT = "s";
+    private static final String PROPERTY = "p";
+    private static final String VALUE = "o";
+
+    private ContainedStatementFinder() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Finds which of the specified statements are contained in the repository.
+     *
+     * @param connection      Connection to use
+     * @param statements      Statements to look for
+     * @param includeInferred Whether to include inferred statements
+     * @param context         Context in which to search, {@code null} means the default one
+     * @return Those of the specified statements which exist in the repository
+     * @throws SesameDriverException If the query cannot be evaluated
+     */
+    static List<Statement> findContained(RepositoryConnection connection, Collection<Statement> statements,
+                                         boolean includeInferred, IRI context) throws SesameDriverException {
+        if (statements.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final ValueFactory vf = connection.getValueFactory();
+        final Set<Statement> found = new HashSet<>();
+        try {
+            final TupleQuery query =
+                    connection.prepareTupleQuery(QueryLanguage.SPARQL, createQuery(statements, context));
+            query.setIncludeInferred(includeInferred);
+            try (final TupleQueryResult result = query.evaluate()) {
+                while (result.hasNext()) {
+                    final BindingSet row = result.next();
+                    found.add(vf.createStatement((Resource) row.getValue(SUBJECT), (IRI) row.getValue(PROPERTY),
+                            row.getValue(VALUE)));
+                }
+            }
+        } catch (MalformedQueryException | QueryEvaluationException e) {
+            throw new SesameDriverException(e);
+        }
+        final List<Statement> result = new ArrayList<>(found.size());
+        for (Statement s : statements) {
+            if (found.contains(vf.createStatement(s.getSubject(), s.getPredicate(), s.getObject()))) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    private static String createQuery(Collection<Statement> statements, IRI context) {
+        final StringBuilder sb = new StringBuilder("SELECT ?" + SUBJECT + " ?" + PROPERTY + " ?" + VALUE +
+                " WHERE { VALUES (?" + SUBJECT + " ?" + PROPERTY + " ?" + VALUE + ") {");
+        for (Statement s : statements) {
+            sb.append(" (");
+            appendValue(sb, s.getSubject());
+            sb.append(' ');
+            appendValue(sb, s.getPredicate());
+            sb.append(' ');
+            appendValue(sb, s.getObject());
+            sb.append(')');
+        }
+        sb.append(" } ");
+        final String pattern = "?" + SUBJECT + " ?" + PROPERTY + " ?" + VALUE + " . ";
+        if (context != null) {
+            sb.append("GRAPH <").append(context.stringValue()).append("> { ").append(pattern).append("} ");
+        } else {
+            sb.append(pattern);
+        }
+        return sb.append('}').toString();
+    }
+
+    private static void appendValue(StringBuilder sb, Value value) {
+        if (value instanceof IRI) {
+            sb.append('<').append(value.stringValue()).append('>');
+            return;
+        }
+        if (!(value instanceof Literal)) {
+            throw new IllegalArgumentException("Only IRIs and literals can be matched, got " + value);
+        }
+        final Literal literal = (Literal) value;
+        sb.append('"');
+        appendEscaped(sb, literal.getLabel());
+        sb.append('"');
+        if (literal.getLanguage().isPresent()) {
+            sb.append('@').append(literal.getLanguage().get());
+        } else {
+            sb.append("^^<").append(literal.getDatatype().stringValue()).append('>');
+        }
+    }
+
+    private static void appendEscaped(StringBuilder sb, String label) {
+        for (int i = 0; i < label.length(); i++) {
+            final char c = label.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+}
@@ -22,8 +22,13 @@ import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryException;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -34,12 +39,19 @@ public class PoolingStorageConnector extends AbstractConnector {
     private static final Lock WRITE = LOCK.writeLock();
 
     private final StorageConnector centralConnector;
+    // Shared by connectors of the same factory, null if the statement cache is disabled
+    private final StatementCache statementCache;
 
     private RepositoryConnection connection;
     private LocalModel localModel;
 
     PoolingStorageConnector(StorageConnector centralConnector) {
+        this(centralConnector, null);
+    }
+
+    PoolingStorageConnector(StorageConnector centralConnector, StatementCache statementCache) {
         this.centralConnector = centralConnector;
+        this.statementCache = statementCache;
         this.open = true;
     }
 
@@ -78,6 +90,10 @@ public class PoolingStorageConnector extends AbstractConnector {
         WRITE.lock();
         try {
             centralConnector.executeUpdate(query);
+            if (statementCache != null) {
+                // The affected statements are not known
+                statementCache.clear();
+            }
         } finally {
             WRITE.unlock();
         }
@@ -116,6 +132,7 @@ public class PoolingStorageConnector extends AbstractConnector {
             centralConnector.removeStatements(localModel.getRemovedStatements());
             centralConnector.addStatements(localModel.getAddedStatements());
             centralConnector.commit();
+            invalidateStatementCache();
             transaction.afterCommit();
         } catch (SesameDriverException e) {
             transaction.rollback();
@@ -129,6 +146,14 @@ public class PoolingStorageConnector extends AbstractConnector {
         }
     }
 
+    private void invalidateStatementCache() {
+        if (statementCache != null) {
+            final Collection<Statement> changes = new ArrayList<>(localModel.getRemovedStatements());
+            changes.addAll(localModel.getAddedStatements());
+            statementCache.invalidate(changes);
+        }
+    }
+
     @Override
     public void rollback() throws SesameDriverException {
         transaction.rollback();
@@ -171,12 +196,9 @@ public class PoolingStorageConnector extends AbstractConnector {
                                                 boolean includeInferred, IRI context) throws SesameDriverException {
         verifyTransactionActive();
         try {
-            final Collection<Statement> statements;
-            if (context != null) {
-                statements = Iterations
-                        .asList(connection.getStatements(subject, property, value, includeInferred, context));
-            } else {
-                statements = Iterations.asList(connection.getStatements(subject, property, value, includeInferred));
+            Collection<Statement> statements = findCachedStatements(subject, property, value, includeInferred, context);
+            if (statements == null) {
+                statements = loadStatements(subject, property, value, includeInferred, context);
             }
             localModel.enhanceStatements(statements, subject, property, value, context);
             return statements;
@@ -186,6 +208,64 @@ public class PoolingStorageConnector extends AbstractConnector {
         }
     }
 
+    @Override
+    public Map<Resource, List<Statement>> findStatements(Collection<IRI> subjects, boolean includeInferred)
+            throws SesameDriverException {
+        verifyTransactionActive();
+        try {
+            final Map<Resource, List<Statement>> result = new HashMap<>();
+            final List<IRI> toLoad = new ArrayList<>();
+            for (IRI subject : subjects) {
+                final Collection<Statement> cached = findCachedStatements(subject, null, null, includeInferred, null);
+                if (cached != null) {
+                    result.put(subject, new ArrayList<>(cached));
+                } else {
+                    toLoad.add(subject);
+                }
+            }
+            if (!toLoad.isEmpty()) {
+                final long generation = statementCache != null ? statementCache.getGeneration() : 0;
+                final Map<Resource, List<Statement>> loaded =
+                        SubjectStatementLoader.loadStatements(connection, toLoad, includeInferred);
+                for (IRI subject : toLoad) {
+                    final List<Statement> statements = loaded.getOrDefault(subject, new ArrayList<>());
+                    if (statementCache != null) {
+                        statementCache.put(generation, subject, null, includeInferred, null, statements);
+                    }
+                    result.put(subject, statements);
+                }
+            }
+            result.forEach((subject, statements) -> localModel.enhanceStatements(statements, subject, null, null, null));
+            return result;
+        } catch (RepositoryException e) {
+            rollback();
+            throw new SesameDriverException(e);
+        }
+    }
+
+    private Collection<Statement> findCachedStatements(Resource subject, IRI property, Value value,
+                                                       boolean includeInferred, IRI context) {
+        return statementCache != null ? statementCache.find(subject, property, value, includeInferred, context) : null;
+    }
+
+    private Collection<Statement> loadStatements(Resource subject, IRI property, Value value, boolean includeInferred,
+                                                 IRI context) {
+        // Only statements of a subject (possibly with a property) are cached
+        final boolean cacheable = statementCache != null && subject != null && value == null;
+        final long generation = cacheable ? statementCache.getGeneration() : 0;
+        final Collection<Statement> statements;
+        if (context != null) {
+            statements = Iterations
+                    .asList(connection.getStatements(subject, property, value, includeInferred, context));
+        } else {
+            statements = Iterations.asList(connection.getStatements(subject, property, value, includeInferred));
+        }
+        if (cacheable) {
+            statementCache.put(generation, subject, property, includeInferred, context, statements);
+        }
+        return statements;
+    }
+
     @Override
     public boolean containsStatement(Resource subject, IRI property, Value value, boolean includeInferred)
             throws SesameDriverException {
@@ -204,6 +284,11 @@ public class PoolingStorageConnector extends AbstractConnector {
                 case FALSE:
                     return false;
                 default:
+                    final Collection<Statement> cached =
+                            findCachedStatements(subject, property, value, includeInferred, context);
+                    if (cached != null) {
+                        return !cached.isEmpty();
+                    }
                     if (context != null) {
                         return connection.hasStatement(subject, property, value, includeInferred, context);
                     } else {
@@ -216,6 +301,39 @@ public class PoolingStorageConnector extends AbstractConnector {
         }
     }
 
+    @Override
+    public Collection<Statement> findContainedStatements(Collection<Statement> statements, boolean includeInferred,
+                                                         IRI context) throws SesameDriverException {
+        verifyTransactionActive();
+        try {
+            final Set<Statement> contained = new HashSet<>();
+            final List<Statement> toCheck = new ArrayList<>();
+            for (Statement s : statements) {
+                final LocalModel.Contains containsLocally =
+                        localModel.contains(s.getSubject(), s.getPredicate(), s.getObject(), context);
+                if (containsLocally == LocalModel.Contains.TRUE) {
+                    contained.add(s);
+                } else if (containsLocally == LocalModel.Contains.UNKNOWN) {
+                    final Collection<Statement> cached =
+                            findCachedStatements(s.getSubject(), s.getPredicate(), s.getObject(), includeInferred,
+                                    context);
+                    if (cached == null) {
+                        toCheck.add(s);
+                    } else if (!cached.isEmpty()) {
+                        contained.add(s);
+                    }
+                }
+            }
+            contained.addAll(ContainedStatementFinder.findContained(connection, toCheck, includeInferred, context));
+            final List<Statement> result = new ArrayList<>(contained.size());
+            statements.stream().filter(contained::contains).forEach(result::add);
+            return result;
+        } catch (RepositoryException e) {
+            rollback();
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public <T> T unwrap(Class<T> cls) throws OntoDriverException {
         if (cls.isAssignableFrom(this.getClass())) {
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.ontodriver.sesame.connector;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+import java.util.*;
+
+/**
+ * Caches statements of subjects loaded from the repository, separately for each context.
+ * <p>
+ * Entries are either all statements of a subject or statements of a subject with a specific property, both with or
+ * without inferred statements. The cache is bounded by the total number of cached statements, least recently used
+ * entries are evicted when the bound is exceeded.
+ * <p>
+ * Since inferred statements may be affected by any change in the repository, all entries with inferred statements are
+ * evicted whenever statements are invalidated.
+ * <p>
+ * This class is thread-safe.
+ */
+final class StatementCache {
+
+    private final int capacity;
+
+    private final LinkedHashMap<Key, List<Statement>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Resource, Set<Key>> subjectIndex = new HashMap<>();
+    private final Set<Key> inferredKeys = new HashSet<>();
+    private long size;
+
+    // Incremented by each invalidation, prevents caching of statements loaded before the invalidation
+    private long generation;
+
+    /**
+     * @param capacity Maximum number of cached statements
+     */
+    StatementCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Statement cache capacity must be positive.");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the current generation of the cache.
+     * <p>
+     * The generation has to be retrieved before statements are loaded from the repository and then passed to {@link
+     * #put(long, Resource, IRI, boolean, IRI, Collection)}.
+     *
+     * @return Current generation
+     */
+    synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Finds cached statements matching the specified pattern.
+     *
+     * @param subject         Statement subject
+     * @param property        Statement property, optional
+     * @param value           Statement value, optional
+     * @param includeInferred Whether inferred statements are requested
+     * @param context         Context, {@code null} represents the whole repository
+     * @return Matching statements (possibly empty) in a new modifiable collection or {@code null} when the statements
+     * are not cached
+     */
+    synchronized Collection<Statement> find(Resource subject, IRI property, Value value, boolean includeInferred,
+                                            IRI context) {
+        if (subject == null) {
+            return null;
+        }
+        List<Statement> cached = entries.get(new Key(subject, null, includeInferred, context));
+        if (cached == null && property != null) {
+            cached = entries.get(new Key(subject, property, includeInferred, context));
+        }
+        if (cached == null) {
+            return null;
+        }
+        final Collection<Statement> result = new ArrayList<>();
+        for (Statement s : cached) {
+            if ((property == null || property.equals(s.getPredicate())) &&
+                    (value == null || value.equals(s.getObject()))) {
+                result.add(s);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Caches the specified statements.
+     * <p>
+     * The statements are not cached if the cache has been invalidated since the specified generation or if their number
+     * exceeds the cache capacity.
+     *
+     * @param generation      Cache generation retrieved before the statements were loaded
+     * @param subject         Subject of the statements
+     * @param property        Property of the statements, {@code null} if these are all statements of the subject
+     * @param includeInferred Whether the statements include inferred ones
+     * @param context         Context of the statements, {@code null} represents the whole repository
+     * @param statements      Statements to cache
+     */
+    synchronized void put(long generation, Resource subject, IRI property, boolean includeInferred, IRI context,
+                          Collection<Statement> statements) {
+        assert subject != null;
+        if (generation != this.generation || statements.size() > capacity) {
+            return;
+        }
+        final Key key = new Key(subject, property, includeInferred, context);
+        remove(key);
+        entries.put(key, new ArrayList<>(statements));
+        subjectIndex.computeIfAbsent(subject, s -> new HashSet<>()).add(key);
+        if (includeInferred) {
+            inferredKeys.add(key);
+        }
+        size += statements.size();
+        evictIfNecessary();
+    }
+
+    private void evictIfNecessary() {
+        final Iterator<Map.Entry<Key, List<Statement>>> it = entries.entrySet().iterator();
+        while (size > capacity && it.hasNext()) {
+            final Map.Entry<Key, List<Statement>> eldest = it.next();
+            it.remove();
+            removeFromIndexes(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void remove(Key key) {
+        final List<Statement> removed = entries.remove(key);
+        if (removed != null) {
+            removeFromIndexes(key, removed);
+        }
+    }
+
+    private void removeFromIndexes(Key key, List<Statement> removedStatements) {
+        size -= removedStatements.size();
+        final Set<Key> subjectKeys = subjectIndex.get(key.subject);
+        if (subjectKeys != null) {
+            subjectKeys.remove(key);
+            if (subjectKeys.isEmpty()) {
+                subjectIndex.remove(key.subject);
+            }
+        }
+        inferredKeys.remove(key);
+    }
+
+    /**
+     * Evicts entries affected by the specified added or removed statements.
+     * <p>
+     * This means all entries of subjects of the statements and all entries with inferred statements.
+     *
+     * @param changes Changed statements
+     */
+    synchronized void invalidate(Collection<Statement> changes) {
+        generation++;
+        if (changes.isEmpty()) {
+            return;
+        }
+        final Set<Resource> subjects = new HashSet<>();
+        changes.forEach(s -> subjects.add(s.getSubject()));
+        for (Resource subject : subjects) {
+            final Set<Key> keys = subjectIndex.get(subject);
+            if (keys != null) {
+                new ArrayList<>(keys).forEach(this::remove);
+            }
+        }
+        new ArrayList<>(inferredKeys).forEach(this::remove);
+    }
+
+    /**
+     * Evicts all entries.
+     */
+    synchronized void clear() {
+        generation++;
+        entries.clear();
+        subjectIndex.clear();
+        inferredKeys.clear();
+        this.size = 0;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    private static final class Key {
+
+        private final Resource subject;
+        private final IRI property;
+        private final boolean includeInferred;
+        private final IRI context;
+
+        private Key(Resource subject, IRI property, boolean includeInferred, IRI context) {
+            this.subject = subject;
+            this.property = property;
+            this.includeInferred = includeInferred;
+            this.context = context;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return includeInferred == key.includeInferred && subject.equals(key.subject) &&
+                    Objects.equals(property, key.property) && Objects.equals(context, key.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subject, property, includeInferred, context);
+        }
+    }
+}
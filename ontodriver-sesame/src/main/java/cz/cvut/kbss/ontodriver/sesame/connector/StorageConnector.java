@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 class StorageConnector extends AbstractConnector {
@@ -229,6 +230,16 @@ class StorageConnector extends AbstractConnector {
         }
     }
 
+    @Override
+    public Map<Resource, List<Statement>> findStatements(Collection<IRI> subjects, boolean includeInferred)
+            throws SesameDriverException {
+        try (final RepositoryConnection conn = acquireConnection()) {
+            return SubjectStatementLoader.loadStatements(conn, subjects, includeInferred);
+        } catch (RepositoryException e) {
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public boolean containsStatement(Resource subject, IRI property, Value value, boolean includeInferred)
             throws SesameDriverException {
@@ -249,6 +260,16 @@ class StorageConnector extends AbstractConnector {
         }
     }
 
+    @Override
+    public Collection<Statement> findContainedStatements(Collection<Statement> statements, boolean includeInferred,
+                                                         IRI context) throws SesameDriverException {
+        try (final RepositoryConnection conn = acquireConnection()) {
+            return ContainedStatementFinder.findContained(conn, statements, includeInferred, context);
+        } catch (RepositoryException e) {
+            throw new SesameDriverException(e);
+        }
+    }
+
     @Override
     public <T> T unwrap(Class<T> cls) throws OntoDriverException {
         if (cls.isAssignableFrom(getClass())) {
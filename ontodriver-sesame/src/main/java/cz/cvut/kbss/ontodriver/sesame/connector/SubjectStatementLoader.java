@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.ontodriver.sesame.connector;
+
+import cz.cvut.kbss.ontodriver.sesame.exceptions.SesameDriverException;
+import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.query.*;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+
+import java.util.*;
+
+/**
+ * Loads statements of multiple subjects using a single SPARQL query.
+ * <p>
+ * The subjects are bound using a {@code VALUES} block. Statements stored in named graphs are returned with their
+ * context, the remaining ones (e.g., inferred statements) without it. This corresponds to what {@link
+ * RepositoryConnection#getStatements(Resource, IRI, Value, boolean, Resource...)} returns for each of the subjects when
+ * no context is specified.
+ */
+final class SubjectStatementLoader {
+
+    private static final String SUBJECT = "s";
+    private static final String PROPERTY = "p";
+    private static final String VALUE = "o";
+    private static final String CONTEXT = "g";
+
+    private SubjectStatementLoader() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Loads all statements whose subject is one of the specified subjects.
+     *
+     * @param connection      Connection to use
+     * @param subjects        Subjects whose statements to load
+     * @param includeInferred Whether to include inferred statements
+     * @return Statements of the subjects, grouped by subject. Subjects without statements are not present in the map
+     * @throws SesameDriverException If the query cannot be evaluated
+     */
+    static Map<Resource, List<Statement>> loadStatements(RepositoryConnection connection, Collection<IRI> subjects,
+                                                         boolean includeInferred) throws SesameDriverException {
+        if (subjects.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final ValueFactory vf = connection.getValueFactory();
+        final Set<Statement> inContext = new LinkedHashSet<>();
+        final Set<Statement> withoutContext = new LinkedHashSet<>();
+        try {
+            final TupleQuery query = connection.prepareTupleQuery(QueryLanguage.SPARQL, createQuery(subjects));
+            query.setIncludeInferred(includeInferred);
+            try (final TupleQueryResult result = query.evaluate()) {
+                while (result.hasNext()) {
+                    final BindingSet row = result.next();
+                    final Resource subject = (Resource) row.getValue(SUBJECT);
+                    final IRI property = (IRI) row.getValue(PROPERTY);
+                    final Value value = row.getValue(VALUE);
+                    final Resource context = (Resource) row.getValue(CONTEXT);
+                    if (context != null) {
+                        inContext.add(vf.createStatement(subject, property, value, context));
+                    } else {
+                        withoutContext.add(vf.createStatement(subject, property, value));
+                    }
+                }
+            }
+        } catch (MalformedQueryException | QueryEvaluationException e) {
+            throw new SesameDriverException(e);
+        }
+        // Statements in named graphs are matched by the default graph pattern as well
+        inContext.forEach(s -> withoutContext
+                .remove(vf.createStatement(s.getSubject(), s.getPredicate(), s.getObject())));
+        final Map<Resource, List<Statement>> result = new HashMap<>();
+        inContext.forEach(s -> result.computeIfAbsent(s.getSubject(), k -> new ArrayList<>()).add(s));
+        withoutContext.forEach(s -> result.computeIfAbsent(s.getSubject(), k -> new ArrayList<>()).add(s));
+        return result;
+    }
+
+    private static String createQuery(Collection<IRI> subjects) {
+        final StringBuilder sb = new StringBuilder("SELECT ?" + SUBJECT + " ?" + PROPERTY + " ?" + VALUE + " ?" +
+                CONTEXT + " WHERE { VALUES ?" + SUBJECT + " {");
+        for (IRI subject : subjects) {
+            sb.append(" <").append(subject.stringValue()).append('>');
+        }
+        final String pattern = "?" + SUBJECT + " ?" + PROPERTY + " ?" + VALUE + " . ";
+        sb.append(" } { ").append(pattern).append("} UNION { GRAPH ?").append(CONTEXT).append(" { ").append(pattern)
+          .append("} } }");
+        return sb.toString();
+    }
+}
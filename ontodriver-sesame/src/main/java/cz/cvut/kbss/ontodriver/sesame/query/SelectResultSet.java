@@ -22,13 +22,16 @@ import cz.cvut.kbss.ontodriver.sesame.util.SesameUtils;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.TupleQueryResult;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 // TODO Resolve mapping of data values with language tag
@@ -36,6 +39,7 @@ public class SelectResultSet extends AbstractResultSet {
 
     private final TupleQueryResult result;
     private List<String> bindings;
+    private Map<String, Integer> columnIndexes;
     private BindingSet current;
 
     public SelectResultSet(TupleQueryResult result, Statement statement) {
@@ -48,6 +52,10 @@ public class SelectResultSet extends AbstractResultSet {
 
     private void init() {
         this.bindings = result.getBindingNames();
+        this.columnIndexes = new HashMap<>(bindings.size());
+        for (int i = 0; i < bindings.size(); i++) {
+            columnIndexes.put(bindings.get(i), i);
+        }
     }
 
     @Override
@@ -64,7 +72,7 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public int findColumn(String columnLabel) {
         ensureOpen();
-        return bindings.indexOf(columnLabel);
+        return columnIndexes.getOrDefault(columnLabel, -1);
     }
 
     @Override
@@ -82,19 +90,19 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public boolean isBound(String variableName) {
         Objects.requireNonNull(variableName);
-        return bindings.contains(variableName) && current.getValue(variableName) != null;
+        return columnIndexes.containsKey(variableName) && current.getValue(variableName) != null;
     }
 
     @Override
     public boolean getBoolean(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return toBoolean(getLiteralValue(columnIndex));
+        return literalToBoolean(getLiteral(columnIndex));
     }
 
     @Override
     public boolean getBoolean(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return toBoolean(getLiteralValue(columnLabel));
+        return literalToBoolean(getLiteral(columnLabel));
     }
 
     private static boolean toBoolean(Object ob) {
@@ -108,25 +116,25 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public byte getByte(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return (byte) toInt(getLiteralValue(columnIndex));
+        return (byte) literalToInt(getLiteral(columnIndex));
     }
 
     @Override
     public byte getByte(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return (byte) toInt(getLiteralValue(columnLabel));
+        return (byte) literalToInt(getLiteral(columnLabel));
     }
 
     @Override
     public double getDouble(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return toDouble(getLiteralValue(columnIndex));
+        return literalToDouble(getLiteral(columnIndex));
     }
 
     @Override
     public double getDouble(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return toDouble(getLiteralValue(columnLabel));
+        return literalToDouble(getLiteral(columnLabel));
     }
 
     private static double toDouble(Object ob) throws OntoDriverException {
@@ -144,13 +152,13 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public float getFloat(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return toFloat(getLiteralValue(columnIndex));
+        return literalToFloat(getLiteral(columnIndex));
     }
 
     @Override
     public float getFloat(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return toFloat(getLiteralValue(columnLabel));
+        return literalToFloat(getLiteral(columnLabel));
     }
 
     private static float toFloat(Object ob) throws OntoDriverException {
@@ -168,13 +176,13 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public int getInt(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return toInt(getLiteralValue(columnIndex));
+        return literalToInt(getLiteral(columnIndex));
     }
 
     @Override
     public int getInt(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return toInt(getLiteralValue(columnLabel));
+        return literalToInt(getLiteral(columnLabel));
     }
 
     private static int toInt(Object ob) throws OntoDriverException {
@@ -192,13 +200,13 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public long getLong(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return toLong(getLiteralValue(columnIndex));
+        return literalToLong(getLiteral(columnIndex));
     }
 
     @Override
     public long getLong(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return toLong(getLiteralValue(columnLabel));
+        return literalToLong(getLiteral(columnLabel));
     }
 
     private static long toLong(Object ob) throws OntoDriverException {
@@ -309,13 +317,13 @@ public class SelectResultSet extends AbstractResultSet {
     @Override
     public short getShort(int columnIndex) throws OntoDriverException {
         ensureOpen();
-        return (short) toInt(getLiteralValue(columnIndex));
+        return (short) literalToInt(getLiteral(columnIndex));
     }
 
     @Override
     public short getShort(String columnLabel) throws OntoDriverException {
         ensureOpen();
-        return (short) toInt(getLiteralValue(columnLabel));
+        return (short) literalToInt(getLiteral(columnLabel));
     }
 
     @Override
@@ -358,20 +366,59 @@ public class SelectResultSet extends AbstractResultSet {
         }
     }
 
-    private Object getLiteralValue(int columnIndex) throws OntoDriverException {
-        final Value val = getCurrent(columnIndex);
+    private Literal getLiteral(int columnIndex) throws OntoDriverException {
+        return toLiteral(getCurrent(columnIndex));
+    }
+
+    private Literal getLiteral(String columnName) throws OntoDriverException {
+        return toLiteral(getCurrent(columnName));
+    }
+
+    private static Literal toLiteral(Value val) throws OntoDriverException {
         if (!(val instanceof Literal)) {
             throw new OntoDriverException("Expected value " + val + " to be a literal.");
         }
-        return SesameUtils.getDataPropertyValue((Literal) val);
+        return (Literal) val;
     }
 
-    private Object getLiteralValue(String columnName) throws OntoDriverException {
-        final Value val = getCurrent(columnName);
-        if (!(val instanceof Literal)) {
-            throw new OntoDriverException("Expected value " + val + " to be a literal.");
+    // The literalToX methods read values of matching datatypes directly from the literal, avoiding boxing. Other
+    // datatypes are converted via SesameUtils.getDataPropertyValue
+
+    private static boolean literalToBoolean(Literal literal) {
+        if (XMLSchema.BOOLEAN.equals(literal.getDatatype())) {
+            return literal.booleanValue();
+        }
+        return toBoolean(SesameUtils.getDataPropertyValue(literal));
+    }
+
+    private static double literalToDouble(Literal literal) throws OntoDriverException {
+        if (XMLSchema.DOUBLE.equals(literal.getDatatype())) {
+            return literal.doubleValue();
+        }
+        return toDouble(SesameUtils.getDataPropertyValue(literal));
+    }
+
+    private static float literalToFloat(Literal literal) throws OntoDriverException {
+        if (XMLSchema.FLOAT.equals(literal.getDatatype())) {
+            return literal.floatValue();
+        }
+        return toFloat(SesameUtils.getDataPropertyValue(literal));
+    }
+
+    private static int literalToInt(Literal literal) throws OntoDriverException {
+        if (SesameUtils.isInteger(literal.getDatatype())) {
+            return literal.intValue();
+        }
+        return toInt(SesameUtils.getDataPropertyValue(literal));
+    }
+
+    private static long literalToLong(Literal literal) throws OntoDriverException {
+        final IRI datatype = literal.getDatatype();
+        if (XMLSchema.LONG.equals(datatype) || XMLSchema.UNSIGNED_LONG.equals(datatype) ||
+                SesameUtils.isInteger(datatype)) {
+            return literal.longValue();
         }
-        return SesameUtils.getDataPropertyValue((Literal) val);
+        return toLong(SesameUtils.getDataPropertyValue(literal));
     }
 
     private Value getCurrent(int columnIndex) {
@@ -396,7 +443,7 @@ public class SelectResultSet extends AbstractResultSet {
 
     private Value getCurrent(String columnName) {
         ensureState();
-        if (!bindings.contains(columnName)) {
+        if (!columnIndexes.containsKey(columnName)) {
             throw new IllegalArgumentException("Unknown column name " + columnName);
         }
         final Value v = current.getValue(columnName);
@@ -72,7 +72,14 @@ public final class SesameUtils {
         }
     }
 
-    private static boolean isInteger(IRI datatype) {
+    /**
+     * Checks whether the specified datatype is one of the XSD integer datatypes whose values are represented by
+     * {@link Integer} in {@link #getDataPropertyValue(Literal)}.
+     *
+     * @param datatype Datatype to check
+     * @return {@code true} if the datatype is an integer datatype, {@code false} otherwise
+     */
+    public static boolean isInteger(IRI datatype) {
         return datatype.equals(XMLSchema.INT) || datatype.equals(XMLSchema.UNSIGNED_INT) ||
                 datatype.equals(XMLSchema.INTEGER)
                 || datatype.equals(XMLSchema.POSITIVE_INTEGER)
@@ -38,6 +38,8 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 
@@ -422,4 +424,73 @@ class AxiomLoaderTest {
             spiedConnector.close();
         }
     }
+
+    @Test
+    void loadAxiomsForMultipleDescriptorsLoadsStatementsOfAllSubjectsUsingSingleRepositoryRequest() throws Exception {
+        final Connector spiedConnector = spy(connector);
+        this.axiomLoader = new AxiomLoader(spiedConnector, vf,
+                new RuntimeConfiguration(new DriverConfiguration(TestRepositoryProvider.storageProperties())));
+        spiedConnector.begin();
+        try {
+            final List<AxiomDescriptor> descriptors = new ArrayList<>();
+            int expectedCount = 0;
+            for (String individual : generatedData.individuals.subList(0, 3)) {
+                final AxiomDescriptor descriptor = new AxiomDescriptor(NamedResource.create(individual));
+                generatedData.values.get(individual).keySet().forEach(descriptor::addAssertion);
+                descriptors.add(descriptor);
+                expectedCount += generatedData.getTotalValueCount(individual);
+            }
+
+            final Collection<Axiom<?>> result = axiomLoader.loadAxioms(descriptors);
+            assertEquals(expectedCount, result.size());
+            for (AxiomDescriptor descriptor : descriptors) {
+                final Set<Axiom<?>> expected = new HashSet<>(axiomLoader.loadAxioms(descriptor));
+                assertEquals(expected, result.stream().filter(a -> a.getSubject().equals(descriptor.getSubject()))
+                                              .collect(Collectors.toSet()));
+            }
+            verify(spiedConnector).findStatements(anyCollection(), eq(false));
+            verify(spiedConnector).findStatements(eq(Collections.emptySet()), eq(true));
+        } finally {
+            spiedConnector.close();
+        }
+    }
+
+    @Test
+    void loadAxiomsForMultipleDescriptorsRespectsAssertionContexts() throws Exception {
+        final String individual = generatedData.individuals.get(0);
+        final Assertion property = generatedData.values.get(individual).keySet().iterator().next();
+        final String context = "http://krizik.felk.cvut.cz/contextOne";
+        final Object value = saveValueIntoContext(individual, property, context);
+        final String otherIndividual = generatedData.individuals.get(1);
+        final AxiomDescriptor descOne = new AxiomDescriptor(NamedResource.create(individual));
+        descOne.addAssertion(property);
+        descOne.setAssertionContext(property, URI.create(context));
+        final AxiomDescriptor descTwo = new AxiomDescriptor(NamedResource.create(otherIndividual));
+        generatedData.values.get(otherIndividual).keySet().forEach(descTwo::addAssertion);
+
+        connector.begin();
+        final Collection<Axiom<?>> result = axiomLoader.loadAxioms(Arrays.asList(descOne, descTwo));
+        final List<Axiom<?>> inContext = result.stream().filter(a -> a.getSubject().equals(descOne.getSubject()))
+                                               .collect(Collectors.toList());
+        assertEquals(1, inContext.size());
+        assertEquals(value.toString(), inContext.get(0).getValue().getValue().toString());
+        assertEquals(generatedData.getTotalValueCount(otherIndividual), result.size() - 1);
+    }
+
+    @Test
+    void loadAxiomsForMultipleDescriptorsIncludesUncommittedChangesOfCurrentTransaction() throws Exception {
+        final String individual = generatedData.individuals.get(0);
+        final Assertion property = Assertion
+                .createDataPropertyAssertion(URI.create("http://krizik.felk.cvut.cz/dataProperty"), false);
+        connector.begin();
+        connector.addStatements(Collections.singleton(
+                vf.createStatement(vf.createIRI(individual), vf.createIRI(property.getIdentifier().toString()),
+                        vf.createLiteral(117))));
+        final AxiomDescriptor descriptor = new AxiomDescriptor(NamedResource.create(individual));
+        descriptor.addAssertion(property);
+
+        final Collection<Axiom<?>> result = axiomLoader.loadAxioms(Collections.singletonList(descriptor));
+        assertEquals(1, result.size());
+        assertEquals(117, result.iterator().next().getValue().getValue());
+    }
 }
@@ -174,6 +174,26 @@ class SesameAdapterTest {
         return true;
     }
 
+    @Test
+    void persistAllAddsStatementsOfAllDescriptorsAtOnce() throws Exception {
+        final AxiomValueDescriptor adOne = new AxiomValueDescriptor(SUBJECT);
+        adOne.addAssertionValue(Assertion.createClassAssertion(false),
+                new Value<>(URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/entities#OWLClassA")));
+        final AxiomValueDescriptor adTwo = new AxiomValueDescriptor(NamedResource.create(Generator.generateUri()));
+        adTwo.addAssertionValue(Assertion.createClassAssertion(false),
+                new Value<>(URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/entities#OWLClassB")));
+        adTwo.addAssertionValue(Assertion.createDataPropertyAssertion(URI
+                        .create("http://krizik.felk.cvut.cz/ontologies/jopa/attributes#A-stringAttribute"),
+                false), new Value<>("StringValue"));
+        adapter.persistAll(Arrays.asList(adOne, adTwo));
+        final ArgumentCaptor<Collection> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(connectorMock).addStatements(captor.capture());
+        final Collection<Statement> res = (Collection<Statement>) captor.getValue();
+        assertEquals(3, res.size());
+        assertTrue(statementsCorrespondToAxiomDescriptor(adOne, res));
+        assertTrue(statementsCorrespondToAxiomDescriptor(adTwo, res));
+    }
+
     @Test
     void testPersistEntityWithTypesDataPropertyInContext() throws Exception {
         final AxiomValueDescriptor ad = new AxiomValueDescriptor(SUBJECT);
@@ -658,6 +678,27 @@ class SesameAdapterTest {
         verify(connectorMock).removeStatements(statements);
     }
 
+    @Test
+    void removeAllRemovesStatementsOfAllDescriptorsAtOnce() throws Exception {
+        final AxiomDescriptor descOne = new AxiomDescriptor(SUBJECT);
+        descOne.addAssertion(Assertion.createClassAssertion(false));
+        final NamedResource subjectTwo = NamedResource.create(Generator.generateUri());
+        final AxiomDescriptor descTwo = new AxiomDescriptor(subjectTwo);
+        descTwo.addAssertion(Assertion.createClassAssertion(false));
+        final IRI subjectTwoIri = vf.createIRI(subjectTwo.getIdentifier().toString());
+        final Statement stmtOne =
+                vf.createStatement(subjectIri, RDF.TYPE, vf.createIRI(Generator.generateUri().toString()));
+        final Statement stmtTwo =
+                vf.createStatement(subjectTwoIri, RDF.TYPE, vf.createIRI(Generator.generateUri().toString()));
+        when(connectorMock.findStatements(subjectIri, RDF.TYPE, null, false, null))
+                .thenReturn(Collections.singleton(stmtOne));
+        when(connectorMock.findStatements(subjectTwoIri, RDF.TYPE, null, false, null))
+                .thenReturn(Collections.singleton(stmtTwo));
+
+        adapter.removeAll(Arrays.asList(descOne, descTwo));
+        verify(connectorMock).removeStatements(new HashSet<>(Arrays.asList(stmtOne, stmtTwo)));
+    }
+
     @Test
     void testContainsClassAssertion() throws Exception {
         final Axiom<URI> ax = new AxiomImpl<>(SUBJECT, Assertion.createClassAssertion(false),
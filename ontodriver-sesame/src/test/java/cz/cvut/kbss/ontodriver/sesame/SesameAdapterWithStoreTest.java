@@ -18,6 +18,8 @@ import cz.cvut.kbss.ontodriver.OntologyStorageProperties;
 import cz.cvut.kbss.ontodriver.config.DriverConfiguration;
 import cz.cvut.kbss.ontodriver.descriptor.AxiomValueDescriptor;
 import cz.cvut.kbss.ontodriver.model.Assertion;
+import cz.cvut.kbss.ontodriver.model.Axiom;
+import cz.cvut.kbss.ontodriver.model.AxiomImpl;
 import cz.cvut.kbss.ontodriver.model.NamedResource;
 import cz.cvut.kbss.ontodriver.model.Value;
 import cz.cvut.kbss.ontodriver.sesame.config.SesameConfigParam;
@@ -36,11 +38,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URI;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 public class SesameAdapterWithStoreTest {
 
@@ -109,4 +113,58 @@ public class SesameAdapterWithStoreTest {
             assertTrue(bStringProp.hasNext());
         }
     }
+
+    @Test
+    public void findContainedReturnsExistingAxiomsUsingSingleRepositoryRequest() throws Exception {
+        final Axiom<?> typeAx = new AxiomImpl<>(SUBJECT, Assertion.createClassAssertion(false),
+                new Value<>(URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/entities#OWLClassA")));
+        final Axiom<?> stringAx = new AxiomImpl<>(SUBJECT, Assertion.createDataPropertyAssertion(
+                URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/attributes#A-stringAttribute"), false),
+                new Value<>("Value with \"quotes\"\nand a line break"));
+        final Axiom<?> missingAx = new AxiomImpl<>(SUBJECT, Assertion.createClassAssertion(false),
+                new Value<>(URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/entities#OWLClassB")));
+        final AxiomValueDescriptor descriptor = new AxiomValueDescriptor(SUBJECT);
+        descriptor.addAssertionValue(typeAx.getAssertion(), typeAx.getValue());
+        descriptor.addAssertionValue(stringAx.getAssertion(), stringAx.getValue());
+        adapter.persist(descriptor);
+        adapter.commit();
+        final Connector connectorSpy = spy(connector);
+        final SesameAdapter sut = new SesameAdapter(connectorSpy, new DriverConfiguration(
+                OntologyStorageProperties.driver(SesameDataSource.class.getName()).physicalUri("memory-store")
+                                         .build()));
+
+        final Collection<Axiom<?>> result = sut.findContained(Arrays.asList(typeAx, stringAx, missingAx), null);
+        assertEquals(Arrays.asList(typeAx, stringAx), result);
+        verify(connectorSpy).findContainedStatements(anyCollection(), eq(false), isNull());
+        verify(connectorSpy, never()).containsStatement(any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    public void findContainedIncludesAxiomsPersistedInCurrentTransaction() throws Exception {
+        final Axiom<?> typeAx = new AxiomImpl<>(SUBJECT, Assertion.createClassAssertion(false),
+                new Value<>(URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/entities#OWLClassA")));
+        final AxiomValueDescriptor descriptor = new AxiomValueDescriptor(SUBJECT);
+        descriptor.addAssertionValue(typeAx.getAssertion(), typeAx.getValue());
+        adapter.persist(descriptor);
+
+        assertEquals(Collections.singletonList(typeAx),
+                adapter.findContained(Collections.singletonList(typeAx), null));
+    }
+
+    @Test
+    public void findContainedSearchesOnlySpecifiedContext() throws Exception {
+        final URI context = URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/contextOne");
+        final Axiom<?> typeAx = new AxiomImpl<>(SUBJECT, Assertion.createClassAssertion(false),
+                new Value<>(URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/entities#OWLClassA")));
+        final AxiomValueDescriptor descriptor = new AxiomValueDescriptor(SUBJECT);
+        descriptor.setSubjectContext(context);
+        descriptor.addAssertionValue(typeAx.getAssertion(), typeAx.getValue());
+        adapter.persist(descriptor);
+        adapter.commit();
+
+        assertEquals(Collections.singletonList(typeAx),
+                adapter.findContained(Collections.singletonList(typeAx), context));
+        assertTrue(adapter.findContained(Collections.singletonList(typeAx),
+                URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/contextTwo")).isEmpty());
+    }
 }
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -242,6 +243,35 @@ public class SesameConnectionTest {
         }
     }
 
+    @Test
+    public void findAllPassesAllDescriptorsToAdapter() throws Exception {
+        final List<AxiomDescriptor> descriptors =
+                Arrays.asList(mock(AxiomDescriptor.class), mock(AxiomDescriptor.class));
+        connection.findAll(descriptors);
+        verify(adapterMock).findAll(descriptors);
+        verify(adapterMock, never()).find(any());
+    }
+
+    @Test
+    public void findContainedPassesAllAxiomsToAdapter() throws Exception {
+        final List<Axiom<?>> axioms = Arrays.asList(mock(Axiom.class), mock(Axiom.class));
+        final URI context = URI.create("http://krizik.felk.cvut.cz/ontologies/jopa/contextOne");
+        connection.findContained(axioms, context);
+        verify(adapterMock).findContained(axioms, context);
+        verify(adapterMock, never()).contains(any(), any());
+    }
+
+    @Test
+    public void persistAllPassesAllDescriptorsToAdapter() throws Exception {
+        final List<AxiomValueDescriptor> descriptors =
+                Arrays.asList(mock(AxiomValueDescriptor.class), mock(AxiomValueDescriptor.class));
+        connection.setAutoCommit(true);
+        connection.persistAll(descriptors);
+        verify(adapterMock).persistAll(descriptors);
+        verify(adapterMock, never()).persist(any());
+        verify(adapterMock).commit();
+    }
+
     @Test
     public void testUpdate() throws Exception {
         final AxiomValueDescriptor axDesc = mock(AxiomValueDescriptor.class);
@@ -265,6 +295,17 @@ public class SesameConnectionTest {
         verify(adapterMock).remove(axDesc);
     }
 
+    @Test
+    public void removeAllPassesAllDescriptorsToAdapter() throws Exception {
+        final List<AxiomDescriptor> descriptors =
+                Arrays.asList(mock(AxiomDescriptor.class), mock(AxiomDescriptor.class));
+        connection.setAutoCommit(true);
+        connection.removeAll(descriptors);
+        verify(adapterMock).removeAll(descriptors);
+        verify(adapterMock, never()).remove(any());
+        verify(adapterMock).commit();
+    }
+
     @Test
     public void unwrapReturnsConnectionIfItMatchesTheClass() throws Exception {
         assertSame(connection, connection.unwrap(SesameConnection.class));
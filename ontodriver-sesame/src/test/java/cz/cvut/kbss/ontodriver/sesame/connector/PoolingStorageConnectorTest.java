@@ -20,6 +20,7 @@ import cz.cvut.kbss.ontodriver.sesame.exceptions.SesameDriverException;
 import cz.cvut.kbss.ontodriver.util.Transaction;
 import cz.cvut.kbss.ontodriver.util.TransactionState;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.query.BooleanQuery;
@@ -35,6 +36,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
@@ -366,4 +369,65 @@ public class PoolingStorageConnectorTest {
                 Collections.singletonList(vf.createStatement(subject, property, vf.createLiteral(117))));
         assertFalse(connector.containsStatement(subject, property, null, false));
     }
+
+    @Test
+    public void findStatementsReturnsCachedStatementsOfPreviouslyLoadedSubject() throws Exception {
+        final StatementCache cache = new StatementCache(100);
+        final RepositoryConnection conn = mock(RepositoryConnection.class);
+        when(centralMock.acquireConnection()).thenReturn(conn);
+        final Resource subject = vf.createIRI(Generator.generateUri().toString());
+        final IRI property = vf.createIRI(Generator.generateUri().toString());
+        final List<Statement> statements = Arrays.asList(
+                vf.createStatement(subject, property, vf.createLiteral("test")),
+                vf.createStatement(subject, vf.createIRI(Generator.generateUri().toString()), vf.createLiteral(117)));
+        mockStatements(conn, subject, statements);
+        final PoolingStorageConnector sut = new PoolingStorageConnector(centralMock, cache);
+        sut.begin();
+        assertEquals(statements.size(), sut.findStatements(subject, null, null, false).size());
+
+        final Collection<Statement> result = sut.findStatements(subject, property, null, false);
+        assertEquals(Collections.singletonList(statements.get(0)), result);
+        assertTrue(sut.containsStatement(subject, property, null, false));
+        verify(conn).getStatements(subject, null, null, false);
+        verify(conn, never()).getStatements(subject, property, null, false);
+        verify(conn, never()).hasStatement(subject, property, null, false);
+    }
+
+    private void mockStatements(RepositoryConnection conn, Resource subject, List<Statement> statements) {
+        when(conn.getStatements(subject, null, null, false)).thenAnswer(
+                inv -> new RepositoryResult<>(
+                        new CloseableIteratorIteration<Statement, RepositoryException>(statements.iterator())));
+    }
+
+    @Test
+    public void commitInvalidatesCachedStatementsOfChangedSubjects() throws Exception {
+        final StatementCache cache = new StatementCache(100);
+        final RepositoryConnection conn = mock(RepositoryConnection.class);
+        when(centralMock.acquireConnection()).thenReturn(conn);
+        final Resource subject = vf.createIRI(Generator.generateUri().toString());
+        final IRI property = vf.createIRI(Generator.generateUri().toString());
+        mockStatements(conn, subject,
+                Collections.singletonList(vf.createStatement(subject, property, vf.createLiteral("test"))));
+        final PoolingStorageConnector sut = new PoolingStorageConnector(centralMock, cache);
+        sut.begin();
+        sut.findStatements(subject, null, null, false);
+        sut.addStatements(Collections.singletonList(vf.createStatement(subject, property, vf.createLiteral("new"))));
+        sut.commit();
+
+        sut.begin();
+        sut.findStatements(subject, null, null, false);
+        verify(conn, times(2)).getStatements(subject, null, null, false);
+    }
+
+    @Test
+    public void executeUpdateClearsStatementCache() throws Exception {
+        final StatementCache cache = new StatementCache(100);
+        final Resource subject = vf.createIRI(Generator.generateUri().toString());
+        cache.put(cache.getGeneration(), subject, null, false, null, Collections.singletonList(
+                vf.createStatement(subject, vf.createIRI(Generator.generateUri().toString()), vf.createLiteral(1))));
+        final PoolingStorageConnector sut = new PoolingStorageConnector(centralMock, cache);
+
+        sut.executeUpdate("INSERT DATA { <http://a> <http://b> <http://c> . }");
+        assertEquals(0, cache.size());
+    }
 }
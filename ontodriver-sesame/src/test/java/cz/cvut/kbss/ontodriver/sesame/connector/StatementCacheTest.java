@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2020 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any
+ * later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details. You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.ontodriver.sesame.connector;
+
+import cz.cvut.kbss.ontodriver.sesame.environment.Generator;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class StatementCacheTest {
+
+    private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+    private final IRI property = createIri();
+
+    private final StatementCache cache = new StatementCache(10);
+
+    private IRI createIri() {
+        return vf.createIRI(Generator.generateUri().toString());
+    }
+
+    private List<Statement> statements(Resource subject, int count) {
+        final Statement[] result = new Statement[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = vf.createStatement(subject, i % 2 == 0 ? property : createIri(), vf.createLiteral(i));
+        }
+        return Arrays.asList(result);
+    }
+
+    @Test
+    public void findReturnsNullForSubjectWhichIsNotCached() {
+        assertNull(cache.find(createIri(), null, null, false, null));
+    }
+
+    @Test
+    public void findReturnsStatementsMatchingPatternFromCachedSubject() {
+        final IRI subject = createIri();
+        final List<Statement> statements = statements(subject, 4);
+        cache.put(cache.getGeneration(), subject, null, false, null, statements);
+
+        assertEquals(statements, cache.find(subject, null, null, false, null));
+        assertEquals(Arrays.asList(statements.get(0), statements.get(2)),
+                cache.find(subject, property, null, false, null));
+        assertEquals(Collections.singletonList(statements.get(2)),
+                cache.find(subject, property, vf.createLiteral(2), false, null));
+    }
+
+    @Test
+    public void findDistinguishesContextsAndInferredStatements() {
+        final IRI subject = createIri();
+        final IRI context = createIri();
+        cache.put(cache.getGeneration(), subject, null, false, context, statements(subject, 2));
+
+        assertNotNull(cache.find(subject, null, null, false, context));
+        assertNull(cache.find(subject, null, null, false, null));
+        assertNull(cache.find(subject, null, null, true, context));
+    }
+
+    @Test
+    public void findReturnsStatementsCachedForSubjectAndProperty() {
+        final IRI subject = createIri();
+        final List<Statement> statements = Collections.singletonList(vf.createStatement(subject, property, subject));
+        cache.put(cache.getGeneration(), subject, property, false, null, statements);
+
+        assertEquals(statements, cache.find(subject, property, null, false, null));
+        assertNull(cache.find(subject, null, null, false, null));
+        assertNull(cache.find(subject, createIri(), null, false, null));
+    }
+
+    @Test
+    public void putEvictsLeastRecentlyUsedEntriesWhenCapacityIsExceeded() {
+        final IRI subjectOne = createIri();
+        final IRI subjectTwo = createIri();
+        final IRI subjectThree = createIri();
+        cache.put(cache.getGeneration(), subjectOne, null, false, null, statements(subjectOne, 4));
+        cache.put(cache.getGeneration(), subjectTwo, null, false, null, statements(subjectTwo, 4));
+        cache.find(subjectOne, null, null, false, null);
+        cache.put(cache.getGeneration(), subjectThree, null, false, null, statements(subjectThree, 4));
+
+        assertNotNull(cache.find(subjectOne, null, null, false, null));
+        assertNull(cache.find(subjectTwo, null, null, false, null));
+        assertNotNull(cache.find(subjectThree, null, null, false, null));
+        assertEquals(8, cache.size());
+    }
+
+    @Test
+    public void putDoesNotCacheStatementsExceedingCapacity() {
+        final IRI subject = createIri();
+        cache.put(cache.getGeneration(), subject, null, false, null, statements(subject, 11));
+
+        assertNull(cache.find(subject, null, null, false, null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void putDoesNotCacheStatementsLoadedBeforeInvalidation() {
+        final IRI subject = createIri();
+        final long generation = cache.getGeneration();
+        cache.invalidate(statements(createIri(), 1));
+        cache.put(generation, subject, null, false, null, statements(subject, 2));
+
+        assertNull(cache.find(subject, null, null, false, null));
+    }
+
+    @Test
+    public void invalidateEvictsEntriesOfChangedSubjectsAndAllInferredEntries() {
+        final IRI changed = createIri();
+        final IRI unchanged = createIri();
+        final IRI inferred = createIri();
+        cache.put(cache.getGeneration(), changed, null, false, null, statements(changed, 2));
+        cache.put(cache.getGeneration(), changed, property, false, createIri(), statements(changed, 1));
+        cache.put(cache.getGeneration(), unchanged, null, false, null, statements(unchanged, 2));
+        cache.put(cache.getGeneration(), inferred, null, true, null, statements(inferred, 2));
+
+        cache.invalidate(statements(changed, 1));
+        assertNull(cache.find(changed, null, null, false, null));
+        assertNull(cache.find(inferred, null, null, true, null));
+        final Collection<Statement> result = cache.find(unchanged, null, null, false, null);
+        assertNotNull(result);
+        assertEquals(result.size(), cache.size());
+    }
+
+    @Test
+    public void clearEvictsAllEntries() {
+        final IRI subject = createIri();
+        cache.put(cache.getGeneration(), subject, null, false, null, statements(subject, 2));
+        cache.clear();
+
+        assertNull(cache.find(subject, null, null, false, null));
+        assertEquals(0, cache.size());
+    }
+}
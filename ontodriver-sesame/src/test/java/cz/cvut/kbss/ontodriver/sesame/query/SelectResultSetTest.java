@@ -156,4 +156,37 @@ public class SelectResultSetTest {
         thrown.expectMessage("Variable at index 1 is not bound in the current result row.");
         resultSet.getInt(1);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findColumnReturnsIndexOfBindingName() {
+        assertEquals(0, resultSet.findColumn("x"));
+        assertEquals(2, resultSet.findColumn("z"));
+        assertEquals(-1, resultSet.findColumn("unknown"));
+    }
+
+    @Test
+    public void typedGettersReadValuesOfMatchingDatatypesDirectlyFromLiteral() throws Exception {
+        when(bindingSetMock.getValue("x")).thenReturn(valueFactory.createLiteral(117));
+        when(bindingSetMock.getValue("y")).thenReturn(valueFactory.createLiteral(3.14));
+        when(bindingSetMock.getValue("z")).thenReturn(valueFactory.createLiteral(true));
+
+        resultSet.next();
+        assertEquals(117, resultSet.getInt(0));
+        assertEquals(117L, resultSet.getLong("x"));
+        assertEquals(3.14, resultSet.getDouble("y"), 0.001);
+        assertTrue(resultSet.getBoolean(2));
+    }
+
+    @Test
+    public void typedGettersConvertValuesOfOtherDatatypes() throws Exception {
+        when(bindingSetMock.getValue("x")).thenReturn(valueFactory.createLiteral("117"));
+        when(bindingSetMock.getValue("y")).thenReturn(valueFactory.createLiteral(2.5f));
+        when(bindingSetMock.getValue("z")).thenReturn(valueFactory.createLiteral(117L));
+
+        resultSet.next();
+        assertEquals(117, resultSet.getInt("x"));
+        assertEquals(2.5, resultSet.getDouble("y"), 0.001);
+        assertEquals(117, resultSet.getInt("z"));
+        assertEquals(117L, resultSet.getLong("z"));
+    }
+}